@@ -0,0 +1,68 @@
+/*
+ *    Copyright (c) 2026, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+package io.supertokens.benchmarks;
+
+import com.google.gson.JsonObject;
+import io.supertokens.Main;
+import io.supertokens.pluginInterface.multitenancy.AppIdentifier;
+import io.supertokens.pluginInterface.multitenancy.TenantIdentifier;
+import io.supertokens.session.Session;
+import io.supertokens.session.accessToken.AccessToken;
+import io.supertokens.session.accessToken.AccessToken.AccessTokenInfo;
+import io.supertokens.storageLayer.StorageLayer;
+import org.openjdk.jmh.annotations.*;
+
+@State(Scope.Benchmark)
+public class AccessTokenBenchmark {
+
+    private static final AppIdentifier APP = TenantIdentifier.BASE_TENANT.toAppIdentifier();
+
+    private CoreProcess process;
+    private Main main;
+    private String dynamicKeyToken;
+    private String staticKeyToken;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        process = CoreProcess.start();
+        main = process.getMain();
+
+        JsonObject userDataInJWT = new JsonObject();
+        userDataInJWT.addProperty("role", "admin");
+        dynamicKeyToken = Session.createNewSession(TenantIdentifier.BASE_TENANT,
+                StorageLayer.getStorage(TenantIdentifier.BASE_TENANT, main), main, "user-id", userDataInJWT,
+                new JsonObject(), false, AccessToken.getLatestVersion(), false).accessToken.token;
+        staticKeyToken = Session.createNewSession(TenantIdentifier.BASE_TENANT,
+                StorageLayer.getStorage(TenantIdentifier.BASE_TENANT, main), main, "user-id", userDataInJWT,
+                new JsonObject(), false, AccessToken.getLatestVersion(), true).accessToken.token;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        process.stop();
+    }
+
+    @Benchmark
+    public AccessTokenInfo getInfoFromAccessTokenDynamicKey() throws Exception {
+        return AccessToken.getInfoFromAccessToken(APP, main, dynamicKeyToken, false);
+    }
+
+    @Benchmark
+    public AccessTokenInfo getInfoFromAccessTokenStaticKey() throws Exception {
+        return AccessToken.getInfoFromAccessToken(APP, main, staticKeyToken, false);
+    }
+}
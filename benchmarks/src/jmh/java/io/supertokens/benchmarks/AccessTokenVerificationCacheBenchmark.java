@@ -0,0 +1,90 @@
+/*
+ *    Copyright (c) 2025, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+package io.supertokens.benchmarks;
+
+import com.google.gson.JsonObject;
+import io.supertokens.Main;
+import io.supertokens.pluginInterface.multitenancy.AppIdentifier;
+import io.supertokens.pluginInterface.multitenancy.TenantIdentifier;
+import io.supertokens.session.Session;
+import io.supertokens.session.accessToken.AccessToken;
+import io.supertokens.session.accessToken.AccessToken.AccessTokenInfo;
+import io.supertokens.session.accessToken.AccessTokenVerificationCache;
+import io.supertokens.storageLayer.StorageLayer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Measures access token verification with the verified token cache enabled, for different hit ratios. A hit ratio
+ * of 0 is the cost of a verification without the cache plus the cost of maintaining the cache. A frontend typically
+ * calls the verify API for every request it makes within the lifetime of an access token, so in practice the hit
+ * ratio is usually well above 90%.
+ */
+@State(Scope.Benchmark)
+public class AccessTokenVerificationCacheBenchmark {
+
+    private static final AppIdentifier APP = TenantIdentifier.BASE_TENANT.toAppIdentifier();
+    private static final int NUMBER_OF_ACTIVE_SESSIONS = 1000;
+
+    @Param({"0", "90", "99"})
+    public int hitRatioPercent;
+
+    private CoreProcess process;
+    private Main main;
+    private AccessTokenVerificationCache cache;
+    private String[] tokens;
+
+    @State(Scope.Thread)
+    public static class ThreadRandom {
+        final SplittableRandom random = new SplittableRandom();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        process = CoreProcess.start(Map.of("access_token_verification_cache_size",
+                String.valueOf(NUMBER_OF_ACTIVE_SESSIONS * 2)));
+        main = process.getMain();
+        cache = AccessTokenVerificationCache.getInstance(main);
+
+        JsonObject userDataInJWT = new JsonObject();
+        userDataInJWT.addProperty("role", "admin");
+        tokens = new String[NUMBER_OF_ACTIVE_SESSIONS];
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = Session.createNewSession(TenantIdentifier.BASE_TENANT,
+                    StorageLayer.getStorage(TenantIdentifier.BASE_TENANT, main), main, "user-id-" + i, userDataInJWT,
+                    new JsonObject(), false, AccessToken.getLatestVersion(), false).accessToken.token;
+            AccessToken.getInfoFromAccessToken(APP, main, tokens[i], false, true);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        process.stop();
+    }
+
+    @Benchmark
+    public AccessTokenInfo verifyAccessToken(ThreadRandom threadRandom) throws Exception {
+        String token = tokens[threadRandom.random.nextInt(tokens.length)];
+        if (threadRandom.random.nextInt(100) >= hitRatioPercent) {
+            // forces a miss, which verifies the signature and adds the token back to the cache
+            cache.remove(APP, token);
+        }
+        return AccessToken.getInfoFromAccessToken(APP, main, token, false, true);
+    }
+}
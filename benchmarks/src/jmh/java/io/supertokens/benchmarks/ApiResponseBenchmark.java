@@ -0,0 +1,121 @@
+/*
+ *    Copyright (c) 2026, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+
+package io.supertokens.benchmarks;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import io.supertokens.emailpassword.EmailPassword;
+import io.supertokens.pluginInterface.authRecipe.AuthRecipeUserInfo;
+import io.supertokens.pluginInterface.multitenancy.TenantIdentifier;
+import io.supertokens.session.Session;
+import io.supertokens.session.accessToken.AccessToken;
+import io.supertokens.storageLayer.StorageLayer;
+import org.openjdk.jmh.annotations.*;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+/**
+ * Sends sign in, session refresh and get user requests to the core over loopback HTTP. These are meant to be run with
+ * {@code -PjmhProfilers=gc} to compare the memory allocated per request (gc.alloc.rate.norm) across commits. The HTTP
+ * client runs in the same JVM, so its allocations are included, but they are the same on every commit.
+ */
+@State(Scope.Benchmark)
+public class ApiResponseBenchmark {
+
+    private static final String EMAIL = "user@example.com";
+    private static final String PASSWORD = "password123";
+
+    private CoreProcess process;
+    private HttpClient httpClient;
+    private String baseUrl;
+    private HttpRequest signInRequest;
+    private HttpRequest getUserRequest;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        process = CoreProcess.start();
+        AuthRecipeUserInfo user = EmailPassword.signUp(process.getMain(), EMAIL, PASSWORD);
+
+        baseUrl = "http://localhost:" + process.getPort();
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        JsonObject signInBody = new JsonObject();
+        signInBody.addProperty("email", EMAIL);
+        signInBody.addProperty("password", PASSWORD);
+        signInRequest = post("/recipe/signin", "emailpassword", signInBody);
+
+        getUserRequest = HttpRequest.newBuilder(URI.create(baseUrl + "/user/id?userId=" + user.getSupertokensUserId()))
+                .GET()
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        process.stop();
+    }
+
+    /**
+     * Each thread keeps refreshing its own session, always using the latest refresh token.
+     */
+    @State(Scope.Thread)
+    public static class RefreshTokenChain {
+        String refreshToken;
+
+        @Setup(Level.Trial)
+        public void setup(ApiResponseBenchmark benchmark) throws Exception {
+            refreshToken = Session.createNewSession(TenantIdentifier.BASE_TENANT,
+                    StorageLayer.getStorage(TenantIdentifier.BASE_TENANT, benchmark.process.getMain()),
+                    benchmark.process.getMain(), "user-id", new JsonObject(), new JsonObject(), false,
+                    AccessToken.getLatestVersion(), false).refreshToken.token;
+        }
+    }
+
+    // this includes hashing the password, which takes most of the time but allocates little
+    @Benchmark
+    public String signIn() throws Exception {
+        return httpClient.send(signInRequest, HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    @Benchmark
+    public String refreshSession(RefreshTokenChain chain) throws Exception {
+        JsonObject body = new JsonObject();
+        body.addProperty("refreshToken", chain.refreshToken);
+        body.addProperty("enableAntiCsrf", false);
+        String response = httpClient.send(post("/recipe/session/refresh", "session", body),
+                HttpResponse.BodyHandlers.ofString()).body();
+        chain.refreshToken = JsonParser.parseString(response).getAsJsonObject()
+                .getAsJsonObject("refreshToken").get("token").getAsString();
+        return response;
+    }
+
+    @Benchmark
+    public String getUser() throws Exception {
+        return httpClient.send(getUserRequest, HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    private HttpRequest post(String path, String recipeId, JsonObject body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .header("rId", recipeId)
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+    }
+}
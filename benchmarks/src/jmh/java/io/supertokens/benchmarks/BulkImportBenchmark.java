@@ -0,0 +1,119 @@
+/*
+ *    Copyright (c) 2026, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+
+package io.supertokens.benchmarks;
+
+import io.supertokens.Main;
+import io.supertokens.bulkimport.BulkImport;
+import io.supertokens.cronjobs.CronTaskTest;
+import io.supertokens.cronjobs.bulkimport.ProcessBulkImportUsers;
+import io.supertokens.pluginInterface.bulkimport.BulkImportStorage.BULK_IMPORT_USER_STATUS;
+import io.supertokens.pluginInterface.bulkimport.BulkImportUser;
+import io.supertokens.pluginInterface.bulkimport.sqlStorage.BulkImportSQLStorage;
+import io.supertokens.pluginInterface.multitenancy.AppIdentifier;
+import io.supertokens.pluginInterface.multitenancy.TenantIdentifier;
+import io.supertokens.storageLayer.StorageLayer;
+import io.supertokens.utils.Utils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long one run of the bulk import cronjob takes to import a queue of users. The score is the time per
+ * run, so the throughput in users per second is usersPerRun * 1000 / score.
+ * <p>
+ * The in-memory database does not support bulk import, so this benchmark uses the database plugin of the installation
+ * and fails at setup if there is none.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class BulkImportBenchmark {
+
+    private static final AppIdentifier APP = TenantIdentifier.BASE_TENANT.toAppIdentifier();
+
+    @Param({"10000"})
+    public int usersPerRun;
+
+    @Param({"1", "4"})
+    public int bulkMigrationParallelism;
+
+    private CoreProcess process;
+    private Main main;
+    private BulkImportSQLStorage storage;
+    private ProcessBulkImportUsers cronjob;
+    private int usersAdded = 0;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        process = CoreProcess.startWithDatabasePlugin(Map.of(
+                "bulk_migration_parallelism", String.valueOf(bulkMigrationParallelism),
+                // the default pause between chunks would dominate the measurement
+                "bulk_migration_sleep_between_rounds_in_batch_ms", "null"), main -> {
+            // the benchmark runs the cronjob itself, so the scheduled runs must not pick up the queued users
+            CronTaskTest.getInstance(main).setInitialWaitTimeInSeconds(ProcessBulkImportUsers.RESOURCE_KEY, 3600);
+            CronTaskTest.getInstance(main).setIntervalInSeconds(ProcessBulkImportUsers.RESOURCE_KEY, 3600);
+        });
+        main = process.getMain();
+        if (StorageLayer.isInMemDb(main)) {
+            throw new IllegalStateException("BulkImportBenchmark needs a database plugin");
+        }
+        storage = (BulkImportSQLStorage) StorageLayer.getStorage(TenantIdentifier.BASE_TENANT, main);
+        cronjob = (ProcessBulkImportUsers) main.getResourceDistributor()
+                .getResource(new TenantIdentifier(null, null, null), ProcessBulkImportUsers.RESOURCE_KEY);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        process.stop();
+    }
+
+    @Setup(Level.Invocation)
+    public void queueUsers() throws Exception {
+        for (int i = 0; i < usersPerRun; i += BulkImport.MAX_USERS_TO_ADD) {
+            List<BulkImportUser> users = new ArrayList<>();
+            for (int j = i; j < Math.min(usersPerRun, i + BulkImport.MAX_USERS_TO_ADD); j++) {
+                users.add(createUser(usersAdded++));
+            }
+            BulkImport.addUsers(APP, storage, users);
+        }
+    }
+
+    private static BulkImportUser createUser(int index) {
+        // third party users, so that password hashing does not dominate the measurement
+        String userId = Utils.getUUID();
+        BulkImportUser.LoginMethod loginMethod = new BulkImportUser.LoginMethod(List.of("public"), "thirdparty",
+                true, true, System.currentTimeMillis(), "user" + index + "@example.com", null, null, null, "google",
+                "third-party-user-id-" + index, null, userId);
+        return new BulkImportUser(userId, null, null, null, null, List.of(loginMethod));
+    }
+
+    @Benchmark
+    public void importQueuedUsers() throws Exception {
+        cronjob.run();
+        long remaining = storage.getBulkImportUsersCount(APP, BULK_IMPORT_USER_STATUS.NEW)
+                + storage.getBulkImportUsersCount(APP, BULK_IMPORT_USER_STATUS.PROCESSING);
+        if (remaining != 0) {
+            throw new IllegalStateException(remaining + " users were not imported");
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ *    Copyright (c) 2026, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+package io.supertokens.benchmarks;
+
+import io.supertokens.Main;
+import io.supertokens.ProcessState;
+import io.supertokens.ProcessState.PROCESS_STATE;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Starts a core in the current JVM, by default using the in-memory database, for the benchmarks to call into. This is
+ * a trimmed down version of the TestingProcessManager used by the unit tests.
+ */
+public class CoreProcess {
+
+    private static final long START_TIMEOUT_MS = 60_000;
+
+    private final Thread thread;
+    private final int port;
+    private volatile Main main;
+
+    private CoreProcess(String[] args, int port, boolean inMemoryDb, Consumer<Main> beforeStart) {
+        this.port = port;
+        this.thread = new Thread(() -> {
+            // Main has to be constructed on the thread that calls start since it treats that thread as the main thread
+            this.main = new Main();
+            if (inMemoryDb) {
+                this.main.setForceInMemoryDB();
+            }
+            beforeStart.accept(this.main);
+            this.main.start(args);
+        }, "benchmark-core");
+    }
+
+    public static CoreProcess start() throws IOException, InterruptedException {
+        return start(Map.of());
+    }
+
+    /**
+     * Starts a core with the given config values added on top of the installation's config.yaml.
+     */
+    public static CoreProcess start(Map<String, String> configOverrides) throws IOException, InterruptedException {
+        return start(configOverrides, true, main -> {
+        });
+    }
+
+    /**
+     * Starts a core using the database plugin of the installation (the one in its plugin folder, configured in its
+     * config.yaml), for benchmarks of features that the in-memory database does not support. beforeStart is called
+     * after Main is created but before it starts, for example to change cronjob intervals with CronTaskTest.
+     */
+    public static CoreProcess startWithDatabasePlugin(Map<String, String> configOverrides, Consumer<Main> beforeStart)
+            throws IOException, InterruptedException {
+        return start(configOverrides, false, beforeStart);
+    }
+
+    private static CoreProcess start(Map<String, String> configOverrides, boolean inMemoryDb,
+                                     Consumer<Main> beforeStart) throws IOException, InterruptedException {
+        // Needed for setForceInMemoryDB and for stopping the process
+        Main.isTesting = true;
+        Main.makeConsolePrintSilent = true;
+
+        String installDir = System.getProperty("supertokens.installDir", "../../");
+        int port = getFreePort();
+        Path tempDir = Files.createTempDirectory("supertokens-benchmark").toAbsolutePath();
+
+        List<String> args = new ArrayList<>(List.of(installDir, "port=" + port, "tempDirLocation=" + tempDir));
+        if (!configOverrides.isEmpty()) {
+            StringBuilder config = new StringBuilder(Files.readString(Path.of(installDir, "config.yaml")));
+            config.append("\n");
+            configOverrides.forEach((key, value) -> config.append(key).append(": ").append(value).append("\n"));
+            Path configFile = tempDir.resolve("config.yaml");
+            Files.writeString(configFile, config.toString());
+            args.add("configFile=" + configFile);
+        }
+
+        CoreProcess process = new CoreProcess(args.toArray(new String[0]), port, inMemoryDb, beforeStart);
+        process.thread.start();
+        process.waitForStart();
+        return process;
+    }
+
+    private void waitForStart() throws InterruptedException {
+        long startTime = System.currentTimeMillis();
+        while (System.currentTimeMillis() - startTime < START_TIMEOUT_MS) {
+            if (main != null) {
+                ProcessState.EventAndException failure = ProcessState.getInstance(main)
+                        .getLastEventByName(PROCESS_STATE.INIT_FAILURE);
+                if (failure != null) {
+                    throw new IllegalStateException("Core failed to start", failure.exception);
+                }
+                if (ProcessState.getInstance(main).getLastEventByName(PROCESS_STATE.STARTED) != null) {
+                    return;
+                }
+            }
+            Thread.sleep(100);
+        }
+        throw new IllegalStateException("Core did not start within " + START_TIMEOUT_MS + " ms");
+    }
+
+    public Main getMain() {
+        return main;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public void stop() throws InterruptedException {
+        main.killForTestingAndWaitForShutdown();
+    }
+
+    private static int getFreePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
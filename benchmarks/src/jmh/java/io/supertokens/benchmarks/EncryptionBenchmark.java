@@ -0,0 +1,51 @@
+/*
+ *    Copyright (c) 2026, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+package io.supertokens.benchmarks;
+
+import io.supertokens.utils.Utils;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Utils.encrypt / decrypt are used for OAuth client secrets and TOTP secrets. These do not need a running core.
+ */
+@State(Scope.Benchmark)
+public class EncryptionBenchmark {
+
+    private static final String MASTER_KEY = "sa5nnUbe0QDs6zVEKKy63Km1HEHqDDB8yTSfBVTqVvUHOnQqtEajcTgI0tkcVaUG";
+
+    private String plaintext;
+    private String encrypted;
+
+    @Param({"32", "1024"})
+    public int plaintextLength;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        plaintext = "a".repeat(plaintextLength);
+        encrypted = Utils.encrypt(plaintext, MASTER_KEY);
+    }
+
+    @Benchmark
+    public String encrypt() throws Exception {
+        return Utils.encrypt(plaintext, MASTER_KEY);
+    }
+
+    @Benchmark
+    public String decrypt() throws Exception {
+        return Utils.decrypt(encrypted, MASTER_KEY);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ *    Copyright (c) 2025, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+
+package io.supertokens.benchmarks;
+
+import com.google.gson.JsonObject;
+import io.supertokens.Main;
+import io.supertokens.exceptions.TryRefreshTokenException;
+import io.supertokens.pluginInterface.multitenancy.AppIdentifier;
+import io.supertokens.pluginInterface.multitenancy.TenantIdentifier;
+import io.supertokens.session.Session;
+import io.supertokens.session.accessToken.AccessToken;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Verifying an expired access token, which ends in a TryRefreshTokenException. The verification is done below callDepth
+ * extra stack frames, since the cost of creating an exception with a stack trace grows with the depth of the stack, and
+ * requests handled by Tomcat run on much deeper stacks than the benchmark threads.
+ */
+@State(Scope.Benchmark)
+public class ExpiredAccessTokenBenchmark {
+
+    private static final AppIdentifier APP = TenantIdentifier.BASE_TENANT.toAppIdentifier();
+
+    @Param({"0", "100"})
+    public int callDepth;
+
+    private CoreProcess process;
+    private Main main;
+    private String expiredAccessToken;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        process = CoreProcess.start();
+        main = process.getMain();
+
+        expiredAccessToken = AccessToken.createNewAccessToken(TenantIdentifier.BASE_TENANT, main, "session-handle",
+                "user-id", "user-id", "refresh-token-hash", null, new JsonObject(), null,
+                System.currentTimeMillis() - 60000, AccessToken.getLatestVersion(), false).token;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        process.stop();
+    }
+
+    @Benchmark
+    public TryRefreshTokenException getSessionWithExpiredAccessToken() throws Exception {
+        return getSessionAtDepth(callDepth);
+    }
+
+    private TryRefreshTokenException getSessionAtDepth(int depth) throws Exception {
+        if (depth > 0) {
+            return getSessionAtDepth(depth - 1);
+        }
+        try {
+            Session.getSession(APP, main, expiredAccessToken, null, false, false, false);
+        } catch (TryRefreshTokenException e) {
+            return e;
+        }
+        throw new IllegalStateException("The access token did not expire");
+    }
+}
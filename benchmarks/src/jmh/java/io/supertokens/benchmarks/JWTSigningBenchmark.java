@@ -0,0 +1,58 @@
+/*
+ *    Copyright (c) 2026, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+package io.supertokens.benchmarks;
+
+import com.google.gson.JsonObject;
+import io.supertokens.Main;
+import io.supertokens.jwt.JWTSigningFunctions;
+import io.supertokens.pluginInterface.multitenancy.AppIdentifier;
+import io.supertokens.pluginInterface.multitenancy.TenantIdentifier;
+import org.openjdk.jmh.annotations.*;
+
+@State(Scope.Benchmark)
+public class JWTSigningBenchmark {
+
+    private static final AppIdentifier APP = TenantIdentifier.BASE_TENANT.toAppIdentifier();
+
+    private CoreProcess process;
+    private Main main;
+    private JsonObject payload;
+
+    @Param({"false", "true"})
+    public boolean useDynamicKey;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        process = CoreProcess.start();
+        main = process.getMain();
+
+        payload = new JsonObject();
+        payload.addProperty("sub", "user-id");
+        payload.addProperty("scope", "read write");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        process.stop();
+    }
+
+    @Benchmark
+    public String createJWTToken() throws Exception {
+        return JWTSigningFunctions.createJWTToken(APP, main, "RS256", payload, "http://localhost", 3600,
+                useDynamicKey);
+    }
+}
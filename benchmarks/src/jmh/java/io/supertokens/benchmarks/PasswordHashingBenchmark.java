@@ -0,0 +1,65 @@
+/*
+ *    Copyright (c) 2026, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+package io.supertokens.benchmarks;
+
+import de.mkammerer.argon2.Argon2Factory;
+import io.supertokens.Main;
+import io.supertokens.emailpassword.PasswordHashing;
+import io.supertokens.pluginInterface.multitenancy.AppIdentifier;
+import io.supertokens.pluginInterface.multitenancy.TenantIdentifier;
+import org.mindrot.jbcrypt.BCrypt;
+import org.openjdk.jmh.annotations.*;
+
+@State(Scope.Benchmark)
+public class PasswordHashingBenchmark {
+
+    private static final AppIdentifier APP = TenantIdentifier.BASE_TENANT.toAppIdentifier();
+    private static final String PASSWORD = "validPass123";
+
+
+    private CoreProcess process;
+    private Main main;
+    private String hash;
+
+    @Param({"BCRYPT", "ARGON2"})
+    public String algorithm;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        process = CoreProcess.start();
+        main = process.getMain();
+        // We hash with the default parameters of each algorithm (bcrypt: 11 rounds, argon2id: 1 iteration, 85 mb,
+        // parallelism 2) instead of going through the config, so that the verify cost does not depend on the
+        // config.yaml of the installation used.
+        if (algorithm.equals("BCRYPT")) {
+            hash = BCrypt.hashpw(PASSWORD, BCrypt.gensalt(11));
+        } else {
+            hash = Argon2Factory.create(Argon2Factory.Argon2Types.ARGON2id, 16, 32)
+                    .hash(1, 87795, 2, PASSWORD.toCharArray());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        process.stop();
+    }
+
+    @Benchmark
+    public boolean verifyPasswordWithHash() throws Exception {
+        return PasswordHashing.getInstance(main).verifyPasswordWithHash(APP, PASSWORD, hash);
+    }
+}
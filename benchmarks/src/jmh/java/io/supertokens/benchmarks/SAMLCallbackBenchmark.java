@@ -0,0 +1,180 @@
+/*
+ *    Copyright (c) 2026, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+
+
+package io.supertokens.benchmarks;
+
+import com.google.gson.JsonArray;
+import io.supertokens.Main;
+import io.supertokens.config.Config;
+import io.supertokens.featureflag.EE_FEATURES;
+import io.supertokens.featureflag.FeatureFlagTestContent;
+import io.supertokens.pluginInterface.Storage;
+import io.supertokens.pluginInterface.multitenancy.TenantIdentifier;
+import io.supertokens.saml.SAML;
+import io.supertokens.saml.SAMLBootstrap;
+import io.supertokens.saml.SAMLCertificate;
+import io.supertokens.saml.SAMLIdPCredentialCache;
+import io.supertokens.storageLayer.StorageLayer;
+import net.shibboleth.shared.xml.SerializeSupport;
+import org.openjdk.jmh.annotations.*;
+import org.opensaml.core.xml.util.XMLObjectSupport;
+import org.opensaml.saml.common.SAMLVersion;
+import org.opensaml.saml.saml2.core.*;
+import org.opensaml.security.credential.CredentialSupport;
+import org.opensaml.xmlsec.signature.Signature;
+import org.opensaml.xmlsec.signature.support.SignatureConstants;
+import org.opensaml.xmlsec.signature.support.Signer;
+
+import java.nio.charset.StandardCharsets;
+import java.security.PrivateKey;
+import java.security.cert.X509Certificate;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Measures {@link SAML#handleCallback} for an IdP initiated login with a signed assertion, with the IdP credential
+ * kept by {@link SAMLIdPCredentialCache} and with it being rebuilt from the stored certificate on every callback, which
+ * is what the core did before the credential was cached.
+ * <p>
+ * The core's own SAML certificate is used as the IdP's signing certificate, so that no certificate has to be generated
+ * here.
+ */
+@State(Scope.Benchmark)
+public class SAMLCallbackBenchmark {
+
+    private static final TenantIdentifier TENANT = TenantIdentifier.BASE_TENANT;
+    private static final String CLIENT_ID = "benchmark-client";
+    private static final String IDP_ENTITY_ID = "https://idp.example.com/entityid";
+    private static final String REDIRECT_URI = "http://localhost:3000/auth/callback/saml";
+
+    private CoreProcess process;
+    private Main main;
+    private Storage storage;
+    private X509Certificate idpCertificate;
+    private PrivateKey idpPrivateKey;
+    private String samlResponse;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        process = CoreProcess.start();
+        main = process.getMain();
+        storage = StorageLayer.getStorage(TENANT, main);
+        FeatureFlagTestContent.getInstance(main)
+                .setKeyValue(FeatureFlagTestContent.ENABLED_FEATURES, new EE_FEATURES[]{EE_FEATURES.SAML});
+        SAMLBootstrap.initialize();
+
+        SAMLCertificate certificate = SAMLCertificate.getInstance(TENANT.toAppIdentifier(), main);
+        idpCertificate = certificate.getCertificate();
+        idpPrivateKey = certificate.getPrivateKey();
+
+        JsonArray redirectURIs = new JsonArray();
+        redirectURIs.add(REDIRECT_URI);
+        SAML.createOrUpdateSAMLClient(main, TENANT, storage, CLIENT_ID, "secret", REDIRECT_URI, redirectURIs,
+                idpMetadataXML(), true, false);
+    }
+
+    // the response is only accepted for a few minutes after it was issued, so a new one is signed for each iteration
+    @Setup(Level.Iteration)
+    public void signResponse() throws Exception {
+        samlResponse = signedSAMLResponse(Config.getConfig(TENANT, main).getSAMLSPEntityID());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        process.stop();
+    }
+
+    @Benchmark
+    public String handleCallbackCachedCredential() throws Exception {
+        return SAML.handleCallback(main, TENANT, storage, samlResponse, null);
+    }
+
+    @Benchmark
+    public String handleCallbackParsingCertificate() throws Exception {
+        SAMLIdPCredentialCache.getInstance(main).remove(TENANT, CLIENT_ID);
+        return SAML.handleCallback(main, TENANT, storage, samlResponse, null);
+    }
+
+    private String idpMetadataXML() throws Exception {
+        return "<md:EntityDescriptor xmlns:md=\"urn:oasis:names:tc:SAML:2.0:metadata\" " +
+                "xmlns:ds=\"http://www.w3.org/2000/09/xmldsig#\" entityID=\"" + IDP_ENTITY_ID + "\">" +
+                "<md:IDPSSODescriptor protocolSupportEnumeration=\"urn:oasis:names:tc:SAML:2.0:protocol\">" +
+                "<md:KeyDescriptor use=\"signing\"><ds:KeyInfo><ds:X509Data><ds:X509Certificate>" +
+                Base64.getEncoder().encodeToString(idpCertificate.getEncoded()) +
+                "</ds:X509Certificate></ds:X509Data></ds:KeyInfo></md:KeyDescriptor>" +
+                "<md:SingleSignOnService Binding=\"urn:oasis:names:tc:SAML:2.0:bindings:HTTP-Redirect\" " +
+                "Location=\"https://idp.example.com/sso\"/>" +
+                "</md:IDPSSODescriptor></md:EntityDescriptor>";
+    }
+
+    private String signedSAMLResponse(String audience) throws Exception {
+        Instant now = Instant.now();
+
+        Assertion assertion = build(Assertion.DEFAULT_ELEMENT_NAME);
+        assertion.setID("_" + UUID.randomUUID());
+        assertion.setIssueInstant(now);
+        assertion.setVersion(SAMLVersion.VERSION_20);
+        assertion.setIssuer(issuer());
+
+        NameID nameID = build(NameID.DEFAULT_ELEMENT_NAME);
+        nameID.setValue("user@example.com");
+        Subject subject = build(Subject.DEFAULT_ELEMENT_NAME);
+        subject.setNameID(nameID);
+        assertion.setSubject(subject);
+
+        Audience audienceElement = build(Audience.DEFAULT_ELEMENT_NAME);
+        audienceElement.setURI(audience);
+        AudienceRestriction audienceRestriction = build(AudienceRestriction.DEFAULT_ELEMENT_NAME);
+        audienceRestriction.getAudiences().add(audienceElement);
+        Conditions conditions = build(Conditions.DEFAULT_ELEMENT_NAME);
+        conditions.setNotBefore(now.minusSeconds(60));
+        conditions.setNotOnOrAfter(now.plusSeconds(3600));
+        conditions.getAudienceRestrictions().add(audienceRestriction);
+        assertion.setConditions(conditions);
+
+        Signature signature = build(Signature.DEFAULT_ELEMENT_NAME);
+        signature.setSigningCredential(CredentialSupport.getSimpleCredential(idpCertificate, idpPrivateKey));
+        signature.setSignatureAlgorithm(SignatureConstants.ALGO_ID_SIGNATURE_RSA_SHA256);
+        signature.setCanonicalizationAlgorithm(SignatureConstants.ALGO_ID_C14N_EXCL_OMIT_COMMENTS);
+        assertion.setSignature(signature);
+        XMLObjectSupport.marshall(assertion);
+        Signer.signObject(signature);
+
+        Response response = build(Response.DEFAULT_ELEMENT_NAME);
+        response.setID("_" + UUID.randomUUID());
+        response.setIssueInstant(now);
+        response.setVersion(SAMLVersion.VERSION_20);
+        response.setIssuer(issuer());
+        response.getAssertions().add(assertion);
+
+        String xml = SerializeSupport.nodeToString(XMLObjectSupport.marshall(response));
+        return Base64.getEncoder().encodeToString(xml.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Issuer issuer() {
+        Issuer issuer = build(Issuer.DEFAULT_ELEMENT_NAME);
+        issuer.setValue(IDP_ENTITY_ID);
+        return issuer;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T build(javax.xml.namespace.QName name) {
+        return (T) XMLObjectSupport.buildXMLObject(name);
+    }
+}
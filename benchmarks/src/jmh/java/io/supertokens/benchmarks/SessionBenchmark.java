@@ -0,0 +1,102 @@
+/*
+ *    Copyright (c) 2026, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+package io.supertokens.benchmarks;
+
+import com.google.gson.JsonObject;
+import io.supertokens.Main;
+import io.supertokens.pluginInterface.Storage;
+import io.supertokens.pluginInterface.multitenancy.AppIdentifier;
+import io.supertokens.pluginInterface.multitenancy.TenantIdentifier;
+import io.supertokens.session.Session;
+import io.supertokens.session.accessToken.AccessToken;
+import io.supertokens.session.info.SessionInformationHolder;
+import io.supertokens.storageLayer.StorageLayer;
+import org.openjdk.jmh.annotations.*;
+
+@State(Scope.Benchmark)
+public class SessionBenchmark {
+
+    private static final AppIdentifier APP = TenantIdentifier.BASE_TENANT.toAppIdentifier();
+
+    private CoreProcess process;
+    private Main main;
+    private Storage storage;
+    private JsonObject userDataInJWT;
+    private JsonObject userDataInDatabase;
+    private String accessToken;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        process = CoreProcess.start();
+        main = process.getMain();
+        storage = StorageLayer.getStorage(TenantIdentifier.BASE_TENANT, main);
+
+        userDataInJWT = new JsonObject();
+        userDataInJWT.addProperty("role", "admin");
+        userDataInDatabase = new JsonObject();
+        userDataInDatabase.addProperty("plan", "pro");
+
+        accessToken = createSession().accessToken.token;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        process.stop();
+    }
+
+    private SessionInformationHolder createSession() throws Exception {
+        return Session.createNewSession(TenantIdentifier.BASE_TENANT, storage, main, "user-id", userDataInJWT,
+                userDataInDatabase, false, AccessToken.getLatestVersion(), false);
+    }
+
+    @Benchmark
+    public SessionInformationHolder createNewSession() throws Exception {
+        return createSession();
+    }
+
+    @Benchmark
+    public SessionInformationHolder getSession() throws Exception {
+        return Session.getSession(APP, main, accessToken, null, false, false, false);
+    }
+
+    @Benchmark
+    public SessionInformationHolder getSessionWithDatabaseCheck() throws Exception {
+        return Session.getSession(APP, main, accessToken, null, false, false, true);
+    }
+
+    /**
+     * Each thread keeps refreshing its own session, always using the latest refresh token, which is how clients use
+     * the refresh API.
+     */
+    @State(Scope.Thread)
+    public static class RefreshTokenChain {
+        String refreshToken;
+
+        @Setup(Level.Trial)
+        public void setup(SessionBenchmark benchmark) throws Exception {
+            refreshToken = benchmark.createSession().refreshToken.token;
+        }
+    }
+
+    @Benchmark
+    public SessionInformationHolder refreshSession(RefreshTokenChain chain) throws Exception {
+        SessionInformationHolder result = Session.refreshSession(APP, main,
+                chain.refreshToken, null, false, AccessToken.getLatestVersion(), null);
+        chain.refreshToken = result.refreshToken.token;
+        return result;
+    }
+}
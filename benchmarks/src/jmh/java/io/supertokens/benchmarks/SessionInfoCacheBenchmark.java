@@ -0,0 +1,98 @@
+/*
+ *    Copyright (c) 2026, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+
+package io.supertokens.benchmarks;
+
+import com.google.gson.JsonObject;
+import io.supertokens.Main;
+import io.supertokens.pluginInterface.Storage;
+import io.supertokens.pluginInterface.multitenancy.AppIdentifier;
+import io.supertokens.pluginInterface.multitenancy.TenantIdentifier;
+import io.supertokens.session.Session;
+import io.supertokens.session.accessToken.AccessToken;
+import io.supertokens.session.info.SessionInformationHolder;
+import io.supertokens.storageLayer.StorageLayer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Measures session verification that checks the database, with the session info cache disabled (a TTL of 0) and
+ * enabled. Access tokens issued by a refresh are measured separately, since verifying them also runs a transaction
+ * when the cache is disabled.
+ */
+@State(Scope.Benchmark)
+public class SessionInfoCacheBenchmark {
+
+    private static final AppIdentifier APP = TenantIdentifier.BASE_TENANT.toAppIdentifier();
+    private static final int NUMBER_OF_ACTIVE_SESSIONS = 1000;
+
+    @Param({"0", "10000"})
+    public long sessionInfoCacheTtl;
+
+    private CoreProcess process;
+    private Main main;
+    private String[] accessTokens;
+    private String[] refreshedAccessTokens;
+
+    @State(Scope.Thread)
+    public static class ThreadRandom {
+        final SplittableRandom random = new SplittableRandom();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        process = CoreProcess.start(Map.of("session_info_cache_ttl", String.valueOf(sessionInfoCacheTtl)));
+        main = process.getMain();
+        Storage storage = StorageLayer.getStorage(TenantIdentifier.BASE_TENANT, main);
+
+        JsonObject userDataInJWT = new JsonObject();
+        userDataInJWT.addProperty("role", "admin");
+        accessTokens = new String[NUMBER_OF_ACTIVE_SESSIONS];
+        refreshedAccessTokens = new String[NUMBER_OF_ACTIVE_SESSIONS];
+        for (int i = 0; i < NUMBER_OF_ACTIVE_SESSIONS; i++) {
+            SessionInformationHolder session = Session.createNewSession(TenantIdentifier.BASE_TENANT, storage, main,
+                    "user-id-" + i, userDataInJWT, new JsonObject(), false, AccessToken.getLatestVersion(), false);
+            accessTokens[i] = session.accessToken.token;
+
+            SessionInformationHolder refreshed = Session.refreshSession(APP, main, session.refreshToken.token, null,
+                    false, AccessToken.getLatestVersion(), null);
+            refreshedAccessTokens[i] = refreshed.accessToken.token;
+            // the first verification promotes the new refresh token, the ones after that only read the session
+            Session.getSession(APP, main, refreshedAccessTokens[i], null, false, false, true);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        process.stop();
+    }
+
+    @Benchmark
+    public SessionInformationHolder getSessionWithDatabaseCheck(ThreadRandom threadRandom) throws Exception {
+        String token = accessTokens[threadRandom.random.nextInt(accessTokens.length)];
+        return Session.getSession(APP, main, token, null, false, false, true);
+    }
+
+    @Benchmark
+    public SessionInformationHolder getSessionWithDatabaseCheckAfterRefresh(ThreadRandom threadRandom)
+            throws Exception {
+        String token = refreshedAccessTokens[threadRandom.random.nextInt(refreshedAccessTokens.length)];
+        return Session.getSession(APP, main, token, null, false, false, true);
+    }
+}
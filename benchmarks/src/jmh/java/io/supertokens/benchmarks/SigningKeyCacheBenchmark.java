@@ -0,0 +1,94 @@
+/*
+ *    Copyright (c) 2026, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+
+package io.supertokens.benchmarks;
+
+import com.google.gson.JsonObject;
+import io.supertokens.Main;
+import io.supertokens.jwt.JWTSigningFunctions;
+import io.supertokens.pluginInterface.jwt.JWTAsymmetricSigningKeyInfo;
+import io.supertokens.pluginInterface.jwt.JWTSigningKeyInfo;
+import io.supertokens.pluginInterface.multitenancy.AppIdentifier;
+import io.supertokens.pluginInterface.multitenancy.TenantIdentifier;
+import io.supertokens.session.jwt.JWT;
+import io.supertokens.signingkeys.JWTSigningKey;
+import io.supertokens.signingkeys.SigningKeys;
+import io.supertokens.utils.Utils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+
+/**
+ * Compares signing and verifying a JWT with the keys decoded by {@link SigningKeys#getParsedKey} against decoding
+ * the stored key strings on every call, which is what the core did before the parsed keys were cached. Run with
+ * {@code -PjmhProfilers=gc} to also compare the allocation rate.
+ */
+@State(Scope.Benchmark)
+public class SigningKeyCacheBenchmark {
+
+    private static final AppIdentifier APP = TenantIdentifier.BASE_TENANT.toAppIdentifier();
+
+    private CoreProcess process;
+    private Main main;
+    private SigningKeys signingKeys;
+    private JWTSigningKeyInfo keyInfo;
+    private JsonObject payload;
+    private JWT.JWTPreParseInfo token;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        process = CoreProcess.start();
+        main = process.getMain();
+        signingKeys = SigningKeys.getInstance(APP, main);
+        keyInfo = Utils.getJWTSigningKeyInfoFromKeyInfo(signingKeys.getLatestIssuedDynamicKey());
+
+        payload = new JsonObject();
+        payload.addProperty("sub", "user-id");
+        payload.addProperty("scope", "read write");
+        token = JWT.preParseJWTInfo(JWTSigningFunctions.createJWTToken(APP, main, "RS256", payload,
+                "http://localhost", 3600, true));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        process.stop();
+    }
+
+    @Benchmark
+    public String createJWTTokenParsingKeys() throws Exception {
+        long now = System.currentTimeMillis();
+        return JWTSigningFunctions.createJWTToken(JWTSigningKey.SupportedAlgorithms.RS256, new HashMap<>(),
+                payload.deepCopy(), "http://localhost", now + 3600_000, now, keyInfo);
+    }
+
+    @Benchmark
+    public String createJWTTokenCachedKeys() throws Exception {
+        long now = System.currentTimeMillis();
+        return JWTSigningFunctions.createJWTToken(JWTSigningKey.SupportedAlgorithms.RS256, new HashMap<>(),
+                payload.deepCopy(), "http://localhost", now + 3600_000, now, signingKeys.getParsedKey(keyInfo));
+    }
+
+    @Benchmark
+    public JWT.JWTInfo verifyJWTAndGetPayloadParsingKeys() throws Exception {
+        return JWT.verifyJWTAndGetPayload(token, ((JWTAsymmetricSigningKeyInfo) keyInfo).publicKey);
+    }
+
+    @Benchmark
+    public JWT.JWTInfo verifyJWTAndGetPayloadCachedKeys() throws Exception {
+        return JWT.verifyJWTAndGetPayload(token, signingKeys.getParsedKey(keyInfo).publicKey);
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ *    Copyright (c) 2025, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+package io.supertokens.benchmarks;
+
+import com.google.gson.JsonObject;
+import io.supertokens.Main;
+import io.supertokens.passwordless.Passwordless;
+import io.supertokens.pluginInterface.Storage;
+import io.supertokens.pluginInterface.multitenancy.TenantIdentifier;
+import io.supertokens.session.Session;
+import io.supertokens.session.accessToken.AccessToken;
+import io.supertokens.session.info.SessionInformationHolder;
+import io.supertokens.storageLayer.StorageLayer;
+import io.supertokens.utils.SecureRandomUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generating tokens, salts and handles from many threads at the same time. The first group compares
+ * SecureRandomUtils with what the core used to do (a new SecureRandom per token, or UUID.randomUUID()), the second
+ * measures the APIs that generate the most random values per call. All of them run on 32 threads, since contention
+ * on the random number generators only shows up under concurrency.
+ */
+@State(Scope.Benchmark)
+@Threads(32)
+public class TokenGenerationBenchmark {
+
+    private CoreProcess process;
+    private Main main;
+    private Storage storage;
+    private JsonObject userDataInJWT;
+    private final AtomicLong emailCounter = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        process = CoreProcess.start();
+        main = process.getMain();
+        storage = StorageLayer.getStorage(TenantIdentifier.BASE_TENANT, main);
+        userDataInJWT = new JsonObject();
+        userDataInJWT.addProperty("role", "admin");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        process.stop();
+    }
+
+    @Benchmark
+    public byte[] newSecureRandomPerToken() {
+        byte[] random = new byte[32];
+        new SecureRandom().nextBytes(random);
+        return random;
+    }
+
+    @Benchmark
+    public byte[] sharedSecureRandom() {
+        return SecureRandomUtils.nextBytes(32);
+    }
+
+    @Benchmark
+    public String jdkRandomUUID() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public String sharedRandomUUID() {
+        return SecureRandomUtils.randomUUID();
+    }
+
+    @Benchmark
+    public SessionInformationHolder createNewSession() throws Exception {
+        return Session.createNewSession(TenantIdentifier.BASE_TENANT, storage, main, "user-id", userDataInJWT,
+                new JsonObject(), true, AccessToken.getLatestVersion(), false);
+    }
+
+    @Benchmark
+    public Passwordless.CreateCodeResponse createCode() throws Exception {
+        // a new device for every call, which is the case for most sign ins
+        String email = "user" + emailCounter.incrementAndGet() + "@example.com";
+        return Passwordless.createCode(TenantIdentifier.BASE_TENANT, storage, main, email, null, null, null);
+    }
+}
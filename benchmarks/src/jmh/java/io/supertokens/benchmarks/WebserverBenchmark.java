@@ -0,0 +1,133 @@
+/*
+ *    Copyright (c) 2026, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+package io.supertokens.benchmarks;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import io.supertokens.pluginInterface.multitenancy.TenantIdentifier;
+import io.supertokens.session.Session;
+import io.supertokens.session.accessToken.AccessToken;
+import io.supertokens.storageLayer.StorageLayer;
+import io.supertokens.webserver.InputParser;
+import jakarta.servlet.http.HttpServletRequest;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+/**
+ * Measures the request path through the embedded Tomcat and the PathRouter (over loopback HTTP, so the HTTP client is
+ * part of the measurement), and the JSON body parsing done by InputParser on its own.
+ */
+@State(Scope.Benchmark)
+public class WebserverBenchmark {
+
+    private CoreProcess process;
+    private HttpClient httpClient;
+    private HttpRequest helloRequest;
+    private HttpRequest verifySessionRequest;
+    private String largeBody;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        process = CoreProcess.start();
+
+        String accessToken = Session.createNewSession(TenantIdentifier.BASE_TENANT,
+                StorageLayer.getStorage(TenantIdentifier.BASE_TENANT, process.getMain()), process.getMain(),
+                "user-id", new JsonObject(), new JsonObject(), false, AccessToken.getLatestVersion(),
+                false).accessToken.token;
+
+        String baseUrl = "http://localhost:" + process.getPort();
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        helloRequest = HttpRequest.newBuilder(URI.create(baseUrl + "/hello")).GET().build();
+
+        JsonObject verifyBody = new JsonObject();
+        verifyBody.addProperty("accessToken", accessToken);
+        verifyBody.addProperty("doAntiCsrfCheck", false);
+        verifyBody.addProperty("enableAntiCsrf", false);
+        verifyBody.addProperty("checkDatabase", false);
+        verifySessionRequest = HttpRequest.newBuilder(URI.create(baseUrl + "/recipe/session/verify"))
+                .header("Content-Type", "application/json")
+                .header("rId", "session")
+                .POST(HttpRequest.BodyPublishers.ofString(verifyBody.toString()))
+                .build();
+
+        // roughly the shape of a bulk import request
+        JsonArray users = new JsonArray();
+        for (int i = 0; i < 1000; i++) {
+            JsonObject user = new JsonObject();
+            user.addProperty("externalUserId", "external-" + i);
+            JsonArray loginMethods = new JsonArray();
+            JsonObject loginMethod = new JsonObject();
+            loginMethod.addProperty("recipeId", "emailpassword");
+            loginMethod.addProperty("email", "user" + i + "@example.com");
+            loginMethod.addProperty("passwordHash", "$2a$10$C2cCGEYwNhZJZU4jYVu9Ru6jzOxUBvlBVqTyv2tD7CahW8T3Hm3qO");
+            loginMethod.addProperty("hashingAlgorithm", "BCRYPT");
+            loginMethod.addProperty("isVerified", true);
+            loginMethod.addProperty("isPrimary", true);
+            loginMethods.add(loginMethod);
+            user.add("loginMethods", loginMethods);
+            users.add(user);
+        }
+        JsonObject body = new JsonObject();
+        body.add("users", users);
+        largeBody = body.toString();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        process.stop();
+    }
+
+    // Note that /hello is rate limited (200 requests / sec per app), after which it skips the storage check. So this
+    // mostly measures Tomcat and the routing / api key / version handling in WebserverAPI.
+    @Benchmark
+    public String dispatchHello() throws Exception {
+        return httpClient.send(helloRequest, HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    @Benchmark
+    public String dispatchVerifySession() throws Exception {
+        return httpClient.send(verifySessionRequest, HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    @Benchmark
+    public JsonObject parseLargeJsonBody() throws Exception {
+        return InputParser.parseJsonObjectOrThrowError(requestWithBody(largeBody));
+    }
+
+    // Only the two methods that InputParser calls are implemented, so that the measurement is not skewed by a
+    // mocking library.
+    private static HttpServletRequest requestWithBody(String body) {
+        return (HttpServletRequest) Proxy.newProxyInstance(WebserverBenchmark.class.getClassLoader(),
+                new Class[]{HttpServletRequest.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getReader":
+                            return new BufferedReader(new StringReader(body));
+                        case "getContentLengthLong":
+                            return (long) body.length();
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
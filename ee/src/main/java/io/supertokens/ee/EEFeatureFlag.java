@@ -58,6 +58,9 @@ public class EEFeatureFlag implements io.supertokens.featureflag.EEFeatureFlagIn
     public static final int INTERVAL_BETWEEN_SERVER_SYNC = 3600 * 24; // 1 day (in seconds).
     private static final long INTERVAL_BETWEEN_DB_READS = (long) 1000 * 3600 * 4; // 4 hour (in millis).
     public static final String REQUEST_ID = "licensecheck";
+    // the per tenant (and per day) count queries of the paid feature stats of an app are spread over at most this
+    // many threads, each of which uses one database connection at a time
+    private static final int MAX_PARALLEL_STATS_QUERIES = 4;
 
     public static final String FEATURE_FLAG_KEY_IN_DB = "FEATURE_FLAG";
     public static final String LICENSE_KEY_IN_DB = "LICENSE_KEY";
@@ -234,7 +237,7 @@ public class EEFeatureFlag implements io.supertokens.featureflag.EEFeatureFlagIn
         return result;
     }
 
-    private JsonObject getMultiTenancyStats()
+    private JsonObject getMultiTenancyStats(TenantConfig[] tenantConfigs)
             throws TenantOrAppNotFoundException, StorageQueryException {
         JsonObject stats = new JsonObject();
 
@@ -242,62 +245,65 @@ public class EEFeatureFlag implements io.supertokens.featureflag.EEFeatureFlagIn
         stats.addProperty("appId", this.appIdentifier.getAppId());
 
         JsonArray tenantStats = new JsonArray();
+        for (JsonObject tenantStat : mapInParallel(Arrays.asList(tenantConfigs), this::getMultiTenancyStatsForTenant)) {
+            tenantStats.add(tenantStat);
+        }
 
-        TenantConfig[] tenantConfigs = Multitenancy.getAllTenantsForApp(this.appIdentifier, main);
-        for (TenantConfig tenantConfig : tenantConfigs) {
-            JsonObject tenantStat = new JsonObject();
-            tenantStat.addProperty("tenantId", tenantConfig.tenantIdentifier.getTenantId());
-
-            {
-                Storage storage = StorageLayer.getStorage(tenantConfig.tenantIdentifier, main);
-                long usersCount = ((AuthRecipeStorage) storage).getUsersCount(tenantConfig.tenantIdentifier, null);
-                boolean hasUsersOrSessions = (usersCount > 0);
-                hasUsersOrSessions = hasUsersOrSessions ||
-                        ((SessionSQLStorage) storage).getNumberOfSessions(tenantConfig.tenantIdentifier) > 0;
-                tenantStat.addProperty("usersCount", usersCount);
-                tenantStat.addProperty("hasUsersOrSessions", hasUsersOrSessions);
-                if (tenantConfig.firstFactors != null) {
-                    JsonArray firstFactors = new JsonArray();
-                    for (String firstFactor : tenantConfig.firstFactors) {
-                        firstFactors.add(new JsonPrimitive(firstFactor));
-                    }
-                    tenantStat.add("firstFactors", firstFactors);
-                }
+        stats.add("tenants", tenantStats);
 
-                if (tenantConfig.requiredSecondaryFactors != null) {
-                    JsonArray requiredSecondaryFactors = new JsonArray();
-                    for (String requiredSecondaryFactor : tenantConfig.requiredSecondaryFactors) {
-                        requiredSecondaryFactors.add(new JsonPrimitive(requiredSecondaryFactor));
-                    }
-                    tenantStat.add("requiredSecondaryFactors", requiredSecondaryFactors);
+        return stats;
+    }
+
+    private JsonObject getMultiTenancyStatsForTenant(TenantConfig tenantConfig)
+            throws TenantOrAppNotFoundException, StorageQueryException {
+        JsonObject tenantStat = new JsonObject();
+        tenantStat.addProperty("tenantId", tenantConfig.tenantIdentifier.getTenantId());
+
+        {
+            Storage storage = StorageLayer.getStorage(tenantConfig.tenantIdentifier, main);
+            long usersCount = ((AuthRecipeStorage) storage).getUsersCount(tenantConfig.tenantIdentifier, null);
+            boolean hasUsersOrSessions = (usersCount > 0);
+            hasUsersOrSessions = hasUsersOrSessions ||
+                    ((SessionSQLStorage) storage).getNumberOfSessions(tenantConfig.tenantIdentifier) > 0;
+            tenantStat.addProperty("usersCount", usersCount);
+            tenantStat.addProperty("hasUsersOrSessions", hasUsersOrSessions);
+            if (tenantConfig.firstFactors != null) {
+                JsonArray firstFactors = new JsonArray();
+                for (String firstFactor : tenantConfig.firstFactors) {
+                    firstFactors.add(new JsonPrimitive(firstFactor));
                 }
+                tenantStat.add("firstFactors", firstFactors);
+            }
 
-                try {
-                    tenantStat.addProperty("userPoolId", Utils.hashSHA256(storage.getUserPoolId()));
-                } catch (NoSuchAlgorithmException e) {
-                    throw new RuntimeException(e); // should not come here
+            if (tenantConfig.requiredSecondaryFactors != null) {
+                JsonArray requiredSecondaryFactors = new JsonArray();
+                for (String requiredSecondaryFactor : tenantConfig.requiredSecondaryFactors) {
+                    requiredSecondaryFactors.add(new JsonPrimitive(requiredSecondaryFactor));
                 }
+                tenantStat.add("requiredSecondaryFactors", requiredSecondaryFactors);
             }
-            {
-                boolean hasEnterpriseLogin = false;
-                if (tenantConfig.thirdPartyConfig.providers != null) {
-                    for (ThirdPartyConfig.Provider provider : tenantConfig.thirdPartyConfig.providers) {
-                        if (isEnterpriseThirdPartyId(provider.thirdPartyId)) {
-                            hasEnterpriseLogin = true;
-                            break;
-                        }
+
+            try {
+                tenantStat.addProperty("userPoolId", Utils.hashSHA256(storage.getUserPoolId()));
+            } catch (NoSuchAlgorithmException e) {
+                throw new RuntimeException(e); // should not come here
+            }
+        }
+        {
+            boolean hasEnterpriseLogin = false;
+            if (tenantConfig.thirdPartyConfig.providers != null) {
+                for (ThirdPartyConfig.Provider provider : tenantConfig.thirdPartyConfig.providers) {
+                    if (isEnterpriseThirdPartyId(provider.thirdPartyId)) {
+                        hasEnterpriseLogin = true;
+                        break;
                     }
                 }
-
-                tenantStat.addProperty("hasEnterpriseLogin", hasEnterpriseLogin);
             }
 
-            tenantStats.add(tenantStat);
+            tenantStat.addProperty("hasEnterpriseLogin", hasEnterpriseLogin);
         }
 
-        stats.add("tenants", tenantStats);
-
-        return stats;
+        return tenantStat;
     }
 
     private JsonObject getAccountLinkingStats() throws StorageQueryException, TenantOrAppNotFoundException {
@@ -362,10 +368,14 @@ public class EEFeatureFlag implements io.supertokens.featureflag.EEFeatureFlagIn
         result.addProperty("numberOfM2MTokensAlive", oAuthStorage.countTotalNumberOfOAuthM2MTokensAlive(appIdentifier));
 
         long now = System.currentTimeMillis();
-        JsonArray tokensCreatedArray = new JsonArray();
+        List<Long> timestamps = new ArrayList<>();
         for (int i = 1; i <= 31; i++) {
-            long timestamp = now - (i * 24 * 60 * 60 * 1000L);
-            int numberOfTokensCreated = oAuthStorage.countTotalNumberOfOAuthM2MTokensCreatedSince(this.appIdentifier, timestamp);
+            timestamps.add(now - (i * 24 * 60 * 60 * 1000L));
+        }
+        JsonArray tokensCreatedArray = new JsonArray();
+        for (int numberOfTokensCreated : mapInParallel(timestamps,
+                timestamp -> oAuthStorage.countTotalNumberOfOAuthM2MTokensCreatedSince(this.appIdentifier,
+                        timestamp))) {
             tokensCreatedArray.add(new JsonPrimitive(numberOfTokensCreated));
         }
         result.add("numberOfM2MTokensCreated", tokensCreatedArray);
@@ -395,30 +405,15 @@ public class EEFeatureFlag implements io.supertokens.featureflag.EEFeatureFlagIn
         return mauArr;
     }
 
-    private JsonObject getSAMLStats() throws TenantOrAppNotFoundException, StorageQueryException {
+    private JsonObject getSAMLStats(TenantConfig[] tenantConfigs)
+            throws TenantOrAppNotFoundException, StorageQueryException {
         JsonObject stats = new JsonObject();
 
         stats.addProperty("connectionUriDomain", this.appIdentifier.getConnectionUriDomain());
         stats.addProperty("appId", this.appIdentifier.getAppId());
 
         JsonArray tenantStats = new JsonArray();
-
-        TenantConfig[] tenantConfigs = Multitenancy.getAllTenantsForApp(this.appIdentifier, main);
-        for (TenantConfig tenantConfig : tenantConfigs) {
-            JsonObject tenantStat = new JsonObject();
-            tenantStat.addProperty("tenantId", tenantConfig.tenantIdentifier.getTenantId());
-
-            {
-                Storage storage = StorageLayer.getStorage(tenantConfig.tenantIdentifier, main);
-                SAMLStorage samlStorage = StorageUtils.getSAMLStorage(storage);
-
-                JsonObject stat = new JsonObject();
-                stat.addProperty("numberOfSAMLClients", samlStorage.countSAMLClients(tenantConfig.tenantIdentifier));
-                // was: stat.add(tenantId, stat) - added the object to itself (serialization recursion
-                // hazard) and tenantStat was never appended, so "tenants" was always empty.
-                tenantStat.add(tenantConfig.tenantIdentifier.getTenantId(), stat);
-            }
-
+        for (JsonObject tenantStat : mapInParallel(Arrays.asList(tenantConfigs), this::getSAMLStatsForTenant)) {
             tenantStats.add(tenantStat);
         }
 
@@ -427,6 +422,43 @@ public class EEFeatureFlag implements io.supertokens.featureflag.EEFeatureFlagIn
         return stats;
     }
 
+    private JsonObject getSAMLStatsForTenant(TenantConfig tenantConfig)
+            throws TenantOrAppNotFoundException, StorageQueryException {
+        JsonObject tenantStat = new JsonObject();
+        tenantStat.addProperty("tenantId", tenantConfig.tenantIdentifier.getTenantId());
+
+        Storage storage = StorageLayer.getStorage(tenantConfig.tenantIdentifier, main);
+        SAMLStorage samlStorage = StorageUtils.getSAMLStorage(storage);
+
+        JsonObject stat = new JsonObject();
+        stat.addProperty("numberOfSAMLClients", samlStorage.countSAMLClients(tenantConfig.tenantIdentifier));
+        // was: stat.add(tenantId, stat) - added the object to itself (serialization recursion
+        // hazard) and tenantStat was never appended, so "tenants" was always empty.
+        tenantStat.add(tenantConfig.tenantIdentifier.getTenantId(), stat);
+
+        return tenantStat;
+    }
+
+    /**
+     * Calls function on each of the inputs, spread over up to MAX_PARALLEL_STATS_QUERIES threads, and returns the
+     * results in the same order as the inputs. Each call is expected to run a few count queries.
+     */
+    private <I, O> List<O> mapInParallel(List<I> inputs, StatsFunction<I, O> function)
+            throws StorageQueryException, TenantOrAppNotFoundException {
+        try {
+            return Utils.mapInParallel(inputs, MAX_PARALLEL_STATS_QUERIES, function::apply);
+        } catch (StorageQueryException | TenantOrAppNotFoundException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            // StatsFunction does not throw any other checked exceptions
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private interface StatsFunction<I, O> {
+        O apply(I input) throws StorageQueryException, TenantOrAppNotFoundException;
+    }
+
     @Override
     public JsonObject getPaidFeatureStats() throws StorageQueryException, TenantOrAppNotFoundException {
         JsonObject usageStats = new JsonObject();
@@ -450,6 +482,13 @@ public class EEFeatureFlag implements io.supertokens.featureflag.EEFeatureFlagIn
             }
         }
 
+        // the multi tenancy and SAML stats both go over all the tenants of the app
+        TenantConfig[] tenantConfigs = null;
+        if (Arrays.asList(features).contains(EE_FEATURES.MULTI_TENANCY) ||
+                Arrays.asList(features).contains(EE_FEATURES.SAML)) {
+            tenantConfigs = Multitenancy.getAllTenantsForApp(this.appIdentifier, main);
+        }
+
         for (EE_FEATURES feature : features) {
             if (feature == EE_FEATURES.DASHBOARD_LOGIN) {
                 usageStats.add(EE_FEATURES.DASHBOARD_LOGIN.toString(), getDashboardLoginStats());
@@ -460,7 +499,7 @@ public class EEFeatureFlag implements io.supertokens.featureflag.EEFeatureFlagIn
             }
 
             if (feature == EE_FEATURES.MULTI_TENANCY) {
-                usageStats.add(EE_FEATURES.MULTI_TENANCY.toString(), getMultiTenancyStats());
+                usageStats.add(EE_FEATURES.MULTI_TENANCY.toString(), getMultiTenancyStats(tenantConfigs));
             }
 
             if (feature == EE_FEATURES.ACCOUNT_LINKING) {
@@ -476,7 +515,7 @@ public class EEFeatureFlag implements io.supertokens.featureflag.EEFeatureFlagIn
             }
 
             if (feature == EE_FEATURES.SAML) {
-                usageStats.add(EE_FEATURES.SAML.toString(), getSAMLStats());
+                usageStats.add(EE_FEATURES.SAML.toString(), getSAMLStats(tenantConfigs));
             }
         }
 
@@ -134,4 +134,99 @@ public class TestMultitenancyStats {
         process.kill();
         Assert.assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STOPPED));
     }
+
+    @Test
+    public void testMultitenancyStatsOfManyTenantsAreInTenantOrder() throws Exception {
+        String[] args = {"../../"};
+
+        TestingProcessManager.TestingProcess process = TestingProcessManager.start(args);
+        Assert.assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STARTED));
+
+        if (StorageLayer.getStorage(process.getProcess()).getType() != STORAGE_TYPE.SQL) {
+            return;
+        }
+
+        if (StorageLayer.isInMemDb(process.getProcess())) {
+            // cause we keep all features enabled in memdb anyway
+            return;
+        }
+
+        FeatureFlag.getInstance(process.getProcess())
+                .setLicenseKeyAndSyncFeatures(OPAQUE_KEY_WITH_MULTITENANCY_FEATURE);
+
+        // the stats of these tenants are computed in parallel
+        for (int i = 0; i < 20; i++) {
+            Multitenancy.addNewOrUpdateAppOrTenant(process.getProcess(), new TenantConfig(
+                    new TenantIdentifier(null, null, "t" + i),
+                    new EmailPasswordConfig(true),
+                    new ThirdPartyConfig(true, null),
+                    new PasswordlessConfig(true),
+                    null, null,
+                    new JsonObject()
+            ), false);
+        }
+
+        JsonArray tenantStats = FeatureFlag.getInstance(process.getProcess()).getPaidFeatureStats()
+                .getAsJsonObject("multi_tenancy").getAsJsonArray("tenants");
+        TenantConfig[] tenantConfigs = Multitenancy.getAllTenantsForApp(new AppIdentifier(null, null),
+                process.getProcess());
+        Assert.assertEquals(21, tenantStats.size());
+        for (int i = 0; i < tenantConfigs.length; i++) {
+            Assert.assertEquals(tenantConfigs[i].tenantIdentifier.getTenantId(),
+                    tenantStats.get(i).getAsJsonObject().get("tenantId").getAsString());
+        }
+
+        process.kill();
+        Assert.assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STOPPED));
+    }
+
+    @Test
+    public void testFeatureFlagAPIReturnsCachedStatsWithinTtl() throws Exception {
+        Utils.setValueInConfig("paid_feature_stats_cache_ttl", "60000");
+        String[] args = {"../../"};
+
+        TestingProcessManager.TestingProcess process = TestingProcessManager.start(args);
+        Assert.assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STARTED));
+
+        if (StorageLayer.getStorage(process.getProcess()).getType() != STORAGE_TYPE.SQL) {
+            return;
+        }
+
+        if (StorageLayer.isInMemDb(process.getProcess())) {
+            // cause we keep all features enabled in memdb anyway
+            return;
+        }
+
+        FeatureFlag.getInstance(process.getProcess())
+                .setLicenseKeyAndSyncFeatures(OPAQUE_KEY_WITH_MULTITENANCY_FEATURE);
+
+        JsonObject response = HttpRequestForTesting.sendGETRequest(process.getProcess(), "",
+                "http://localhost:3567/ee/featureflag",
+                null, 1000, 1000, null, WebserverAPI.getLatestCDIVersion().get(), "");
+        Assert.assertEquals(1, response.getAsJsonObject("usageStats").getAsJsonObject("multi_tenancy")
+                .getAsJsonArray("tenants").size());
+
+        Multitenancy.addNewOrUpdateAppOrTenant(process.getProcess(), new TenantConfig(
+                new TenantIdentifier(null, null, "t1"),
+                new EmailPasswordConfig(true),
+                new ThirdPartyConfig(true, null),
+                new PasswordlessConfig(true),
+                null, null,
+                new JsonObject()
+        ), false);
+
+        // the API returns the stats computed by the previous call
+        response = HttpRequestForTesting.sendGETRequest(process.getProcess(), "",
+                "http://localhost:3567/ee/featureflag",
+                null, 1000, 1000, null, WebserverAPI.getLatestCDIVersion().get(), "");
+        Assert.assertEquals(1, response.getAsJsonObject("usageStats").getAsJsonObject("multi_tenancy")
+                .getAsJsonArray("tenants").size());
+
+        // while the stats that are sent with the license check are always up to date
+        Assert.assertEquals(2, FeatureFlag.getInstance(process.getProcess()).getPaidFeatureStats()
+                .getAsJsonObject("multi_tenancy").getAsJsonArray("tenants").size());
+
+        process.kill();
+        Assert.assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STOPPED));
+    }
 }
@@ -47,7 +47,9 @@ import io.supertokens.pluginInterface.exceptions.InvalidConfigException;
 import io.supertokens.pluginInterface.exceptions.StorageQueryException;
 import io.supertokens.pluginInterface.multitenancy.TenantIdentifier;
 import io.supertokens.storageLayer.StorageLayer;
+import io.supertokens.telemetry.CoreMetrics;
 import io.supertokens.telemetry.TelemetryProvider;
+import io.supertokens.utils.Utils;
 import io.supertokens.version.Version;
 import io.supertokens.webserver.Webserver;
 import org.jetbrains.annotations.TestOnly;
@@ -61,8 +63,15 @@ import java.lang.reflect.Field;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 public class Main {
 
@@ -75,7 +84,7 @@ public class Main {
     public static boolean makeConsolePrintSilent = false;
     private final Object mainThreadWakeUpMonitor = new Object();
     // will be unique every time the server has started.
-    private String processId = UUID.randomUUID().toString();
+    private String processId = Utils.getUUID();
     private boolean mainThreadWokenUpToShutdown = false;
 
     private Thread mainThread = Thread.currentThread();
@@ -102,6 +111,9 @@ public class Main {
 
     private boolean forceInMemoryDB = false;
 
+    // how long each of the phases of init() took, in the order in which they finished
+    private final Map<String, Long> startupPhaseDurationsMs = Collections.synchronizedMap(new LinkedHashMap<>());
+
     public static void main(String[] args) {
         new Main().start(args);
     }
@@ -158,6 +170,8 @@ public class Main {
 
     private void init() throws IOException, StorageQueryException {
 
+        long phaseStartTime = System.nanoTime();
+
         // Handle kill signal gracefully
         handleKillSignalForWhenItHappens();
 
@@ -175,6 +189,7 @@ public class Main {
         Version.loadVersion(this, CLIOptions.get(this).getInstallationPath() + "version.yaml");
 
         TelemetryProvider.initialize(this);
+        phaseStartTime = startupPhaseFinished("config", phaseStartTime);
 
         // loading storage layer
         try {
@@ -191,6 +206,7 @@ public class Main {
 
         // initialise cron job handler
         Cronjobs.init(this);
+        startupPhaseFinished("primary storage", phaseStartTime);
 
         // initialise storage module
         synchronized (waitToInitStorageModuleLock) {
@@ -202,11 +218,13 @@ public class Main {
                 }
             }
         }
+        phaseStartTime = System.nanoTime();
         try {
             StorageLayer.getBaseStorage(this).initStorage(true, List.of());
         } catch (DbInitException e) {
             throw new QuitProgramException(e);
         }
+        startupPhaseFinished("base storage", phaseStartTime);
 
         // enable ee features if license key is provided.
         synchronized (waitToEnableFeatureFlagLock) {
@@ -217,6 +235,7 @@ public class Main {
                 }
             }
         }
+        phaseStartTime = System.nanoTime();
         MultitenancyHelper.init(this);
         FeatureFlag.initForBaseTenant(this, CLIOptions.get(this).getInstallationPath() + "ee/");
 
@@ -236,15 +255,37 @@ public class Main {
             throw new QuitProgramException(e);
         }
 
-        // load feature flag for all loaded apps
-        MultitenancyHelper.getInstance(this).loadFeatureFlag(new ArrayList<>());
-
-        // init signing keys
-        try {
-            MultitenancyHelper.getInstance(this).loadSigningKeys(new ArrayList<>());
-        } catch (UnsupportedJWTSigningAlgorithmException e) {
+        phaseStartTime = startupPhaseFinished("tenants", phaseStartTime);
+
+        // the feature flags and the signing keys of the apps only depend on the storage layer that was loaded above,
+        // so we load them at the same time. Each of them also loads up to app_loading_parallelism apps at once.
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            long parallelPhasesStartTime = phaseStartTime;
+            Future<?> featureFlags = executor.submit(() -> {
+                // load feature flag for all loaded apps
+                MultitenancyHelper.getInstance(this).loadFeatureFlag(new ArrayList<>());
+                startupPhaseFinished("feature flags", parallelPhasesStartTime);
+            });
+            Future<?> signingKeys = executor.submit(() -> {
+                // init signing keys
+                MultitenancyHelper.getInstance(this).loadSigningKeys(new ArrayList<>());
+                startupPhaseFinished("signing keys", parallelPhasesStartTime);
+                return null;
+            });
+            featureFlags.get();
+            signingKeys.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UnsupportedJWTSigningAlgorithmException) {
+                throw new QuitProgramException((Exception) e.getCause());
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
             throw new QuitProgramException(e);
         }
+        phaseStartTime = System.nanoTime();
 
         // starts removing old session cronjob
         List<List<TenantIdentifier>> uniqueUserPoolIdsTenants = StorageLayer.getTenantsWithUniqueUserPoolId(this);
@@ -303,9 +344,11 @@ public class Main {
 
         // creates password hashing pool
         PasswordHashing.init(this);
+        phaseStartTime = startupPhaseFinished("cronjobs", phaseStartTime);
 
         // start web server to accept incoming traffic
         Webserver.getInstance(this).start();
+        startupPhaseFinished("webserver", phaseStartTime);
 
         // this is a sign to the controlling script that this process has started.
 
@@ -502,6 +545,25 @@ public class Main {
         return PROCESS_START_TIME;
     }
 
+    /**
+     * Returns how long (in milliseconds) each of the startup phases took, in the order in which they finished. The
+     * same durations are also available in the supertokens_startup_phase_duration_seconds metric.
+     */
+    public Map<String, Long> getStartupPhaseDurationsMs() {
+        synchronized (startupPhaseDurationsMs) {
+            return new LinkedHashMap<>(startupPhaseDurationsMs);
+        }
+    }
+
+    private long startupPhaseFinished(String phase, long phaseStartTime) {
+        long now = System.nanoTime();
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(now - phaseStartTime);
+        startupPhaseDurationsMs.put(phase, durationMs);
+        CoreMetrics.getInstance().recordStartupPhase(phase, now - phaseStartTime);
+        Logging.debug(this, TenantIdentifier.BASE_TENANT, "Startup phase " + phase + " took " + durationMs + "ms");
+        return now;
+    }
+
     public Thread getMainThread() {
         return mainThread;
     }
@@ -16,16 +16,20 @@
 
 package io.supertokens;
 
+import io.supertokens.config.Config;
 import io.supertokens.multitenancy.MultitenancyHelper;
 import io.supertokens.pluginInterface.multitenancy.AppIdentifier;
 import io.supertokens.pluginInterface.multitenancy.TenantIdentifier;
 import io.supertokens.pluginInterface.multitenancy.exceptions.TenantOrAppNotFoundException;
+import io.supertokens.utils.Utils;
 import org.jetbrains.annotations.TestOnly;
 
 import javax.annotation.Nonnull;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 // the purpose of this class is to tie singleton classes to s specific main instance. So that
 // when the main instance dies, those singleton classes die too.
@@ -143,6 +147,19 @@ public class ResourceDistributor {
         return result;
     }
 
+    /**
+     * Runs loader once for each of the apps, for up to app_loading_parallelism apps at the same time, and returns
+     * once all of them are done. This is used by the loadForAllTenants functions of the per app resources, where
+     * most of the time is spent waiting on the database, so that loading thousands of apps does not take minutes.
+     * The loader must be safe to call from multiple threads and should handle its own per app errors.
+     */
+    public void forEachApp(List<AppIdentifier> apps, Consumer<AppIdentifier> loader) {
+        Utils.mapInParallel(apps, Config.getBaseConfig(main).getAppLoadingParallelism(), app -> {
+            loader.accept(app);
+            return null;
+        });
+    }
+
     @TestOnly
     public SingletonResource setResource(@Nonnull String key,
                                                       SingletonResource resource) {
@@ -0,0 +1,174 @@
+/*
+ *    Copyright (c) 2026, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+
+package io.supertokens.authRecipe;
+
+import com.google.gson.JsonObject;
+import io.supertokens.pluginInterface.Storage;
+import io.supertokens.pluginInterface.StorageUtils;
+import io.supertokens.pluginInterface.authRecipe.AuthRecipeUserInfo;
+import io.supertokens.pluginInterface.exceptions.StorageQueryException;
+import io.supertokens.pluginInterface.multitenancy.TenantIdentifier;
+import io.supertokens.useridmapping.UserIdMapping;
+import io.supertokens.usermetadata.UserMetadata;
+import io.supertokens.userroles.UserRoles;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Exports all users of a tenant, one batch at a time, in the same order as {@link AuthRecipe#getUsers} with
+ * timeJoinedOrder "ASC". Each batch is fetched with a keyset query that continues from the last exported user, so the
+ * cost of a batch does not depend on how far into the export it is, and only one batch is held in memory at a time.
+ * <p>
+ * Every exported user comes with a cursor. Passing that cursor to a new export continues right after that user, so an
+ * export that was interrupted can be resumed from the last user that was received.
+ */
+public class UserExport {
+
+    public static final int BATCH_SIZE = AuthRecipe.USER_PAGINATION_LIMIT;
+
+    public static class ExportedUser {
+        public final AuthRecipeUserInfo user;
+        public final String cursor;
+        @Nullable
+        public final JsonObject metadata;
+        @Nullable
+        public final String[] roles;
+
+        ExportedUser(AuthRecipeUserInfo user, String cursor, @Nullable JsonObject metadata, @Nullable String[] roles) {
+            this.user = user;
+            this.cursor = cursor;
+            this.metadata = metadata;
+            this.roles = roles;
+        }
+    }
+
+    @FunctionalInterface
+    public interface BatchConsumer {
+        void accept(List<ExportedUser> batch) throws IOException;
+    }
+
+    /**
+     * @param cursor             the cursor of the last user that was already exported, or null to start from the
+     *                           first user
+     * @param includeMetadata    if false, the metadata of the users is not fetched and is null in the output
+     * @param includeRoles       if false, the roles of the users are not fetched and are null in the output
+     * @param maxUsersPerSecond  if greater than 0, the export waits between batches so that it does not export more
+     *                           than this many users per second
+     * @return the number of exported users
+     */
+    public static long exportUsers(TenantIdentifier tenantIdentifier, Storage storage, @Nullable String cursor,
+                                   boolean includeMetadata, boolean includeRoles, long maxUsersPerSecond,
+                                   BatchConsumer consumer)
+            throws StorageQueryException, UserPaginationToken.InvalidTokenException, IOException,
+            InterruptedException {
+        String lastUserId = null;
+        Long lastTimeJoined = null;
+        if (cursor != null) {
+            UserPaginationToken tokenInfo = UserPaginationToken.extractTokenInfo(cursor);
+            lastUserId = tokenInfo.userId;
+            lastTimeJoined = tokenInfo.timeJoined;
+        }
+
+        int batchSize = maxUsersPerSecond > 0 ? (int) Math.min(BATCH_SIZE, maxUsersPerSecond) : BATCH_SIZE;
+        long startTime = System.nanoTime();
+        long exportedUsers = 0;
+
+        while (true) {
+            // the query includes the user it continues from, so we fetch one more user and skip that one
+            AuthRecipeUserInfo[] users = StorageUtils.getAuthRecipeStorage(storage)
+                    .getUsers(tenantIdentifier, batchSize + 1, "ASC", null, lastUserId, lastTimeJoined, null);
+
+            List<AuthRecipeUserInfo> batch = new ArrayList<>(batchSize);
+            for (AuthRecipeUserInfo user : users) {
+                if (batch.size() == batchSize) {
+                    break;
+                }
+                // a user can be null if it was deleted between the two queries that getUsers makes
+                if (user == null || (user.getSupertokensUserId().equals(lastUserId)
+                        && user.timeJoined == lastTimeJoined)) {
+                    continue;
+                }
+                batch.add(user);
+            }
+
+            if (!batch.isEmpty()) {
+                consumer.accept(getExportedUsers(tenantIdentifier, storage, batch, includeMetadata, includeRoles));
+                exportedUsers += batch.size();
+
+                AuthRecipeUserInfo lastUser = batch.get(batch.size() - 1);
+                lastUserId = lastUser.getSupertokensUserId();
+                lastTimeJoined = lastUser.timeJoined;
+            }
+
+            if (users.length < batchSize + 1) {
+                return exportedUsers;
+            }
+
+            if (maxUsersPerSecond > 0) {
+                long nextBatchTime = startTime + exportedUsers * 1_000_000_000L / maxUsersPerSecond;
+                long waitMillis = (nextBatchTime - System.nanoTime()) / 1_000_000;
+                if (waitMillis > 0) {
+                    Thread.sleep(waitMillis);
+                }
+            }
+        }
+    }
+
+    private static List<ExportedUser> getExportedUsers(TenantIdentifier tenantIdentifier, Storage storage,
+                                                       List<AuthRecipeUserInfo> batch, boolean includeMetadata,
+                                                       boolean includeRoles)
+            throws StorageQueryException {
+        AuthRecipeUserInfo[] users = batch.toArray(new AuthRecipeUserInfo[0]);
+        UserIdMapping.populateExternalUserIdForUsers(tenantIdentifier.toAppIdentifier(), storage, users);
+
+        // metadata and roles are stored against the external user id if the user has one
+        List<String> userIds = new ArrayList<>(users.length);
+        for (AuthRecipeUserInfo user : users) {
+            userIds.add(user.getSupertokensOrExternalUserId());
+        }
+        Map<String, JsonObject> metadataByUserId = includeMetadata
+                ? UserMetadata.getBulkUserMetadata(tenantIdentifier.toAppIdentifier(), storage, userIds)
+                : null;
+        Map<String, String[]> rolesByUserId = includeRoles
+                ? UserRoles.getRolesForUsers(tenantIdentifier, storage, userIds)
+                : null;
+
+        List<ExportedUser> exportedUsers = new ArrayList<>(users.length);
+        for (AuthRecipeUserInfo user : users) {
+            String userId = user.getSupertokensOrExternalUserId();
+            JsonObject metadata = null;
+            if (metadataByUserId != null) {
+                metadata = metadataByUserId.get(userId);
+                if (metadata == null) {
+                    metadata = new JsonObject();
+                }
+            }
+            String[] roles = null;
+            if (rolesByUserId != null) {
+                roles = rolesByUserId.getOrDefault(userId, new String[0]);
+            }
+            String cursor = new UserPaginationToken(user.getSupertokensUserId(), user.timeJoined).generateToken();
+            exportedUsers.add(new ExportedUser(user, cursor, metadata, roles));
+        }
+        return exportedUsers;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ *    Copyright (c) 2025, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+package io.supertokens.bulkimport;
+
+import io.supertokens.Main;
+import io.supertokens.cronjobs.CronjobRunProgress;
+import io.supertokens.pluginInterface.multitenancy.AppIdentifier;
+import io.supertokens.pluginInterface.multitenancy.TenantIdentifier;
+import io.supertokens.pluginInterface.multitenancy.exceptions.TenantOrAppNotFoundException;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Keeps track of the latest run of the bulk import cronjob for each app, so that we can report the current throughput
+ * and an estimate of when the import will be done. This only covers the runs of this core instance - if there are
+ * several instances processing the same queue, each of them reports its own share.
+ */
+public class BulkImportProgress extends CronjobRunProgress<BulkImportProgress.Run> {
+
+    private static final String RESOURCE_KEY = "io.supertokens.bulkimport.BulkImportProgress";
+
+    // the throughput is calculated over the chunks that were committed in this window
+    static final long THROUGHPUT_WINDOW_MS = 60000;
+
+    private BulkImportProgress() {
+    }
+
+    public static BulkImportProgress getInstance(Main main) {
+        try {
+            return (BulkImportProgress) main.getResourceDistributor()
+                    .getResource(TenantIdentifier.BASE_TENANT, RESOURCE_KEY);
+        } catch (TenantOrAppNotFoundException e) {
+            return (BulkImportProgress) main.getResourceDistributor()
+                    .setResource(TenantIdentifier.BASE_TENANT, RESOURCE_KEY, new BulkImportProgress());
+        }
+    }
+
+    public Run startRun(AppIdentifier appIdentifier, int numberOfWorkers, int initialChunkSize) {
+        return startRun(appIdentifier, new Run(numberOfWorkers, initialChunkSize, System.currentTimeMillis()));
+    }
+
+    public static class Run extends CronjobRunProgress.Run {
+        public final int numberOfWorkers;
+
+        // (commit time, number of users) for each chunk committed in the last THROUGHPUT_WINDOW_MS
+        private final Deque<long[]> recentChunks = new ArrayDeque<>();
+
+        Run(int numberOfWorkers, int initialChunkSize, long startTime) {
+            super(initialChunkSize, startTime);
+            this.numberOfWorkers = numberOfWorkers;
+        }
+
+        @Override
+        public void batchProcessed(int numberOfUsers, int nextChunkSize) {
+            super.batchProcessed(numberOfUsers, nextChunkSize);
+            long now = System.currentTimeMillis();
+            synchronized (recentChunks) {
+                recentChunks.addLast(new long[]{now, numberOfUsers});
+                removeOldChunks(now);
+            }
+        }
+
+        /**
+         * The number of users processed per second over the last minute while the run is in progress, or over the
+         * whole run once it has finished. Several workers commit chunks at the same time, and the rate changes as the
+         * chunk size adapts, so the recent rate is a better base for an estimate than the average of the whole run.
+         */
+        @Override
+        public double getUsersPerSecond() {
+            if (!isRunning()) {
+                return super.getUsersPerSecond();
+            }
+            long now = System.currentTimeMillis();
+            long usersInWindow = 0;
+            synchronized (recentChunks) {
+                removeOldChunks(now);
+                for (long[] chunk : recentChunks) {
+                    usersInWindow += chunk[1];
+                }
+            }
+            long windowStart = Math.max(startTime, now - THROUGHPUT_WINDOW_MS);
+            return usersInWindow * 1000.0 / Math.max(1, now - windowStart);
+        }
+
+        private void removeOldChunks(long now) {
+            while (!recentChunks.isEmpty() && recentChunks.getFirst()[0] < now - THROUGHPUT_WINDOW_MS) {
+                recentChunks.removeFirst();
+            }
+        }
+    }
+}
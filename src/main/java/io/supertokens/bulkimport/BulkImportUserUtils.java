@@ -273,14 +273,22 @@ public class BulkImportUserUtils {
             errors.add("externalUserId " + externalUserId + " is too long. Max length is 128.");
         }
 
-        if (!allExternalUserIds.add(externalUserId)) {
-            errors.add("externalUserId " + externalUserId + " is not unique. It is already used by another user.");
-        }
+        validateExternalUserIdIsUnique(externalUserId, errors);
 
         // We just trim the externalUserId as per the UpdateExternalUserIdInfoAPI.java
         return externalUserId.trim();
     }
 
+    /**
+     * Checks that no other user validated by this instance uses the same externalUserId. This lets callers validate
+     * users in parallel with separate instances, and then check for duplicates in a fixed order with a shared one.
+     */
+    public void validateExternalUserIdIsUnique(String externalUserId, List<String> errors) {
+        if (externalUserId != null && !allExternalUserIds.add(externalUserId)) {
+            errors.add("externalUserId " + externalUserId + " is not unique. It is already used by another user.");
+        }
+    }
+
     private String validateAndNormaliseUserRole(String role, List<String> errors) {
         if (role.length() > 255) {
             errors.add("role " + role + " is too long. Max length is 255.");
@@ -19,7 +19,6 @@ package io.supertokens.config;
 import com.fasterxml.jackson.annotation.JsonAlias;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
@@ -31,6 +30,7 @@ import io.supertokens.pluginInterface.LOG_LEVEL;
 import io.supertokens.pluginInterface.exceptions.InvalidConfigException;
 import io.supertokens.pluginInterface.multitenancy.TenantIdentifier;
 import io.supertokens.pluginInterface.multitenancy.exceptions.TenantOrAppNotFoundException;
+import io.supertokens.utils.GsonUtils;
 import io.supertokens.utils.SemVer;
 import io.supertokens.webserver.Utils;
 import io.supertokens.webserver.WebserverAPI;
@@ -161,6 +161,16 @@ public class CoreConfig {
                     "directory/logs/error.log)")
     private String error_log_path = logDefault;
 
+    @EnvName("LOG_BUFFER_SIZE")
+    @ConfigYamlOnly
+    @JsonProperty
+    @ConfigDescription(
+            "If set to a value greater than 0, INFO and DEBUG logs are written by a background thread through an in " +
+                    "memory buffer which can hold this many log lines, so that API requests do not wait for the log " +
+                    "output to be written. If the buffer is full, new log lines are dropped instead. WARN and ERROR " +
+                    "logs are always written immediately. (Default: 0)")
+    private int log_buffer_size = 0;
+
     @EnvName("ACCESS_TOKEN_SIGNING_KEY_DYNAMIC")
     @NotConflictingInApp
     @JsonProperty
@@ -176,6 +186,61 @@ public class CoreConfig {
     @ConfigDescription("Time in hours for how frequently the dynamic signing key will change. [Default: 168 (1 week)]")
     private double access_token_dynamic_signing_key_update_interval = 168; // in hours
 
+    @EnvName("ACCESS_TOKEN_VERIFICATION_CACHE_SIZE")
+    @ConfigYamlOnly
+    @JsonProperty
+    @ConfigDescription(
+            "Maximum number of verified access tokens to keep in memory, so that verifying the same access token " +
+                    "again does not require checking its signature. Verifications that check the database never " +
+                    "use this cache. Set to 0 to disable the cache. (Default: 0)")
+    private int access_token_verification_cache_size = 0;
+
+    @EnvName("USER_ROLES_CACHE_VERSION_CHECK_INTERVAL")
+    @ConfigYamlOnly
+    @JsonProperty
+    @ConfigDescription(
+            "Time in milliseconds. If set to a value greater than 0, roles and their permissions are kept in memory, " +
+                    "and other cores check for changes to them at most once in this interval, so changes made via " +
+                    "another core can take this long to be seen. Set to 0 to disable the cache. (Default: 0)")
+    private long user_roles_cache_version_check_interval = 0;
+
+    @EnvName("PAID_FEATURE_STATS_CACHE_TTL")
+    @ConfigYamlOnly
+    @JsonProperty
+    @ConfigDescription(
+            "Time in milliseconds. If set to a value greater than 0, the usage stats returned by the /ee/featureflag " +
+                    "API are computed at most once in this interval per app, and the API returns the last computed " +
+                    "stats in between. Set to 0 to compute them on every call. (Default: 0)")
+    private long paid_feature_stats_cache_ttl = 0;
+
+    @EnvName("OAUTH_REVOCATION_CHECK_INTERVAL")
+    @ConfigYamlOnly
+    @JsonProperty
+    @ConfigDescription(
+            "Time in milliseconds. If set to a value greater than 0, OAuth token introspection remembers tokens that " +
+                    "were found to not be revoked, and checks the database again for the same token at most once in " +
+                    "this interval. Revocations made via another core can take this long to be seen. Set to 0 to " +
+                    "check the database on every introspection. (Default: 0)")
+    private long oauth_revocation_check_interval = 0;
+
+    @EnvName("SESSION_INFO_CACHE_TTL")
+    @ConfigYamlOnly
+    @JsonProperty
+    @ConfigDescription(
+            "Time in milliseconds. If set to a value greater than 0, session verification that checks the database " +
+                    "remembers the session it read for this long, and does not read it again in between. Sessions " +
+                    "revoked or refreshed via another core can take this long to be seen as such. Set to 0 to read " +
+                    "the session on every verification that checks the database. (Default: 0)")
+    private long session_info_cache_ttl = 0;
+
+    @EnvName("USER_EXPORT_MAX_USERS_PER_SECOND")
+    @ConfigYamlOnly
+    @JsonProperty
+    @ConfigDescription(
+            "The maximum number of users per second that a single user export streams. Requests to the export API " +
+                    "can ask for a lower rate, but not a higher one. Set to 0 for no limit. (Default: 0)")
+    private long user_export_max_users_per_second = 0;
+
     @EnvName("SUPERTOKENS_PORT")
     @ConfigYamlOnly
     @JsonProperty
@@ -196,6 +261,24 @@ public class CoreConfig {
     @ConfigDescription("Sets the max thread pool size for incoming http server requests. (Default: 10)")
     private int max_server_pool_size = 10;
 
+    @EnvName("WEBSERVER_USE_VIRTUAL_THREADS")
+    @ConfigYamlOnly
+    @JsonProperty
+    @ConfigDescription(
+            "If true, each incoming http server request is handled on its own virtual thread instead of a thread from" +
+                    " a pool of max_server_pool_size threads. Blocking resources like the database are then protected" +
+                    " by max_concurrent_storage_calls and the password hashing pool sizes instead. (Default: false)")
+    private boolean webserver_use_virtual_threads = false;
+
+    @EnvName("MAX_CONCURRENT_STORAGE_CALLS")
+    @ConfigYamlOnly
+    @JsonProperty
+    @ConfigDescription(
+            "Only used if webserver_use_virtual_threads is true. The max number of storage calls made while handling" +
+                    " API requests that can run at the same time on each database. Other calls wait for one of them" +
+                    " to finish. If set to 0, the connection pool size of each database is used. (Default: 0)")
+    private int max_concurrent_storage_calls = 0;
+
     @EnvName("API_KEYS")
     @NotConflictingInApp
     @JsonProperty
@@ -437,9 +520,27 @@ public class CoreConfig {
     @NotConflictingInApp
     @JsonProperty
     @ConfigDescription(
-            "If specified, the bulk migration will wait between rounds. To disable it, set it to null. (Default: 1000)")
+            "If specified, each bulk migration worker will wait this long after finishing a chunk of users before " +
+                    "claiming the next one. To disable it, set it to null. (Default: 1000)")
     private Integer bulk_migration_sleep_between_rounds_in_batch_ms = 1000;
 
+    @EnvName("MIGRATION_BACKFILL_PARALLELISM")
+    @ConfigYamlOnly
+    @JsonProperty
+    @ConfigDescription(
+            "The number of apps whose reservation tables are backfilled at the same time while migrating to the new " +
+                    "user tables. Each of them uses one database connection at a time. (Default: 4)")
+    private int migration_backfill_parallelism = 4;
+
+    @EnvName("APP_LOADING_PARALLELISM")
+    @ConfigYamlOnly
+    @JsonProperty
+    @ConfigDescription(
+            "The number of apps whose feature flags and signing keys are loaded at the same time when the core starts" +
+                    " or when the list of apps changes. Each of them uses one database connection at a time. " +
+                    "(Default: 4)")
+    private int app_loading_parallelism = 4;
+
     @EnvName("WEBAUTHN_RECOVER_ACCOUNT_TOKEN_LIFETIME")
     @NotConflictingInApp
     @JsonProperty
@@ -666,6 +767,10 @@ public class CoreConfig {
         return error_log_path;
     }
 
+    public int getLogBufferSize() {
+        return log_buffer_size;
+    }
+
     public boolean getAccessTokenSigningKeyDynamic() {
         return access_token_signing_key_dynamic;
     }
@@ -674,6 +779,30 @@ public class CoreConfig {
         return (long) (access_token_dynamic_signing_key_update_interval * 3600 * 1000);
     }
 
+    public int getAccessTokenVerificationCacheSize() {
+        return access_token_verification_cache_size;
+    }
+
+    public long getUserRolesCacheVersionCheckInterval() {
+        return user_roles_cache_version_check_interval;
+    }
+
+    public long getPaidFeatureStatsCacheTtl() {
+        return paid_feature_stats_cache_ttl;
+    }
+
+    public long getOAuthRevocationCheckInterval() {
+        return oauth_revocation_check_interval;
+    }
+
+    public long getSessionInfoCacheTtl() {
+        return session_info_cache_ttl;
+    }
+
+    public long getUserExportMaxUsersPerSecond() {
+        return user_export_max_users_per_second;
+    }
+
     public String[] getAPIKeys() {
         if (api_keys == null) {
             return null;
@@ -697,6 +826,14 @@ public class CoreConfig {
         return max_server_pool_size;
     }
 
+    public boolean getWebserverUseVirtualThreads() {
+        return webserver_use_virtual_threads;
+    }
+
+    public int getMaxConcurrentStorageCalls() {
+        return max_concurrent_storage_calls;
+    }
+
     public boolean getHttpsEnabled() {
         return webserver_https_enabled;
     }
@@ -717,6 +854,14 @@ public class CoreConfig {
         return bulk_migration_sleep_between_rounds_in_batch_ms;
     }
 
+    public int getMigrationBackfillParallelism() {
+        return migration_backfill_parallelism;
+    }
+
+    public int getAppLoadingParallelism() {
+        return app_loading_parallelism;
+    }
+
     public String getOtelCollectorConnectionURI() {
         return otel_collector_connection_uri;
     }
@@ -857,6 +1002,10 @@ public class CoreConfig {
                                     + " found here: " + getConfigFileLocation(main) : ""));
         }
 
+        if (max_concurrent_storage_calls < 0) {
+            throw new InvalidConfigException("'max_concurrent_storage_calls' must be >= 0");
+        }
+
         if (api_keys != null) {
             String[] keys = api_keys.split(",");
             for (int i = 0; i < keys.length; i++) {
@@ -929,6 +1078,10 @@ public class CoreConfig {
             }
         }
 
+        if (access_token_verification_cache_size < 0) {
+            throw new InvalidConfigException("'access_token_verification_cache_size' must be >= 0");
+        }
+
         if (base_path != null && !base_path.equals("") && !base_path.equals("/")) {
             if (base_path.contains(" ")) {
                 throw new InvalidConfigException("Invalid characters in base_path config");
@@ -942,6 +1095,30 @@ public class CoreConfig {
                     "'log_level' config must be one of \"NONE\",\"DEBUG\", \"INFO\", \"WARN\" or \"ERROR\".");
         }
 
+        if (user_roles_cache_version_check_interval < 0) {
+            throw new InvalidConfigException("'user_roles_cache_version_check_interval' must be >= 0");
+        }
+
+        if (paid_feature_stats_cache_ttl < 0) {
+            throw new InvalidConfigException("'paid_feature_stats_cache_ttl' must be >= 0");
+        }
+
+        if (oauth_revocation_check_interval < 0) {
+            throw new InvalidConfigException("'oauth_revocation_check_interval' must be >= 0");
+        }
+
+        if (session_info_cache_ttl < 0) {
+            throw new InvalidConfigException("'session_info_cache_ttl' must be >= 0");
+        }
+
+        if (user_export_max_users_per_second < 0) {
+            throw new InvalidConfigException("'user_export_max_users_per_second' must be >= 0");
+        }
+
+        if (log_buffer_size < 0) {
+            throw new InvalidConfigException("'log_buffer_size' must be >= 0");
+        }
+
         {
             // IP Filter validation
             RemoteAddrFilter filter = new RemoteAddrFilter();
@@ -999,6 +1176,14 @@ public class CoreConfig {
             throw new InvalidConfigException("Provided bulk_migration_batch_size must be >= 1");
         }
 
+        if (migration_backfill_parallelism < 1) {
+            throw new InvalidConfigException("Provided migration_backfill_parallelism must be >= 1");
+        }
+
+        if (app_loading_parallelism < 1) {
+            throw new InvalidConfigException("Provided app_loading_parallelism must be >= 1");
+        }
+
         if (webauthn_recover_account_token_lifetime <= 0) {
             throw new InvalidConfigException("Provided webauthn_recover_account_token_lifetime must be > 0");
         }
@@ -1229,9 +1414,9 @@ public class CoreConfig {
     public static ArrayList<ConfigFieldInfo> getConfigFieldsInfoForDashboard(Main main,
                                                                              TenantIdentifier tenantIdentifier)
             throws IOException, TenantOrAppNotFoundException {
-        JsonObject tenantConfig = new Gson().toJsonTree(Config.getConfig(tenantIdentifier, main)).getAsJsonObject();
+        JsonObject tenantConfig = GsonUtils.GSON.toJsonTree(Config.getConfig(tenantIdentifier, main)).getAsJsonObject();
 
-        JsonObject defaultConfig = new Gson().toJsonTree(new CoreConfig()).getAsJsonObject();
+        JsonObject defaultConfig = GsonUtils.GSON.toJsonTree(new CoreConfig()).getAsJsonObject();
 
         ArrayList<ConfigFieldInfo> result = new ArrayList<ConfigFieldInfo>();
 
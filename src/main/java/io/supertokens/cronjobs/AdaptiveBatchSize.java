@@ -0,0 +1,60 @@
+/*
+ *    Copyright (c) 2025, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+package io.supertokens.cronjobs;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The number of rows a cronjob processes in one database round trip, for cronjobs that work through a large backlog
+ * in batches. It is halved whenever a batch takes longer than the target duration (for example, because the database
+ * is under load), and grows by a quarter when a full batch finishes in less than half of that. Shorter batches hold
+ * their row locks and connections for less time, while larger ones spread the per batch overhead over more rows.
+ * <p>
+ * One instance can be shared by several threads working on the same backlog.
+ */
+public class AdaptiveBatchSize {
+
+    private final long targetBatchDurationMs;
+    private final int maxBatchSize;
+    private final AtomicInteger batchSize;
+
+    public AdaptiveBatchSize(int initialBatchSize, int maxBatchSize, long targetBatchDurationMs) {
+        this.targetBatchDurationMs = targetBatchDurationMs;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.batchSize = new AtomicInteger(Math.max(1, Math.min(initialBatchSize, this.maxBatchSize)));
+    }
+
+    public int get() {
+        return batchSize.get();
+    }
+
+    /**
+     * @param requestedBatchSize the batch size the caller asked for
+     * @param processedRows      the number of rows it actually got, which is smaller when the backlog is draining
+     * @param durationMs         how long it took to process and commit the batch
+     */
+    public void onBatchProcessed(int requestedBatchSize, int processedRows, long durationMs) {
+        if (durationMs > targetBatchDurationMs) {
+            batchSize.updateAndGet(current -> Math.max(1, Math.min(current, requestedBatchSize) / 2));
+        } else if (durationMs < targetBatchDurationMs / 2 && processedRows >= requestedBatchSize) {
+            // a partial batch tells us nothing about how a bigger one would do
+            batchSize.updateAndGet(current -> current > requestedBatchSize
+                    ? current
+                    : Math.min(maxBatchSize, current + Math.max(1, current / 4)));
+        }
+    }
+}
@@ -25,6 +25,7 @@ import io.supertokens.pluginInterface.Storage;
 import io.supertokens.pluginInterface.multitenancy.AppIdentifier;
 import io.supertokens.pluginInterface.multitenancy.TenantIdentifier;
 import io.supertokens.storageLayer.StorageLayer;
+import io.supertokens.telemetry.CoreMetrics;
 import org.jetbrains.annotations.TestOnly;
 
 import java.util.ArrayList;
@@ -69,18 +70,21 @@ public abstract class CronTask extends ResourceDistributor.SingletonResource imp
         Logging.info(main, targetTenant, "Starting task: " + jobName, false);
     }
 
-    void shutdownIsGoingToBeCalled() {
+    protected void shutdownIsGoingToBeCalled() {
         Logging.info(main, this.targetTenant, "Stopping task: " + jobName, false);
     }
 
     @Override
     public void run() {
         Logging.info(main, this.targetTenant, "Cronjob started: " + jobName, false);
+        long startTime = System.nanoTime();
+        AtomicBoolean threwException = new AtomicBoolean(false);
 
         if (this.targetTenant != null) {
             try {
                 doTaskForTargetTenant(this.targetTenant);
             } catch (Exception e) {
+                threwException.set(true);
                 ProcessState.getInstance(main).addState(ProcessState.PROCESS_STATE.CRON_TASK_ERROR_LOGGING, e);
                 Logging.error(main, this.targetTenant, "Cronjob threw an exception: " + this.jobName, Main.isTesting,
                         e);
@@ -110,15 +114,17 @@ public abstract class CronTask extends ResourceDistributor.SingletonResource imp
                     }
                 }
 
-                for (AppIdentifier app : apps) {
-                    try {
-                        doTaskPerApp(app);
-                    } catch (Exception e) {
-                        ProcessState.getInstance(main).addState(ProcessState.PROCESS_STATE.CRON_TASK_ERROR_LOGGING, e);
-                        Logging.error(main, app.getAsPublicTenantIdentifier(),
-                                "Cronjob threw an exception: " + this.jobName, Main.isTesting, e);
-                        if (e instanceof QuitProgramException) {
-                            main.wakeUpMainThreadToShutdown();
+                int maxConcurrentApps = Math.min(apps.size(), getMaxConcurrentApps());
+                if (maxConcurrentApps <= 1) {
+                    for (AppIdentifier app : apps) {
+                        runTaskPerApp(app, threwException);
+                    }
+                } else {
+                    // unlike the per storage tasks below, we do not time out here - a per app task that runs for
+                    // longer than its interval just delays its next run.
+                    try (ExecutorService service = Executors.newFixedThreadPool(maxConcurrentApps)) {
+                        for (AppIdentifier app : apps) {
+                            service.execute(() -> runTaskPerApp(app, threwException));
                         }
                     }
                 }
@@ -131,6 +137,7 @@ public abstract class CronTask extends ResourceDistributor.SingletonResource imp
                         try {
                             doTaskPerStorage(StorageLayer.getStorage(t.get(0), main));
                         } catch (Exception e) {
+                            threwException.set(true);
                             ProcessState.getInstance(main)
                                     .addState(ProcessState.PROCESS_STATE.CRON_TASK_ERROR_LOGGING, e);
                             Logging.error(main, t.get(0), "Cronjob threw an exception: " + this.jobName, Main.isTesting,
@@ -144,6 +151,7 @@ public abstract class CronTask extends ResourceDistributor.SingletonResource imp
                             try {
                                 doTaskPerTenant(tenant);
                             } catch (Exception e) {
+                                threwException.set(true);
                                 ProcessState.getInstance(main)
                                         .addState(ProcessState.PROCESS_STATE.CRON_TASK_ERROR_LOGGING, e);
                                 Logging.error(main, tenant, "Cronjob threw an exception: " + this.jobName,
@@ -169,9 +177,24 @@ public abstract class CronTask extends ResourceDistributor.SingletonResource imp
                 }
             }
         }
+        CoreMetrics.getInstance().recordCronJob(jobName, !threwException.get(), System.nanoTime() - startTime);
         Logging.info(main, this.targetTenant, "Cronjob finished: " + jobName, false);
     }
 
+    private void runTaskPerApp(AppIdentifier app, AtomicBoolean threwException) {
+        try {
+            doTaskPerApp(app);
+        } catch (Exception e) {
+            threwException.set(true);
+            ProcessState.getInstance(main).addState(ProcessState.PROCESS_STATE.CRON_TASK_ERROR_LOGGING, e);
+            Logging.error(main, app.getAsPublicTenantIdentifier(),
+                    "Cronjob threw an exception: " + this.jobName, Main.isTesting, e);
+            if (e instanceof QuitProgramException) {
+                main.wakeUpMainThreadToShutdown();
+            }
+        }
+    }
+
     public void setTenantsInfo(List<List<TenantIdentifier>> tenantsInfo) {
         synchronized (lock) {
             if (this.targetTenant != null) {
@@ -214,6 +237,11 @@ public abstract class CronTask extends ResourceDistributor.SingletonResource imp
 
     }
 
+    // only used by per app cronjobs. Tasks that return more than 1 here must make doTaskPerApp thread safe.
+    protected int getMaxConcurrentApps() {
+        return 1;
+    }
+
     public abstract int getIntervalTimeSeconds();
 
     public abstract int getInitialWaitTimeSeconds();
@@ -0,0 +1,95 @@
+/*
+ *    Copyright (c) 2026, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+
+package io.supertokens.cronjobs;
+
+import io.supertokens.ResourceDistributor;
+import io.supertokens.pluginInterface.multitenancy.AppIdentifier;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps track of the latest run of a cronjob for each app, for cronjobs that work through a backlog of users in
+ * batches, so that their progress can be reported by an API. This only covers the runs of this core instance.
+ * <p>
+ * Subclasses are singleton resources with their own getInstance, and their own Run type for the fields that only make
+ * sense for that cronjob.
+ */
+public abstract class CronjobRunProgress<R extends CronjobRunProgress.Run>
+        extends ResourceDistributor.SingletonResource {
+
+    private final Map<AppIdentifier, R> latestRuns = new ConcurrentHashMap<>();
+
+    protected R startRun(AppIdentifier appIdentifier, R run) {
+        latestRuns.put(appIdentifier, run);
+        return run;
+    }
+
+    @Nullable
+    public R getLatestRun(AppIdentifier appIdentifier) {
+        return latestRuns.get(appIdentifier);
+    }
+
+    public static class Run {
+        public final long startTime;
+
+        private final AtomicLong usersProcessed = new AtomicLong(0);
+        private volatile long endTime = -1;
+        private volatile int batchSize;
+
+        protected Run(int initialBatchSize, long startTime) {
+            this.batchSize = initialBatchSize;
+            this.startTime = startTime;
+        }
+
+        public void batchProcessed(int numberOfUsers, int nextBatchSize) {
+            usersProcessed.addAndGet(numberOfUsers);
+            this.batchSize = nextBatchSize;
+        }
+
+        public void finish() {
+            this.endTime = System.currentTimeMillis();
+        }
+
+        public boolean isRunning() {
+            return endTime == -1;
+        }
+
+        public long getEndTime() {
+            return endTime;
+        }
+
+        public long getUsersProcessed() {
+            return usersProcessed.get();
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        /**
+         * The number of users processed per second since the start of the run.
+         */
+        public double getUsersPerSecond() {
+            long end = isRunning() ? System.currentTimeMillis() : endTime;
+            return usersProcessed.get() * 1000.0 / Math.max(1, end - startTime);
+        }
+    }
+}
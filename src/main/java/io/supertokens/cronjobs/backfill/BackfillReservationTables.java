@@ -18,8 +18,11 @@ package io.supertokens.cronjobs.backfill;
 
 import io.supertokens.Main;
 import io.supertokens.ProcessState;
+import io.supertokens.config.Config;
+import io.supertokens.cronjobs.AdaptiveBatchSize;
 import io.supertokens.cronjobs.CronTask;
 import io.supertokens.cronjobs.CronTaskTest;
+import io.supertokens.migration.BackfillProgress;
 import io.supertokens.output.Logging;
 import io.supertokens.pluginInterface.MigrationMode;
 import io.supertokens.pluginInterface.STORAGE_TYPE;
@@ -37,7 +40,13 @@ public class BackfillReservationTables extends CronTask {
 
     public static final String RESOURCE_KEY = "io.supertokens.cronjobs.BackfillReservationTables";
 
-    private static final int BATCH_SIZE = 1000;
+    private static final int INITIAL_BATCH_SIZE = 1000;
+
+    private static final int MAX_BATCH_SIZE = 20000;
+
+    // batches that take longer than this are made smaller, see AdaptiveBatchSize. This keeps each backfill
+    // transaction short, so that it does not hold up sign ups and sign ins that touch the same rows.
+    private static final long TARGET_BATCH_DURATION_MS = 1000;
 
     private BackfillReservationTables(Main main, List<List<TenantIdentifier>> tenantsInfo) {
         super("BackfillReservationTables", main, tenantsInfo, true); // per-app
@@ -84,33 +93,57 @@ public class BackfillReservationTables extends CronTask {
         Logging.info(main, tenantId,
                 "Backfill starting: " + pending + " users pending for app " + app.getAppId(), true);
 
-        // Process in batches
-        int totalProcessed = 0;
-        while (true) {
-            int processed = backfillStorage.backfillUsersBatch(app, BATCH_SIZE);
-            totalProcessed += processed;
-
-            if (totalProcessed > 0 && totalProcessed % 10000 < BATCH_SIZE) {
-                Logging.info(main, tenantId,
-                        "Backfill progress: " + totalProcessed + "/" + pending + " users processed", true);
+        // The batch size adapts to how long each batch takes, so a fast database gets through the backlog in fewer
+        // round trips while a loaded one is not kept busy by long running batches.
+        AdaptiveBatchSize batchSize = new AdaptiveBatchSize(INITIAL_BATCH_SIZE, MAX_BATCH_SIZE,
+                TARGET_BATCH_DURATION_MS);
+        BackfillProgress.Run progress = BackfillProgress.getInstance(main).startRun(app, pending, batchSize.get());
+
+        try {
+            long totalProcessed = 0;
+            long lastLoggedProcessed = 0;
+            while (true) {
+                int requestedBatchSize = batchSize.get();
+                long startTime = System.currentTimeMillis();
+                int processed = backfillStorage.backfillUsersBatch(app, requestedBatchSize);
+                batchSize.onBatchProcessed(requestedBatchSize, processed, System.currentTimeMillis() - startTime);
+                progress.batchProcessed(processed, batchSize.get());
+                totalProcessed += processed;
+
+                if (totalProcessed - lastLoggedProcessed >= 10000) {
+                    lastLoggedProcessed = totalProcessed;
+                    Logging.info(main, tenantId,
+                            "Backfill progress: " + totalProcessed + "/" + pending + " users processed ("
+                                    + (long) progress.getUsersPerSecond() + " users/s, batch size "
+                                    + batchSize.get() + ")", true);
+                }
+
+                if (processed < requestedBatchSize) {
+                    break;
+                }
             }
 
-            if (processed < BATCH_SIZE) {
-                break;
+            // Verify completeness of this app as soon as its backfill is done, instead of waiting for the other apps
+            int inconsistencies = backfillStorage.verifyBackfillCompleteness(app);
+            progress.verified(inconsistencies);
+            if (inconsistencies > 0) {
+                Logging.error(main, tenantId,
+                        "Backfill verification: " + inconsistencies + " users still missing data", true);
+            } else {
+                Logging.info(main, tenantId,
+                        "Backfill complete and verified: " + totalProcessed + " users processed", true);
+                ProcessState.getInstance(main).addState(
+                        ProcessState.PROCESS_STATE.BACKFILL_COMPLETE, null);
             }
+        } finally {
+            progress.finish();
         }
+    }
 
-        // Verify completeness
-        int inconsistencies = backfillStorage.verifyBackfillCompleteness(app);
-        if (inconsistencies > 0) {
-            Logging.error(main, tenantId,
-                    "Backfill verification: " + inconsistencies + " users still missing data", true);
-        } else {
-            Logging.info(main, tenantId,
-                    "Backfill complete and verified: " + totalProcessed + " users processed", true);
-            ProcessState.getInstance(main).addState(
-                    ProcessState.PROCESS_STATE.BACKFILL_COMPLETE, null);
-        }
+    @Override
+    protected int getMaxConcurrentApps() {
+        // each app being backfilled uses one database connection at a time
+        return Config.getBaseConfig(main).getMigrationBackfillParallelism();
     }
 
     @Override
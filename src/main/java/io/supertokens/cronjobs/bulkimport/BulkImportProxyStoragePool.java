@@ -0,0 +1,176 @@
+/*
+ *    Copyright (c) 2025, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+package io.supertokens.cronjobs.bulkimport;
+
+import com.google.gson.JsonObject;
+import io.supertokens.Main;
+import io.supertokens.ResourceDistributor;
+import io.supertokens.config.Config;
+import io.supertokens.multitenancy.Multitenancy;
+import io.supertokens.pluginInterface.Storage;
+import io.supertokens.pluginInterface.exceptions.DbInitException;
+import io.supertokens.pluginInterface.exceptions.InvalidConfigException;
+import io.supertokens.pluginInterface.exceptions.StorageQueryException;
+import io.supertokens.pluginInterface.exceptions.StorageTransactionLogicException;
+import io.supertokens.pluginInterface.multitenancy.AppIdentifier;
+import io.supertokens.pluginInterface.multitenancy.TenantConfig;
+import io.supertokens.pluginInterface.multitenancy.TenantIdentifier;
+import io.supertokens.pluginInterface.multitenancy.exceptions.TenantOrAppNotFoundException;
+import io.supertokens.pluginInterface.sqlStorage.SQLStorage;
+import io.supertokens.storageLayer.StorageLayer;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The bulk import proxy storages of one app, reused by the workers of {@link ProcessBulkImportUsers} across chunks and
+ * cronjob runs.
+ * <p>
+ * A proxy storage keeps one connection open across transactions so that the imported users are only committed after
+ * all import steps succeed, which means that it can only be used by one worker at a time. So each worker checks out a
+ * set of proxy storages (one per user pool of the app) when it starts and returns it when it is done. Creating a proxy
+ * storage sets up a new connection pool and checks that all tables exist, so instead of closing the returned sets we
+ * keep up to bulk_migration_parallelism of them until the queue is empty.
+ */
+class BulkImportProxyStoragePool {
+
+    private final Main main;
+    private final AppIdentifier appIdentifier;
+
+    private final Deque<ProxyStorages> idleStorages = new ArrayDeque<>();
+    private boolean closed = false;
+
+    BulkImportProxyStoragePool(Main main, AppIdentifier appIdentifier) {
+        this.main = main;
+        this.appIdentifier = appIdentifier;
+    }
+
+    synchronized ProxyStorages acquire() {
+        if (!idleStorages.isEmpty()) {
+            return idleStorages.pop();
+        }
+        return new ProxyStorages(main, appIdentifier);
+    }
+
+    /**
+     * @param reusable false if the worker failed while using the storages, in which case their connections may be
+     *                 in an unknown state and they are closed instead of being reused.
+     */
+    void release(ProxyStorages storages, int maxIdleStorages, boolean reusable) {
+        synchronized (this) {
+            if (reusable && !closed && idleStorages.size() < maxIdleStorages) {
+                idleStorages.push(storages);
+                return;
+            }
+        }
+        storages.close();
+    }
+
+    /**
+     * Closes all idle storages. Storages that are checked out right now are closed when they are released.
+     */
+    void close() {
+        List<ProxyStorages> toClose;
+        synchronized (this) {
+            closed = true;
+            toClose = new ArrayList<>(idleStorages);
+            idleStorages.clear();
+        }
+        for (ProxyStorages storages : toClose) {
+            storages.close();
+        }
+    }
+
+    static class ProxyStorages {
+        private final Map<String, SQLStorage> userPoolToStorageMap = new HashMap<>();
+        private final Main main;
+        private final AppIdentifier appIdentifier;
+
+        private ProxyStorages(Main main, AppIdentifier appIdentifier) {
+            this.main = main;
+            this.appIdentifier = appIdentifier;
+        }
+
+        /**
+         * Returns the proxy storage for the user pool of the given tenant, creating it if this is the first time we
+         * see that user pool (for example, if the tenant was created after these storages were).
+         */
+        synchronized Storage get(TenantIdentifier tenantIdentifier)
+                throws InvalidConfigException, IOException, TenantOrAppNotFoundException, DbInitException {
+            String userPoolId = StorageLayer.getStorage(tenantIdentifier, main).getUserPoolId();
+            if (userPoolToStorageMap.containsKey(userPoolId)) {
+                return userPoolToStorageMap.get(userPoolId);
+            }
+
+            TenantConfig[] allTenants = Multitenancy.getAllTenants(main);
+
+            Map<ResourceDistributor.KeyClass, JsonObject> normalisedConfigs = Config.getNormalisedConfigsForAllTenants(
+                    allTenants,
+                    Config.getBaseConfigAsJsonObject(main));
+
+            for (ResourceDistributor.KeyClass key : normalisedConfigs.keySet()) {
+                if (key.getTenantIdentifier().equals(tenantIdentifier)) {
+                    SQLStorage bulkImportProxyStorage = (SQLStorage) StorageLayer.getNewBulkImportProxyStorageInstance(
+                            main, normalisedConfigs.get(key), tenantIdentifier, true);
+
+                    userPoolToStorageMap.put(userPoolId, bulkImportProxyStorage);
+                    bulkImportProxyStorage.initStorage(false, new ArrayList<>());
+                    return bulkImportProxyStorage;
+                }
+            }
+            throw new TenantOrAppNotFoundException(tenantIdentifier);
+        }
+
+        /**
+         * Returns the proxy storages for all tenants of the app. This needs a connection from the base storage's
+         * pool, so it must not be called from within a transaction on the base storage.
+         */
+        synchronized Storage[] getAllForApp() throws StorageTransactionLogicException {
+            try {
+                List<Storage> allProxyStorages = new ArrayList<>();
+                TenantConfig[] tenantConfigs = Multitenancy.getAllTenantsForApp(appIdentifier, main);
+                for (TenantConfig tenantConfig : tenantConfigs) {
+                    allProxyStorages.add(get(tenantConfig.tenantIdentifier));
+                }
+                return allProxyStorages.toArray(new Storage[0]);
+            } catch (TenantOrAppNotFoundException e) {
+                throw new StorageTransactionLogicException(new Exception("E043: " + e.getMessage()));
+            } catch (InvalidConfigException e) {
+                throw new StorageTransactionLogicException(new InvalidConfigException("E044: " + e.getMessage()));
+            } catch (DbInitException e) {
+                throw new StorageTransactionLogicException(new DbInitException("E045: " + e.getMessage()));
+            } catch (IOException e) {
+                throw new StorageTransactionLogicException(new IOException("E046: " + e.getMessage()));
+            }
+        }
+
+        synchronized void close() {
+            for (SQLStorage storage : userPoolToStorageMap.values()) {
+                try {
+                    storage.closeConnectionForBulkImportProxyStorage();
+                } catch (StorageQueryException ignored) {
+                }
+            }
+            userPoolToStorageMap.clear();
+        }
+    }
+}
@@ -19,7 +19,9 @@ package io.supertokens.cronjobs.bulkimport;
 import io.supertokens.Main;
 import io.supertokens.ProcessState;
 import io.supertokens.bulkimport.BulkImport;
+import io.supertokens.bulkimport.BulkImportProgress;
 import io.supertokens.config.Config;
+import io.supertokens.cronjobs.AdaptiveBatchSize;
 import io.supertokens.cronjobs.CronTask;
 import io.supertokens.cronjobs.CronTaskTest;
 import io.supertokens.output.Logging;
@@ -35,6 +37,8 @@ import io.supertokens.storageLayer.StorageLayer;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -44,8 +48,14 @@ public class ProcessBulkImportUsers extends CronTask {
 
     public static final String RESOURCE_KEY = "io.supertokens.cronjobs.ProcessBulkImportUsers";
 
+    // chunks that take longer than this to commit are made smaller, see AdaptiveBatchSize
+    private static final long TARGET_CHUNK_DURATION_MS = 2000;
+
     private ExecutorService executorService;
 
+    // kept across runs while there are users left to import, see BulkImportProxyStoragePool
+    private final Map<AppIdentifier, BulkImportProxyStoragePool> proxyStoragePools = new ConcurrentHashMap<>();
+
     private ProcessBulkImportUsers(Main main, List<List<TenantIdentifier>> tenantsInfo) {
         super("ProcessBulkImportUsers", main, tenantsInfo, true);
     }
@@ -97,68 +107,93 @@ public class ProcessBulkImportUsers extends CronTask {
 
         String[] allUserRoles = StorageUtils.getUserRolesStorage(bulkImportSQLStorage).getRoles(app);
 
-        // Each worker self-selects its own chunk using SELECT FOR UPDATE SKIP LOCKED inside a transaction,
-        // which it keeps open until it deletes (or error-marks) those same rows. Workers stop when
-        // all return false (nothing left in the queue for this round).
-        int chunkSize = Math.max(1, bulkMigrationBatchSize / numberOfBatchChunks);
+        // Each worker keeps claiming chunks using SELECT FOR UPDATE SKIP LOCKED inside a transaction, which it keeps
+        // open until it deletes (or error-marks) those same rows, until the queue is empty. Workers do not wait for
+        // each other between chunks, so one slow chunk only holds up the worker that claimed it. The chunk size is
+        // shared by all workers and adapts to how long chunks take to commit.
+        int initialChunkSize = Math.max(1, bulkMigrationBatchSize / numberOfBatchChunks);
+        AdaptiveBatchSize chunkSize = new AdaptiveBatchSize(initialChunkSize, bulkMigrationBatchSize,
+                TARGET_CHUNK_DURATION_MS);
         Logging.debug(main, app.getAsPublicTenantIdentifier(),
                 "CronTask starts. batch=" + bulkMigrationBatchSize + " parallelism=" + numberOfBatchChunks
-                        + " chunkSize=" + chunkSize);
+                        + " initialChunkSize=" + initialChunkSize);
+
+        BulkImportProgress.Run progress = BulkImportProgress.getInstance(main)
+                .startRun(app, numberOfBatchChunks, initialChunkSize);
+
+        BulkImportProxyStoragePool proxyStoragePool = proxyStoragePools.computeIfAbsent(app,
+                k -> new BulkImportProxyStoragePool(main, app));
+
+        // validation is CPU bound, so the workers share one pool sized to the number of cores
+        ExecutorService validationExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
 
         boolean anyProcessed = false;
+        boolean completedWithoutError = false;
         try {
-            while (true) {
-                List<Future<Boolean>> tasks = new ArrayList<>();
-                for (int i = 0; i < numberOfBatchChunks; i++) {
-                    tasks.add(executorService.submit(
-                            new ProcessBulkUsersImportWorker(main, app, chunkSize, bulkImportSQLStorage,
-                                    allUserRoles)));
-                }
+            List<Future<Boolean>> tasks = new ArrayList<>();
+            for (int i = 0; i < numberOfBatchChunks; i++) {
+                tasks.add(executorService.submit(
+                        new ProcessBulkUsersImportWorker(main, app, chunkSize, progress, proxyStoragePool,
+                                numberOfBatchChunks, validationExecutor, bulkImportSQLStorage, allUserRoles)));
+            }
 
-                boolean roundHadWork = false;
-                for (Future<Boolean> task : tasks) {
-                    try {
-                        if (task.get()) {
-                            roundHadWork = true;
-                            anyProcessed = true;
-                        }
-                    } catch (ExecutionException executionException) {
-                        Logging.error(main, app.getAsPublicTenantIdentifier(),
-                                "Error while processing bulk import users", true, executionException);
-                        throw new RuntimeException(executionException);
+            for (Future<Boolean> task : tasks) {
+                try {
+                    if (task.get()) {
+                        anyProcessed = true;
                     }
-                }
-
-                Logging.debug(main, app.getAsPublicTenantIdentifier(),
-                        "Processing round finished, hadWork=" + roundHadWork);
-                if (!roundHadWork) {
-                    break;
-                }
-                Integer sleepBetweenRounds = Config.getConfig(app.getAsPublicTenantIdentifier(), main)
-                        .getBulkMigrationSleepBetweenRoundsInBatchMs();
-                if (null != sleepBetweenRounds) {
-                    Thread.sleep(sleepBetweenRounds);
+                } catch (ExecutionException executionException) {
+                    Logging.error(main, app.getAsPublicTenantIdentifier(),
+                            "Error while processing bulk import users", true, executionException);
+                    throw new RuntimeException(executionException);
                 }
             }
+            Logging.debug(main, app.getAsPublicTenantIdentifier(),
+                    "Processing finished, users processed=" + progress.getUsersProcessed());
+            completedWithoutError = true;
         } catch (InterruptedException e) {
             Logging.error(main, app.getAsPublicTenantIdentifier(), "Error while processing bulk import users", true, e);
             throw new RuntimeException(e);
         } finally {
+            progress.finish();
             executorService.shutdownNow();
+            validationExecutor.shutdownNow();
+            if (!completedWithoutError) {
+                closeProxyStoragePool(app);
+            }
         }
 
-        // Signal completion for tests that wait on this event.
-        // Only fire when users were actually processed to avoid spurious events
-        // when the cron runs before any users are uploaded.
-        if (anyProcessed) {
-            long remaining = bulkImportSQLStorage.getBulkImportUsersCount(app, BulkImportStorage.BULK_IMPORT_USER_STATUS.NEW)
-                    + bulkImportSQLStorage.getBulkImportUsersCount(app, BulkImportStorage.BULK_IMPORT_USER_STATUS.PROCESSING);
-            if (remaining == 0) {
+        long remaining = bulkImportSQLStorage.getBulkImportUsersCount(app, BulkImportStorage.BULK_IMPORT_USER_STATUS.NEW)
+                + bulkImportSQLStorage.getBulkImportUsersCount(app, BulkImportStorage.BULK_IMPORT_USER_STATUS.PROCESSING);
+        if (remaining == 0) {
+            // nothing left to import, so there is no point in keeping the proxy storages' connections open until the
+            // next run
+            closeProxyStoragePool(app);
+
+            // Signal completion for tests that wait on this event.
+            // Only fire when users were actually processed to avoid spurious events
+            // when the cron runs before any users are uploaded.
+            if (anyProcessed) {
                 ProcessState.getInstance(main).addState(ProcessState.PROCESS_STATE.BULK_IMPORT_COMPLETE, null);
             }
         }
     }
 
+    private void closeProxyStoragePool(AppIdentifier app) {
+        BulkImportProxyStoragePool proxyStoragePool = proxyStoragePools.remove(app);
+        if (proxyStoragePool != null) {
+            proxyStoragePool.close();
+        }
+    }
+
+    @Override
+    protected void shutdownIsGoingToBeCalled() {
+        super.shutdownIsGoingToBeCalled();
+        for (AppIdentifier app : proxyStoragePools.keySet()) {
+            closeProxyStoragePool(app);
+        }
+    }
+
     @Override
     public int getIntervalTimeSeconds() {
         if (Main.isTesting) {
@@ -16,14 +16,13 @@
 
 package io.supertokens.cronjobs.bulkimport;
 
-import com.google.gson.JsonObject;
 import io.supertokens.Main;
-import io.supertokens.ResourceDistributor;
 import io.supertokens.bulkimport.BulkImport;
+import io.supertokens.bulkimport.BulkImportProgress;
 import io.supertokens.bulkimport.BulkImportUserUtils;
 import io.supertokens.bulkimport.exceptions.InvalidBulkImportDataException;
 import io.supertokens.config.Config;
-import io.supertokens.multitenancy.Multitenancy;
+import io.supertokens.cronjobs.AdaptiveBatchSize;
 import io.supertokens.output.Logging;
 import io.supertokens.pluginInterface.Storage;
 import io.supertokens.pluginInterface.bulkimport.BulkImportUser;
@@ -35,87 +34,133 @@ import io.supertokens.pluginInterface.exceptions.InvalidConfigException;
 import io.supertokens.pluginInterface.exceptions.StorageQueryException;
 import io.supertokens.pluginInterface.exceptions.StorageTransactionLogicException;
 import io.supertokens.pluginInterface.multitenancy.AppIdentifier;
-import io.supertokens.pluginInterface.multitenancy.TenantConfig;
 import io.supertokens.pluginInterface.multitenancy.TenantIdentifier;
 import io.supertokens.pluginInterface.multitenancy.exceptions.TenantOrAppNotFoundException;
 import io.supertokens.pluginInterface.sqlStorage.SQLStorage;
 import io.supertokens.pluginInterface.sqlStorage.TransactionConnection;
-import io.supertokens.storageLayer.StorageLayer;
 
 import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 public class ProcessBulkUsersImportWorker implements Callable<Boolean> {
 
-    private final Map<String, SQLStorage> userPoolToStorageMap = new HashMap<>();
     private final Main main;
     private final AppIdentifier app;
     private final BulkImportSQLStorage bulkImportSQLStorage;
     private final String[] allUserRoles;
-    private final int chunkSize;
+    private final AdaptiveBatchSize chunkSize;
+    private final BulkImportProgress.Run progress;
+    private final BulkImportProxyStoragePool proxyStoragePool;
+    private final int parallelism;
+    private final ExecutorService validationExecutor;
 
-    ProcessBulkUsersImportWorker(Main main, AppIdentifier app, int chunkSize,
-                                 BulkImportSQLStorage bulkImportSQLStorage,
-                                 String[] allUserRoles) {
+    ProcessBulkUsersImportWorker(Main main, AppIdentifier app, AdaptiveBatchSize chunkSize,
+                                 BulkImportProgress.Run progress, BulkImportProxyStoragePool proxyStoragePool,
+                                 int parallelism, ExecutorService validationExecutor,
+                                 BulkImportSQLStorage bulkImportSQLStorage, String[] allUserRoles) {
         this.main = main;
         this.app = app;
         this.chunkSize = chunkSize;
+        this.progress = progress;
+        this.proxyStoragePool = proxyStoragePool;
+        this.parallelism = parallelism;
+        this.validationExecutor = validationExecutor;
         this.bulkImportSQLStorage = bulkImportSQLStorage;
         this.allUserRoles = allUserRoles;
     }
 
     /**
-     * Claims a chunk of users with FOR UPDATE inside a baseTenantStorage transaction, processes them,
-     * then deletes (or marks as error) within the same transaction — so the row-level locks are held
-     * from claim through final status update.
+     * Keeps claiming chunks of users until the queue is empty. Each chunk is claimed with FOR UPDATE SKIP LOCKED
+     * inside a baseTenantStorage transaction, processed, and then deleted (or marked as error) within the same
+     * transaction — so the row-level locks are held from claim through final status update.
      *
      * @return true if any users were found and processed, false if the queue was empty
      */
     @Override
     public Boolean call() {
-        // Fresh instance per invocation: allExternalUserIds must not bleed across retry rounds.
-        BulkImportUserUtils bulkImportUserUtils = new BulkImportUserUtils(allUserRoles);
-
         // Pre-initialize proxy storages BEFORE acquiring the outer transaction connection.
-        // getAllProxyStoragesForApp calls Multitenancy.getAllTenantsForApp, which needs a
+        // getAllForApp calls Multitenancy.getAllTenantsForApp, which needs a
         // base-pool connection. If done inside startTransaction, workers deadlock: the outer
         // transaction already holds one connection, and with parallelism > pool-size all
         // workers block each other waiting for a second connection from the exhausted pool.
+        // The proxy storages are reused from earlier workers when possible, which saves creating a new connection
+        // pool per user pool.
+        BulkImportProxyStoragePool.ProxyStorages proxyStorages = proxyStoragePool.acquire();
+        boolean reusable = false;
         Storage[] allStoragesForApp;
         try {
-            allStoragesForApp = getAllProxyStoragesForApp(main, app);
+            allStoragesForApp = proxyStorages.getAllForApp();
         } catch (StorageTransactionLogicException e) {
+            proxyStoragePool.release(proxyStorages, parallelism, false);
             throw new RuntimeException(e);
         }
 
+        boolean anyProcessed = false;
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                int requestedChunkSize = chunkSize.get();
+                long startTime = System.currentTimeMillis();
+                int claimedUsers = processChunk(requestedChunkSize, proxyStorages, allStoragesForApp);
+                if (claimedUsers == 0) {
+                    break;
+                }
+                anyProcessed = true;
+                chunkSize.onBatchProcessed(requestedChunkSize, claimedUsers, System.currentTimeMillis() - startTime);
+                progress.batchProcessed(claimedUsers, chunkSize.get());
+
+                Integer sleepBetweenChunks = Config.getConfig(app.getAsPublicTenantIdentifier(), main)
+                        .getBulkMigrationSleepBetweenRoundsInBatchMs();
+                if (null != sleepBetweenChunks) {
+                    Thread.sleep(sleepBetweenChunks);
+                }
+            }
+            reusable = true;
+        } catch (InterruptedException e) {
+            // the cronjob is shutting down, the users of an unfinished chunk are claimed again in the next run
+            Thread.currentThread().interrupt();
+        } catch (TenantOrAppNotFoundException e) {
+            throw new RuntimeException(e);
+        } finally {
+            proxyStoragePool.release(proxyStorages, parallelism, reusable);
+        }
+        return anyProcessed;
+    }
+
+    /**
+     * @return the number of users that were claimed, 0 if the queue was empty
+     */
+    private int processChunk(int chunkSize, BulkImportProxyStoragePool.ProxyStorages proxyStorages,
+                             Storage[] allStoragesForApp) {
+        // Fresh instance per chunk: allExternalUserIds must not bleed across chunks.
+        BulkImportUserUtils bulkImportUserUtils = new BulkImportUserUtils(allUserRoles);
+
         try {
             return bulkImportSQLStorage.startTransaction(baseCon -> {
                 try {
                     List<BulkImportUser> users = bulkImportSQLStorage
                             .getBulkImportUsersAndChangeStatusToProcessing_Transaction(app, chunkSize, baseCon);
                     if (users == null || users.isEmpty()) {
-                        return false;
+                        return 0;
                     }
-                    processMultipleUsers(app, users, bulkImportUserUtils, allStoragesForApp,
+                    processMultipleUsers(app, users, bulkImportUserUtils, proxyStorages, allStoragesForApp,
                             bulkImportSQLStorage, baseCon);
-                    return true;
+                    return users.size();
                 } catch (TenantOrAppNotFoundException | DbInitException | IOException | StorageQueryException e) {
                     throw new StorageTransactionLogicException(e);
                 }
             });
         } catch (StorageTransactionLogicException | StorageQueryException e) {
             throw new RuntimeException(e);
-        } finally {
-            try {
-                closeAllProxyStorages();
-            } catch (StorageQueryException ignored) {
-            }
         }
     }
 
     private void processMultipleUsers(AppIdentifier appIdentifier, List<BulkImportUser> users,
                                       BulkImportUserUtils bulkImportUserUtils,
+                                      BulkImportProxyStoragePool.ProxyStorages proxyStorages,
                                       Storage[] allStoragesForApp,
                                       BulkImportSQLStorage baseTenantStorage,
                                       TransactionConnection baseCon)
@@ -123,30 +168,21 @@ public class ProcessBulkUsersImportWorker implements Callable<Boolean> {
         try {
             Logging.debug(main, appIdentifier.getAsPublicTenantIdentifier(),
                     "Processing bulk import users: " + users.size());
-            int userIndexPointer = 0;
             List<BulkImportUser> validUsers = new ArrayList<>();
             Map<String, Exception> validationErrorsBeforeActualProcessing = new HashMap<>();
-            while (userIndexPointer < users.size()) {
-                BulkImportUser user = users.get(userIndexPointer);
-                if (Main.isTesting && Main.isTesting_skipBulkImportUserValidationInCronJob) {
-                    validUsers.add(user);
-                } else {
-                    try {
-                        validUsers.add(bulkImportUserUtils.createBulkImportUserFromJSON(main, appIdentifier,
-                                user.toJsonObject(), BulkImportUserUtils.IDMode.READ_STORED));
-                    } catch (InvalidBulkImportDataException exception) {
-                        validationErrorsBeforeActualProcessing.put(user.id, new Exception(
-                                String.valueOf(exception.errors)));
-                    }
-                }
-                userIndexPointer += 1;
+            if (Main.isTesting && Main.isTesting_skipBulkImportUserValidationInCronJob) {
+                validUsers.addAll(users);
+            } else {
+                validateUsers(appIdentifier, users, bulkImportUserUtils, validUsers,
+                        validationErrorsBeforeActualProcessing);
             }
 
             if (!validationErrorsBeforeActualProcessing.isEmpty()) {
                 throw new BulkImportBatchInsertException("Invalid input data", validationErrorsBeforeActualProcessing);
             }
 
-            Map<SQLStorage, List<BulkImportUser>> partitionedUsers = partitionUsersByStorage(appIdentifier, validUsers);
+            Map<SQLStorage, List<BulkImportUser>> partitionedUsers = partitionUsersByStorage(appIdentifier, validUsers,
+                    proxyStorages);
 
             for (SQLStorage bulkImportProxyStorage : partitionedUsers.keySet()) {
                 boolean shouldRetryImmediately = true;
@@ -190,6 +226,59 @@ public class ProcessBulkUsersImportWorker implements Callable<Boolean> {
         }
     }
 
+    /**
+     * Validates the claimed users in parallel on the validation executor, which is shared by all workers of the run.
+     * The rows stay locked while this happens, so the faster the validation, the shorter the claim transaction.
+     * Whether an externalUserId is unique depends on the other users of the chunk, so that is checked afterwards in
+     * the order in which the users were claimed, which keeps the reported errors independent of thread scheduling.
+     */
+    private void validateUsers(AppIdentifier appIdentifier, List<BulkImportUser> users,
+                               BulkImportUserUtils bulkImportUserUtils, List<BulkImportUser> validUsers,
+                               Map<String, Exception> validationErrors)
+            throws StorageQueryException, TenantOrAppNotFoundException {
+        List<Future<BulkImportUser>> validations = new ArrayList<>();
+        for (BulkImportUser user : users) {
+            validations.add(validationExecutor.submit(() -> new BulkImportUserUtils(allUserRoles)
+                    .createBulkImportUserFromJSON(main, appIdentifier, user.toJsonObject(),
+                            BulkImportUserUtils.IDMode.READ_STORED)));
+        }
+
+        try {
+            for (int i = 0; i < users.size(); i++) {
+                BulkImportUser user = users.get(i);
+                List<String> errors = new ArrayList<>();
+                BulkImportUser validUser = null;
+                try {
+                    validUser = validations.get(i).get();
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof InvalidBulkImportDataException) {
+                        errors.addAll(((InvalidBulkImportDataException) e.getCause()).errors);
+                    } else if (e.getCause() instanceof StorageQueryException) {
+                        throw (StorageQueryException) e.getCause();
+                    } else if (e.getCause() instanceof TenantOrAppNotFoundException) {
+                        throw (TenantOrAppNotFoundException) e.getCause();
+                    } else {
+                        throw new RuntimeException(e.getCause());
+                    }
+                }
+                bulkImportUserUtils.validateExternalUserIdIsUnique(user.externalUserId, errors);
+
+                if (errors.isEmpty()) {
+                    validUsers.add(validUser);
+                } else {
+                    validationErrors.put(user.id, new Exception(String.valueOf(errors)));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } finally {
+            for (Future<BulkImportUser> validation : validations) {
+                validation.cancel(true);
+            }
+        }
+    }
+
     private boolean isBulkImportTransactionRolledBackIsTheRealCause(Throwable exception) {
         if (exception instanceof BulkImportTransactionRolledBackException) {
             return true;
@@ -272,68 +361,17 @@ public class ProcessBulkUsersImportWorker implements Callable<Boolean> {
         }
     }
 
-    private synchronized Storage getBulkImportProxyStorage(TenantIdentifier tenantIdentifier)
-            throws InvalidConfigException, IOException, TenantOrAppNotFoundException, DbInitException {
-        String userPoolId = StorageLayer.getStorage(tenantIdentifier, main).getUserPoolId();
-        if (userPoolToStorageMap.containsKey(userPoolId)) {
-            return userPoolToStorageMap.get(userPoolId);
-        }
-
-        TenantConfig[] allTenants = Multitenancy.getAllTenants(main);
-
-        Map<ResourceDistributor.KeyClass, JsonObject> normalisedConfigs = Config.getNormalisedConfigsForAllTenants(
-                allTenants,
-                Config.getBaseConfigAsJsonObject(main));
-
-        for (ResourceDistributor.KeyClass key : normalisedConfigs.keySet()) {
-            if (key.getTenantIdentifier().equals(tenantIdentifier)) {
-                SQLStorage bulkImportProxyStorage = (SQLStorage) StorageLayer.getNewBulkImportProxyStorageInstance(main,
-                        normalisedConfigs.get(key), tenantIdentifier, true);
-
-                userPoolToStorageMap.put(userPoolId, bulkImportProxyStorage);
-                bulkImportProxyStorage.initStorage(false, new ArrayList<>());
-                return bulkImportProxyStorage;
-            }
-        }
-        throw new TenantOrAppNotFoundException(tenantIdentifier);
-    }
-
-    private synchronized Storage[] getAllProxyStoragesForApp(Main main, AppIdentifier appIdentifier)
-            throws StorageTransactionLogicException {
-        try {
-            List<Storage> allProxyStorages = new ArrayList<>();
-            TenantConfig[] tenantConfigs = Multitenancy.getAllTenantsForApp(appIdentifier, main);
-            for (TenantConfig tenantConfig : tenantConfigs) {
-                allProxyStorages.add(getBulkImportProxyStorage(tenantConfig.tenantIdentifier));
-            }
-            return allProxyStorages.toArray(new Storage[0]);
-        } catch (TenantOrAppNotFoundException e) {
-            throw new StorageTransactionLogicException(new Exception("E043: " + e.getMessage()));
-        } catch (InvalidConfigException e) {
-            throw new StorageTransactionLogicException(new InvalidConfigException("E044: " + e.getMessage()));
-        } catch (DbInitException e) {
-            throw new StorageTransactionLogicException(new DbInitException("E045: " + e.getMessage()));
-        } catch (IOException e) {
-            throw new StorageTransactionLogicException(new IOException("E046: " + e.getMessage()));
-        }
-    }
-
-    private void closeAllProxyStorages() throws StorageQueryException {
-        for (SQLStorage storage : userPoolToStorageMap.values()) {
-            storage.closeConnectionForBulkImportProxyStorage();
-        }
-        userPoolToStorageMap.clear();
-    }
-
     private Map<SQLStorage, List<BulkImportUser>> partitionUsersByStorage(AppIdentifier appIdentifier,
-                                                                           List<BulkImportUser> users)
+                                                                           List<BulkImportUser> users,
+                                                                           BulkImportProxyStoragePool.ProxyStorages
+                                                                                   proxyStorages)
             throws DbInitException, TenantOrAppNotFoundException, InvalidConfigException, IOException {
         Map<SQLStorage, List<BulkImportUser>> result = new HashMap<>();
         for (BulkImportUser user : users) {
             TenantIdentifier firstTenantIdentifier = new TenantIdentifier(appIdentifier.getConnectionUriDomain(),
                     appIdentifier.getAppId(), user.loginMethods.getFirst().tenantIds.getFirst());
             
-            SQLStorage bulkImportProxyStorage = (SQLStorage) getBulkImportProxyStorage(firstTenantIdentifier);
+            SQLStorage bulkImportProxyStorage = (SQLStorage) proxyStorages.get(firstTenantIdentifier);
             if (!result.containsKey(bulkImportProxyStorage)) {
                 result.put(bulkImportProxyStorage, new ArrayList<>());
             }
@@ -43,7 +43,6 @@ import org.jetbrains.annotations.TestOnly;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.UUID;
 import java.util.regex.Pattern;
 
 public class Dashboard {
@@ -343,7 +342,7 @@ public class Dashboard {
     private static String createSessionForDashboardUser(AppIdentifier appIdentifier, Storage storage,
                                                         DashboardUser user)
             throws StorageQueryException, UserIdNotFoundException {
-        String sessionId = UUID.randomUUID().toString();
+        String sessionId = Utils.getUUID();
         long timeCreated = System.currentTimeMillis();
         long expiry = timeCreated + DASHBOARD_SESSION_DURATION;
         StorageUtils.getDashboardStorage(storage)
@@ -17,7 +17,6 @@
 package io.supertokens.emailpassword;
 
 import java.security.NoSuchAlgorithmException;
-import java.security.SecureRandom;
 import java.security.spec.InvalidKeySpecException;
 import java.util.List;
 
@@ -64,6 +63,7 @@ import io.supertokens.pluginInterface.useridmapping.LockedUser;
 import io.supertokens.pluginInterface.useridmapping.UserLockingStorage;
 import io.supertokens.pluginInterface.useridmapping.UserNotFoundForLockingException;
 import io.supertokens.storageLayer.StorageLayer;
+import io.supertokens.utils.SecureRandomUtils;
 import io.supertokens.utils.Utils;
 import io.supertokens.webserver.WebserverAPI;
 
@@ -440,8 +440,8 @@ public class EmailPassword {
             byte[] random = new byte[64];
             byte[] salt = new byte[64];
 
-            new SecureRandom().nextBytes(random);
-            new SecureRandom().nextBytes(salt);
+            SecureRandomUtils.nextBytes(random);
+            SecureRandomUtils.nextBytes(salt);
 
             int iterations = 1000;
             String token = Utils
@@ -27,6 +27,7 @@ import io.supertokens.emailpassword.exceptions.UnsupportedPasswordHashingFormatE
 import io.supertokens.pluginInterface.multitenancy.AppIdentifier;
 import io.supertokens.pluginInterface.multitenancy.TenantIdentifier;
 import io.supertokens.pluginInterface.multitenancy.exceptions.TenantOrAppNotFoundException;
+import io.supertokens.telemetry.CoreMetrics;
 import org.jetbrains.annotations.TestOnly;
 import org.mindrot.jbcrypt.BCrypt;
 
@@ -132,6 +133,7 @@ public class PasswordHashing extends ResourceDistributor.SingletonResource {
             throws TenantOrAppNotFoundException {
         Object waiter = new Object();
         try {
+            long waitStartTime = System.nanoTime();
             while (!blockingQueue.contains(waiter)) {
                 try {
                     // put will wait for there to be an empty slot in the queue and return
@@ -140,6 +142,9 @@ public class PasswordHashing extends ResourceDistributor.SingletonResource {
                 } catch (InterruptedException ignored) {
                 }
             }
+            CoreMetrics.getInstance().recordPasswordHashingQueueWait(
+                    blockingQueue == this.argon2BoundedQueue ? "argon2" : "firebase_scrypt",
+                    System.nanoTime() - waitStartTime);
 
             return func.op();
         } finally {
@@ -32,11 +32,11 @@ import io.supertokens.pluginInterface.multitenancy.AppIdentifier;
 import io.supertokens.pluginInterface.multitenancy.TenantIdentifier;
 import io.supertokens.pluginInterface.multitenancy.exceptions.TenantOrAppNotFoundException;
 import io.supertokens.storageLayer.StorageLayer;
+import io.supertokens.utils.SecureRandomUtils;
 import io.supertokens.utils.Utils;
 import org.jetbrains.annotations.TestOnly;
 
 import java.security.NoSuchAlgorithmException;
-import java.security.SecureRandom;
 import java.security.spec.InvalidKeySpecException;
 
 public class EmailVerification {
@@ -85,7 +85,7 @@ public class EmailVerification {
             // we first generate a email verification token
             byte[] random = new byte[48];
 
-            new SecureRandom().nextBytes(random);
+            SecureRandomUtils.nextBytes(random);
 
             String token = Utils.convertToBase64Url(Utils.bytesToString(random));
             String hashedToken = getHashedToken(token);
@@ -233,8 +233,8 @@ public class EmailVerification {
             byte[] random = new byte[64];
             byte[] salt = new byte[64];
 
-            new SecureRandom().nextBytes(random);
-            new SecureRandom().nextBytes(salt);
+            SecureRandomUtils.nextBytes(random);
+            SecureRandomUtils.nextBytes(salt);
 
             int iterations = 1000;
             String token = io.supertokens.utils.Utils
@@ -16,6 +16,10 @@
 
 package io.supertokens.exceptions;
 
+/**
+ * Thrown when an already used refresh token is used again. It has no stack trace since it is caused by client input,
+ * and the fields identify the affected session.
+ */
 public class TokenTheftDetectedException extends Exception {
 
     private static final long serialVersionUID = -7964000536695705071L;
@@ -25,6 +29,7 @@ public class TokenTheftDetectedException extends Exception {
     public final String primaryUserId;
 
     public TokenTheftDetectedException(String sessionHandle, String recipeUserId, String primaryUserId) {
+        super(null, null, false, false);
         this.sessionHandle = sessionHandle;
         this.recipeUserId = recipeUserId;
         this.primaryUserId = primaryUserId;
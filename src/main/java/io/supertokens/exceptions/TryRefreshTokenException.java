@@ -16,16 +16,21 @@
 
 package io.supertokens.exceptions;
 
+/**
+ * Thrown when an access token cannot be used (for example, because it expired) and the client should refresh the
+ * session. This happens for a good share of all session verifications, so it is created without a stack trace - the
+ * message and cause say why it was thrown.
+ */
 public class TryRefreshTokenException extends Exception {
 
     private static final long serialVersionUID = 1L;
 
     public TryRefreshTokenException(String err) {
-        super(err);
+        super(err, null, false, false);
     }
 
     public TryRefreshTokenException(Exception e) throws TryRefreshTokenException {
-        super(e);
+        super(e == null ? null : e.toString(), e, false, false);
         if (e instanceof TryRefreshTokenException) {
             throw (TryRefreshTokenException) e;
         }
@@ -16,16 +16,20 @@
 
 package io.supertokens.exceptions;
 
+/**
+ * Thrown when a session no longer exists or a refresh token is invalid. Like {@link TryRefreshTokenException}, this is
+ * a normal response to client input and has no stack trace.
+ */
 public class UnauthorisedException extends Exception {
 
     private static final long serialVersionUID = 1L;
 
     public UnauthorisedException(String err) {
-        super(err);
+        super(err, null, false, false);
     }
 
     public UnauthorisedException(Exception e) throws UnauthorisedException {
-        super(e);
+        super(e == null ? null : e.toString(), e, false, false);
         if (e instanceof UnauthorisedException) {
             throw (UnauthorisedException) e;
         }
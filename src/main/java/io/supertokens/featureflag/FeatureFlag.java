@@ -19,6 +19,7 @@ package io.supertokens.featureflag;
 import com.google.gson.JsonObject;
 import io.supertokens.Main;
 import io.supertokens.ResourceDistributor;
+import io.supertokens.config.Config;
 import io.supertokens.featureflag.exceptions.InvalidLicenseKeyException;
 import io.supertokens.featureflag.exceptions.NoLicenseKeyFoundException;
 import io.supertokens.httpRequest.HttpResponseException;
@@ -35,11 +36,11 @@ import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class FeatureFlag extends ResourceDistributor.SingletonResource {
 
@@ -48,6 +49,11 @@ public class FeatureFlag extends ResourceDistributor.SingletonResource {
     private static URLClassLoader ucl = null;
     private Main main;
 
+    // the last result of getPaidFeatureStats and when it was computed, see getCachedPaidFeatureStats
+    private final Object paidFeatureStatsLock = new Object();
+    private JsonObject cachedPaidFeatureStats = null;
+    private long cachedPaidFeatureStatsTime = 0;
+
     public static EEFeatureFlagInterface getNewEEFeatureFlagInterfaceInstance(Main main, AppIdentifier appIdentifier) {
         if (FeatureFlag.ucl == null) {
             return null;
@@ -105,6 +111,27 @@ public class FeatureFlag extends ResourceDistributor.SingletonResource {
         return eeFeatureFlag.getPaidFeatureStats();
     }
 
+    /**
+     * Same as getPaidFeatureStats, but returns the stats computed by an earlier call to this function if they are
+     * not older than paid_feature_stats_cache_ttl. Calls that come in while the stats are being computed wait for
+     * that result instead of computing them again.
+     */
+    public JsonObject getCachedPaidFeatureStats() throws StorageQueryException, TenantOrAppNotFoundException {
+        long ttl = Config.getBaseConfig(main).getPaidFeatureStatsCacheTtl();
+        if (ttl <= 0) {
+            return getPaidFeatureStats();
+        }
+        synchronized (paidFeatureStatsLock) {
+            long now = System.currentTimeMillis();
+            if (cachedPaidFeatureStats == null || now - cachedPaidFeatureStatsTime >= ttl) {
+                cachedPaidFeatureStats = getPaidFeatureStats();
+                cachedPaidFeatureStatsTime = now;
+            }
+            // callers may modify the returned object
+            return cachedPaidFeatureStats.deepCopy();
+        }
+    }
+
     @TestOnly
     public static FeatureFlag getInstance(Main main) {
         try {
@@ -131,8 +158,8 @@ public class FeatureFlag extends ResourceDistributor.SingletonResource {
                 main.getResourceDistributor()
                         .getAllResourcesWithResourceKey(RESOURCE_KEY);
         Map<ResourceDistributor.KeyClass, ResourceDistributor.SingletonResource> newResources =
-                new HashMap<>();
-        for (AppIdentifier app : apps) {
+                new ConcurrentHashMap<>();
+        main.getResourceDistributor().forEachApp(apps, app -> {
             try {
                 ResourceDistributor.SingletonResource resource = existingResources.get(
                         new ResourceDistributor.KeyClass(app, RESOURCE_KEY));
@@ -146,7 +173,7 @@ public class FeatureFlag extends ResourceDistributor.SingletonResource {
                 Logging.error(main, app.getAsPublicTenantIdentifier(), e.getMessage(), false);
                 // continue loading other resources
             }
-        }
+        });
         main.getResourceDistributor().replaceResourcesWithResourceKey(RESOURCE_KEY, newResources);
     }
 
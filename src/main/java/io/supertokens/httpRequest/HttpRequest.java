@@ -46,7 +46,7 @@ public class HttpRequest {
     private static boolean isJsonValid(String jsonInString) {
         JsonElement el = null;
         try {
-            el = new JsonParser().parse(jsonInString);
+            el = JsonParser.parseString(jsonInString);
             el.getAsJsonObject();
             return true;
         } catch (Exception ex) {
@@ -108,7 +108,7 @@ public class HttpRequest {
                 if (!isJsonValid(response.toString())) {
                     return (T) response.toString();
                 }
-                return (T) (new JsonParser().parse(response.toString()));
+                return (T) (JsonParser.parseString(response.toString()));
             }
             throw new HttpResponseException(responseCode, response.toString());
         } finally {
@@ -178,7 +178,7 @@ public class HttpRequest {
                 if (!isJsonValid(response.toString())) {
                     return (T) response.toString();
                 }
-                return (T) (new JsonParser().parse(response.toString()));
+                return (T) (JsonParser.parseString(response.toString()));
             }
             throw new HttpResponseException(responseCode, response.toString());
         } finally {
@@ -236,7 +236,7 @@ public class HttpRequest {
                 if (!isJsonValid(response.toString())) {
                     return (T) response.toString();
                 }
-                return (T) (new JsonParser().parse(response.toString()));
+                return (T) (JsonParser.parseString(response.toString()));
             }
             throw new HttpResponseException(responseCode, response.toString());
         } finally {
@@ -111,6 +111,8 @@ import io.supertokens.pluginInterface.webauthn.WebAuthNOptions;
 import io.supertokens.pluginInterface.webauthn.WebAuthNStoredCredential;
 import io.supertokens.pluginInterface.webauthn.exceptions.*;
 import io.supertokens.pluginInterface.webauthn.slqStorage.WebAuthNSQLStorage;
+import io.supertokens.session.BulkSessionRevocationStorage;
+import io.supertokens.userroles.BulkUserRolesStorage;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.TestOnly;
 import org.sqlite.SQLiteException;
@@ -127,7 +129,8 @@ public class Start
         JWTRecipeSQLStorage, PasswordlessSQLStorage, UserMetadataSQLStorage, UserRolesSQLStorage, UserIdMappingStorage,
         UserIdMappingSQLStorage, MultitenancyStorage, MultitenancySQLStorage, TOTPSQLStorage, ActiveUsersStorage,
         ActiveUsersSQLStorage, DashboardSQLStorage, AuthRecipeSQLStorage, OAuthStorage, OAuthSQLStorage, WebAuthNSQLStorage,
-        SAMLStorage, UserLockingStorage, AccountInfoStorage, MigrationBackfillStorage, ActivityLogStorage {
+        SAMLStorage, UserLockingStorage, AccountInfoStorage, MigrationBackfillStorage, ActivityLogStorage,
+        BulkSessionRevocationStorage, BulkUserRolesStorage {
 
     private static final Object appenderLock = new Object();
     private static final String ACCESS_TOKEN_SIGNING_KEY_NAME = "access_token_signing_key";
@@ -469,6 +472,28 @@ public class Start
         }
     }
 
+    @Override
+    public String[] deleteSessionsAndGetDeletedHandles(AppIdentifier appIdentifier,
+                                                       Map<String, String[]> sessionHandlesByTenantId)
+            throws StorageQueryException {
+        try {
+            return SessionQueries.deleteSessionsAndGetDeletedHandles(this, appIdentifier, sessionHandlesByTenantId);
+        } catch (SQLException e) {
+            throw new StorageQueryException(e);
+        }
+    }
+
+    @Override
+    public String[] getAllNonExpiredSessionHandlesForUsers(AppIdentifier appIdentifier, List<String> tenantIds,
+                                                           List<String> userIds)
+            throws StorageQueryException {
+        try {
+            return SessionQueries.getAllNonExpiredSessionHandlesForUsers(this, appIdentifier, tenantIds, userIds);
+        } catch (SQLException e) {
+            throw new StorageQueryException(e);
+        }
+    }
+
     @Override
     public String[] getAllNonExpiredSessionHandlesForUser(TenantIdentifier tenantIdentifier, String userId)
             throws StorageQueryException {
@@ -2194,6 +2219,16 @@ public class Start
         }
     }
 
+    @Override
+    public Map<String, String[]> getRolesForUsers(TenantIdentifier tenantIdentifier, List<String> userIds)
+            throws StorageQueryException {
+        try {
+            return UserRolesQueries.getRolesForUsers(this, tenantIdentifier, userIds);
+        } catch (SQLException e) {
+            throw new StorageQueryException(e);
+        }
+    }
+
     private String[] getRolesForUser(AppIdentifier appIdentifier, String userId) throws
             StorageQueryException {
         try {
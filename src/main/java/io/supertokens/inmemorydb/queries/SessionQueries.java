@@ -34,6 +34,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static io.supertokens.inmemorydb.QueryExecutorTemplate.execute;
 import static io.supertokens.inmemorydb.QueryExecutorTemplate.update;
@@ -260,6 +261,54 @@ public class SessionQueries {
         });
     }
 
+    public static String[] deleteSessionsAndGetDeletedHandles(Start start, AppIdentifier appIdentifier,
+                                                              Map<String, String[]> sessionHandlesByTenantId)
+            throws SQLException, StorageQueryException {
+        List<String> tenantIds = new ArrayList<>();
+        for (Map.Entry<String, String[]> entry : sessionHandlesByTenantId.entrySet()) {
+            if (entry.getValue().length > 0) {
+                tenantIds.add(entry.getKey());
+            }
+        }
+        if (tenantIds.isEmpty()) {
+            return new String[0];
+        }
+        StringBuilder QUERY = new StringBuilder(
+                "DELETE FROM " + Config.getConfig(start).getSessionInfoTable() + " WHERE app_id = ? AND (");
+        for (int i = 0; i < tenantIds.size(); i++) {
+            if (i > 0) {
+                QUERY.append(" OR ");
+            }
+            QUERY.append("(tenant_id = ? AND session_handle IN (");
+            int numberOfHandles = sessionHandlesByTenantId.get(tenantIds.get(i)).length;
+            for (int j = 0; j < numberOfHandles; j++) {
+                if (j == numberOfHandles - 1) {
+                    QUERY.append("?))");
+                } else {
+                    QUERY.append("?, ");
+                }
+            }
+        }
+        QUERY.append(") RETURNING session_handle");
+
+        return execute(start, QUERY.toString(), pst -> {
+            int index = 1;
+            pst.setString(index++, appIdentifier.getAppId());
+            for (String tenantId : tenantIds) {
+                pst.setString(index++, tenantId);
+                for (String sessionHandle : sessionHandlesByTenantId.get(tenantId)) {
+                    pst.setString(index++, sessionHandle);
+                }
+            }
+        }, result -> {
+            List<String> deletedHandles = new ArrayList<>();
+            while (result.next()) {
+                deletedHandles.add(result.getString("session_handle"));
+            }
+            return deletedHandles.toArray(new String[0]);
+        });
+    }
+
     public static void deleteSessionsOfUser(Start start, AppIdentifier appIdentifier, String userId)
             throws SQLException, StorageQueryException {
         String QUERY = "DELETE FROM " + getConfig(start).getSessionInfoTable()
@@ -343,6 +392,50 @@ public class SessionQueries {
         });
     }
 
+    public static String[] getAllNonExpiredSessionHandlesForUsers(Start start, AppIdentifier appIdentifier,
+                                                                  List<String> tenantIds, List<String> userIds)
+            throws SQLException, StorageQueryException {
+        if (tenantIds.isEmpty() || userIds.isEmpty()) {
+            return new String[0];
+        }
+        StringBuilder QUERY = new StringBuilder("SELECT session_handle FROM " + getConfig(start).getSessionInfoTable()
+                + " WHERE app_id = ? AND tenant_id IN (");
+        for (int i = 0; i < tenantIds.size(); i++) {
+            if (i == tenantIds.size() - 1) {
+                QUERY.append("?)");
+            } else {
+                QUERY.append("?, ");
+            }
+        }
+        QUERY.append(" AND user_id IN (");
+        for (int i = 0; i < userIds.size(); i++) {
+            if (i == userIds.size() - 1) {
+                QUERY.append("?)");
+            } else {
+                QUERY.append("?, ");
+            }
+        }
+        QUERY.append(" AND expires_at >= ?");
+
+        return execute(start, QUERY.toString(), pst -> {
+            int index = 1;
+            pst.setString(index++, appIdentifier.getAppId());
+            for (String tenantId : tenantIds) {
+                pst.setString(index++, tenantId);
+            }
+            for (String userId : userIds) {
+                pst.setString(index++, userId);
+            }
+            pst.setLong(index, currentTimeMillis());
+        }, result -> {
+            List<String> sessionHandles = new ArrayList<>();
+            while (result.next()) {
+                sessionHandles.add(result.getString("session_handle"));
+            }
+            return sessionHandles.toArray(new String[0]);
+        });
+    }
+
     public static void deleteAllExpiredSessions(Start start) throws SQLException, StorageQueryException {
         String QUERY = "DELETE FROM " + getConfig(start).getSessionInfoTable() + " WHERE expires_at <= ?";
 
@@ -28,6 +28,9 @@ import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import static io.supertokens.inmemorydb.QueryExecutorTemplate.execute;
 import static io.supertokens.inmemorydb.QueryExecutorTemplate.update;
@@ -212,6 +215,44 @@ public class UserRolesQueries {
         });
     }
 
+    public static Map<String, String[]> getRolesForUsers(Start start, TenantIdentifier tenantIdentifier,
+                                                         List<String> userIds)
+            throws SQLException, StorageQueryException {
+        if (userIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        StringBuilder QUERY = new StringBuilder("SELECT user_id, role FROM " + getConfig(start).getUserRolesTable()
+                + " WHERE app_id = ? AND tenant_id = ? AND user_id IN (");
+        for (int i = 0; i < userIds.size(); i++) {
+            if (i == userIds.size() - 1) {
+                QUERY.append("?)");
+            } else {
+                QUERY.append("?, ");
+            }
+        }
+
+        Map<String, List<String>> rolesByUserId = execute(start, QUERY.toString(), pst -> {
+            pst.setString(1, tenantIdentifier.getAppId());
+            pst.setString(2, tenantIdentifier.getTenantId());
+            for (int i = 0; i < userIds.size(); i++) {
+                pst.setString(i + 3, userIds.get(i));
+            }
+        }, result -> {
+            Map<String, List<String>> roles = new HashMap<>();
+            while (result.next()) {
+                roles.computeIfAbsent(result.getString("user_id"), k -> new ArrayList<>())
+                        .add(result.getString("role"));
+            }
+            return roles;
+        });
+
+        Map<String, String[]> rolesForUsers = new HashMap<>();
+        for (Map.Entry<String, List<String>> entry : rolesByUserId.entrySet()) {
+            rolesForUsers.put(entry.getKey(), entry.getValue().toArray(String[]::new));
+        }
+        return rolesForUsers;
+    }
+
     public static String[] getRolesForUser(Start start, AppIdentifier appIdentifier, String userId)
             throws SQLException, StorageQueryException {
         String QUERY = "SELECT role FROM " + getConfig(start).getUserRolesTable()
@@ -16,7 +16,6 @@
 
 package io.supertokens.inmemorydb.queries.multitenancy;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonPrimitive;
 import io.supertokens.inmemorydb.Start;
@@ -27,6 +26,7 @@ import io.supertokens.pluginInterface.exceptions.StorageQueryException;
 import io.supertokens.pluginInterface.multitenancy.TenantConfig;
 import io.supertokens.pluginInterface.multitenancy.TenantIdentifier;
 import io.supertokens.pluginInterface.multitenancy.ThirdPartyConfig;
+import io.supertokens.utils.GsonUtils;
 
 import java.sql.*;
 import java.util.HashMap;
@@ -56,7 +56,7 @@ public class ThirdPartyProviderClientSQLHelper {
                 if (scopeArrayStr.isEmpty()) {
                     scopeStringArray = null;
                 } else {
-                    JsonArray scopeArray = new Gson().fromJson(scopeArrayStr, JsonArray.class);
+                    JsonArray scopeArray = GsonUtils.GSON.fromJson(scopeArrayStr, JsonArray.class);
                     scopeStringArray = new String[scopeArray.size()];
                     for (int i = 0; i < scopeArray.size(); i++) {
                         scopeStringArray[i] = scopeArray.get(i).getAsString();
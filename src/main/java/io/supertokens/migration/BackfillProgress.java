@@ -0,0 +1,76 @@
+/*
+ *    Copyright (c) 2025, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+package io.supertokens.migration;
+
+import io.supertokens.Main;
+import io.supertokens.cronjobs.CronjobRunProgress;
+import io.supertokens.pluginInterface.multitenancy.AppIdentifier;
+import io.supertokens.pluginInterface.multitenancy.TenantIdentifier;
+import io.supertokens.pluginInterface.multitenancy.exceptions.TenantOrAppNotFoundException;
+
+import javax.annotation.Nullable;
+
+/**
+ * Keeps track of the latest run of the reservation table backfill for each app, so that GET
+ * /migration/backfill/progress can report its throughput. Like the backfill cronjob itself, this only covers the runs
+ * of this core instance.
+ */
+public class BackfillProgress extends CronjobRunProgress<BackfillProgress.Run> {
+
+    private static final String RESOURCE_KEY = "io.supertokens.migration.BackfillProgress";
+
+    private BackfillProgress() {
+    }
+
+    public static BackfillProgress getInstance(Main main) {
+        try {
+            return (BackfillProgress) main.getResourceDistributor()
+                    .getResource(TenantIdentifier.BASE_TENANT, RESOURCE_KEY);
+        } catch (TenantOrAppNotFoundException e) {
+            return (BackfillProgress) main.getResourceDistributor()
+                    .setResource(TenantIdentifier.BASE_TENANT, RESOURCE_KEY, new BackfillProgress());
+        }
+    }
+
+    public Run startRun(AppIdentifier appIdentifier, int pendingUsers, int initialBatchSize) {
+        return startRun(appIdentifier, new Run(pendingUsers, initialBatchSize, System.currentTimeMillis()));
+    }
+
+    /**
+     * Batches are processed one after the other at a steady rate, so the average since the start of the run that
+     * {@link CronjobRunProgress.Run#getUsersPerSecond()} reports is good enough here.
+     */
+    public static class Run extends CronjobRunProgress.Run {
+        public final int pendingUsersAtStart;
+        // null until the completeness scan at the end of the run is done
+        private volatile Integer inconsistentUsers = null;
+
+        Run(int pendingUsersAtStart, int initialBatchSize, long startTime) {
+            super(initialBatchSize, startTime);
+            this.pendingUsersAtStart = pendingUsersAtStart;
+        }
+
+        public void verified(int inconsistentUsers) {
+            this.inconsistentUsers = inconsistentUsers;
+        }
+
+        @Nullable
+        public Integer getInconsistentUsers() {
+            return inconsistentUsers;
+        }
+    }
+}
@@ -73,6 +73,7 @@ import io.supertokens.pluginInterface.accountinfo.AccountInfoStorage;
 import io.supertokens.pluginInterface.useridmapping.LockedUser;
 import io.supertokens.pluginInterface.useridmapping.UserLockingStorage;
 import io.supertokens.pluginInterface.useridmapping.UserNotFoundForLockingException;
+import io.supertokens.session.SessionInfoCache;
 import io.supertokens.storageLayer.StorageLayer;
 import io.supertokens.thirdparty.InvalidProviderConfigException;
 import io.supertokens.thirdparty.ThirdParty;
@@ -536,6 +537,7 @@ public class Multitenancy extends ResourceDistributor.SingletonResource {
         boolean didExist = AuthRecipe.deleteNonAuthRecipeUser(tenantIdentifier, storage,
                 externalUserId == null ? userId : externalUserId);
         finalDidExist = finalDidExist || didExist;
+        SessionInfoCache.getInstance(main).invalidate(tenantIdentifier.toAppIdentifier());
 
         didExist = StorageUtils.getMultitenancyStorage(storage)
                 .removeUserIdFromTenant(tenantIdentifier, userId);
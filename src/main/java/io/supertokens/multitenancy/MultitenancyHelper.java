@@ -41,6 +41,7 @@ import io.supertokens.signingkeys.JWTSigningKey;
 import io.supertokens.signingkeys.SigningKeys;
 import io.supertokens.storageLayer.StorageLayer;
 import io.supertokens.thirdparty.InvalidProviderConfigException;
+import io.supertokens.userroles.UserRolesCache;
 import io.supertokens.utils.SemVer;
 
 import java.io.IOException;
@@ -299,6 +300,7 @@ public class MultitenancyHelper extends ResourceDistributor.SingletonResource {
                     // Only load the remaining resources here.
                     loadFeatureFlag(tenantsThatChanged);
                     loadSigningKeys(tenantsThatChanged);
+                    loadUserRolesCache(tenantsThatChanged);
                     refreshCronjobs();
                 } catch (Exception e) {
                     Logging.error(main, TenantIdentifier.BASE_TENANT, e.getMessage(), false, e);
@@ -318,6 +320,7 @@ public class MultitenancyHelper extends ResourceDistributor.SingletonResource {
                     loadStorageLayer();
                     loadFeatureFlag(tenantsThatChanged);
                     loadSigningKeys(tenantsThatChanged);
+                    loadUserRolesCache(tenantsThatChanged);
                     refreshCronjobs();
                 } catch (Exception e) {
                     Logging.error(main, TenantIdentifier.BASE_TENANT, e.getMessage(), false, e);
@@ -378,6 +381,19 @@ public class MultitenancyHelper extends ResourceDistributor.SingletonResource {
         SigningKeys.loadForAllTenants(main, apps, tenantsThatChanged);
     }
 
+    public void loadUserRolesCache(List<TenantIdentifier> tenantsThatChanged) {
+        List<AppIdentifier> apps = new ArrayList<>();
+        Set<AppIdentifier> appsSet = new HashSet<>();
+        for (TenantConfig t : this.tenantConfigs) {
+            if (appsSet.contains(t.tenantIdentifier.toAppIdentifier())) {
+                continue;
+            }
+            apps.add(t.tenantIdentifier.toAppIdentifier());
+            appsSet.add(t.tenantIdentifier.toAppIdentifier());
+        }
+        UserRolesCache.loadForAllTenants(main, apps, tenantsThatChanged);
+    }
+
     public void refreshCronjobs() {
         List<List<TenantIdentifier>> list = StorageLayer.getTenantsWithUniqueUserPoolId(main);
         Cronjobs.getInstance(main).setTenantsInfo(list);
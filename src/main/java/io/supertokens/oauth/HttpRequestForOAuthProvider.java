@@ -1,9 +1,9 @@
 package io.supertokens.oauth;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import io.supertokens.pluginInterface.oauth.exception.OAuthClientNotFoundException;
+import io.supertokens.utils.GsonUtils;
 
 import java.io.*;
 import java.net.HttpURLConnection;
@@ -179,8 +179,7 @@ public class HttpRequestForOAuthProvider {
         in.close();
         JsonElement jsonResponse = null;
         if (con.getContentType() != null && con.getContentType().contains("application/json")) {
-            Gson gson = new Gson();
-            jsonResponse = gson.fromJson(response.toString(), JsonElement.class);
+            jsonResponse = GsonUtils.GSON.fromJson(response.toString(), JsonElement.class);
         }
         return new Response(responseCode, response.toString(), jsonResponse, con.getHeaderFields());
     }
@@ -397,7 +397,10 @@ public class OAuth {
 
     public static boolean removeClient(Main main, AppIdentifier appIdentifier, Storage storage, String clientId) throws StorageQueryException {
         OAuthStorage oauthStorage = StorageUtils.getOAuthStorage(storage);
-        return oauthStorage.deleteOAuthClient(appIdentifier, clientId);
+        boolean removed = oauthStorage.deleteOAuthClient(appIdentifier, clientId);
+        // the client's OAuth sessions are deleted along with it
+        OAuthRevocationCache.getInstance(main).invalidate(appIdentifier);
+        return removed;
     }
 
     public static List<OAuthClient> getClients(Main main, AppIdentifier appIdentifier, Storage storage, List<String> clientIds)
@@ -469,7 +472,7 @@ public class OAuth {
         Transformations.transformExt(payload);
         payload.remove("ext");
 
-        boolean isValid = !isTokenRevokedBasedOnPayload(oauthStorage, appIdentifier, payload);
+        boolean isValid = !isTokenRevokedBasedOnPayload(main, oauthStorage, appIdentifier, payload);
 
         if (!isValid) {
             payload.entrySet().clear();
@@ -501,14 +504,27 @@ public class OAuth {
         }
     }
 
-    private static boolean isTokenRevokedBasedOnPayload(OAuthStorage oauthStorage, AppIdentifier appIdentifier, JsonObject payload) throws StorageQueryException {
+    private static boolean isTokenRevokedBasedOnPayload(Main main, OAuthStorage oauthStorage,
+            AppIdentifier appIdentifier, JsonObject payload) throws StorageQueryException {
+        OAuthRevocationCache revocationCache = OAuthRevocationCache.getInstance(main);
+        String gid = payload.get("gid").getAsString();
+        // access tokens are checked by their jti, refresh tokens only by their gid
+        String jti = payload.has("jti") ? payload.get("jti").getAsString() : null;
+        if (revocationCache.isKnownNotRevoked(appIdentifier, gid, jti)) {
+            return false;
+        }
+
+        long generation = revocationCache.getGeneration();
         boolean revoked = true;
-        if (payload.has("jti") && payload.has("gid")) {
+        if (jti != null) {
             //access token
-            revoked = oauthStorage.isOAuthTokenRevokedByJTI(appIdentifier, payload.get("gid").getAsString(), payload.get("jti").getAsString());
+            revoked = oauthStorage.isOAuthTokenRevokedByJTI(appIdentifier, gid, jti);
         } else {
             // refresh token
-            revoked = oauthStorage.isOAuthTokenRevokedByGID(appIdentifier, payload.get("gid").getAsString());
+            revoked = oauthStorage.isOAuthTokenRevokedByGID(appIdentifier, gid);
+        }
+        if (!revoked) {
+            revocationCache.putNotRevoked(appIdentifier, gid, jti, generation);
         }
         return revoked;
     }
@@ -521,7 +537,7 @@ public class OAuth {
 
             if (payload.has("stt") && payload.get("stt").getAsInt() == OAuthToken.TokenType.ACCESS_TOKEN.getValue()) {
 
-                boolean isValid = !isTokenRevokedBasedOnPayload(oauthStorage, appIdentifier, payload);
+                boolean isValid = !isTokenRevokedBasedOnPayload(main, oauthStorage, appIdentifier, payload);
 
                 if (isValid) {
                     payload.addProperty("active", true);
@@ -546,12 +562,14 @@ public class OAuth {
             throws StorageQueryException, TenantOrAppNotFoundException {
         OAuthStorage oauthStorage = StorageUtils.getOAuthStorage(storage);
         oauthStorage.revokeOAuthTokenByClientId(appIdentifier, clientId);
+        OAuthRevocationCache.getInstance(main).invalidate(appIdentifier);
     }
 
     public static void revokeRefreshToken(Main main, AppIdentifier appIdentifier, Storage storage, String gid)
             throws StorageQueryException, NoSuchAlgorithmException, TenantOrAppNotFoundException {
         OAuthStorage oauthStorage = StorageUtils.getOAuthStorage(storage);
         oauthStorage.revokeOAuthTokenByGID(appIdentifier, gid);
+        OAuthRevocationCache.getInstance(main).revokeGID(appIdentifier, gid);
     }
 
     public static void revokeAccessToken(Main main, AppIdentifier appIdentifier,
@@ -563,6 +581,7 @@ public class OAuth {
                 String jti = payload.get("jti").getAsString();
                 String gid = payload.get("gid").getAsString();
                 oauthStorage.revokeOAuthTokenByJTI(appIdentifier, gid, jti);
+                OAuthRevocationCache.getInstance(main).revokeJTI(appIdentifier, gid, jti);
             }
 
         } catch (TryRefreshTokenException e) {
@@ -574,6 +593,7 @@ public class OAuth {
                 String sessionHandle) throws StorageQueryException, TenantOrAppNotFoundException {
             OAuthStorage oauthStorage = StorageUtils.getOAuthStorage(storage);
             oauthStorage.revokeOAuthTokenBySessionHandle(appIdentifier, sessionHandle);
+            OAuthRevocationCache.getInstance(main).invalidate(appIdentifier);
         }
 
     public static JsonObject verifyIdTokenAndGetPayload(Main main, AppIdentifier appIdentifier, Storage storage,
@@ -602,7 +622,7 @@ public class OAuth {
 
         while (true) {
             try {
-                String logoutChallenge = UUID.randomUUID().toString();
+                String logoutChallenge = Utils.getUUID();
                 oauthStorage.addOAuthLogoutChallenge(appIdentifier, logoutChallenge, clientId, postLogoutRedirectionUri, sessionHandle, state, System.currentTimeMillis());
 
                 return "{apiDomain}/oauth/logout?logout_challenge=" + logoutChallenge;
@@ -0,0 +1,143 @@
+/*
+ *    Copyright (c) 2026, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+
+package io.supertokens.oauth;
+
+import io.supertokens.Main;
+import io.supertokens.ResourceDistributor;
+import io.supertokens.config.Config;
+import io.supertokens.pluginInterface.multitenancy.AppIdentifier;
+import io.supertokens.pluginInterface.multitenancy.TenantIdentifier;
+import io.supertokens.pluginInterface.multitenancy.exceptions.TenantOrAppNotFoundException;
+import io.supertokens.utils.BoundedExpiringCache;
+import org.jetbrains.annotations.TestOnly;
+
+import java.util.Objects;
+
+/**
+ * Remembers which OAuth tokens were found to not be revoked during introspection, so that introspecting the same
+ * token again within oauth_revocation_check_interval does not query the database. The cache is disabled by default.
+ * <p>
+ * A token is valid as long as its gid (and jti for access tokens) is present in the OAuth sessions table, and
+ * revoking it removes it from there. So only "not revoked" answers are cached. Revocations made via this core remove
+ * the affected entries right away: revoking a jti or a gid removes the entries of that token, and revoking by client
+ * id or session handle (or deleting a client) removes all entries of the app. Revocations made via another core are
+ * seen once the entry is older than the check interval.
+ */
+public class OAuthRevocationCache extends ResourceDistributor.SingletonResource {
+
+    private static final String RESOURCE_KEY = "io.supertokens.oauth.OAuthRevocationCache";
+
+    // upper bound on the number of entries, so that introspecting many distinct tokens cannot use unbounded memory
+    private static final int MAX_SIZE = 100_000;
+
+    private final long checkIntervalMs;
+
+    // the value is not used, an entry means the token was found to be not revoked. Every local revocation increments
+    // the cache's generation, so a lookup that started before a revocation does not add its result, since the
+    // database may have been read before the token was revoked.
+    private final BoundedExpiringCache<TokenKey, Boolean> notRevoked = new BoundedExpiringCache<>(MAX_SIZE);
+
+    private OAuthRevocationCache(Main main) {
+        this.checkIntervalMs = Config.getBaseConfig(main).getOAuthRevocationCheckInterval();
+    }
+
+    public static OAuthRevocationCache getInstance(Main main) {
+        try {
+            return (OAuthRevocationCache) main.getResourceDistributor()
+                    .getResource(TenantIdentifier.BASE_TENANT, RESOURCE_KEY);
+        } catch (TenantOrAppNotFoundException e) {
+            return (OAuthRevocationCache) main.getResourceDistributor()
+                    .setResource(TenantIdentifier.BASE_TENANT, RESOURCE_KEY, new OAuthRevocationCache(main));
+        }
+    }
+
+    public boolean isEnabled() {
+        return checkIntervalMs > 0;
+    }
+
+    public long getGeneration() {
+        return notRevoked.getGeneration();
+    }
+
+    /**
+     * @param jti null for refresh tokens, which are checked by their gid only
+     * @return true if the token was found to be not revoked less than oauth_revocation_check_interval ago
+     */
+    public boolean isKnownNotRevoked(AppIdentifier appIdentifier, String gid, String jti) {
+        if (!isEnabled()) {
+            return false;
+        }
+        return notRevoked.get(appIdentifier, new TokenKey(gid, jti)) != null;
+    }
+
+    /**
+     * Records that the token was not revoked, unless a revocation happened on this core after lookupGeneration was
+     * read (via {@link #getGeneration()}) before the database was checked.
+     */
+    public void putNotRevoked(AppIdentifier appIdentifier, String gid, String jti, long lookupGeneration) {
+        if (!isEnabled()) {
+            return;
+        }
+        notRevoked.put(appIdentifier, new TokenKey(gid, jti), Boolean.TRUE,
+                System.currentTimeMillis() + checkIntervalMs, lookupGeneration);
+    }
+
+    public void revokeJTI(AppIdentifier appIdentifier, String gid, String jti) {
+        notRevoked.remove(appIdentifier, new TokenKey(gid, jti));
+    }
+
+    public void revokeGID(AppIdentifier appIdentifier, String gid) {
+        notRevoked.removeIf(appIdentifier, key -> key.gid.equals(gid));
+    }
+
+    public void invalidate(AppIdentifier appIdentifier) {
+        notRevoked.invalidate(appIdentifier);
+    }
+
+    @TestOnly
+    public int size() {
+        return notRevoked.size();
+    }
+
+    private static class TokenKey {
+        final String gid;
+        final String jti;
+
+        TokenKey(String gid, String jti) {
+            this.gid = gid;
+            this.jti = jti;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof TokenKey)) {
+                return false;
+            }
+            TokenKey other = (TokenKey) o;
+            return gid.equals(other.gid) && Objects.equals(jti, other.jti);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(gid, jti);
+        }
+    }
+}
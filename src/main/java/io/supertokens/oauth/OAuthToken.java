@@ -9,7 +9,6 @@ import io.supertokens.jwt.JWTSigningFunctions;
 import io.supertokens.jwt.exceptions.UnsupportedJWTSigningAlgorithmException;
 import io.supertokens.pluginInterface.exceptions.StorageQueryException;
 import io.supertokens.pluginInterface.exceptions.StorageTransactionLogicException;
-import io.supertokens.pluginInterface.jwt.JWTAsymmetricSigningKeyInfo;
 import io.supertokens.pluginInterface.jwt.JWTSigningKeyInfo;
 import io.supertokens.pluginInterface.multitenancy.AppIdentifier;
 import io.supertokens.pluginInterface.multitenancy.exceptions.TenantOrAppNotFoundException;
@@ -54,7 +53,8 @@ public class OAuthToken {
             @Nonnull Main main, @Nonnull String token)
             throws TenantOrAppNotFoundException, TryRefreshTokenException, StorageQueryException,
             UnsupportedJWTSigningAlgorithmException, StorageTransactionLogicException {
-        List<JWTSigningKeyInfo> keyInfoList = SigningKeys.getInstance(appIdentifier, main).getAllKeys();
+        SigningKeys signingKeys = SigningKeys.getInstance(appIdentifier, main);
+        List<JWTSigningKeyInfo> keyInfoList = signingKeys.getAllKeys();
         Exception error = null;
         JWT.JWTInfo jwtInfo = null;
         JWT.JWTPreParseInfo preParseJWTInfo = null;
@@ -68,15 +68,14 @@ public class OAuthToken {
 
         for (JWTSigningKeyInfo keyInfo : keyInfoList) {
             try {
-                jwtInfo = JWT.verifyJWTAndGetPayload(preParseJWTInfo,
-                        ((JWTAsymmetricSigningKeyInfo) keyInfo).publicKey);
+                jwtInfo = JWT.verifyJWTAndGetPayload(preParseJWTInfo, signingKeys.getParsedKey(keyInfo).publicKey);
                 error = null;
                 break;
             } catch (NoSuchAlgorithmException e) {
                 // This basically should never happen, but it means, that can't verify any
                 // tokens, no need to retry
                 throw new TryRefreshTokenException(e);
-            } catch (KeyException | JWTException e) {
+            } catch (KeyException | InvalidKeySpecException | JWTException e) {
                 error = e;
             }
         }
@@ -130,7 +129,7 @@ public class OAuthToken {
         // We ensure that the gid is there
         // If it isn't that means that we are in a client_credentials (M2M) flow
         if (!payload.has("gid")) {
-            payload.addProperty("gid", UUID.randomUUID().toString());
+            payload.addProperty("gid", Utils.getUUID());
         }
 
         if (payloadUpdate != null) {
@@ -141,17 +140,17 @@ public class OAuthToken {
             }
         }
 
+        SigningKeys signingKeys = SigningKeys.getInstance(appIdentifier, main);
         JWTSigningKeyInfo keyToUse;
         if (useDynamicSigningKey) {
-            keyToUse = Utils.getJWTSigningKeyInfoFromKeyInfo(
-                    SigningKeys.getInstance(appIdentifier, main).getLatestIssuedDynamicKey());
+            keyToUse = Utils.getJWTSigningKeyInfoFromKeyInfo(signingKeys.getLatestIssuedDynamicKey());
         } else {
-            keyToUse = SigningKeys.getInstance(appIdentifier, main)
-                    .getStaticKeyForAlgorithm(JWTSigningKey.SupportedAlgorithms.RS256);
+            keyToUse = signingKeys.getStaticKeyForAlgorithm(JWTSigningKey.SupportedAlgorithms.RS256);
         }
 
         token = JWTSigningFunctions.createJWTToken(JWTSigningKey.SupportedAlgorithms.RS256, new HashMap<>(),
-                    payload, null, payload.get("exp").getAsLong(), payload.get("iat").getAsLong(), keyToUse);
+                    payload, null, payload.get("exp").getAsLong(), payload.get("iat").getAsLong(),
+                    signingKeys.getParsedKey(keyToUse));
         return token;
     }
 }
@@ -0,0 +1,45 @@
+/*
+ *    Copyright (c) 2025, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+
+package io.supertokens.output;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AsyncAppenderBase;
+
+/**
+ * Hands log events over to a bounded ring buffer which is drained by a single background thread that writes them to
+ * the wrapped appender. Logging never blocks the calling thread: if the buffer is full, the event is dropped.
+ * <p>
+ * Unlike logback's AsyncAppender, the message is not formatted before the event is queued. Only the details that
+ * depend on the logging thread (thread name, MDC and caller data) are captured here, and the rest of the work
+ * (formatting and writing the line) happens on the background thread.
+ */
+class AsyncLogAppender extends AsyncAppenderBase<ILoggingEvent> {
+
+    AsyncLogAppender(int bufferSize) {
+        setQueueSize(bufferSize);
+        setDiscardingThreshold(0); // we only drop events when the buffer is full, irrespective of their level
+        setNeverBlock(true);
+    }
+
+    @Override
+    protected void preprocess(ILoggingEvent event) {
+        event.getThreadName();
+        event.getMDCPropertyMap();
+        event.getCallerData();
+    }
+}
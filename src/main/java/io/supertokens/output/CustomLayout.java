@@ -19,17 +19,20 @@ package io.supertokens.output;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.CoreConstants;
 import ch.qos.logback.core.LayoutBase;
-import com.google.gson.Gson;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
 
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 
 class CustomLayout extends LayoutBase<ILoggingEvent> {
 
+    // same format as the SimpleDateFormat that was used before, but thread safe so that it can be shared
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd MMM yyyy HH:mm:ss:SSS Z")
+            .withZone(ZoneId.systemDefault());
+
     private String processID;
     private String coreVersion;
     private boolean useStructuredLogging = false;
@@ -43,55 +46,37 @@ class CustomLayout extends LayoutBase<ILoggingEvent> {
 
     @Override
     public String doLayout(ILoggingEvent event) {
-        JsonObject msgObj = new Gson().fromJson(event.getMessage(), JsonObject.class);
-        DateFormat dateFormat = new SimpleDateFormat("dd MMM yyyy HH:mm:ss:SSS Z");
+        LogEntry entry = getLogEntry(event);
+        String timestamp = DATE_FORMAT.format(Instant.ofEpochMilli(event.getTimeStamp()));
 
         if (useStructuredLogging) {
-            msgObj.addProperty("timestamp", dateFormat.format(new Date(event.getTimeStamp())));
-            msgObj.addProperty("level", event.getLevel().toString());
-            msgObj.addProperty("pid", this.processID);
-            msgObj.addProperty("coreVersion", "v" + coreVersion);
-            msgObj.addProperty("threadName", event.getThreadName());
-            msgObj.addProperty("callerData", event.getCallerData()[1].toString());
-
-            return msgObj.toString() + CoreConstants.LINE_SEPARATOR;
+            StringWriter stringWriter = new StringWriter();
+            try (JsonWriter writer = new JsonWriter(stringWriter)) {
+                writer.beginObject();
+                entry.writeJsonFields(writer);
+                writer.name("timestamp").value(timestamp);
+                writer.name("level").value(event.getLevel().toString());
+                writer.name("pid").value(this.processID);
+                writer.name("coreVersion").value("v" + coreVersion);
+                writer.name("threadName").value(event.getThreadName());
+                writer.name("callerData").value(getCaller(event));
+                writer.endObject();
+            } catch (IOException e) {
+                // StringWriter does not throw
+                throw new IllegalStateException(e);
+            }
+            return stringWriter + CoreConstants.LINE_SEPARATOR;
         } else {
-            String msg = msgObj.get("message").getAsString();
-            String tenantId = "Tenant(" + msgObj.get("tenant").getAsJsonObject().get("connectionUriDomain").getAsString()
-                    + ", " + msgObj.get("tenant").getAsJsonObject().get("appId").getAsString()
-                    + ", " + msgObj.get("tenant").getAsJsonObject().get("tenantId").getAsString()
-                    + ")";
+            String tenantId = entry.getTenantString();
 
             StringBuilder sbuf = new StringBuilder();
 
-            if (msgObj.has("exception")) {
-                JsonArray stackTraceObj = msgObj.get("exception").getAsJsonArray();
-                sbuf.append(dateFormat.format(new Date(event.getTimeStamp())));
-                sbuf.append(" | ");
-
-                sbuf.append(event.getLevel());
-                sbuf.append(" | ");
-
-                sbuf.append("pid: ");
-                sbuf.append(this.processID);
-                sbuf.append(" | ");
-
-                sbuf.append("v" + coreVersion);
-                sbuf.append(" | ");
-
-                sbuf.append("[");
-                sbuf.append(event.getThreadName());
-                sbuf.append("] thread");
-                sbuf.append(" | ");
+            String[] stackTraceLines = entry.getStackTraceLines();
+            if (stackTraceLines != null) {
+                appendLinePrefix(sbuf, event, timestamp, tenantId);
 
-                sbuf.append(event.getCallerData()[1]);
-                sbuf.append(" | ");
-
-                sbuf.append(tenantId);
-                sbuf.append(" | ");
-
-                for (JsonElement stackTraceElement : stackTraceObj) {
-                    sbuf.append(stackTraceElement.getAsString());
+                for (String stackTraceElement : stackTraceLines) {
+                    sbuf.append(stackTraceElement);
                     sbuf.append(CoreConstants.LINE_SEPARATOR);
                 }
 
@@ -99,37 +84,60 @@ class CustomLayout extends LayoutBase<ILoggingEvent> {
                 sbuf.append(CoreConstants.LINE_SEPARATOR);
             }
 
-            sbuf.append(dateFormat.format(new Date(event.getTimeStamp())));
-            sbuf.append(" | ");
+            appendLinePrefix(sbuf, event, timestamp, tenantId);
 
-            sbuf.append(event.getLevel());
-            sbuf.append(" | ");
+            sbuf.append(entry.message);
 
-            sbuf.append("pid: ");
-            sbuf.append(this.processID);
-            sbuf.append(" | ");
+            sbuf.append(CoreConstants.LINE_SEPARATOR);
+            sbuf.append(CoreConstants.LINE_SEPARATOR);
 
-            sbuf.append("v" + coreVersion);
-            sbuf.append(" | ");
+            return sbuf.toString();
+        }
 
-            sbuf.append("[");
-            sbuf.append(event.getThreadName());
-            sbuf.append("] thread");
-            sbuf.append(" | ");
+    }
 
-            sbuf.append(event.getCallerData()[1]);
-            sbuf.append(" | ");
+    private void appendLinePrefix(StringBuilder sbuf, ILoggingEvent event, String timestamp, String tenantId) {
+        sbuf.append(timestamp);
+        sbuf.append(" | ");
 
-            sbuf.append(tenantId);
-            sbuf.append(" | ");
+        sbuf.append(event.getLevel());
+        sbuf.append(" | ");
 
-            sbuf.append(msg);
+        sbuf.append("pid: ");
+        sbuf.append(this.processID);
+        sbuf.append(" | ");
 
-            sbuf.append(CoreConstants.LINE_SEPARATOR);
-            sbuf.append(CoreConstants.LINE_SEPARATOR);
+        sbuf.append("v").append(coreVersion);
+        sbuf.append(" | ");
 
-            return sbuf.toString();
+        sbuf.append("[");
+        sbuf.append(event.getThreadName());
+        sbuf.append("] thread");
+        sbuf.append(" | ");
+
+        sbuf.append(getCaller(event));
+        sbuf.append(" | ");
+
+        sbuf.append(tenantId);
+        sbuf.append(" | ");
+    }
+
+    private static LogEntry getLogEntry(ILoggingEvent event) {
+        Object[] arguments = event.getArgumentArray();
+        if (arguments != null && arguments.length == 1 && arguments[0] instanceof LogEntry) {
+            return (LogEntry) arguments[0];
         }
+        // not logged via the Logging class
+        return new LogEntry(event.getFormattedMessage(), null, null);
+    }
 
+    private static String getCaller(ILoggingEvent event) {
+        // the first elements are the methods in the Logging class, and the one after is the code that called it
+        for (StackTraceElement element : event.getCallerData()) {
+            if (!element.getClassName().equals(Logging.class.getName())) {
+                return element.toString();
+            }
+        }
+        return "";
     }
 }
@@ -0,0 +1,92 @@
+/*
+ *    Copyright (c) 2025, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+
+package io.supertokens.output;
+
+import com.google.gson.stream.JsonWriter;
+import io.supertokens.pluginInterface.multitenancy.TenantIdentifier;
+import io.supertokens.utils.Utils;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+/**
+ * One log line, as passed from {@link Logging} to the loggers. Nothing is formatted when the entry is created: the
+ * layout reads the fields directly, and the JSON form (used for structured logging and for telemetry) is streamed
+ * without building an intermediate JsonObject. With log_buffer_size set, this happens on the thread that writes the
+ * log output, and not on the request thread.
+ */
+final class LogEntry {
+
+    final String message;
+    final TenantIdentifier tenantIdentifier;
+    final Throwable exception;
+
+    LogEntry(String message, TenantIdentifier tenantIdentifier, Throwable exception) {
+        this.message = message;
+        this.tenantIdentifier = tenantIdentifier == null ? TenantIdentifier.BASE_TENANT : tenantIdentifier;
+        this.exception = exception;
+    }
+
+    String[] getStackTraceLines() {
+        return exception == null ? null : Utils.throwableStacktraceToString(exception).split("\n");
+    }
+
+    String getTenantString() {
+        return "Tenant(" + tenantIdentifier.getConnectionUriDomain() + ", " + tenantIdentifier.getAppId() + ", " +
+                tenantIdentifier.getTenantId() + ")";
+    }
+
+    /**
+     * Writes the fields of this entry into an object that has already been opened on the writer, so that callers can
+     * add more fields after them.
+     */
+    void writeJsonFields(JsonWriter writer) throws IOException {
+        writer.name("message").value(message);
+        writer.name("tenant").beginObject();
+        writer.name("connectionUriDomain").value(tenantIdentifier.getConnectionUriDomain());
+        writer.name("appId").value(tenantIdentifier.getAppId());
+        writer.name("tenantId").value(tenantIdentifier.getTenantId());
+        writer.endObject();
+        String[] stackTraceLines = getStackTraceLines();
+        if (stackTraceLines != null) {
+            writer.name("exception").beginArray();
+            for (String line : stackTraceLines) {
+                writer.value(line);
+            }
+            writer.endArray();
+        }
+    }
+
+    String toJson() {
+        StringWriter stringWriter = new StringWriter();
+        try (JsonWriter writer = new JsonWriter(stringWriter)) {
+            writer.beginObject();
+            writeJsonFields(writer);
+            writer.endObject();
+        } catch (IOException e) {
+            // StringWriter does not throw
+            throw new IllegalStateException(e);
+        }
+        return stringWriter.toString();
+    }
+
+    @Override
+    public String toString() {
+        return toJson();
+    }
+}
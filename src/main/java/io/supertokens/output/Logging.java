@@ -20,11 +20,9 @@ import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
 import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
 import ch.qos.logback.core.ConsoleAppender;
 import ch.qos.logback.core.FileAppender;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonPrimitive;
 import io.supertokens.Main;
 import io.supertokens.ResourceDistributor;
 import io.supertokens.config.Config;
@@ -39,6 +37,8 @@ import io.supertokens.version.Version;
 import io.supertokens.webserver.Webserver;
 import org.slf4j.LoggerFactory;
 
+import java.util.function.Supplier;
+
 public class Logging extends ResourceDistributor.SingletonResource {
 
     private static final String RESOURCE_ID = "io.supertokens.output.Logging";
@@ -62,14 +62,17 @@ public class Logging extends ResourceDistributor.SingletonResource {
         Level newLevel = Level.toLevel(Config.getBaseConfig(main).getLogLevel(), Level.INFO); // Default to INFO if invalid
         rootLogger.setLevel(newLevel);
 
+        // only INFO and DEBUG logs are buffered. Errors and warnings are rare, and we want them to be written
+        // even if the process dies right after.
+        int infoBufferSize = Config.getBaseConfig(main).getLogBufferSize();
         this.infoLogger = Config.getBaseConfig(main).getInfoLogPath(main).equals("null")
-                ? createLoggerForConsole(main, "io.supertokens.Info", LOG_LEVEL.INFO)
+                ? createLoggerForConsole(main, "io.supertokens.Info", LOG_LEVEL.INFO, infoBufferSize)
                 : createLoggerForFile(main, Config.getBaseConfig(main).getInfoLogPath(main),
-                "io.supertokens.Info");
+                "io.supertokens.Info", infoBufferSize);
         this.errorLogger = Config.getBaseConfig(main).getErrorLogPath(main).equals("null")
-                ? createLoggerForConsole(main, "io.supertokens.Error", LOG_LEVEL.ERROR)
+                ? createLoggerForConsole(main, "io.supertokens.Error", LOG_LEVEL.ERROR, 0)
                 : createLoggerForFile(main, Config.getBaseConfig(main).getErrorLogPath(main),
-                "io.supertokens.Error");
+                "io.supertokens.Error", 0);
         Storage storage = StorageLayer.getBaseStorage(main);
         if (storage != null) {
             storage.initFileLogging(Config.getBaseConfig(main).getInfoLogPath(main),
@@ -116,48 +119,64 @@ public class Logging extends ResourceDistributor.SingletonResource {
         if (!Config.getBaseConfig(main).getLogLevels(main).contains(LOG_LEVEL.DEBUG)) {
             return;
         }
+        writeDebug(main, tenantIdentifier, msg);
+    }
+
+    /**
+     * Like {@link #debug(Main, TenantIdentifier, String)}, but the message is only created if DEBUG logs are enabled.
+     * Use this if creating the message is costly, for example if it contains a stack trace.
+     */
+    public static void debug(Main main, TenantIdentifier tenantIdentifier, Supplier<String> msgSupplier) {
+        if (!Config.getBaseConfig(main).getLogLevels(main).contains(LOG_LEVEL.DEBUG)) {
+            return;
+        }
+        writeDebug(main, tenantIdentifier, msgSupplier.get());
+    }
+
+    private static void writeDebug(Main main, TenantIdentifier tenantIdentifier, String msg) {
         try {
             msg = msg.trim();
             if (getInstance(main) != null) {
-                String formattedMsg = getFormattedMessage(tenantIdentifier, msg);
-                getInstance(main).infoLogger.debug(formattedMsg);
-                TelemetryProvider.getInstance(main).createLogEvent(tenantIdentifier, formattedMsg, "debug");
+                LogEntry entry = new LogEntry(msg, tenantIdentifier, null);
+                getInstance(main).infoLogger.debug("{}", entry);
+                createTelemetryLogEvent(main, entry, "debug");
             }
         } catch (NullPointerException e) {
             // sometimes logger.debug throws a null pointer exception...
         }
     }
 
-    private static String getFormattedMessage(TenantIdentifier tenantIdentifier, String msg, Exception e) {
-        JsonObject msgObj = new JsonObject();
-        msgObj.addProperty("message", msg);
-        msgObj.add("tenant", new JsonObject());
-        msgObj.getAsJsonObject("tenant").addProperty("connectionUriDomain", tenantIdentifier.getConnectionUriDomain());
-        msgObj.getAsJsonObject("tenant").addProperty("appId", tenantIdentifier.getAppId());
-        msgObj.getAsJsonObject("tenant").addProperty("tenantId", tenantIdentifier.getTenantId());
-
-        if (e != null) {
-            String stackTrace = Utils.throwableStacktraceToString(e);
-            String[] stackTraceArr = stackTrace.split("\n");
-            JsonArray stackTraceArrObj = new JsonArray();
-            for (String stackTraceElement : stackTraceArr) {
-                stackTraceArrObj.add(new JsonPrimitive(stackTraceElement));
-            }
-
-            msgObj.add("exception", stackTraceArrObj);
+    /**
+     * Sends the log to the telemetry collector. The JSON form of the message is only created if one is configured.
+     */
+    private static void createTelemetryLogEvent(Main main, LogEntry entry, String logLevel) {
+        TelemetryProvider telemetryProvider = TelemetryProvider.getInstance(main);
+        if (telemetryProvider != null && telemetryProvider.isLogExportEnabled()) {
+            telemetryProvider.createLogEvent(entry.tenantIdentifier, entry.toJson(), logLevel);
         }
-
-        return msgObj.toString();
     }
 
-    private static String getFormattedMessage(TenantIdentifier tenantIdentifier, String msg) {
-        return getFormattedMessage(tenantIdentifier, msg, null);
+    public static void info(Main main, TenantIdentifier tenantIdentifier, String msg, boolean toConsoleAsWell) {
+        if (!Config.getBaseConfig(main).getLogLevels(main).contains(LOG_LEVEL.INFO)) {
+            return;
+        }
+        writeInfo(main, tenantIdentifier, msg, toConsoleAsWell);
     }
 
-    public static void info(Main main, TenantIdentifier tenantIdentifier, String msg, boolean toConsoleAsWell) {
+    /**
+     * Like {@link #info(Main, TenantIdentifier, String, boolean)}, but the message is only created if INFO logs are
+     * enabled.
+     */
+    public static void info(Main main, TenantIdentifier tenantIdentifier, Supplier<String> msgSupplier,
+                            boolean toConsoleAsWell) {
         if (!Config.getBaseConfig(main).getLogLevels(main).contains(LOG_LEVEL.INFO)) {
             return;
         }
+        writeInfo(main, tenantIdentifier, msgSupplier.get(), toConsoleAsWell);
+    }
+
+    private static void writeInfo(Main main, TenantIdentifier tenantIdentifier, String msg,
+                                  boolean toConsoleAsWell) {
         try {
             msg = msg.trim();
             if (toConsoleAsWell) {
@@ -167,13 +186,13 @@ public class Logging extends ResourceDistributor.SingletonResource {
                     systemOut(prependTenantIdentifierToMessage(tenantIdentifier, msg));
                 }
             }
-            msg = getFormattedMessage(tenantIdentifier, msg);
+            LogEntry entry = new LogEntry(msg, tenantIdentifier, null);
 
             if (getInstance(main) != null) {
-                getInstance(main).infoLogger.info(msg);
+                getInstance(main).infoLogger.info("{}", entry);
             }
 
-            TelemetryProvider.getInstance(main).createLogEvent(tenantIdentifier, msg, "info");
+            createTelemetryLogEvent(main, entry, "info");
         } catch (NullPointerException ignored) {
         }
     }
@@ -184,10 +203,10 @@ public class Logging extends ResourceDistributor.SingletonResource {
         }
         try {
             msg = msg.trim();
-            msg = getFormattedMessage(tenantIdentifier, msg);
             if (getInstance(main) != null) {
-                getInstance(main).errorLogger.warn(msg);
-                TelemetryProvider.getInstance(main).createLogEvent(tenantIdentifier, msg, "warn");
+                LogEntry entry = new LogEntry(msg, tenantIdentifier, null);
+                getInstance(main).errorLogger.warn("{}", entry);
+                createTelemetryLogEvent(main, entry, "warn");
             }
         } catch (NullPointerException ignored) {
         }
@@ -207,9 +226,9 @@ public class Logging extends ResourceDistributor.SingletonResource {
         try {
             err = err.trim();
             if (getInstance(main) != null) {
-                String formattedMessage = getFormattedMessage(tenantIdentifier, err);
-                getInstance(main).errorLogger.error(formattedMessage);
-                TelemetryProvider.getInstance(main).createLogEvent(tenantIdentifier, formattedMessage, "error");
+                LogEntry entry = new LogEntry(err, tenantIdentifier, null);
+                getInstance(main).errorLogger.error("{}", entry);
+                createTelemetryLogEvent(main, entry, "error");
             }
             if (toConsoleAsWell || getInstance(main) == null) {
                 systemErr(prependTenantIdentifierToMessage(tenantIdentifier, err));
@@ -231,21 +250,17 @@ public class Logging extends ResourceDistributor.SingletonResource {
             // error and continue below.
         }
         try {
-            String err = Utils.throwableStacktraceToString(e).trim();
             if (getInstance(main) != null) {
-                // Not required to log here as the error is already included in the formatted message
-                // err = getFormattedMessage(tenantIdentifier, err);
-                // getInstance(main).errorLogger.error(err);
+                // Not required to log here as the error is already included in the log entry below
             } else if (Main.isTesting) {
-                systemErr(err);
+                systemErr(Utils.throwableStacktraceToString(e).trim());
             }
             if (message != null) {
                 message = message.trim();
                 if (getInstance(main) != null) {
-                    getInstance(main).errorLogger.error(getFormattedMessage(tenantIdentifier, message, e));
-                    TelemetryProvider.getInstance(main)
-                            .createLogEvent(tenantIdentifier, getFormattedMessage(tenantIdentifier, message, e),
-                                    "error");
+                    LogEntry entry = new LogEntry(message, tenantIdentifier, e);
+                    getInstance(main).errorLogger.error("{}", entry);
+                    createTelemetryLogEvent(main, entry, "error");
                 }
                 if (toConsoleAsWell || getInstance(main) == null) {
                     systemErr(prependTenantIdentifierToMessage(tenantIdentifier, message));
@@ -279,7 +294,7 @@ public class Logging extends ResourceDistributor.SingletonResource {
         StorageLayer.stopLogging(main);
     }
 
-    private Logger createLoggerForFile(Main main, String file, String name) {
+    private Logger createLoggerForFile(Main main, String file, String name, int bufferSize) {
         LoggerContext lc = (LoggerContext) LoggerFactory.getILoggerFactory();
         LayoutWrappingEncoder ple = new LayoutWrappingEncoder(main.getProcessId(),
                 Version.getVersion(main).getCoreVersion());
@@ -292,13 +307,13 @@ public class Logging extends ResourceDistributor.SingletonResource {
         fileAppender.start();
 
         Logger logger = (Logger) LoggerFactory.getLogger(name);
-        logger.addAppender(fileAppender);
+        logger.addAppender(withBuffer(lc, name, fileAppender, bufferSize));
         logger.setAdditive(false); /* set to true if root should log too */
 
         return logger;
     }
 
-    private Logger createLoggerForConsole(Main main, String name, LOG_LEVEL logLevel) {
+    private Logger createLoggerForConsole(Main main, String name, LOG_LEVEL logLevel, int bufferSize) {
         LoggerContext lc = (LoggerContext) LoggerFactory.getILoggerFactory();
         LayoutWrappingEncoder ple = new LayoutWrappingEncoder(main.getProcessId(),
                 Version.getVersion(main).getCoreVersion());
@@ -311,9 +326,22 @@ public class Logging extends ResourceDistributor.SingletonResource {
         logConsoleAppender.start();
 
         Logger logger = (Logger) LoggerFactory.getLogger(name);
-        logger.addAppender(logConsoleAppender);
+        logger.addAppender(withBuffer(lc, name, logConsoleAppender, bufferSize));
         logger.setAdditive(false); /* set to true if root should log too */
 
         return logger;
     }
+
+    private static Appender<ILoggingEvent> withBuffer(LoggerContext lc, String name, Appender<ILoggingEvent> appender,
+                                                      int bufferSize) {
+        if (bufferSize <= 0) {
+            return appender;
+        }
+        AsyncLogAppender asyncAppender = new AsyncLogAppender(bufferSize);
+        asyncAppender.setName(name);
+        asyncAppender.setContext(lc);
+        asyncAppender.addAppender(appender);
+        asyncAppender.start();
+        return asyncAppender;
+    }
 }
@@ -52,6 +52,7 @@ import io.supertokens.pluginInterface.useridmapping.LockedUser;
 import io.supertokens.pluginInterface.useridmapping.UserLockingStorage;
 import io.supertokens.pluginInterface.useridmapping.UserNotFoundForLockingException;
 import io.supertokens.storageLayer.StorageLayer;
+import io.supertokens.utils.SecureRandomUtils;
 import io.supertokens.utils.Utils;
 import org.jetbrains.annotations.TestOnly;
 
@@ -59,7 +60,6 @@ import javax.annotation.Nullable;
 import java.io.IOException;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
-import java.security.SecureRandom;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -69,8 +69,8 @@ import java.util.stream.Stream;
 public class Passwordless {
     private static final String USER_INPUT_CODE_NUM_CHARS = "0123456789";
 
-    private static Character getRandomNumChar(SecureRandom generator) {
-        return USER_INPUT_CODE_NUM_CHARS.charAt(generator.nextInt(USER_INPUT_CODE_NUM_CHARS.length()));
+    private static Character getRandomNumChar() {
+        return USER_INPUT_CODE_NUM_CHARS.charAt(SecureRandomUtils.nextInt(USER_INPUT_CODE_NUM_CHARS.length()));
     }
 
     @TestOnly
@@ -148,10 +148,9 @@ public class Passwordless {
     }
 
     private static String generateUserInputCode() {
-        SecureRandom generator = new SecureRandom();
-        StringBuilder sb = new StringBuilder();
+        StringBuilder sb = new StringBuilder(6);
         for (int i = 0; i < 6; ++i) {
-            sb.append(getRandomNumChar(generator));
+            sb.append(getRandomNumChar());
         }
         return sb.toString();
     }
@@ -935,12 +934,8 @@ public class Passwordless {
 
         public static CreateCodeInfo generate(String userInputCode)
                 throws InvalidKeyException, NoSuchAlgorithmException, IOException {
-            SecureRandom generator = new SecureRandom();
-            byte[] deviceIdBytes = new byte[32];
-            generator.nextBytes(deviceIdBytes);
-
-            byte[] linkCodeSaltBytes = new byte[32];
-            generator.nextBytes(linkCodeSaltBytes);
+            byte[] deviceIdBytes = SecureRandomUtils.nextBytes(32);
+            byte[] linkCodeSaltBytes = SecureRandomUtils.nextBytes(32);
 
             return generate(userInputCode, new PasswordlessDeviceId(deviceIdBytes),
                     new PasswordlessLinkCodeSalt(linkCodeSaltBytes));
@@ -29,7 +29,6 @@ import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
 import java.time.Instant;
 import java.util.List;
-import java.util.UUID;
 import java.util.zip.Deflater;
 import java.util.zip.DeflaterOutputStream;
 
@@ -104,6 +103,7 @@ import io.supertokens.saml.exceptions.InvalidRelayStateException;
 import io.supertokens.saml.exceptions.MalformedSAMLMetadataXMLException;
 import io.supertokens.saml.exceptions.SAMLRequestSigningException;
 import io.supertokens.saml.exceptions.SAMLResponseVerificationFailedException;
+import io.supertokens.utils.Utils;
 import net.shibboleth.shared.xml.SerializeSupport;
 import net.shibboleth.shared.xml.XMLParserException;
 
@@ -154,7 +154,9 @@ public class SAML {
 
         String idpEntityId = metadata.getEntityID();
         SAMLClient client = new SAMLClient(clientId, clientSecret, idpSsoUrl, redirectURIs, defaultRedirectURI, idpEntityId, idpSigningCertificate, allowIDPInitiatedLogin, enableRequestSigning);
-        return samlStorage.createOrUpdateSAMLClient(tenantIdentifier, client);
+        SAMLClient result = samlStorage.createOrUpdateSAMLClient(tenantIdentifier, client);
+        SAMLIdPCredentialCache.getInstance(main).remove(tenantIdentifier, result.clientId);
+        return result;
     }
 
     public static List<SAMLClient> getClients(TenantIdentifier tenantIdentifier, Storage storage) throws StorageQueryException {
@@ -167,9 +169,11 @@ public class SAML {
         return samlStorage.getSAMLClient(tenantIdentifier, clientId);
     }
 
-    public static boolean removeSAMLClient(TenantIdentifier tenantIdentifier, Storage storage, String clientId) throws StorageQueryException {
+    public static boolean removeSAMLClient(Main main, TenantIdentifier tenantIdentifier, Storage storage, String clientId) throws StorageQueryException {
         SAMLStorage samlStorage = StorageUtils.getSAMLStorage(storage);
-        return samlStorage.removeSAMLClient(tenantIdentifier, clientId);
+        boolean didExist = samlStorage.removeSAMLClient(tenantIdentifier, clientId);
+        SAMLIdPCredentialCache.getInstance(main).remove(tenantIdentifier, clientId);
+        return didExist;
     }
 
     private static String extractIdpSigningCertificate(EntityDescriptor idpMetadata) {
@@ -238,7 +242,7 @@ public class SAML {
                 config.getSAMLSPEntityID(), acsURL,
                 client.enableRequestSigning);
         String samlRequest = deflateAndBase64RedirectMessage(request);
-        String relayState = UUID.randomUUID().toString();
+        String relayState = Utils.getUUID();
 
         samlStorage.saveRelayStateInfo(tenantIdentifier, new SAMLRelayStateInfo(relayState, clientId, state, redirectURI), config.getSAMLRelayStateValidity());
 
@@ -273,7 +277,7 @@ public class SAML {
         AuthnRequest authnRequest = (AuthnRequest) builders
                 .<AuthnRequest>getBuilder(AuthnRequest.DEFAULT_ELEMENT_NAME)
                 .buildObject(AuthnRequest.DEFAULT_ELEMENT_NAME);
-        authnRequest.setID("_" + UUID.randomUUID());
+        authnRequest.setID("_" + Utils.getUUID());
         authnRequest.setIssueInstant(Instant.now());
         authnRequest.setVersion(SAMLVersion.VERSION_20);
         authnRequest.setDestination(idpSsoUrl);
@@ -369,12 +373,11 @@ public class SAML {
         }
     }
 
-    private static void verifySamlResponseSignature(Response samlResponse, X509Certificate idpCertificate)
+    private static void verifySamlResponseSignature(Response samlResponse, Credential idpCredential)
             throws SignatureException {
         Signature responseSignature = samlResponse.getSignature();
         if (responseSignature != null) {
-            Credential credential = CredentialSupport.getSimpleCredential(idpCertificate, null);
-            SignatureValidator.validate(responseSignature, credential);
+            SignatureValidator.validate(responseSignature, idpCredential);
             return;
         }
 
@@ -391,8 +394,7 @@ public class SAML {
                         "Unsigned assertion found in a response using assertion-level signing; " +
                         "all assertions must be individually signed to prevent XML Signature Wrapping");
             }
-            Credential credential = CredentialSupport.getSimpleCredential(idpCertificate, null);
-            SignatureValidator.validate(assertionSignature, credential);
+            SignatureValidator.validate(assertionSignature, idpCredential);
             foundSignedAssertion = true;
         }
 
@@ -473,9 +475,9 @@ public class SAML {
         }
 
         // SAML verification
-        X509Certificate idpSigningCertificate = getCertificateFromString(client.idpSigningCertificate);
+        Credential idpCredential = SAMLIdPCredentialCache.getInstance(main).getCredential(tenantIdentifier, client);
         try {
-            verifySamlResponseSignature(response, idpSigningCertificate);
+            verifySamlResponseSignature(response, idpCredential);
         } catch (SignatureException e) {
             throw new SAMLResponseVerificationFailedException();
         }
@@ -484,7 +486,7 @@ public class SAML {
 
         var claims = extractAllClaims(response);
 
-        String code = UUID.randomUUID().toString();
+        String code = Utils.getUUID();
         samlStorage.saveSAMLClaims(tenantIdentifier, client.clientId, code, claims, config.getSAMLClaimsValidity());
 
         AuditLog.emit(main, storage, tenantIdentifier, new AuditLogEvent(
@@ -614,7 +616,7 @@ public class SAML {
         return claims;
     }
 
-    private static X509Certificate getCertificateFromString(String certString) throws CertificateException {
+    static X509Certificate getCertificateFromString(String certString) throws CertificateException {
         byte[] certBytes = java.util.Base64.getDecoder().decode(certString);
         java.security.cert.CertificateFactory certFactory =
                 java.security.cert.CertificateFactory.getInstance("X.509");
@@ -27,6 +27,7 @@ import io.supertokens.pluginInterface.multitenancy.TenantIdentifier;
 import io.supertokens.pluginInterface.multitenancy.exceptions.TenantOrAppNotFoundException;
 import io.supertokens.pluginInterface.sqlStorage.SQLStorage;
 import io.supertokens.storageLayer.StorageLayer;
+import io.supertokens.utils.SecureRandomUtils;
 import org.bouncycastle.asn1.x500.X500Name;
 import org.bouncycastle.asn1.x509.BasicConstraints;
 import org.bouncycastle.asn1.x509.Extension;
@@ -50,9 +51,9 @@ import java.security.spec.PKCS8EncodedKeySpec;
 import java.security.spec.X509EncodedKeySpec;
 import java.util.Base64;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class SAMLCertificate extends ResourceDistributor.SingletonResource {
     private static final String RESOURCE_KEY = "io.supertokens.saml.SAMLCertificate";
@@ -151,8 +152,7 @@ public class SAMLCertificate extends ResourceDistributor.SingletonResource {
         X500Name subject = new X500Name("CN=SAML-SP-TEST, O=SuperTokens, C=US");
         X500Name issuer = subject;
 
-        SecureRandom random = new SecureRandom();
-        java.math.BigInteger serialNumber = new java.math.BigInteger(128, random);
+        java.math.BigInteger serialNumber = new java.math.BigInteger(128, SecureRandomUtils.get());
 
         JcaX509v3CertificateBuilder certBuilder = new JcaX509v3CertificateBuilder(
                 issuer, serialNumber, notBefore, notAfter, subject, keyPair.getPublic());
@@ -265,8 +265,7 @@ public class SAMLCertificate extends ResourceDistributor.SingletonResource {
         X500Name issuer = subject; // Self-signed
 
         // Generate a random serial number (128 bits for good uniqueness)
-        SecureRandom random = new SecureRandom();
-        java.math.BigInteger serialNumber = new java.math.BigInteger(128, random);
+        java.math.BigInteger serialNumber = new java.math.BigInteger(128, SecureRandomUtils.get());
 
         // Create the certificate builder
         JcaX509v3CertificateBuilder certBuilder = new JcaX509v3CertificateBuilder(
@@ -378,8 +377,8 @@ public class SAMLCertificate extends ResourceDistributor.SingletonResource {
                 main.getResourceDistributor()
                         .getAllResourcesWithResourceKey(RESOURCE_KEY);
         Map<ResourceDistributor.KeyClass, ResourceDistributor.SingletonResource> newResources =
-                new HashMap<>();
-        for (AppIdentifier app : apps) {
+                new ConcurrentHashMap<>();
+        main.getResourceDistributor().forEachApp(apps, app -> {
             ResourceDistributor.SingletonResource resource = existingResources.get(
                     new ResourceDistributor.KeyClass(app, RESOURCE_KEY));
             if (resource != null && !tenantsThatChanged.contains(app.getAsPublicTenantIdentifier())) {
@@ -393,7 +392,7 @@ public class SAMLCertificate extends ResourceDistributor.SingletonResource {
                     // continue loading other resources
                 }
             }
-        }
+        });
         main.getResourceDistributor().replaceResourcesWithResourceKey(RESOURCE_KEY, newResources);
     }
 }
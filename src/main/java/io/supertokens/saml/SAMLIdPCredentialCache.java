@@ -0,0 +1,130 @@
+/*
+ *    Copyright (c) 2026, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+
+package io.supertokens.saml;
+
+import io.supertokens.Main;
+import io.supertokens.ResourceDistributor;
+import io.supertokens.pluginInterface.multitenancy.TenantIdentifier;
+import io.supertokens.pluginInterface.multitenancy.exceptions.TenantOrAppNotFoundException;
+import io.supertokens.pluginInterface.saml.SAMLClient;
+import org.jetbrains.annotations.TestOnly;
+import org.opensaml.security.credential.Credential;
+import org.opensaml.security.credential.CredentialSupport;
+
+import java.security.cert.CertificateException;
+import java.security.cert.X509Certificate;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the IdP signing credential of each SAML client in memory, so that handling a SAML callback does not need to
+ * decode the client's certificate and build a new credential for every response.
+ * <p>
+ * Entries are keyed by the tenant and the client id, and remember the certificate string they were built from. If the
+ * stored certificate no longer matches (for example because another core updated the client), the entry is rebuilt,
+ * so a stale credential is never used. Entries are also removed when a client is created, updated or deleted via
+ * {@link SAML}.
+ */
+public class SAMLIdPCredentialCache extends ResourceDistributor.SingletonResource {
+
+    private static final String RESOURCE_KEY = "io.supertokens.saml.SAMLIdPCredentialCache";
+
+    // there is one entry per SAML client, so this is only reached if clients of many apps are used from one core
+    private static final int MAX_SIZE = 10_000;
+
+    private final Map<CacheKey, CachedCredential> cache = new ConcurrentHashMap<>();
+
+    private SAMLIdPCredentialCache() {
+    }
+
+    public static SAMLIdPCredentialCache getInstance(Main main) {
+        try {
+            return (SAMLIdPCredentialCache) main.getResourceDistributor()
+                    .getResource(TenantIdentifier.BASE_TENANT, RESOURCE_KEY);
+        } catch (TenantOrAppNotFoundException e) {
+            return (SAMLIdPCredentialCache) main.getResourceDistributor()
+                    .setResource(TenantIdentifier.BASE_TENANT, RESOURCE_KEY, new SAMLIdPCredentialCache());
+        }
+    }
+
+    public Credential getCredential(TenantIdentifier tenantIdentifier, SAMLClient client)
+            throws CertificateException {
+        CacheKey key = new CacheKey(tenantIdentifier, client.clientId);
+        CachedCredential cached = cache.get(key);
+        if (cached != null && cached.certificateString.equals(client.idpSigningCertificate)) {
+            return cached.credential;
+        }
+
+        X509Certificate certificate = SAML.getCertificateFromString(client.idpSigningCertificate);
+        CachedCredential created = new CachedCredential(client.idpSigningCertificate,
+                CredentialSupport.getSimpleCredential(certificate, null));
+        if (cached == null && cache.size() >= MAX_SIZE) {
+            // clients that are still in use will be added back on their next callback
+            cache.clear();
+        }
+        cache.put(key, created);
+        return created.credential;
+    }
+
+    public void remove(TenantIdentifier tenantIdentifier, String clientId) {
+        cache.remove(new CacheKey(tenantIdentifier, clientId));
+    }
+
+    @TestOnly
+    public boolean contains(TenantIdentifier tenantIdentifier, String clientId) {
+        return cache.containsKey(new CacheKey(tenantIdentifier, clientId));
+    }
+
+    private static class CachedCredential {
+        final String certificateString;
+        final Credential credential;
+
+        CachedCredential(String certificateString, Credential credential) {
+            this.certificateString = certificateString;
+            this.credential = credential;
+        }
+    }
+
+    private static class CacheKey {
+        final TenantIdentifier tenantIdentifier;
+        final String clientId;
+
+        CacheKey(TenantIdentifier tenantIdentifier, String clientId) {
+            this.tenantIdentifier = tenantIdentifier;
+            this.clientId = clientId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey other = (CacheKey) o;
+            return clientId.equals(other.clientId) && tenantIdentifier.equals(other.tenantIdentifier);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(tenantIdentifier, clientId);
+        }
+    }
+}
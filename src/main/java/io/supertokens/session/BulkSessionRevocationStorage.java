@@ -0,0 +1,52 @@
+/*
+ *    Copyright (c) 2025, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+package io.supertokens.session;
+
+import io.supertokens.pluginInterface.exceptions.StorageQueryException;
+import io.supertokens.pluginInterface.multitenancy.AppIdentifier;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implemented by session storages that can delete a set of sessions and report which of them existed in a single
+ * statement (for example, using DELETE ... RETURNING), and that can look up or delete the sessions of many tenants and
+ * users of an app in one query. {@link Session} uses this when available, and otherwise falls back to one query per
+ * tenant and user, checking each session handle with SessionStorage.getSession before and after a delete.
+ * <p>
+ * This is implemented by the in memory storage. The database plugins only see the plugin interface, so these methods
+ * need to be added to SessionStorage there before they can implement them.
+ */
+public interface BulkSessionRevocationStorage {
+
+    /**
+     * Deletes the sessions with the given handles from the app and returns the handles of the sessions that were
+     * actually deleted. The map is from tenant id to the handles of the sessions to delete in that tenant. Handles
+     * that do not exist are ignored.
+     */
+    String[] deleteSessionsAndGetDeletedHandles(AppIdentifier appIdentifier,
+                                                Map<String, String[]> sessionHandlesByTenantId)
+            throws StorageQueryException;
+
+    /**
+     * @return the handles of the sessions that have not expired, in any of the given tenants of the app, that belong
+     * to any of the given users
+     */
+    String[] getAllNonExpiredSessionHandlesForUsers(AppIdentifier appIdentifier, List<String> tenantIds,
+                                                    List<String> userIds)
+            throws StorageQueryException;
+}
@@ -73,6 +73,9 @@ import java.util.*;
 
 public class Session {
 
+    // the most storages that a single request works on at the same time, for apps spread across many user pools
+    private static final int MAX_CONCURRENT_STORAGES = 8;
+
     @TestOnly
     public static SessionInformationHolder createNewSession(TenantIdentifier tenantIdentifier, Storage storage,
                                                             Main main,
@@ -140,7 +143,7 @@ public class Session {
             InvalidKeySpecException, StorageTransactionLogicException, SignatureException, IllegalBlockSizeException,
             BadPaddingException, InvalidAlgorithmParameterException, NoSuchPaddingException, AccessTokenPayloadError,
             UnsupportedJWTSigningAlgorithmException, TenantOrAppNotFoundException {
-        String sessionHandle = UUID.randomUUID().toString();
+        String sessionHandle = Utils.getUUID();
         if (!tenantIdentifier.getTenantId().equals(TenantIdentifier.DEFAULT_TENANT_ID)) {
             sessionHandle += "_" + tenantIdentifier.getTenantId();
         }
@@ -171,7 +174,7 @@ public class Session {
             }
         }
 
-        String antiCsrfToken = enableAntiCsrf ? UUID.randomUUID().toString() : null;
+        String antiCsrfToken = enableAntiCsrf ? Utils.getUUID() : null;
         final TokenInfo refreshToken = RefreshToken.createNewRefreshToken(tenantIdentifier, main,
                 sessionHandle, recipeUserId, null,
                 antiCsrfToken);
@@ -187,7 +190,7 @@ public class Session {
 
         emitSessionCreatedEvent(main, storage, tenantIdentifier, recipeUserId, primaryUserId, sessionHandle);
 
-        TokenInfo idRefreshToken = new TokenInfo(UUID.randomUUID().toString(), refreshToken.expiry,
+        TokenInfo idRefreshToken = new TokenInfo(Utils.getUUID(), refreshToken.expiry,
                 refreshToken.createdTime);
         return new SessionInformationHolder(
                 new SessionInfo(sessionHandle, primaryUserId, recipeUserId, userDataInJWT,
@@ -244,7 +247,7 @@ public class Session {
                 accessToken.sessionHandle);
         JsonObject newJWTUserPayload = userDataInJWT == null ? sessionInfo.userDataInJWT
                 : userDataInJWT;
-        updateSession(tenantIdentifier, storage, accessToken.sessionHandle, null, newJWTUserPayload,
+        updateSession(main, tenantIdentifier, storage, accessToken.sessionHandle, null, newJWTUserPayload,
                 accessToken.version);
 
         // if the above succeeds but the below fails, it's OK since the client will get server error and will try
@@ -293,7 +296,7 @@ public class Session {
         JsonObject newJWTUserPayload = userDataInJWT == null ? sessionInfo.userDataInJWT
                 : userDataInJWT;
         updateSessionBeforeCDI2_21(
-                tenantIdentifier, storage,
+                main, tenantIdentifier, storage,
                 accessToken.sessionHandle, null, newJWTUserPayload);
 
         // if the above succeeds but the below fails, it's OK since the client will get server error and will try
@@ -346,8 +349,10 @@ public class Session {
             StorageTransactionLogicException, TryRefreshTokenException, UnauthorisedException,
             UnsupportedJWTSigningAlgorithmException, AccessTokenPayloadError, TenantOrAppNotFoundException {
 
+        // when checkDatabase is true, the caller wants the session to be checked against the db, so we also verify
+        // the token itself instead of relying on a cached verification
         AccessTokenInfo accessToken = AccessToken.getInfoFromAccessToken(appIdentifier, main, token,
-                doAntiCsrfCheck && enableAntiCsrf);
+                doAntiCsrfCheck && enableAntiCsrf, !checkDatabase);
         TenantIdentifier tenantIdentifier = accessToken.tenantIdentifier;
         Storage storage = StorageLayer.getStorage(accessToken.tenantIdentifier, main);
 
@@ -356,12 +361,25 @@ public class Session {
             throw new TryRefreshTokenException("anti-csrf check failed");
         }
 
+        SessionInfoCache sessionInfoCache = SessionInfoCache.getInstance(main);
+        io.supertokens.pluginInterface.session.SessionInfo cachedSessionInfo = sessionInfoCache.get(
+                tenantIdentifier.toAppIdentifier(), accessToken.sessionHandle);
+
         io.supertokens.pluginInterface.session.SessionInfo sessionInfoForBlacklisting = null;
         if (checkDatabase) {
-            sessionInfoForBlacklisting = StorageUtils.getSessionStorage(storage)
-                    .getSession(tenantIdentifier, accessToken.sessionHandle);
+            sessionInfoForBlacklisting = cachedSessionInfo;
             if (sessionInfoForBlacklisting == null) {
-                throw new UnauthorisedException("Either the session has ended or has been blacklisted");
+                long cacheGeneration = sessionInfoCache.getGeneration();
+                sessionInfoForBlacklisting = StorageUtils.getSessionStorage(storage)
+                        .getSession(tenantIdentifier, accessToken.sessionHandle);
+                if (sessionInfoForBlacklisting == null) {
+                    throw new UnauthorisedException("Either the session has ended or has been blacklisted");
+                }
+                sessionInfoCache.put(tenantIdentifier.toAppIdentifier(), accessToken.sessionHandle,
+                        sessionInfoForBlacklisting, cacheGeneration);
+                if (sessionInfoCache.isEnabled()) {
+                    cachedSessionInfo = sessionInfoForBlacklisting;
+                }
             }
         }
 
@@ -379,10 +397,32 @@ public class Session {
 
         ProcessState.getInstance(main).addState(ProcessState.PROCESS_STATE.GET_SESSION_NEW_TOKENS, null);
 
+        if (cachedSessionInfo != null && (accessToken.parentRefreshTokenHash1 == null
+                || !cachedSessionInfo.refreshTokenHash2.equals(
+                Utils.hashSHA256(accessToken.parentRefreshTokenHash1)))) {
+            // the refresh token does not need to be promoted, so nothing is written below. The recently read session
+            // is then enough to decide if a new access token is needed, and we can skip the transaction.
+            try {
+                if (cachedSessionInfo.refreshTokenHash2.equals(Utils.hashSHA256(accessToken.refreshTokenHash1))
+                        || JWTPayloadNeedsUpdating) {
+                    return getSessionWithNewAccessToken(tenantIdentifier, main, accessToken,
+                            cachedSessionInfo.userDataInJWT, cachedSessionInfo.useStaticKey);
+                }
+            } catch (NoSuchAlgorithmException | InvalidKeyException | InvalidKeySpecException |
+                     SignatureException e) {
+                throw new StorageTransactionLogicException(e);
+            }
+            return new SessionInformationHolder(
+                    new SessionInfo(accessToken.sessionHandle, accessToken.primaryUserId, accessToken.recipeUserId,
+                            accessToken.userData, tenantIdentifier.getTenantId()),
+                    null, null, null, null);
+        }
+
         if (StorageUtils.getSessionStorage(storage).getType() == STORAGE_TYPE.SQL) {
             SessionSQLStorage sessionStorage = (SessionSQLStorage) StorageUtils.getSessionStorage(storage);
             try {
                 CoreConfig config = Config.getConfig(tenantIdentifier, main);
+                long cacheGeneration = sessionInfoCache.getGeneration();
                 return sessionStorage.startTransaction(con -> {
                     try {
 
@@ -408,33 +448,21 @@ public class Session {
                                                 config.getRefreshTokenValidityInMillis(), sessionInfo.useStaticKey);
                             }
                             sessionStorage.commitTransaction(con);
-
-                            TokenInfo newAccessToken;
-                            if (AccessToken.getAccessTokenVersion(accessToken) == AccessToken.VERSION.V1) {
-                                newAccessToken = AccessToken.createNewAccessTokenV1(tenantIdentifier,
-                                        main,
-                                        accessToken.sessionHandle,
-                                        accessToken.recipeUserId, accessToken.refreshTokenHash1, null,
-                                        sessionInfo.userDataInJWT, accessToken.antiCsrfToken);
+                            if (promote) {
+                                sessionInfoCache.remove(tenantIdentifier.toAppIdentifier(),
+                                        accessToken.sessionHandle);
                             } else {
-                                newAccessToken = AccessToken.createNewAccessToken(tenantIdentifier, main,
-                                        accessToken.sessionHandle,
-                                        accessToken.recipeUserId, accessToken.primaryUserId,
-                                        accessToken.refreshTokenHash1, null,
-                                        sessionInfo.userDataInJWT, accessToken.antiCsrfToken, null, accessToken.version,
-                                        sessionInfo.useStaticKey);
+                                sessionInfoCache.put(tenantIdentifier.toAppIdentifier(), accessToken.sessionHandle,
+                                        sessionInfo, cacheGeneration);
                             }
 
-                            return new SessionInformationHolder(
-                                    new SessionInfo(accessToken.sessionHandle, accessToken.primaryUserId,
-                                            accessToken.recipeUserId,
-                                            sessionInfo.userDataInJWT, tenantIdentifier.getTenantId()),
-                                    new TokenInfo(newAccessToken.token, newAccessToken.expiry,
-                                            newAccessToken.createdTime),
-                                    null, null, null);
+                            return getSessionWithNewAccessToken(tenantIdentifier, main, accessToken,
+                                    sessionInfo.userDataInJWT, sessionInfo.useStaticKey);
                         }
 
                         sessionStorage.commitTransaction(con);
+                        sessionInfoCache.put(tenantIdentifier.toAppIdentifier(), accessToken.sessionHandle,
+                                sessionInfo, cacheGeneration);
                         return new SessionInformationHolder(
                                 new SessionInfo(accessToken.sessionHandle, accessToken.primaryUserId,
                                         accessToken.recipeUserId, accessToken.userData,
@@ -487,6 +515,7 @@ public class Session {
                             if (!success) {
                                 continue;
                             }
+                            sessionInfoCache.remove(tenantIdentifier.toAppIdentifier(), accessToken.sessionHandle);
                         }
 
                         TokenInfo newAccessToken;
@@ -529,6 +558,38 @@ public class Session {
         }
     }
 
+    private static SessionInformationHolder getSessionWithNewAccessToken(TenantIdentifier tenantIdentifier,
+                                                                         Main main, AccessTokenInfo accessToken,
+                                                                         JsonObject userDataInJWT,
+                                                                         boolean useStaticKey)
+            throws StorageQueryException, StorageTransactionLogicException, InvalidKeyException,
+            NoSuchAlgorithmException, InvalidKeySpecException, SignatureException, TenantOrAppNotFoundException,
+            UnsupportedJWTSigningAlgorithmException, AccessTokenPayloadError {
+        TokenInfo newAccessToken;
+        if (AccessToken.getAccessTokenVersion(accessToken) == AccessToken.VERSION.V1) {
+            newAccessToken = AccessToken.createNewAccessTokenV1(tenantIdentifier,
+                    main,
+                    accessToken.sessionHandle,
+                    accessToken.recipeUserId, accessToken.refreshTokenHash1, null,
+                    userDataInJWT, accessToken.antiCsrfToken);
+        } else {
+            newAccessToken = AccessToken.createNewAccessToken(tenantIdentifier, main,
+                    accessToken.sessionHandle,
+                    accessToken.recipeUserId, accessToken.primaryUserId,
+                    accessToken.refreshTokenHash1, null,
+                    userDataInJWT, accessToken.antiCsrfToken, null, accessToken.version,
+                    useStaticKey);
+        }
+
+        return new SessionInformationHolder(
+                new SessionInfo(accessToken.sessionHandle, accessToken.primaryUserId,
+                        accessToken.recipeUserId,
+                        userDataInJWT, tenantIdentifier.getTenantId()),
+                new TokenInfo(newAccessToken.token, newAccessToken.expiry,
+                        newAccessToken.createdTime),
+                null, null, null);
+    }
+
     @TestOnly
     public static SessionInformationHolder refreshSession(Main main, @Nonnull String refreshToken,
                                                           @Nullable String antiCsrfToken, boolean enableAntiCsrf,
@@ -610,8 +671,12 @@ public class Session {
 
                             // at this point, the input refresh token is the parent one.
                             sessionStorage.commitTransaction(con);
+                            if (useStaticKey != sessionInfo.useStaticKey) {
+                                SessionInfoCache.getInstance(main).remove(tenantIdentifier.toAppIdentifier(),
+                                        sessionHandle);
+                            }
 
-                            String antiCsrfToken = enableAntiCsrf ? UUID.randomUUID().toString() : null;
+                            String antiCsrfToken = enableAntiCsrf ? Utils.getUUID() : null;
                             final TokenInfo newRefreshToken = RefreshToken.createNewRefreshToken(
                                     tenantIdentifier, main, sessionHandle,
                                     sessionInfo.recipeUserId, Utils.hashSHA256(refreshToken), antiCsrfToken);
@@ -624,7 +689,7 @@ public class Session {
                                     null, accessTokenVersion,
                                     useStaticKey);
 
-                            TokenInfo idRefreshToken = new TokenInfo(UUID.randomUUID().toString(),
+                            TokenInfo idRefreshToken = new TokenInfo(Utils.getUUID(),
                                     newRefreshToken.expiry, newRefreshToken.createdTime);
 
                             return new SessionInformationHolder(
@@ -646,6 +711,8 @@ public class Session {
                                     useStaticKey);
 
                             sessionStorage.commitTransaction(con);
+                            SessionInfoCache.getInstance(main).remove(tenantIdentifier.toAppIdentifier(),
+                                    sessionHandle);
 
                             return refreshSessionHelper(tenantIdentifier, storage, main, refreshToken,
                                     refreshTokenInfo, enableAntiCsrf,
@@ -710,9 +777,11 @@ public class Session {
                             if (!success) {
                                 continue;
                             }
+                            SessionInfoCache.getInstance(main).remove(tenantIdentifier.toAppIdentifier(),
+                                    sessionHandle);
                         }
                         // at this point, the input refresh token is the parent one.
-                        String antiCsrfToken = enableAntiCsrf ? UUID.randomUUID().toString() : null;
+                        String antiCsrfToken = enableAntiCsrf ? Utils.getUUID() : null;
 
                         final TokenInfo newRefreshToken = RefreshToken.createNewRefreshToken(
                                 tenantIdentifier, main, sessionHandle,
@@ -724,7 +793,7 @@ public class Session {
                                 null, accessTokenVersion,
                                 useStaticKey);
 
-                        TokenInfo idRefreshToken = new TokenInfo(UUID.randomUUID().toString(), newRefreshToken.expiry,
+                        TokenInfo idRefreshToken = new TokenInfo(Utils.getUUID(), newRefreshToken.expiry,
                                 newRefreshToken.createdTime);
 
                         return new SessionInformationHolder(
@@ -748,6 +817,7 @@ public class Session {
                         if (!success) {
                             continue;
                         }
+                        SessionInfoCache.getInstance(main).remove(tenantIdentifier.toAppIdentifier(), sessionHandle);
                         return refreshSessionHelper(
                                 tenantIdentifier, storage, main, refreshToken, refreshTokenInfo,
                                 enableAntiCsrf, accessTokenVersion, shouldUseStaticKey);
@@ -782,6 +852,17 @@ public class Session {
                                                             Storage storage,
                                                             String[] sessionHandles)
             throws StorageQueryException {
+        try {
+            return revokeSessionUsingSessionHandlesHelper(main, appIdentifier, sessionHandles);
+        } finally {
+            // removed even if the revocation failed part way, since some of the sessions may have been deleted
+            SessionInfoCache.getInstance(main).remove(appIdentifier, sessionHandles);
+        }
+    }
+
+    private static String[] revokeSessionUsingSessionHandlesHelper(Main main, AppIdentifier appIdentifier,
+                                                                   String[] sessionHandles)
+            throws StorageQueryException {
 
         Map<String, List<String>> sessionHandleMap = new HashMap<>();
 
@@ -797,27 +878,40 @@ public class Session {
             sessionHandleMap.get(tenantId).add(sessionHandle);
         }
 
-        List<String> revokedSessionHandles = new ArrayList<>();
-
-        for (String tenantId : sessionHandleMap.keySet()) {
-            String[] sessionHandlesForTenant = sessionHandleMap.get(tenantId).toArray(new String[0]);
+        // tenants that share a storage are revoked together, and different storages in parallel
+        Map<Storage, List<TenantIdentifier>> tenantsByStorage = groupTenantsByStorage(main, appIdentifier,
+                sessionHandleMap.keySet());
+        // at most MAX_CONCURRENT_STORAGES at a time, so that an app spread across many user pools does not take a
+        // connection from all of them at once for a single request
+        return flatten(Utils.mapInParallel(new ArrayList<>(tenantsByStorage.entrySet()), MAX_CONCURRENT_STORAGES,
+                entry -> revokeSessionUsingSessionHandles(entry.getKey(), appIdentifier, entry.getValue(),
+                        sessionHandleMap))).toArray(new String[0]);
+    }
 
-            TenantIdentifier tenantIdentifier = new TenantIdentifier(appIdentifier.getConnectionUriDomain(),
-                    appIdentifier.getAppId(), tenantId);
-            Storage tenantStorage = null;
-            try {
-                tenantStorage = StorageLayer.getStorage(tenantIdentifier, main);
-            } catch (TenantOrAppNotFoundException e) {
-                // ignore as this can happen if the tenant has been deleted after fetching the sessionHandles
-                continue;
+    private static List<String> revokeSessionUsingSessionHandles(Storage storage, AppIdentifier appIdentifier,
+                                                                 List<TenantIdentifier> tenantIdentifiers,
+                                                                 Map<String, List<String>> sessionHandleMap)
+            throws StorageQueryException {
+        if (storage instanceof BulkSessionRevocationStorage) {
+            // the storage deletes the sessions of all the tenants in one statement and tells us which ones it
+            // deleted, so there is no need to look them up one by one
+            Map<String, String[]> sessionHandlesByTenantId = new HashMap<>();
+            for (TenantIdentifier tenantIdentifier : tenantIdentifiers) {
+                sessionHandlesByTenantId.put(tenantIdentifier.getTenantId(),
+                        sessionHandleMap.get(tenantIdentifier.getTenantId()).toArray(new String[0]));
             }
-
-            String[] sessionHandlesRevokedForTenant = revokeSessionUsingSessionHandles(tenantIdentifier, tenantStorage,
-                    sessionHandlesForTenant);
-            revokedSessionHandles.addAll(Arrays.asList(sessionHandlesRevokedForTenant));
+            return Arrays.asList(((BulkSessionRevocationStorage) storage).deleteSessionsAndGetDeletedHandles(
+                    appIdentifier, sessionHandlesByTenantId));
         }
 
-        return revokedSessionHandles.toArray(new String[0]);
+        List<String> revokedSessionHandles = new ArrayList<>();
+        for (TenantIdentifier tenantIdentifier : tenantIdentifiers) {
+            String[] sessionHandlesForTenant = sessionHandleMap.get(tenantIdentifier.getTenantId())
+                    .toArray(new String[0]);
+            revokedSessionHandles.addAll(Arrays.asList(revokeSessionUsingSessionHandles(tenantIdentifier, storage,
+                    sessionHandlesForTenant)));
+        }
+        return revokedSessionHandles;
     }
 
     private static String[] revokeSessionUsingSessionHandles(TenantIdentifier tenantIdentifier,
@@ -901,8 +995,6 @@ public class Session {
         TenantConfig[] tenants = Multitenancy.getAllTenantsForApp(
                 appIdentifier, main);
 
-        List<String> sessionHandles = new ArrayList<>();
-
         Set<String> userIds = new HashSet<>();
         userIds.add(userId);
         if (fetchSessionsForAllLinkedAccounts) {
@@ -917,21 +1009,16 @@ public class Session {
             }
         }
 
-        for (String currUserId : userIds) {
-            for (TenantConfig tenant : tenants) {
-                try {
-                    sessionHandles.addAll(Arrays.asList(getAllNonExpiredSessionHandlesForUser(
-                            tenant.tenantIdentifier, StorageLayer.getStorage(tenant.tenantIdentifier, main),
-                            currUserId, false)));
-
-                } catch (TenantOrAppNotFoundException e) {
-                    // this might happen when a tenant was deleted after the tenant list was fetched
-                    // it is okay to exclude that tenant in the results here
-                }
-            }
+        List<String> tenantIds = new ArrayList<>();
+        for (TenantConfig tenant : tenants) {
+            tenantIds.add(tenant.tenantIdentifier.getTenantId());
         }
 
-        return sessionHandles.toArray(new String[0]);
+        // tenants that share a storage are queried together, and different storages in parallel
+        Map<Storage, List<TenantIdentifier>> tenantsByStorage = groupTenantsByStorage(main, appIdentifier, tenantIds);
+        return flatten(Utils.mapInParallel(new ArrayList<>(tenantsByStorage.entrySet()), MAX_CONCURRENT_STORAGES,
+                entry -> getAllNonExpiredSessionHandlesForUsers(entry.getKey(), appIdentifier, entry.getValue(),
+                        new ArrayList<>(userIds)))).toArray(new String[0]);
     }
 
     public static String[] getAllNonExpiredSessionHandlesForUser(
@@ -949,12 +1036,56 @@ public class Session {
                 }
             }
         }
+        return getAllNonExpiredSessionHandlesForUsers(storage, tenantIdentifier.toAppIdentifier(),
+                List.of(tenantIdentifier), new ArrayList<>(userIds)).toArray(new String[0]);
+    }
+
+    private static List<String> getAllNonExpiredSessionHandlesForUsers(Storage storage, AppIdentifier appIdentifier,
+                                                                       List<TenantIdentifier> tenantIdentifiers,
+                                                                       List<String> userIds)
+            throws StorageQueryException {
+        if (storage instanceof BulkSessionRevocationStorage) {
+            List<String> tenantIds = new ArrayList<>();
+            for (TenantIdentifier tenantIdentifier : tenantIdentifiers) {
+                tenantIds.add(tenantIdentifier.getTenantId());
+            }
+            return Arrays.asList(((BulkSessionRevocationStorage) storage).getAllNonExpiredSessionHandlesForUsers(
+                    appIdentifier, tenantIds, userIds));
+        }
+
+        List<String> sessionHandles = new ArrayList<>();
+        for (TenantIdentifier tenantIdentifier : tenantIdentifiers) {
+            for (String userId : userIds) {
+                sessionHandles.addAll(List.of(((SessionStorage) storage)
+                        .getAllNonExpiredSessionHandlesForUser(tenantIdentifier, userId)));
+            }
+        }
+        return sessionHandles;
+    }
+
+    private static Map<Storage, List<TenantIdentifier>> groupTenantsByStorage(Main main, AppIdentifier appIdentifier,
+                                                                              Collection<String> tenantIds) {
+        Map<Storage, List<TenantIdentifier>> tenantsByStorage = new HashMap<>();
+        for (String tenantId : tenantIds) {
+            TenantIdentifier tenantIdentifier = new TenantIdentifier(appIdentifier.getConnectionUriDomain(),
+                    appIdentifier.getAppId(), tenantId);
+            try {
+                Storage tenantStorage = StorageLayer.getStorage(tenantIdentifier, main);
+                tenantsByStorage.computeIfAbsent(tenantStorage, k -> new ArrayList<>()).add(tenantIdentifier);
+            } catch (TenantOrAppNotFoundException e) {
+                // this might happen when a tenant was deleted after the tenant list or the session handles were
+                // fetched. it is okay to exclude that tenant here
+            }
+        }
+        return tenantsByStorage;
+    }
+
+    private static List<String> flatten(List<List<String>> sessionHandlesPerStorage) {
         List<String> sessionHandles = new ArrayList<>();
-        for (String currUserId : userIds) {
-            sessionHandles.addAll(List.of(((SessionStorage) storage)
-                    .getAllNonExpiredSessionHandlesForUser(tenantIdentifier, currUserId)));
+        for (List<String> sessionHandlesOfStorage : sessionHandlesPerStorage) {
+            sessionHandles.addAll(sessionHandlesOfStorage);
         }
-        return sessionHandles.toArray(new String[0]);
+        return sessionHandles;
     }
 
     @TestOnly
@@ -1033,11 +1164,11 @@ public class Session {
                                      AccessToken.VERSION version)
             throws StorageQueryException, UnauthorisedException, AccessTokenPayloadError {
         Storage storage = StorageLayer.getStorage(main);
-        updateSession(ResourceDistributor.getAppForTesting(), storage,
+        updateSession(main, ResourceDistributor.getAppForTesting(), storage,
                 sessionHandle, sessionData, jwtData, version);
     }
 
-    public static void updateSession(TenantIdentifier tenantIdentifier, Storage storage,
+    public static void updateSession(Main main, TenantIdentifier tenantIdentifier, Storage storage,
                                      String sessionHandle, @Nullable JsonObject sessionData,
                                      @Nullable JsonObject jwtData, AccessToken.VERSION version)
             throws StorageQueryException, UnauthorisedException, AccessTokenPayloadError {
@@ -1055,13 +1186,14 @@ public class Session {
 
         int numberOfRowsAffected = StorageUtils.getSessionStorage(storage)
                 .updateSession(tenantIdentifier, sessionHandle, sessionData, jwtData);
+        SessionInfoCache.getInstance(main).remove(tenantIdentifier.toAppIdentifier(), sessionHandle);
         if (numberOfRowsAffected != 1) {
             throw new UnauthorisedException("Session does not exist.");
         }
     }
 
     @Deprecated
-    public static void updateSessionBeforeCDI2_21(TenantIdentifier tenantIdentifier, Storage storage,
+    public static void updateSessionBeforeCDI2_21(Main main, TenantIdentifier tenantIdentifier, Storage storage,
                                                   String sessionHandle, @Nullable JsonObject sessionData,
                                                   @Nullable JsonObject jwtData)
             throws StorageQueryException, UnauthorisedException {
@@ -1076,6 +1208,7 @@ public class Session {
         int numberOfRowsAffected = StorageUtils.getSessionStorage(storage)
                 .updateSession(tenantIdentifier, sessionHandle, sessionData,
                         jwtData);
+        SessionInfoCache.getInstance(main).remove(tenantIdentifier.toAppIdentifier(), sessionHandle);
         if (numberOfRowsAffected != 1) {
             throw new UnauthorisedException("Session does not exist.");
         }
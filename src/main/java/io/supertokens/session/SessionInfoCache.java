@@ -0,0 +1,111 @@
+/*
+ *    Copyright (c) 2026, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+
+package io.supertokens.session;
+
+import io.supertokens.Main;
+import io.supertokens.ResourceDistributor;
+import io.supertokens.config.Config;
+import io.supertokens.pluginInterface.multitenancy.AppIdentifier;
+import io.supertokens.pluginInterface.multitenancy.TenantIdentifier;
+import io.supertokens.pluginInterface.multitenancy.exceptions.TenantOrAppNotFoundException;
+import io.supertokens.pluginInterface.session.SessionInfo;
+import io.supertokens.utils.BoundedExpiringCache;
+import org.jetbrains.annotations.TestOnly;
+
+/**
+ * Remembers recently read session rows, so that verifying a session with checkDatabase set to true does not read the
+ * session from the database on every call. An entry is used for at most session_info_cache_ttl milliseconds after it
+ * was read, and never after the session has expired. The cache is disabled by default.
+ * <p>
+ * Refreshing, updating and revoking a session via this core removes its entry right away. Changes made via another
+ * core (or by deleting the user) are seen once the entry is older than the TTL.
+ */
+public class SessionInfoCache extends ResourceDistributor.SingletonResource {
+
+    private static final String RESOURCE_KEY = "io.supertokens.session.SessionInfoCache";
+
+    // upper bound on the number of entries, so that verifying many distinct sessions cannot use unbounded memory
+    private static final int MAX_SIZE = 100_000;
+
+    private final long ttlMs;
+
+    // keyed by session handle. Every local change to a session increments the cache's generation, so a read that
+    // started before such a change does not add its result, since the database may have been read before the change.
+    private final BoundedExpiringCache<String, SessionInfo> sessions = new BoundedExpiringCache<>(MAX_SIZE);
+
+    private SessionInfoCache(Main main) {
+        this.ttlMs = Config.getBaseConfig(main).getSessionInfoCacheTtl();
+    }
+
+    public static SessionInfoCache getInstance(Main main) {
+        try {
+            return (SessionInfoCache) main.getResourceDistributor()
+                    .getResource(TenantIdentifier.BASE_TENANT, RESOURCE_KEY);
+        } catch (TenantOrAppNotFoundException e) {
+            return (SessionInfoCache) main.getResourceDistributor()
+                    .setResource(TenantIdentifier.BASE_TENANT, RESOURCE_KEY, new SessionInfoCache(main));
+        }
+    }
+
+    public boolean isEnabled() {
+        return ttlMs > 0;
+    }
+
+    public long getGeneration() {
+        return sessions.getGeneration();
+    }
+
+    /**
+     * @return the session as it was read less than session_info_cache_ttl ago, or null if there is no such entry or
+     * the session has expired since
+     */
+    public SessionInfo get(AppIdentifier appIdentifier, String sessionHandle) {
+        if (!isEnabled()) {
+            return null;
+        }
+        return sessions.get(appIdentifier, sessionHandle);
+    }
+
+    /**
+     * Adds the session as read from the database, unless it was changed on this core after lookupGeneration was read
+     * (via {@link #getGeneration()}) before the database was read.
+     */
+    public void put(AppIdentifier appIdentifier, String sessionHandle, SessionInfo sessionInfo,
+                    long lookupGeneration) {
+        if (!isEnabled()) {
+            return;
+        }
+        long expiresAt = Math.min(System.currentTimeMillis() + ttlMs, sessionInfo.expiry);
+        sessions.put(appIdentifier, sessionHandle, sessionInfo, expiresAt, lookupGeneration);
+    }
+
+    public void remove(AppIdentifier appIdentifier, String... sessionHandles) {
+        for (String sessionHandle : sessionHandles) {
+            sessions.remove(appIdentifier, sessionHandle);
+        }
+    }
+
+    public void invalidate(AppIdentifier appIdentifier) {
+        sessions.invalidate(appIdentifier);
+    }
+
+    @TestOnly
+    public int size() {
+        return sessions.size();
+    }
+}
@@ -29,7 +29,6 @@ import io.supertokens.jwt.JWTSigningFunctions;
 import io.supertokens.jwt.exceptions.UnsupportedJWTSigningAlgorithmException;
 import io.supertokens.pluginInterface.exceptions.StorageQueryException;
 import io.supertokens.pluginInterface.exceptions.StorageTransactionLogicException;
-import io.supertokens.pluginInterface.jwt.JWTAsymmetricSigningKeyInfo;
 import io.supertokens.pluginInterface.jwt.JWTSigningKeyInfo;
 import io.supertokens.pluginInterface.multitenancy.AppIdentifier;
 import io.supertokens.pluginInterface.multitenancy.TenantIdentifier;
@@ -64,7 +63,8 @@ public class AccessToken {
                                                           boolean doAntiCsrfCheck)
             throws StorageQueryException, StorageTransactionLogicException, TryRefreshTokenException,
             TenantOrAppNotFoundException, UnsupportedJWTSigningAlgorithmException {
-        List<JWTSigningKeyInfo> keyInfoList = SigningKeys.getInstance(appIdentifier, main).getAllKeys();
+        SigningKeys signingKeys = SigningKeys.getInstance(appIdentifier, main);
+        List<JWTSigningKeyInfo> keyInfoList = signingKeys.getAllKeys();
         Exception error = null;
         JWT.JWTInfo jwtInfo = null;
         JWT.JWTPreParseInfo preParseJWTInfo = null;
@@ -78,18 +78,18 @@ public class AccessToken {
         if (preParseJWTInfo.version != VERSION.V1 && preParseJWTInfo.version != VERSION.V2) {
             String kid = preParseJWTInfo.kid;
 
-            JWTSigningKeyInfo keyInfo = SigningKeys.getInstance(appIdentifier, main).getSigningKeyById(kid);
+            JWTSigningKeyInfo keyInfo = signingKeys.getSigningKeyById(kid);
 
             if (keyInfo == null) {
                 error = new TryRefreshTokenException("Key not found");
             } else {
                 try {
                     jwtInfo = JWT.verifyJWTAndGetPayload(preParseJWTInfo,
-                            ((JWTAsymmetricSigningKeyInfo) keyInfo).publicKey);
+                            signingKeys.getParsedKey(keyInfo).publicKey);
                 } catch (NoSuchAlgorithmException e) {
                     // This basically should never happen, but it means, that can't verify any tokens, no need to retry
                     throw new TryRefreshTokenException(e);
-                } catch (JWTException e) {
+                } catch (JWTException | InvalidKeySpecException e) {
                     // This basically should never happen, but it means, that the token structure is wrong, can't verify
                     throw new TryRefreshTokenException(e);
                 } catch (InvalidKeyException e) {
@@ -101,13 +101,13 @@ public class AccessToken {
             for (JWTSigningKeyInfo keyInfo : keyInfoList) {
                 try {
                     jwtInfo = JWT.verifyJWTAndGetPayload(preParseJWTInfo,
-                            ((JWTAsymmetricSigningKeyInfo) keyInfo).publicKey);
+                            signingKeys.getParsedKey(keyInfo).publicKey);
                     error = null;
                     break;
                 } catch (NoSuchAlgorithmException e) {
                     // This basically should never happen, but it means, that can't verify any tokens, no need to retry
                     throw new TryRefreshTokenException(e);
-                } catch (KeyException | JWTException e) {
+                } catch (KeyException | InvalidKeySpecException | JWTException e) {
                     /*
                      * There are a couple of reasons the verification could fail:
                      * 1) The access token is "corrupted" - this is a rare scenario since it probably means
@@ -142,7 +142,7 @@ public class AccessToken {
                 ProcessState.getInstance(main).addState(PROCESS_STATE.RETRYING_ACCESS_TOKEN_JWT_VERIFICATION, error);
 
                 // remove key from memory and retry
-                SigningKeys.getInstance(appIdentifier, main).updateKeyCacheIfNotChanged(keyInfoList);
+                signingKeys.updateKeyCacheIfNotChanged(keyInfoList);
                 return AccessToken.getInfoFromAccessToken(appIdentifier, main, token, false, doAntiCsrfCheck);
             }
             throw new TryRefreshTokenException(error);
@@ -169,6 +169,38 @@ public class AccessToken {
         return getInfoFromAccessToken(appIdentifier, main, token, true, doAntiCsrfCheck);
     }
 
+    /**
+     * Same as {@link #getInfoFromAccessToken(AppIdentifier, Main, String, boolean)}, but if allowCachedVerification
+     * is true and the {@link AccessTokenVerificationCache} is enabled, a previous successful verification of the same
+     * token is reused instead of checking the signature again.
+     */
+    public static AccessTokenInfo getInfoFromAccessToken(AppIdentifier appIdentifier, @Nonnull Main main,
+                                                         @Nonnull String token,
+                                                         boolean doAntiCsrfCheck, boolean allowCachedVerification)
+            throws StorageQueryException, StorageTransactionLogicException, TryRefreshTokenException,
+            TenantOrAppNotFoundException, UnsupportedJWTSigningAlgorithmException {
+        AccessTokenVerificationCache cache = AccessTokenVerificationCache.getInstance(main);
+        if (!allowCachedVerification || !cache.isEnabled()) {
+            return getInfoFromAccessToken(appIdentifier, main, token, true, doAntiCsrfCheck);
+        }
+
+        AccessTokenInfo cachedInfo = cache.get(appIdentifier, token);
+        if (cachedInfo != null) {
+            // the cache only contains tokens that have not expired, but the anti-csrf requirement can differ
+            // between calls for the same token
+            if (doAntiCsrfCheck && cachedInfo.antiCsrfToken == null) {
+                throw new TryRefreshTokenException(
+                        "Access token does not contain all the information. Maybe the structure has changed?");
+            }
+            return cachedInfo;
+        }
+
+        long generation = cache.getGeneration();
+        AccessTokenInfo tokenInfo = getInfoFromAccessToken(appIdentifier, main, token, true, doAntiCsrfCheck);
+        cache.put(appIdentifier, token, tokenInfo, generation);
+        return tokenInfo;
+    }
+
     @TestOnly
     public static AccessTokenInfo getInfoFromAccessToken(@Nonnull Main main,
                                                          @Nonnull String token,
@@ -230,8 +262,6 @@ public class AccessToken {
             NoSuchAlgorithmException, TenantOrAppNotFoundException, InvalidKeySpecException, SignatureException,
             AccessTokenPayloadError, UnsupportedJWTSigningAlgorithmException {
 
-        Utils.PubPriKey signingKey;
-
         long now = System.currentTimeMillis();
         long expires;
         if (expiryTime != null) {
@@ -243,24 +273,23 @@ public class AccessToken {
                 expires,
                 parentRefreshTokenHash1, userData, antiCsrfToken, now, version, tenantIdentifier);
 
+        SigningKeys signingKeys = SigningKeys.getInstance(tenantIdentifier.toAppIdentifier(), main);
         JWTSigningKeyInfo keyToUse;
         if (useStaticKey) {
-            keyToUse = SigningKeys.getInstance(tenantIdentifier.toAppIdentifier(), main)
-                    .getStaticKeyForAlgorithm(JWTSigningKey.SupportedAlgorithms.RS256);
+            keyToUse = signingKeys.getStaticKeyForAlgorithm(JWTSigningKey.SupportedAlgorithms.RS256);
         } else {
-            keyToUse = Utils.getJWTSigningKeyInfoFromKeyInfo(
-                    SigningKeys.getInstance(tenantIdentifier.toAppIdentifier(), main).getLatestIssuedDynamicKey());
+            keyToUse = Utils.getJWTSigningKeyInfoFromKeyInfo(signingKeys.getLatestIssuedDynamicKey());
         }
+        SigningKeys.ParsedKey parsedKey = signingKeys.getParsedKey(keyToUse);
 
         String token;
         if (version != VERSION.V1 && version != VERSION.V2) {
             HashMap<String, Object> headers = new HashMap<>();
             headers.put("version", getVersionStringFromAccessTokenVersion(version));
             token = JWTSigningFunctions.createJWTToken(JWTSigningKey.SupportedAlgorithms.RS256, headers,
-                    accessToken.toJSON(), null, expires, now, keyToUse);
+                    accessToken.toJSON(), null, expires, now, parsedKey);
         } else {
-            signingKey = new Utils.PubPriKey(keyToUse.keyString);
-            token = JWT.createAndSignLegacyAccessToken(accessToken.toJSON(), signingKey.privateKey, version);
+            token = JWT.createAndSignLegacyAccessToken(accessToken.toJSON(), parsedKey.privateKey, version);
         }
 
         return new TokenInfo(token, accessToken.expiryTime, accessToken.timeCreated);
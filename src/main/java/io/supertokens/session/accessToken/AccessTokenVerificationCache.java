@@ -0,0 +1,113 @@
+/*
+ *    Copyright (c) 2025, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+package io.supertokens.session.accessToken;
+
+import io.supertokens.Main;
+import io.supertokens.ResourceDistributor;
+import io.supertokens.config.Config;
+import io.supertokens.pluginInterface.multitenancy.AppIdentifier;
+import io.supertokens.pluginInterface.multitenancy.TenantIdentifier;
+import io.supertokens.pluginInterface.multitenancy.exceptions.TenantOrAppNotFoundException;
+import io.supertokens.session.accessToken.AccessToken.AccessTokenInfo;
+import io.supertokens.utils.BoundedExpiringCache;
+import io.supertokens.utils.Utils;
+import org.jetbrains.annotations.TestOnly;
+
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Keeps the result of successful access token verifications in memory until the access token expires, so that
+ * verifying the same access token again only needs a hash lookup instead of a signature check. The cache is disabled
+ * by default and its size is controlled by access_token_verification_cache_size.
+ * <p>
+ * Entries are keyed by the app and the SHA256 hash of the token, so the token itself is never kept in memory. All
+ * entries of an app are dropped whenever one of its signing keys is no longer part of the key cache (see
+ * {@link io.supertokens.signingkeys.SigningKeys}), or when the app's resources are reloaded.
+ * <p>
+ * The cached {@link AccessTokenInfo} objects are shared between requests and must not be modified.
+ */
+public class AccessTokenVerificationCache extends ResourceDistributor.SingletonResource {
+
+    private static final String RESOURCE_KEY = "io.supertokens.session.accessToken.AccessTokenVerificationCache";
+
+    private final int maxSize;
+
+    // keyed by the SHA256 hash of the token. Invalidating an app increments the cache's generation, so a verification
+    // that started before an invalidation does not add its result, since it may have used a key that was just removed.
+    private final BoundedExpiringCache<String, AccessTokenInfo> cache;
+
+    private AccessTokenVerificationCache(Main main) {
+        this.maxSize = Config.getBaseConfig(main).getAccessTokenVerificationCacheSize();
+        this.cache = new BoundedExpiringCache<>(maxSize);
+    }
+
+    public static AccessTokenVerificationCache getInstance(Main main) {
+        try {
+            return (AccessTokenVerificationCache) main.getResourceDistributor()
+                    .getResource(TenantIdentifier.BASE_TENANT, RESOURCE_KEY);
+        } catch (TenantOrAppNotFoundException e) {
+            return (AccessTokenVerificationCache) main.getResourceDistributor()
+                    .setResource(TenantIdentifier.BASE_TENANT, RESOURCE_KEY, new AccessTokenVerificationCache(main));
+        }
+    }
+
+    public boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    public long getGeneration() {
+        return cache.getGeneration();
+    }
+
+    public AccessTokenInfo get(AppIdentifier appIdentifier, String token) {
+        return cache.get(appIdentifier, hashToken(token));
+    }
+
+    /**
+     * Adds a verified access token to the cache, unless the cache was invalidated after verificationGeneration was
+     * read (via {@link #getGeneration()}) before the token was verified.
+     */
+    public void put(AppIdentifier appIdentifier, String token, AccessTokenInfo info, long verificationGeneration) {
+        if (!isEnabled()) {
+            return;
+        }
+        cache.put(appIdentifier, hashToken(token), info, info.expiryTime, verificationGeneration);
+    }
+
+    public void invalidate(AppIdentifier appIdentifier) {
+        cache.invalidate(appIdentifier);
+    }
+
+    @TestOnly
+    public void remove(AppIdentifier appIdentifier, String token) {
+        cache.remove(appIdentifier, hashToken(token));
+    }
+
+    @TestOnly
+    public int size() {
+        return cache.size();
+    }
+
+    private static String hashToken(String token) {
+        try {
+            return Utils.hashSHA256(token);
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is available in all JVMs
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -16,10 +16,18 @@
 
 package io.supertokens.session.info;
 
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import io.supertokens.utils.GsonUtils;
 
 import javax.annotation.Nonnull;
+import java.io.IOException;
 
+@JsonAdapter(SessionInfo.Adapter.class)
 public class SessionInfo {
     @Nonnull
     public final String handle;
@@ -45,4 +53,44 @@ public class SessionInfo {
         this.tenantId = tenantId;
         this.recipeUserId = recipeUserId;
     }
+
+    // SessionInfo is part of every session API response, so it is not serialised via reflection
+    static class Adapter extends TypeAdapter<SessionInfo> {
+        @Override
+        public void write(JsonWriter out, SessionInfo value) throws IOException {
+            out.beginObject();
+            out.name("handle").value(value.handle);
+            out.name("userId").value(value.userId);
+            out.name("recipeUserId").value(value.recipeUserId);
+            out.name("userDataInJWT");
+            GsonUtils.JSON_ELEMENT_ADAPTER.write(out, value.userDataInJWT);
+            out.name("tenantId").value(value.tenantId);
+            out.endObject();
+        }
+
+        @Override
+        public SessionInfo read(JsonReader in) throws IOException {
+            String handle = null;
+            String userId = null;
+            String recipeUserId = null;
+            JsonObject userDataInJWT = null;
+            String tenantId = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "handle" -> handle = GsonUtils.readNullableString(in);
+                    case "userId" -> userId = GsonUtils.readNullableString(in);
+                    case "recipeUserId" -> recipeUserId = GsonUtils.readNullableString(in);
+                    case "userDataInJWT" -> {
+                        JsonElement element = GsonUtils.JSON_ELEMENT_ADAPTER.read(in);
+                        userDataInJWT = element.isJsonObject() ? element.getAsJsonObject() : null;
+                    }
+                    case "tenantId" -> tenantId = GsonUtils.readNullableString(in);
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return new SessionInfo(handle, userId, recipeUserId, userDataInJWT, tenantId);
+        }
+    }
 }
@@ -19,10 +19,9 @@ package io.supertokens.session.info;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 
-import io.supertokens.utils.Utils;
+import io.supertokens.utils.GsonUtils;
 
 public class SessionInformationHolder {
 
@@ -52,8 +51,8 @@ public class SessionInformationHolder {
     }
 
     public JsonObject toJsonObject() {
-        JsonObject json = new Gson().toJsonTree(this).getAsJsonObject();
-        json.add("session", Utils.toJsonTreeWithNulls(session));
+        JsonObject json = GsonUtils.GSON.toJsonTree(this).getAsJsonObject();
+        json.add("session", GsonUtils.GSON_WITH_NULLS.toJsonTree(session));
 
         return json;
     }
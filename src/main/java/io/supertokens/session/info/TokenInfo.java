@@ -16,6 +16,15 @@
 
 package io.supertokens.session.info;
 
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import io.supertokens.utils.GsonUtils;
+
+import java.io.IOException;
+
+@JsonAdapter(TokenInfo.Adapter.class)
 public class TokenInfo {
     public final String token;
 
@@ -28,4 +37,34 @@ public class TokenInfo {
         this.expiry = expiry;
         this.createdTime = createdTime;
     }
+
+    // TokenInfo is part of every session API response, so it is not serialised via reflection
+    static class Adapter extends TypeAdapter<TokenInfo> {
+        @Override
+        public void write(JsonWriter out, TokenInfo value) throws IOException {
+            out.beginObject();
+            out.name("token").value(value.token);
+            out.name("expiry").value(value.expiry);
+            out.name("createdTime").value(value.createdTime);
+            out.endObject();
+        }
+
+        @Override
+        public TokenInfo read(JsonReader in) throws IOException {
+            String token = null;
+            long expiry = 0;
+            long createdTime = 0;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "token" -> token = GsonUtils.readNullableString(in);
+                    case "expiry" -> expiry = in.nextLong();
+                    case "createdTime" -> createdTime = in.nextLong();
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return new TokenInfo(token, expiry, createdTime);
+        }
+    }
 }
@@ -27,6 +27,8 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
 import java.security.SignatureException;
 import java.security.spec.InvalidKeySpecException;
 
@@ -64,6 +66,17 @@ public class JWT {
         return header + "." + payload + "." + signature;
     }
 
+    public static String createAndSignLegacyAccessToken(JsonElement jsonObj, PrivateKey privateSigningKey,
+                                                        AccessToken.VERSION version)
+            throws InvalidKeyException, NoSuchAlgorithmException, SignatureException {
+        initHeader();
+        String header = version == AccessToken.VERSION.V1 ? JWT.HEADERv1 : JWT.HEADERv2;
+        String payload = Utils.convertToBase64(jsonObj.toString());
+        String signature = Utils.signWithPrivateKey(header + "." + payload, privateSigningKey,
+                version != AccessToken.VERSION.V1 && version != AccessToken.VERSION.V2);
+        return header + "." + payload + "." + signature;
+    }
+
     public static JWTPreParseInfo preParseJWTInfo(String jwt) throws JWTException {
         initHeader();
         String[] splittedInput = jwt.split("\\.");
@@ -81,7 +94,7 @@ public class JWT {
 
         JsonObject parsedHeader;
         try {
-            parsedHeader = new JsonParser().parse(Utils.convertFromBase64(splittedInput[0])).getAsJsonObject();
+            parsedHeader = JsonParser.parseString(Utils.convertFromBase64(splittedInput[0])).getAsJsonObject();
         } catch (RuntimeException e) {
             // malformed base64 / JSON / non-object header is invalid input, not a server error
             throw new JWTException("Invalid JWT");
@@ -144,21 +157,39 @@ public class JWT {
         } catch (InvalidKeySpecException | SignatureException e) {
             throw new JWTException("JWT verification failed");
         }
-        return new JWTInfo(new JsonParser().parse(Utils.convertFromBase64(jwt.payload)).getAsJsonObject(), jwt.version);
+        return new JWTInfo(JsonParser.parseString(Utils.convertFromBase64(jwt.payload)).getAsJsonObject(), jwt.version);
+    }
+
+    public static JWTInfo verifyJWTAndGetPayload(JWTPreParseInfo jwt, PublicKey publicSigningKey)
+            throws InvalidKeyException, NoSuchAlgorithmException, JWTException {
+
+        try {
+            if (!Utils.verifyWithPublicKey(jwt.header + "." + jwt.payload, jwt.signature, publicSigningKey,
+                    jwt.version != AccessToken.VERSION.V1 && jwt.version != AccessToken.VERSION.V2)) {
+                throw new JWTException("JWT verification failed");
+            }
+        } catch (SignatureException e) {
+            throw new JWTException("JWT verification failed");
+        }
+        return new JWTInfo(JsonParser.parseString(Utils.convertFromBase64(jwt.payload)).getAsJsonObject(), jwt.version);
     }
 
     public static JWTInfo getPayloadWithoutVerifying(String jwt) throws JWTException {
         JWTPreParseInfo jwtInfo = preParseJWTInfo(jwt);
-        return new JWTInfo(new JsonParser().parse(Utils.convertFromBase64(jwtInfo.payload)).getAsJsonObject(),
+        return new JWTInfo(JsonParser.parseString(Utils.convertFromBase64(jwtInfo.payload)).getAsJsonObject(),
                 jwtInfo.version);
     }
 
+    /**
+     * Thrown for invalid or tampered tokens, which is expected from clients, so it has no stack trace (same as
+     * {@link io.supertokens.exceptions.TryRefreshTokenException}).
+     */
     public static class JWTException extends Exception {
 
         private static final long serialVersionUID = 1L;
 
         JWTException(String err) {
-            super(err);
+            super(err, null, false, false);
         }
     }
 
@@ -16,7 +16,10 @@
 
 package io.supertokens.session.refreshToken;
 
-import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import io.supertokens.Main;
 import io.supertokens.ResourceDistributor;
 import io.supertokens.config.Config;
@@ -27,6 +30,7 @@ import io.supertokens.pluginInterface.multitenancy.AppIdentifier;
 import io.supertokens.pluginInterface.multitenancy.TenantIdentifier;
 import io.supertokens.pluginInterface.multitenancy.exceptions.TenantOrAppNotFoundException;
 import io.supertokens.session.info.TokenInfo;
+import io.supertokens.utils.GsonUtils;
 import io.supertokens.utils.Utils;
 import org.jetbrains.annotations.TestOnly;
 
@@ -35,11 +39,11 @@ import javax.annotation.Nullable;
 import javax.crypto.BadPaddingException;
 import javax.crypto.IllegalBlockSizeException;
 import javax.crypto.NoSuchPaddingException;
+import java.io.IOException;
 import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.security.spec.InvalidKeySpecException;
-import java.util.UUID;
 
 public class RefreshToken {
 
@@ -69,7 +73,7 @@ public class RefreshToken {
             }
             String nonce = splittedToken[1];
             String decrypted = Utils.decrypt(splittedToken[0], key);
-            RefreshTokenPayload tokenPayload = new Gson().fromJson(decrypted, RefreshTokenPayload.class);
+            RefreshTokenPayload tokenPayload = GsonUtils.GSON.fromJson(decrypted, RefreshTokenPayload.class);
             if (tokenPayload.userId == null || tokenPayload.sessionHandle == null
                     || !nonce.equals(tokenPayload.nonce)) {
                 throw new UnauthorisedException("Invalid refresh token");
@@ -109,10 +113,10 @@ public class RefreshToken {
             IllegalBlockSizeException, BadPaddingException, StorageTransactionLogicException,
             InvalidAlgorithmParameterException, InvalidKeySpecException, TenantOrAppNotFoundException {
         String key = RefreshTokenKey.getInstance(tenantIdentifier.toAppIdentifier(), main).getKey();
-        String nonce = Utils.hashSHA256(UUID.randomUUID().toString());
+        String nonce = Utils.hashSHA256(Utils.getUUID());
         RefreshTokenPayload payload = new RefreshTokenPayload(sessionHandle, userId, parentRefreshTokenHash1, nonce,
                 antiCsrfToken, tenantIdentifier.getTenantId());
-        String payloadSerialised = new Gson().toJson(payload);
+        String payloadSerialised = GsonUtils.GSON.toJson(payload);
         String encryptedPayload = Utils.encrypt(payloadSerialised, key);
         String token = encryptedPayload + "." + nonce + "." + TYPE.FREE_OPTIMISED.toString();
         long now = System.currentTimeMillis();
@@ -160,6 +164,7 @@ public class RefreshToken {
         }
     }
 
+    @JsonAdapter(RefreshTokenPayload.Adapter.class)
     static class RefreshTokenPayload {
         @Nonnull
         final String sessionHandle;
@@ -184,6 +189,46 @@ public class RefreshToken {
             this.antiCsrfToken = antiCsrfToken;
             this.tenantId = tenantId == null || tenantId.equals(TenantIdentifier.DEFAULT_TENANT_ID) ? null : tenantId;
         }
+
+        // the payload is serialised for every new refresh token and parsed on every refresh
+        static class Adapter extends TypeAdapter<RefreshTokenPayload> {
+            @Override
+            public void write(JsonWriter out, RefreshTokenPayload value) throws IOException {
+                out.beginObject();
+                out.name("sessionHandle").value(value.sessionHandle);
+                out.name("userId").value(value.userId);
+                out.name("parentRefreshTokenHash1").value(value.parentRefreshTokenHash1);
+                out.name("nonce").value(value.nonce);
+                out.name("antiCsrfToken").value(value.antiCsrfToken);
+                out.name("tenantId").value(value.tenantId);
+                out.endObject();
+            }
+
+            @Override
+            public RefreshTokenPayload read(JsonReader in) throws IOException {
+                String sessionHandle = null;
+                String userId = null;
+                String parentRefreshTokenHash1 = null;
+                String nonce = null;
+                String antiCsrfToken = null;
+                String tenantId = null;
+                in.beginObject();
+                while (in.hasNext()) {
+                    switch (in.nextName()) {
+                        case "sessionHandle" -> sessionHandle = GsonUtils.readNullableString(in);
+                        case "userId" -> userId = GsonUtils.readNullableString(in);
+                        case "parentRefreshTokenHash1" -> parentRefreshTokenHash1 = GsonUtils.readNullableString(in);
+                        case "nonce" -> nonce = GsonUtils.readNullableString(in);
+                        case "antiCsrfToken" -> antiCsrfToken = GsonUtils.readNullableString(in);
+                        case "tenantId" -> tenantId = GsonUtils.readNullableString(in);
+                        default -> in.skipValue();
+                    }
+                }
+                in.endObject();
+                return new RefreshTokenPayload(sessionHandle, userId, parentRefreshTokenHash1, nonce, antiCsrfToken,
+                        tenantId);
+            }
+        }
     }
 
     public static class RefreshTokenInfo {
@@ -37,9 +37,9 @@ import org.jetbrains.annotations.TestOnly;
 
 import java.security.NoSuchAlgorithmException;
 import java.security.spec.InvalidKeySpecException;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class RefreshTokenKey extends ResourceDistributor.SingletonResource {
 
@@ -81,8 +81,8 @@ public class RefreshTokenKey extends ResourceDistributor.SingletonResource {
                 main.getResourceDistributor()
                         .getAllResourcesWithResourceKey(RESOURCE_KEY);
         Map<ResourceDistributor.KeyClass, ResourceDistributor.SingletonResource> newResources =
-                new HashMap<>();
-        for (AppIdentifier app : apps) {
+                new ConcurrentHashMap<>();
+        main.getResourceDistributor().forEachApp(apps, app -> {
             ResourceDistributor.SingletonResource resource = existingResources.get(
                     new ResourceDistributor.KeyClass(app, RESOURCE_KEY));
             if (resource != null && !tenantsThatChanged.contains(app.getAsPublicTenantIdentifier())) {
@@ -96,7 +96,7 @@ public class RefreshTokenKey extends ResourceDistributor.SingletonResource {
                     // continue loading other resources
                 }
             }
-        }
+        });
         main.getResourceDistributor().replaceResourcesWithResourceKey(RESOURCE_KEY, newResources);
     }
 
@@ -45,6 +45,7 @@ import org.jetbrains.annotations.TestOnly;
 
 import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class AccessTokenSigningKey extends ResourceDistributor.SingletonResource {
     private static final String ACCESS_TOKEN_SIGNING_ALGO = "RS256";
@@ -97,8 +98,8 @@ public class AccessTokenSigningKey extends ResourceDistributor.SingletonResource
                 main.getResourceDistributor()
                         .getAllResourcesWithResourceKey(RESOURCE_KEY);
         Map<ResourceDistributor.KeyClass, ResourceDistributor.SingletonResource> newResources =
-                new HashMap<>();
-        for (AppIdentifier app : apps) {
+                new ConcurrentHashMap<>();
+        main.getResourceDistributor().forEachApp(apps, app -> {
             ResourceDistributor.SingletonResource resource = existingResources.get(
                     new ResourceDistributor.KeyClass(app, RESOURCE_KEY));
             if (resource != null && !tenantsThatChanged.contains(app.getAsPublicTenantIdentifier())) {
@@ -112,7 +113,7 @@ public class AccessTokenSigningKey extends ResourceDistributor.SingletonResource
                     // continue loading other resources
                 }
             }
-        }
+        });
         main.getResourceDistributor().replaceResourcesWithResourceKey(RESOURCE_KEY, newResources);
     }
 
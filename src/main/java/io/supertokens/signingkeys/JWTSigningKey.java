@@ -39,9 +39,9 @@ import io.supertokens.utils.Utils;
 import org.jetbrains.annotations.TestOnly;
 
 import java.security.NoSuchAlgorithmException;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class JWTSigningKey extends ResourceDistributor.SingletonResource {
     public static final String RESOURCE_KEY = "io.supertokens.signingKeys.JWTSigningKey";
@@ -68,8 +68,8 @@ public class JWTSigningKey extends ResourceDistributor.SingletonResource {
                 main.getResourceDistributor()
                         .getAllResourcesWithResourceKey(RESOURCE_KEY);
         Map<ResourceDistributor.KeyClass, ResourceDistributor.SingletonResource> newResources =
-                new HashMap<>();
-        for (AppIdentifier app : apps) {
+                new ConcurrentHashMap<>();
+        main.getResourceDistributor().forEachApp(apps, app -> {
             ResourceDistributor.SingletonResource resource = existingResources.get(
                     new ResourceDistributor.KeyClass(app, RESOURCE_KEY));
             if (resource != null && !tenantsThatChanged.contains(app.getAsPublicTenantIdentifier())) {
@@ -87,7 +87,7 @@ public class JWTSigningKey extends ResourceDistributor.SingletonResource {
                     // continue loading other resources
                 }
             }
-        }
+        });
         main.getResourceDistributor().replaceResourcesWithResourceKey(RESOURCE_KEY, newResources);
     }
 
@@ -16,6 +16,7 @@
 
 package io.supertokens.signingkeys;
 
+import com.auth0.jwt.algorithms.Algorithm;
 import com.google.gson.JsonObject;
 import io.supertokens.Main;
 import io.supertokens.ProcessState;
@@ -31,18 +32,22 @@ import io.supertokens.pluginInterface.jwt.JWTSigningKeyInfo;
 import io.supertokens.pluginInterface.multitenancy.AppIdentifier;
 import io.supertokens.pluginInterface.multitenancy.TenantIdentifier;
 import io.supertokens.pluginInterface.multitenancy.exceptions.TenantOrAppNotFoundException;
+import io.supertokens.session.accessToken.AccessTokenVerificationCache;
 import io.supertokens.utils.Utils;
 import org.jetbrains.annotations.TestOnly;
 
 import java.math.BigInteger;
 import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
 import java.security.PublicKey;
+import java.security.interfaces.RSAPrivateKey;
 import java.security.interfaces.RSAPublicKey;
 import java.security.spec.InvalidKeySpecException;
 import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static io.supertokens.utils.Utils.getPrivateKeyFromString;
 import static io.supertokens.utils.Utils.getPublicKeyFromString;
 
 public class SigningKeys extends ResourceDistributor.SingletonResource {
@@ -53,6 +58,11 @@ public class SigningKeys extends ResourceDistributor.SingletonResource {
     private List<KeyInfo> dynamicKeys;
     private List<JWTSigningKeyInfo> staticKeys;
 
+    // key id -> decoded keys and the auth0 Algorithm built from them. The map is never modified, only replaced, so
+    // it can be read without locking. Entries for keys that are no longer cached are dropped when the keys are
+    // refreshed.
+    private volatile Map<String, ParsedKey> parsedKeys = Collections.emptyMap();
+    private final Object parsedKeysLock = new Object();
 
     public static SigningKeys getInstance(AppIdentifier appIdentifier, Main main)
             throws TenantOrAppNotFoundException {
@@ -82,6 +92,9 @@ public class SigningKeys extends ResourceDistributor.SingletonResource {
             if (resource != null && !tenantsThatChanged.contains(app.getAsPublicTenantIdentifier())) {
                 newResources.put(new ResourceDistributor.KeyClass(app, RESOURCE_KEY), resource);
             } else {
+                if (resource != null) {
+                    AccessTokenVerificationCache.getInstance(main).invalidate(app);
+                }
                 try {
                     newResources.put(new ResourceDistributor.KeyClass(app, RESOURCE_KEY),
                             new SigningKeys(app, main));
@@ -91,6 +104,12 @@ public class SigningKeys extends ResourceDistributor.SingletonResource {
                 }
             }
         }
+        // drop verified tokens of apps that have been removed
+        for (ResourceDistributor.KeyClass key : existingResources.keySet()) {
+            if (!newResources.containsKey(key)) {
+                AccessTokenVerificationCache.getInstance(main).invalidate(key.getTenantIdentifier().toAppIdentifier());
+            }
+        }
         main.getResourceDistributor().replaceResourcesWithResourceKey(RESOURCE_KEY, newResources);
     }
 
@@ -230,6 +249,8 @@ public class SigningKeys extends ResourceDistributor.SingletonResource {
         // writeLock - which is not possible:
         // https://docs.oracle.com/javase/7/docs/api/java/util/concurrent/locks/ReentrantReadWriteLock.html
 
+        Set<String> keyIdsBeforeUpdate = getCachedKeyIds();
+
         if (this.dynamicKeys == null ||
                 // First we disregard expired keys - it doesn't matter if they were known or not
                 this.dynamicKeys.stream().filter(k -> k.expiryTime >= System.currentTimeMillis())
@@ -252,6 +273,56 @@ public class SigningKeys extends ResourceDistributor.SingletonResource {
                     .addState(ProcessState.PROCESS_STATE.UPDATING_ACCESS_TOKEN_SIGNING_KEYS, null);
             this.staticKeys = JWTSigningKey.getInstance(appIdentifier, main).getAllSigningKeys();
         }
+
+        // access tokens that were verified using a key that is no longer present must be verified again
+        Set<String> keyIdsAfterUpdate = getCachedKeyIds();
+        if (!keyIdsAfterUpdate.containsAll(keyIdsBeforeUpdate)) {
+            AccessTokenVerificationCache.getInstance(main).invalidate(appIdentifier);
+        }
+
+        synchronized (parsedKeysLock) {
+            if (!keyIdsAfterUpdate.containsAll(parsedKeys.keySet())) {
+                Map<String, ParsedKey> retained = new HashMap<>(parsedKeys);
+                retained.keySet().retainAll(keyIdsAfterUpdate);
+                parsedKeys = Collections.unmodifiableMap(retained);
+            }
+        }
+    }
+
+    /**
+     * Returns the decoded public and private key of keyInfo, along with the auth0 Algorithm used to sign JWTs with
+     * it. These are built once per key id, instead of on every sign and verify.
+     *
+     * @param keyInfo A key returned by this class (for example by getAllKeys or getLatestIssuedDynamicKey)
+     * @throws NoSuchAlgorithmException                If there is an error when using Java's cryptography packages
+     * @throws InvalidKeySpecException                 If the stored key cannot be decoded
+     * @throws UnsupportedJWTSigningAlgorithmException If the key is not an RS256 key
+     */
+    public ParsedKey getParsedKey(JWTSigningKeyInfo keyInfo)
+            throws NoSuchAlgorithmException, InvalidKeySpecException, UnsupportedJWTSigningAlgorithmException {
+        ParsedKey parsedKey = parsedKeys.get(keyInfo.keyId);
+        if (parsedKey != null && parsedKey.keyString.equals(keyInfo.keyString)) {
+            return parsedKey;
+        }
+
+        parsedKey = ParsedKey.parse(keyInfo);
+        synchronized (parsedKeysLock) {
+            Map<String, ParsedKey> updated = new HashMap<>(parsedKeys);
+            updated.put(keyInfo.keyId, parsedKey);
+            parsedKeys = Collections.unmodifiableMap(updated);
+        }
+        return parsedKey;
+    }
+
+    private Set<String> getCachedKeyIds() {
+        Set<String> keyIds = new HashSet<>();
+        if (this.dynamicKeys != null) {
+            this.dynamicKeys.forEach(k -> keyIds.add(k.id));
+        }
+        if (this.staticKeys != null) {
+            this.staticKeys.forEach(k -> keyIds.add(k.keyId));
+        }
+        return keyIds;
     }
 
     /**
@@ -351,6 +422,49 @@ public class SigningKeys extends ResourceDistributor.SingletonResource {
         }
     }
 
+    public static class ParsedKey {
+        public final String keyId;
+        public final JWTSigningKey.SupportedAlgorithms algorithm;
+        public final PublicKey publicKey;
+        public final PrivateKey privateKey;
+        public final Algorithm auth0Algorithm;
+
+        private final String keyString;
+
+        private ParsedKey(JWTSigningKeyInfo keyInfo, JWTSigningKey.SupportedAlgorithms algorithm,
+                          RSAPublicKey publicKey, RSAPrivateKey privateKey) {
+            this.keyId = keyInfo.keyId;
+            this.keyString = keyInfo.keyString;
+            this.algorithm = algorithm;
+            this.publicKey = publicKey;
+            this.privateKey = privateKey;
+            // the Algorithm only holds the keys, so it can be shared between threads
+            this.auth0Algorithm = Algorithm.RSA256(publicKey, privateKey);
+        }
+
+        public static ParsedKey parse(JWTSigningKeyInfo keyInfo)
+                throws NoSuchAlgorithmException, InvalidKeySpecException, UnsupportedJWTSigningAlgorithmException {
+            JWTSigningKey.SupportedAlgorithms algorithm;
+            try {
+                algorithm = JWTSigningKey.SupportedAlgorithms.valueOf(keyInfo.algorithm.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new UnsupportedJWTSigningAlgorithmException();
+            }
+
+            if (algorithm.equalsString("rs256") && keyInfo instanceof JWTAsymmetricSigningKeyInfo) {
+                JWTAsymmetricSigningKeyInfo asymmetricKeyInfo = (JWTAsymmetricSigningKeyInfo) keyInfo;
+                PublicKey publicKey = getPublicKeyFromString(asymmetricKeyInfo.publicKey, algorithm);
+                PrivateKey privateKey = getPrivateKeyFromString(asymmetricKeyInfo.privateKey, algorithm);
+
+                if (publicKey instanceof RSAPublicKey && privateKey instanceof RSAPrivateKey) {
+                    return new ParsedKey(keyInfo, algorithm, (RSAPublicKey) publicKey, (RSAPrivateKey) privateKey);
+                }
+            }
+
+            throw new UnsupportedJWTSigningAlgorithmException();
+        }
+    }
+
     /**
      * Returns a byte array representation of the specified big integer
      * without the sign bit.
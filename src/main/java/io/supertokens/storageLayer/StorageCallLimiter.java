@@ -0,0 +1,139 @@
+/*
+ *    Copyright (c) 2025, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+
+package io.supertokens.storageLayer;
+
+import io.supertokens.pluginInterface.Storage;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.jetbrains.annotations.TestOnly;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Limits how many storage calls made while handling API requests can run at the same time on each database
+ * connection pool. This is only turned on when requests are handled on virtual threads (see
+ * webserver_use_virtual_threads), since then the number of requests that are handled at the same time is no longer
+ * limited by max_server_pool_size, and without a limit here they would all queue up inside the connection pool and
+ * time out there.
+ * <p>
+ * Like {@link io.supertokens.telemetry.StorageCallTimer}, this weaves around the call sites of methods that declare
+ * StorageQueryException. The permits are kept per connection pool of the storage that is called, and are sized to
+ * that pool (or to max_concurrent_storage_calls, if set) when the storage is created, so a slow database does not
+ * hold up requests that use another one. Only threads that are handling a request (marked in WebserverAPI.service)
+ * take permits, so cronjobs and other background work never wait for, or use up, the permits that requests need.
+ * <p>
+ * A permit is only taken by the outermost storage call of a thread, so the calls made from within a transaction run
+ * under the permit of the startTransaction call and cannot deadlock waiting for a permit.
+ * <p>
+ * This is a JVM level limit since the woven aspect has no access to a Main instance. It is turned on by the webserver
+ * when it starts.
+ */
+@Aspect
+public class StorageCallLimiter {
+
+    private static volatile boolean enabled = false;
+
+    private static final Map<String, Permits> permitsByConnectionPool = new ConcurrentHashMap<>();
+
+    private static final ThreadLocal<Boolean> handlingRequest = new ThreadLocal<>();
+
+    private static final ThreadLocal<Semaphore> heldPermit = new ThreadLocal<>();
+
+    public static void setEnabled(boolean enabled) {
+        StorageCallLimiter.enabled = enabled;
+    }
+
+    /**
+     * Called when a storage is created, with the number of calls that its connection pool can serve at once.
+     */
+    public static void setMaxConcurrentCalls(String connectionPoolId, int maxConcurrentCalls) {
+        Permits current = permitsByConnectionPool.get(connectionPoolId);
+        if (current == null || current.maxConcurrentCalls != maxConcurrentCalls) {
+            // calls that hold a permit of the old semaphore release it there
+            permitsByConnectionPool.put(connectionPoolId, new Permits(maxConcurrentCalls));
+        }
+    }
+
+    public static void setHandlingRequest(boolean isHandlingRequest) {
+        if (isHandlingRequest) {
+            handlingRequest.set(Boolean.TRUE);
+        } else {
+            handlingRequest.remove();
+        }
+    }
+
+    @TestOnly
+    public static int getAvailablePermits(String connectionPoolId) {
+        Permits current = permitsByConnectionPool.get(connectionPoolId);
+        return !enabled || current == null ? -1 : current.semaphore.availablePermits();
+    }
+
+    /**
+     * Runs a call into the storage with the given connection pool id, waiting for one of the pool's permits first if
+     * this thread is handling a request.
+     */
+    public static <T> T runStorageCall(String connectionPoolId, StorageCall<T> call) throws Throwable {
+        if (!enabled || heldPermit.get() != null || handlingRequest.get() == null) {
+            return call.call();
+        }
+        Permits permits = permitsByConnectionPool.get(connectionPoolId);
+        if (permits == null) {
+            // the connection pool was not registered when its storage was created
+            return call.call();
+        }
+        Semaphore current = permits.semaphore;
+        current.acquireUninterruptibly();
+        heldPermit.set(current);
+        try {
+            return call.call();
+        } finally {
+            heldPermit.remove();
+            // we release the semaphore we acquired from, even if the limit was changed in the meantime
+            current.release();
+        }
+    }
+
+    @Around("call(* io.supertokens.pluginInterface..*Storage+.*(..) " +
+            "throws io.supertokens.pluginInterface.exceptions.StorageQueryException) " +
+            "&& !within(io.supertokens.inmemorydb..*)")
+    public Object limitStorageCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        // checked first so that background threads and nested calls do not pay for the connection pool lookup
+        if (!enabled || heldPermit.get() != null || handlingRequest.get() == null
+                || !(joinPoint.getTarget() instanceof Storage)) {
+            return joinPoint.proceed();
+        }
+        return runStorageCall(((Storage) joinPoint.getTarget()).getConnectionPoolId(), joinPoint::proceed);
+    }
+
+    public interface StorageCall<T> {
+        T call() throws Throwable;
+    }
+
+    private static class Permits {
+        final int maxConcurrentCalls;
+        final Semaphore semaphore;
+
+        Permits(int maxConcurrentCalls) {
+            this.maxConcurrentCalls = maxConcurrentCalls;
+            this.semaphore = new Semaphore(maxConcurrentCalls, true);
+        }
+    }
+}
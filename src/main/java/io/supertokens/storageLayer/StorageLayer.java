@@ -16,6 +16,7 @@
 
 package io.supertokens.storageLayer;
 
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import io.supertokens.*;
 import io.supertokens.cliOptions.CLIOptions;
@@ -57,6 +58,10 @@ import java.util.concurrent.Executors;
 public class StorageLayer extends ResourceDistributor.SingletonResource {
 
     public static final String RESOURCE_KEY = "io.supertokens.storageLayer.StorageLayer";
+
+    // the connection pool size that the database plugins use if it is not set in the config
+    private static final int DEFAULT_CONNECTION_POOL_SIZE = 10;
+
     private final Storage storage;
     private static URLClassLoader ucl = null;
     private static Storage storageInstanceForEnv = null;
@@ -147,9 +152,48 @@ public class StorageLayer extends ResourceDistributor.SingletonResource {
         }
         // this is intentionally null, null below cause log levels is per core and not per tenant anyway
         result.loadConfig(config, logLevels, tenantIdentifier);
+
+        if (!isBulkImportProxy) {
+            StorageCallLimiter.setMaxConcurrentCalls(result.getConnectionPoolId(), getMaxConcurrentCalls(config));
+        }
         return result;
     }
 
+    /**
+     * Returns max_concurrent_storage_calls if it is set in the config, otherwise the connection pool size of the
+     * database.
+     */
+    private static int getMaxConcurrentCalls(JsonObject config) {
+        int maxConcurrentCalls = getIntConfig(config, "max_concurrent_storage_calls");
+        if (maxConcurrentCalls > 0) {
+            return maxConcurrentCalls;
+        }
+        // the database plugins call this config <database>_connection_pool_size, for example
+        // postgresql_connection_pool_size
+        for (String key : config.keySet()) {
+            if (key.endsWith("_connection_pool_size")) {
+                int connectionPoolSize = getIntConfig(config, key);
+                if (connectionPoolSize > 0) {
+                    return connectionPoolSize;
+                }
+            }
+        }
+        return DEFAULT_CONNECTION_POOL_SIZE;
+    }
+
+    private static int getIntConfig(JsonObject config, String key) {
+        JsonElement value = config.get(key);
+        if (value == null || !value.isJsonPrimitive()) {
+            return 0;
+        }
+        try {
+            return value.getAsInt();
+        } catch (NumberFormatException ignored) {
+            // the core or the plugin rejects this config when validating it
+            return 0;
+        }
+    }
+
     private StorageLayer(Storage storage) {
         this.storage = storage;
     }
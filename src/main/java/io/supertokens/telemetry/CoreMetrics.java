@@ -0,0 +1,211 @@
+/*
+ *    Copyright (c) 2025, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+package io.supertokens.telemetry;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.DoubleHistogram;
+import io.opentelemetry.api.metrics.LongUpDownCounter;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.exporter.otlp.metrics.OtlpGrpcMetricExporter;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.metrics.SdkMeterProviderBuilder;
+import io.opentelemetry.sdk.metrics.export.PeriodicMetricReader;
+import io.opentelemetry.sdk.resources.Resource;
+import io.supertokens.pluginInterface.multitenancy.TenantIdentifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Process wide OpenTelemetry metrics for the core.
+ * <p>
+ * Like {@link TelemetryAppender}, this is a JVM level singleton rather than a per-Main resource: the storage
+ * call timings are recorded from a woven aspect which has no access to a Main instance. The meter provider
+ * always has a pull reader attached that backs the Prometheus scrape endpoint (/metrics). When an
+ * otel_collector_connection_uri is configured, {@link TelemetryProvider} additionally attaches a periodic OTLP
+ * exporter by calling {@link #initialize(String, Resource)}.
+ */
+public class CoreMetrics {
+
+    private static final String INSTRUMENTATION_SCOPE = "io.supertokens.core";
+
+    // Buckets in seconds, from 0.5ms up to 10s. This covers everything from an in memory session verification to a
+    // slow password hash or bulk import batch.
+    private static final List<Double> LATENCY_BUCKETS_SECONDS = List.of(0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025,
+            0.05, 0.1, 0.25, 0.5, 1.0, 2.5, 5.0, 10.0);
+
+    private static final AttributeKey<String> HTTP_ROUTE = AttributeKey.stringKey("http.route");
+    private static final AttributeKey<String> HTTP_METHOD = AttributeKey.stringKey("http.request.method");
+    private static final AttributeKey<Long> HTTP_STATUS = AttributeKey.longKey("http.response.status_code");
+    private static final AttributeKey<String> CONNECTION_URI_DOMAIN = AttributeKey.stringKey("connection_uri_domain");
+    private static final AttributeKey<String> APP_ID = AttributeKey.stringKey("app_id");
+    private static final AttributeKey<String> STORAGE_INTERFACE = AttributeKey.stringKey("storage.interface");
+    private static final AttributeKey<String> STORAGE_METHOD = AttributeKey.stringKey("storage.method");
+    private static final AttributeKey<String> OUTCOME = AttributeKey.stringKey("outcome");
+    private static final AttributeKey<String> CRON_JOB = AttributeKey.stringKey("cron.job");
+    private static final AttributeKey<String> HASHING_ALGORITHM = AttributeKey.stringKey("hashing.algorithm");
+    private static final AttributeKey<String> STARTUP_PHASE = AttributeKey.stringKey("startup.phase");
+
+    private static final Object lock = new Object();
+
+    private static volatile CoreMetrics instance = null;
+
+    private final String otlpCollectorUri;
+    private final SdkMeterProvider meterProvider;
+    private final PrometheusMetricReader prometheusReader;
+
+    private final DoubleHistogram httpRequestDuration;
+    private final LongUpDownCounter httpActiveRequests;
+    private final DoubleHistogram storageCallDuration;
+    private final DoubleHistogram cronJobDuration;
+    private final DoubleHistogram passwordHashingQueueWait;
+    private final DoubleHistogram startupPhaseDuration;
+
+    public static CoreMetrics getInstance() {
+        CoreMetrics result = instance;
+        if (result == null) {
+            synchronized (lock) {
+                if (instance == null) {
+                    instance = new CoreMetrics(null, Resource.getDefault());
+                }
+                result = instance;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * (Re)creates the meter provider so that metrics are also exported to the given OTLP collector. This is a
+     * no-op if the current instance is already exporting to the same collector. Values recorded before the
+     * switch are dropped, which is fine since this happens during startup.
+     */
+    public static void initialize(String otlpCollectorUri, Resource resource) {
+        synchronized (lock) {
+            if (instance != null && Objects.equals(instance.otlpCollectorUri, otlpCollectorUri)) {
+                return;
+            }
+            CoreMetrics old = instance;
+            instance = new CoreMetrics(otlpCollectorUri, resource);
+            if (old != null) {
+                old.meterProvider.close();
+            }
+        }
+    }
+
+    private CoreMetrics(String otlpCollectorUri, Resource resource) {
+        this.otlpCollectorUri = otlpCollectorUri;
+        this.prometheusReader = new PrometheusMetricReader();
+
+        SdkMeterProviderBuilder builder = SdkMeterProvider.builder()
+                .setResource(resource)
+                .registerMetricReader(prometheusReader);
+        if (otlpCollectorUri != null && !otlpCollectorUri.isEmpty()) {
+            builder.registerMetricReader(PeriodicMetricReader.builder(
+                            OtlpGrpcMetricExporter.builder().setEndpoint(otlpCollectorUri).build())
+                    .setInterval(Duration.ofSeconds(60))
+                    .build());
+        }
+        this.meterProvider = builder.build();
+
+        Meter meter = meterProvider.get(INSTRUMENTATION_SCOPE);
+        this.httpRequestDuration = meter.histogramBuilder("supertokens.http.server.request.duration")
+                .setDescription("Time taken by the core to handle an API request")
+                .setUnit("s")
+                .setExplicitBucketBoundariesAdvice(LATENCY_BUCKETS_SECONDS)
+                .build();
+        this.httpActiveRequests = meter.upDownCounterBuilder("supertokens.http.server.active_requests")
+                .setDescription("Number of API requests that are currently being handled")
+                .build();
+        this.storageCallDuration = meter.histogramBuilder("supertokens.storage.call.duration")
+                .setDescription("Time taken by calls into the storage layer")
+                .setUnit("s")
+                .setExplicitBucketBoundariesAdvice(LATENCY_BUCKETS_SECONDS)
+                .build();
+        this.cronJobDuration = meter.histogramBuilder("supertokens.cron.job.duration")
+                .setDescription("Time taken by one run of a cronjob across all its target tenants")
+                .setUnit("s")
+                .setExplicitBucketBoundariesAdvice(List.of(0.01, 0.1, 0.5, 1.0, 5.0, 10.0, 30.0, 60.0, 300.0, 900.0))
+                .build();
+        this.passwordHashingQueueWait = meter.histogramBuilder("supertokens.password_hashing.queue.wait")
+                .setDescription("Time spent waiting for a free slot in the password hashing pool")
+                .setUnit("s")
+                .setExplicitBucketBoundariesAdvice(LATENCY_BUCKETS_SECONDS)
+                .build();
+        this.startupPhaseDuration = meter.histogramBuilder("supertokens.startup.phase.duration")
+                .setDescription("Time taken by each phase of the core's startup")
+                .setUnit("s")
+                .setExplicitBucketBoundariesAdvice(List.of(0.01, 0.1, 0.5, 1.0, 5.0, 10.0, 30.0, 60.0, 300.0, 900.0))
+                .build();
+
+        if (otlpCollectorUri != null && !otlpCollectorUri.isEmpty()) {
+            // flush the last batch of metrics on shutdown, same as what we do for spans and logs
+            Runtime.getRuntime().addShutdownHook(new Thread(meterProvider::close));
+        }
+    }
+
+    public void httpRequestStarted(String route) {
+        httpActiveRequests.add(1, Attributes.of(HTTP_ROUTE, route));
+    }
+
+    public void httpRequestFinished(String route, String method, int statusCode, TenantIdentifier tenantIdentifier,
+                                    long durationNanos) {
+        httpActiveRequests.add(-1, Attributes.of(HTTP_ROUTE, route));
+        String connectionUriDomain = tenantIdentifier == null ? "" : tenantIdentifier.getConnectionUriDomain();
+        String appId = tenantIdentifier == null ? "" : tenantIdentifier.getAppId();
+        httpRequestDuration.record(toSeconds(durationNanos), Attributes.builder()
+                .put(HTTP_ROUTE, route)
+                .put(HTTP_METHOD, method)
+                .put(HTTP_STATUS, statusCode)
+                .put(CONNECTION_URI_DOMAIN, connectionUriDomain)
+                .put(APP_ID, appId)
+                .build());
+    }
+
+    public void recordStorageCall(String storageInterface, String method, boolean success, long durationNanos) {
+        storageCallDuration.record(toSeconds(durationNanos), Attributes.of(
+                STORAGE_INTERFACE, storageInterface,
+                STORAGE_METHOD, method,
+                OUTCOME, success ? "success" : "error"));
+    }
+
+    public void recordCronJob(String jobName, boolean success, long durationNanos) {
+        cronJobDuration.record(toSeconds(durationNanos), Attributes.of(
+                CRON_JOB, jobName,
+                OUTCOME, success ? "success" : "error"));
+    }
+
+    public void recordPasswordHashingQueueWait(String algorithm, long durationNanos) {
+        passwordHashingQueueWait.record(toSeconds(durationNanos), Attributes.of(HASHING_ALGORITHM, algorithm));
+    }
+
+    public void recordStartupPhase(String phase, long durationNanos) {
+        startupPhaseDuration.record(toSeconds(durationNanos), Attributes.of(STARTUP_PHASE, phase));
+    }
+
+    /**
+     * Returns all metrics recorded so far in the Prometheus text exposition format (version 0.0.4).
+     */
+    public String scrapePrometheus() {
+        return prometheusReader.scrape();
+    }
+
+    private static double toSeconds(long durationNanos) {
+        return durationNanos / 1_000_000_000.0;
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ *    Copyright (c) 2025, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+package io.supertokens.telemetry;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.metrics.InstrumentType;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.DoublePointData;
+import io.opentelemetry.sdk.metrics.data.HistogramPointData;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.export.CollectionRegistration;
+import io.opentelemetry.sdk.metrics.export.MetricReader;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A pull based metric reader which renders the current state of all instruments in the Prometheus text
+ * exposition format. We keep this in the core (instead of using the prometheus exporter artifact) because it only
+ * needs to handle the instrument types that {@link CoreMetrics} creates, and it avoids starting a second HTTP
+ * server - the output is served by the core's own webserver.
+ */
+class PrometheusMetricReader implements MetricReader {
+
+    private volatile CollectionRegistration collectionRegistration = CollectionRegistration.noop();
+
+    @Override
+    public void register(CollectionRegistration registration) {
+        this.collectionRegistration = registration;
+    }
+
+    @Override
+    public AggregationTemporality getAggregationTemporality(InstrumentType instrumentType) {
+        // Prometheus expects counters and histograms to be monotonically increasing across scrapes
+        return AggregationTemporality.CUMULATIVE;
+    }
+
+    @Override
+    public CompletableResultCode forceFlush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        this.collectionRegistration = CollectionRegistration.noop();
+        return CompletableResultCode.ofSuccess();
+    }
+
+    String scrape() {
+        List<MetricData> metrics = new ArrayList<>(collectionRegistration.collectAllMetrics());
+        metrics.sort(Comparator.comparing(MetricData::getName));
+
+        StringBuilder sb = new StringBuilder();
+        for (MetricData metric : metrics) {
+            switch (metric.getType()) {
+                case HISTOGRAM:
+                    writeHistogram(sb, metric);
+                    break;
+                case LONG_SUM:
+                    writeLongPoints(sb, metric, metric.getLongSumData().isMonotonic(),
+                            metric.getLongSumData().getPoints());
+                    break;
+                case DOUBLE_SUM:
+                    writeDoublePoints(sb, metric, metric.getDoubleSumData().isMonotonic(),
+                            metric.getDoubleSumData().getPoints());
+                    break;
+                case LONG_GAUGE:
+                    writeLongPoints(sb, metric, false, metric.getLongGaugeData().getPoints());
+                    break;
+                case DOUBLE_GAUGE:
+                    writeDoublePoints(sb, metric, false, metric.getDoubleGaugeData().getPoints());
+                    break;
+                default:
+                    // summaries and exponential histograms are not created by the core
+                    break;
+            }
+        }
+        return sb.toString();
+    }
+
+    private static void writeHistogram(StringBuilder sb, MetricData metric) {
+        String name = metricName(metric);
+        writeHeader(sb, name, metric.getDescription(), "histogram");
+        for (HistogramPointData point : metric.getHistogramData().getPoints()) {
+            List<Double> boundaries = point.getBoundaries();
+            List<Long> counts = point.getCounts();
+            long cumulativeCount = 0;
+            for (int i = 0; i < boundaries.size(); i++) {
+                cumulativeCount += counts.get(i);
+                writeSample(sb, name + "_bucket", point.getAttributes(), formatDouble(boundaries.get(i)),
+                        Long.toString(cumulativeCount));
+            }
+            writeSample(sb, name + "_bucket", point.getAttributes(), "+Inf", Long.toString(point.getCount()));
+            writeSample(sb, name + "_sum", point.getAttributes(), null, formatDouble(point.getSum()));
+            writeSample(sb, name + "_count", point.getAttributes(), null, Long.toString(point.getCount()));
+        }
+    }
+
+    private static void writeLongPoints(StringBuilder sb, MetricData metric, boolean isCounter,
+                                        Collection<LongPointData> points) {
+        String name = metricName(metric) + (isCounter ? "_total" : "");
+        writeHeader(sb, name, metric.getDescription(), isCounter ? "counter" : "gauge");
+        for (LongPointData point : points) {
+            writeSample(sb, name, point.getAttributes(), null, Long.toString(point.getValue()));
+        }
+    }
+
+    private static void writeDoublePoints(StringBuilder sb, MetricData metric, boolean isCounter,
+                                          Collection<DoublePointData> points) {
+        String name = metricName(metric) + (isCounter ? "_total" : "");
+        writeHeader(sb, name, metric.getDescription(), isCounter ? "counter" : "gauge");
+        for (DoublePointData point : points) {
+            writeSample(sb, name, point.getAttributes(), null, formatDouble(point.getValue()));
+        }
+    }
+
+    private static void writeHeader(StringBuilder sb, String name, String description, String type) {
+        if (description != null && !description.isEmpty()) {
+            sb.append("# HELP ").append(name).append(' ')
+                    .append(description.replace("\\", "\\\\").replace("\n", "\\n")).append('\n');
+        }
+        sb.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void writeSample(StringBuilder sb, String name, Attributes attributes, String le, String value) {
+        sb.append(name);
+        if (!attributes.isEmpty() || le != null) {
+            sb.append('{');
+            boolean[] first = {true};
+            attributes.forEach((key, attributeValue) -> {
+                if (!first[0]) {
+                    sb.append(',');
+                }
+                first[0] = false;
+                sb.append(sanitizeName(key.getKey())).append("=\"")
+                        .append(escapeLabelValue(String.valueOf(attributeValue))).append('"');
+            });
+            if (le != null) {
+                if (!first[0]) {
+                    sb.append(',');
+                }
+                sb.append("le=\"").append(le).append('"');
+            }
+            sb.append('}');
+        }
+        sb.append(' ').append(value).append('\n');
+    }
+
+    private static String metricName(MetricData metric) {
+        String name = sanitizeName(metric.getName());
+        String unit = metric.getUnit();
+        if ("s".equals(unit)) {
+            return name + "_seconds";
+        } else if ("ms".equals(unit)) {
+            return name + "_milliseconds";
+        } else if ("By".equals(unit)) {
+            return name + "_bytes";
+        }
+        return name;
+    }
+
+    private static String sanitizeName(String name) {
+        StringBuilder sb = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            boolean valid = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_' || c == ':'
+                    || (i > 0 && c >= '0' && c <= '9');
+            sb.append(valid ? c : '_');
+        }
+        return sb.toString();
+    }
+
+    private static String escapeLabelValue(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static String formatDouble(double value) {
+        if (value == Double.POSITIVE_INFINITY) {
+            return "+Inf";
+        } else if (value == Double.NEGATIVE_INFINITY) {
+            return "-Inf";
+        } else if (Double.isNaN(value)) {
+            return "NaN";
+        }
+        return Double.toString(value);
+    }
+}
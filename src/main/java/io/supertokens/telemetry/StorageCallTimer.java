@@ -0,0 +1,49 @@
+/*
+ *    Copyright (c) 2025, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+package io.supertokens.telemetry;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * Records how long calls from the core into the storage layer take. We weave around the call sites (and not the
+ * implementations) since the storage plugins are not compiled with our aspects. Only methods that declare
+ * StorageQueryException are timed, which leaves out cheap accessors like getType() or getUserPoolId(). Calls made
+ * from within the in memory db are skipped so that nested calls are not counted twice.
+ */
+@Aspect
+public class StorageCallTimer {
+
+    @Around("call(* io.supertokens.pluginInterface..*Storage+.*(..) " +
+            "throws io.supertokens.pluginInterface.exceptions.StorageQueryException) " +
+            "&& !within(io.supertokens.inmemorydb..*) && !within(io.supertokens.telemetry..*)")
+    public Object timeStorageCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        long startTime = System.nanoTime();
+        boolean success = false;
+        try {
+            Object result = joinPoint.proceed();
+            success = true;
+            return result;
+        } finally {
+            Signature signature = joinPoint.getSignature();
+            CoreMetrics.getInstance().recordStorageCall(signature.getDeclaringType().getSimpleName(),
+                    signature.getName(), success, System.nanoTime() - startTime);
+        }
+    }
+}
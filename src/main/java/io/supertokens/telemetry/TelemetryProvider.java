@@ -72,6 +72,13 @@ public class TelemetryProvider extends ResourceDistributor.SingletonResource imp
                 .setResource(TenantIdentifier.BASE_TENANT, RESOURCE_ID, new TelemetryProvider(main));
     }
 
+    /**
+     * Returns false if no collector is configured, in which case {@link #createLogEvent} does nothing.
+     */
+    public boolean isLogExportEnabled() {
+        return openTelemetry != null;
+    }
+
     @Override
     public void createLogEvent(TenantIdentifier tenantIdentifier, String logMessage,
                                String logLevel) {
@@ -159,7 +166,7 @@ public class TelemetryProvider extends ResourceDistributor.SingletonResource imp
 
         String serviceName = resolveServiceName();
         Logging.info(main, TenantIdentifier.BASE_TENANT,
-                "OpenTelemetry telemetry enabled: exporting spans and logs to " + collectorUri
+                "OpenTelemetry telemetry enabled: exporting spans, logs and metrics to " + collectorUri
                         + " as service.name=" + serviceName, true);
 
         if (getInstance(main) != null && getInstance(main).openTelemetry != null) {
@@ -197,6 +204,10 @@ public class TelemetryProvider extends ResourceDistributor.SingletonResource imp
 
         // Add hook to close SDK, which flushes logs
         Runtime.getRuntime().addShutdownHook(new Thread(sdk::close));
+
+        // Metrics are owned by CoreMetrics (and not this sdk) since they are also served via the /metrics API,
+        // which must keep working independently of the exporter being configured.
+        CoreMetrics.initialize(collectorUri, resource);
         return sdk;
     }
 
@@ -0,0 +1,40 @@
+/*
+ *    Copyright (c) 2026, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+
+package io.supertokens.userroles;
+
+import io.supertokens.pluginInterface.exceptions.StorageQueryException;
+import io.supertokens.pluginInterface.multitenancy.TenantIdentifier;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implemented by user roles storages that can fetch the roles of many users in a single query. {@link UserRoles} uses
+ * this when available, and otherwise falls back to UserRolesStorage.getRolesForUser for each user.
+ * <p>
+ * This is implemented by the in memory storage. The database plugins only see the plugin interface, so this method
+ * needs to be added to UserRolesStorage there before they can implement it.
+ */
+public interface BulkUserRolesStorage {
+
+    /**
+     * @return the roles of each of the given users in the tenant. Users without roles are not in the map.
+     */
+    Map<String, String[]> getRolesForUsers(TenantIdentifier tenantIdentifier, List<String> userIds)
+            throws StorageQueryException;
+}
@@ -46,7 +46,7 @@ public class UserRoles {
         // We do this because it's not straight forward to replicate roles to all storages of an app
         Storage appStorage = StorageLayer.getStorage(
                 tenantIdentifier.toAppIdentifier().getAsPublicTenantIdentifier(), main);
-        if (!doesRoleExist(tenantIdentifier.toAppIdentifier(), appStorage, role)) {
+        if (!UserRolesCache.getInstance(main).doesRoleExist(tenantIdentifier.toAppIdentifier(), appStorage, role)) {
             throw new UnknownRoleException();
         }
 
@@ -124,13 +124,13 @@ public class UserRoles {
     // create a new role if it doesn't exist and add permissions to the role. This will create the role
     // in the user pool associated with the tenant used to query this API, so that this role can then
     // be shared across any tenant in that same user pool.
-    public static boolean createNewRoleOrModifyItsPermissions(AppIdentifier appIdentifier, Storage storage,
-                                                              String role, String[] permissions)
+    public static boolean createNewRoleOrModifyItsPermissions(Main main, AppIdentifier appIdentifier,
+                                                              Storage storage, String role, String[] permissions)
             throws StorageQueryException, StorageTransactionLogicException, TenantOrAppNotFoundException {
         UserRolesSQLStorage userRolesStorage = StorageUtils.getUserRolesStorage(storage);
 
         try {
-            return userRolesStorage.startTransaction(con -> {
+            boolean wasANewRoleCreated = userRolesStorage.startTransaction(con -> {
                 boolean wasANewRoleCreated = false;
                 try {
                     wasANewRoleCreated = userRolesStorage.createNewRoleOrDoNothingIfExists_Transaction(
@@ -152,6 +152,8 @@ public class UserRoles {
                 userRolesStorage.commitTransaction(con);
                 return wasANewRoleCreated;
             });
+            UserRolesCache.getInstance(main).onRolesChanged(appIdentifier, storage);
+            return wasANewRoleCreated;
         } catch (StorageTransactionLogicException e) {
             if (e.actualException instanceof TenantOrAppNotFoundException) {
                 throw (TenantOrAppNotFoundException) e.actualException;
@@ -165,7 +167,7 @@ public class UserRoles {
                                                               String role, String[] permissions)
             throws StorageQueryException, StorageTransactionLogicException, TenantOrAppNotFoundException {
         Storage storage = StorageLayer.getStorage(main);
-        return createNewRoleOrModifyItsPermissions(
+        return createNewRoleOrModifyItsPermissions(main,
                 ResourceDistributor.getAppForTesting().toAppIdentifier(), storage, role,
                 permissions);
     }
@@ -225,6 +227,25 @@ public class UserRoles {
         return StorageUtils.getUserRolesStorage(storage).getRolesForUser(tenantIdentifier, userId);
     }
 
+    /**
+     * @return the roles of each of the given users in the tenant. Users without roles are not in the map.
+     */
+    public static Map<String, String[]> getRolesForUsers(TenantIdentifier tenantIdentifier, Storage storage,
+                                                         List<String> userIds)
+            throws StorageQueryException {
+        if (storage instanceof BulkUserRolesStorage) {
+            return ((BulkUserRolesStorage) storage).getRolesForUsers(tenantIdentifier, userIds);
+        }
+        Map<String, String[]> rolesForUsers = new HashMap<>();
+        for (String userId : userIds) {
+            String[] roles = StorageUtils.getUserRolesStorage(storage).getRolesForUser(tenantIdentifier, userId);
+            if (roles.length > 0) {
+                rolesForUsers.put(userId, roles);
+            }
+        }
+        return rolesForUsers;
+    }
+
     @TestOnly
     public static String[] getRolesForUser(Main main, String userId)
             throws StorageQueryException {
@@ -254,30 +275,27 @@ public class UserRoles {
     }
 
     // retrieve all permissions associated with the role
-    public static String[] getPermissionsForRole(AppIdentifier appIdentifier, Storage storage, String role)
+    public static String[] getPermissionsForRole(Main main, AppIdentifier appIdentifier, Storage storage, String role)
             throws StorageQueryException, UnknownRoleException {
         // Since getPermissionsForRole does not change any data we do not use a transaction since it would not solve any
         // problem
-        UserRolesSQLStorage userRolesStorage = StorageUtils.getUserRolesStorage(storage);
-        boolean doesRoleExist = userRolesStorage.doesRoleExist(appIdentifier, role);
-
-        if (doesRoleExist) {
-            return StorageUtils.getUserRolesStorage(storage)
-                    .getPermissionsForRole(appIdentifier, role);
-        } else {
+        String[] permissions = UserRolesCache.getInstance(main).getPermissionsForRole(appIdentifier, storage, role);
+        if (permissions == null) {
             throw new UnknownRoleException();
         }
+        // the cached array is shared, so we return a copy
+        return permissions.clone();
     }
 
     @TestOnly
     public static String[] getPermissionsForRole(Main main, String role)
             throws StorageQueryException, UnknownRoleException {
         Storage storage = StorageLayer.getStorage(main);
-        return getPermissionsForRole(ResourceDistributor.getAppForTesting().toAppIdentifier(), storage, role);
+        return getPermissionsForRole(main, ResourceDistributor.getAppForTesting().toAppIdentifier(), storage, role);
     }
 
     // delete permissions from a role, if the role doesn't exist throw an UNKNOWN_ROLE_EXCEPTION
-    public static void deletePermissionsFromRole(AppIdentifier appIdentifier, Storage storage, String role,
+    public static void deletePermissionsFromRole(Main main, AppIdentifier appIdentifier, Storage storage, String role,
                                                  @Nullable String[] permissions)
             throws StorageQueryException, StorageTransactionLogicException, UnknownRoleException {
         UserRolesSQLStorage userRolesStorage = StorageUtils.getUserRolesStorage(storage);
@@ -299,6 +317,7 @@ public class UserRoles {
                 userRolesStorage.commitTransaction(con);
                 return null;
             });
+            UserRolesCache.getInstance(main).onRolesChanged(appIdentifier, storage);
         } catch (StorageTransactionLogicException e) {
             if (e.actualException instanceof UnknownRoleException) {
                 throw (UnknownRoleException) e.actualException;
@@ -312,23 +331,22 @@ public class UserRoles {
                                                  @Nullable String[] permissions)
             throws StorageQueryException, StorageTransactionLogicException, UnknownRoleException {
         Storage storage = StorageLayer.getStorage(main);
-        deletePermissionsFromRole(ResourceDistributor.getAppForTesting().toAppIdentifier(), storage,
+        deletePermissionsFromRole(main, ResourceDistributor.getAppForTesting().toAppIdentifier(), storage,
                 role, permissions);
     }
 
     // retrieve roles that have the input permission
-    public static String[] getRolesThatHavePermission(AppIdentifier appIdentifier, Storage storage,
+    public static String[] getRolesThatHavePermission(Main main, AppIdentifier appIdentifier, Storage storage,
                                                       String permission)
             throws StorageQueryException {
-        return StorageUtils.getUserRolesStorage(storage).getRolesThatHavePermission(
-                appIdentifier, permission);
+        return UserRolesCache.getInstance(main).getRolesThatHavePermission(appIdentifier, storage, permission).clone();
     }
 
     @TestOnly
     public static String[] getRolesThatHavePermission(Main main,
                                                       String permission) throws StorageQueryException {
         Storage storage = StorageLayer.getStorage(main);
-        return getRolesThatHavePermission(
+        return getRolesThatHavePermission(main,
                 ResourceDistributor.getAppForTesting().toAppIdentifier(), storage, permission);
     }
 
@@ -348,6 +366,9 @@ public class UserRoles {
         Storage appStorage = StorageLayer.getStorage(appIdentifier.getAsPublicTenantIdentifier(), main);
         UserRolesSQLStorage userRolesStorage = StorageUtils.getUserRolesStorage(appStorage);
         deletedRole = userRolesStorage.deleteRole(appIdentifier, role) || deletedRole;
+        if (deletedRole) {
+            UserRolesCache.getInstance(main).onRolesChanged(appIdentifier, appStorage);
+        }
 
         return deletedRole;
     }
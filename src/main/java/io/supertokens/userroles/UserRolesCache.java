@@ -0,0 +1,234 @@
+/*
+ *    Copyright (c) 2025, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+
+package io.supertokens.userroles;
+
+import io.supertokens.Main;
+import io.supertokens.ResourceDistributor;
+import io.supertokens.config.Config;
+import io.supertokens.pluginInterface.KeyValueInfo;
+import io.supertokens.pluginInterface.Storage;
+import io.supertokens.pluginInterface.StorageUtils;
+import io.supertokens.pluginInterface.exceptions.StorageQueryException;
+import io.supertokens.pluginInterface.multitenancy.AppIdentifier;
+import io.supertokens.pluginInterface.multitenancy.TenantIdentifier;
+import io.supertokens.pluginInterface.multitenancy.exceptions.TenantOrAppNotFoundException;
+import io.supertokens.utils.Utils;
+import org.jetbrains.annotations.TestOnly;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the roles of each app, and their permissions, in memory, since they change rarely but are read on almost
+ * every authorisation check. The cache is disabled by default, and is enabled by setting
+ * user_roles_cache_version_check_interval.
+ * <p>
+ * Every change to the roles or permissions of an app (made through {@link UserRoles}) drops the app's entries on this
+ * core and writes a new random version into the key value store of the app's public tenant. The version is written
+ * even by cores that have the cache disabled. Other cores read that version at most once per check interval, and
+ * drop their entries for the app if it changed, so they see changes made by another core within that interval.
+ * <p>
+ * The arrays returned by this class are shared between requests and must not be modified.
+ */
+public class UserRolesCache extends ResourceDistributor.SingletonResource {
+
+    private static final String RESOURCE_KEY = "io.supertokens.userroles.UserRolesCache";
+
+    public static final String VERSION_KEY = "user_roles_version";
+
+    // upper bound on the number of roles, and of permissions, cached per app. Only roles and permissions that exist
+    // are cached, so this is only reached by apps with a very large number of them.
+    private static final int MAX_SIZE_PER_APP = 10_000;
+
+    private final long versionCheckIntervalMs;
+    private final Map<AppIdentifier, AppRoles> apps = new ConcurrentHashMap<>();
+
+    private UserRolesCache(Main main) {
+        this.versionCheckIntervalMs = Config.getBaseConfig(main).getUserRolesCacheVersionCheckInterval();
+    }
+
+    public static UserRolesCache getInstance(Main main) {
+        try {
+            return (UserRolesCache) main.getResourceDistributor()
+                    .getResource(TenantIdentifier.BASE_TENANT, RESOURCE_KEY);
+        } catch (TenantOrAppNotFoundException e) {
+            return (UserRolesCache) main.getResourceDistributor()
+                    .setResource(TenantIdentifier.BASE_TENANT, RESOURCE_KEY, new UserRolesCache(main));
+        }
+    }
+
+    /**
+     * Drops the entries of apps that no longer exist, and of apps whose public tenant changed, since its storage may
+     * now point to a different database.
+     */
+    public static void loadForAllTenants(Main main, List<AppIdentifier> apps,
+                                         List<TenantIdentifier> tenantsThatChanged) {
+        UserRolesCache instance = getInstance(main);
+        instance.apps.keySet().removeIf(
+                app -> !apps.contains(app) || tenantsThatChanged.contains(app.getAsPublicTenantIdentifier()));
+    }
+
+    public boolean isEnabled() {
+        return versionCheckIntervalMs > 0;
+    }
+
+    /**
+     * Returns the permissions of the role, or null if the role does not exist. publicTenantStorage must be the storage
+     * of the app's public tenant, which is where the roles are stored.
+     */
+    String[] getPermissionsForRole(AppIdentifier appIdentifier, Storage publicTenantStorage, String role)
+            throws StorageQueryException {
+        AppRoles appRoles = getAppRoles(appIdentifier, publicTenantStorage);
+        String[] permissions = appRoles == null ? null : appRoles.permissionsByRole.get(role);
+        if (permissions == null) {
+            if (!StorageUtils.getUserRolesStorage(publicTenantStorage).doesRoleExist(appIdentifier, role)) {
+                // not cached, since callers can ask about any number of roles that do not exist
+                return null;
+            }
+            permissions = StorageUtils.getUserRolesStorage(publicTenantStorage)
+                    .getPermissionsForRole(appIdentifier, role);
+            if (appRoles != null) {
+                putIfNotFull(appRoles.permissionsByRole, role, permissions);
+            }
+        }
+        return permissions;
+    }
+
+    boolean doesRoleExist(AppIdentifier appIdentifier, Storage publicTenantStorage, String role)
+            throws StorageQueryException {
+        if (!isEnabled()) {
+            // loading the permissions as well would be an extra query
+            return StorageUtils.getUserRolesStorage(publicTenantStorage).doesRoleExist(appIdentifier, role);
+        }
+        return getPermissionsForRole(appIdentifier, publicTenantStorage, role) != null;
+    }
+
+    String[] getRolesThatHavePermission(AppIdentifier appIdentifier, Storage publicTenantStorage, String permission)
+            throws StorageQueryException {
+        AppRoles appRoles = getAppRoles(appIdentifier, publicTenantStorage);
+        String[] roles = appRoles == null ? null : appRoles.rolesByPermission.get(permission);
+        if (roles == null) {
+            roles = StorageUtils.getUserRolesStorage(publicTenantStorage)
+                    .getRolesThatHavePermission(appIdentifier, permission);
+            // permissions that no role has are not cached, for the same reason as roles that do not exist
+            if (appRoles != null && roles.length > 0) {
+                putIfNotFull(appRoles.rolesByPermission, permission, roles);
+            }
+        }
+        return roles;
+    }
+
+    /**
+     * Must be called after the roles or permissions of an app have been changed.
+     */
+    void onRolesChanged(AppIdentifier appIdentifier, Storage publicTenantStorage) throws StorageQueryException {
+        if (isEnabled()) {
+            // entries that are being loaded right now are added to the removed object, so they are never seen again
+            apps.remove(appIdentifier);
+        }
+        try {
+            publicTenantStorage.setKeyValue(appIdentifier.getAsPublicTenantIdentifier(), VERSION_KEY,
+                    new KeyValueInfo(Utils.getUUID(), System.currentTimeMillis()));
+        } catch (TenantOrAppNotFoundException ignored) {
+            // the app was deleted, so there is nothing left to invalidate
+        }
+    }
+
+    @TestOnly
+    public void clear() {
+        apps.clear();
+    }
+
+    @TestOnly
+    public int size(AppIdentifier appIdentifier) {
+        AppRoles appRoles = apps.get(appIdentifier);
+        return appRoles == null ? 0 : appRoles.permissionsByRole.size() + appRoles.rolesByPermission.size();
+    }
+
+    private static void putIfNotFull(Map<String, String[]> map, String key, String[] value) {
+        // lookups that are not cached still return the right result, they just query the database every time
+        if (map.size() < MAX_SIZE_PER_APP) {
+            map.put(key, value);
+        }
+    }
+
+    /**
+     * Returns the entries of the app to use for this lookup, after checking the app's version if the check interval
+     * has passed. Returns null if the cache should not be used.
+     */
+    private AppRoles getAppRoles(AppIdentifier appIdentifier, Storage publicTenantStorage)
+            throws StorageQueryException {
+        if (!isEnabled()) {
+            return null;
+        }
+        AppRoles appRoles = apps.get(appIdentifier);
+        if (appRoles != null && appRoles.storage != publicTenantStorage) {
+            // the storage of the app was reloaded
+            apps.remove(appIdentifier, appRoles);
+            appRoles = null;
+        }
+
+        long now = System.currentTimeMillis();
+        if (appRoles != null) {
+            long lastCheckTime = appRoles.lastVersionCheckTime.get();
+            if (now - lastCheckTime < versionCheckIntervalMs
+                    || !appRoles.lastVersionCheckTime.compareAndSet(lastCheckTime, now)) {
+                // either checked recently, or another thread is checking the version right now
+                return appRoles;
+            }
+        }
+
+        String version;
+        try {
+            KeyValueInfo versionInfo = publicTenantStorage.getKeyValue(appIdentifier.getAsPublicTenantIdentifier(),
+                    VERSION_KEY);
+            version = versionInfo == null ? "" : versionInfo.value;
+        } catch (TenantOrAppNotFoundException e) {
+            // the queries for the actual lookup will fail in the same way
+            apps.remove(appIdentifier);
+            return null;
+        }
+
+        if (appRoles != null && appRoles.version.equals(version)) {
+            return appRoles;
+        }
+        AppRoles newAppRoles = new AppRoles(publicTenantStorage, version, now);
+        if (appRoles == null) {
+            AppRoles existing = apps.putIfAbsent(appIdentifier, newAppRoles);
+            return existing == null ? newAppRoles : existing;
+        }
+        apps.replace(appIdentifier, appRoles, newAppRoles);
+        return newAppRoles;
+    }
+
+    private static class AppRoles {
+        final Storage storage;
+        final String version;
+        final AtomicLong lastVersionCheckTime;
+        final Map<String, String[]> permissionsByRole = new ConcurrentHashMap<>();
+        final Map<String, String[]> rolesByPermission = new ConcurrentHashMap<>();
+
+        AppRoles(Storage storage, String version, long lastVersionCheckTime) {
+            this.storage = storage;
+            this.version = version;
+            this.lastVersionCheckTime = new AtomicLong(lastVersionCheckTime);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ *    Copyright (c) 2026, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+
+package io.supertokens.utils;
+
+import io.supertokens.pluginInterface.multitenancy.AppIdentifier;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * An in-memory cache of values per app that each expire at a given time, with at most maxSize entries. When the cache
+ * is full, expired entries are dropped first, and then arbitrary ones.
+ * <p>
+ * Every removal increments a generation counter. Callers read it via {@link #getGeneration()} before looking up the
+ * value to cache, and pass it to {@link #put}, so that a value read before a removal is not added back after it.
+ */
+public class BoundedExpiringCache<K, V> {
+
+    // how often we are allowed to scan the whole cache for expired entries when it is full
+    private static final long EXPIRED_ENTRIES_CLEANUP_INTERVAL_MS = 1000;
+
+    private final int maxSize;
+    private final Map<CacheKey<K>, CacheEntry<V>> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong(0);
+    private volatile long lastExpiredEntriesCleanupTime = 0;
+
+    public BoundedExpiringCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * @return the value, or null if there is no such entry or it has expired
+     */
+    public V get(AppIdentifier appIdentifier, K key) {
+        CacheKey<K> cacheKey = new CacheKey<>(appIdentifier, key);
+        CacheEntry<V> entry = entries.get(cacheKey);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            entries.remove(cacheKey, entry);
+            return null;
+        }
+        return entry.value;
+    }
+
+    /**
+     * Adds the value until expiresAt, unless something was removed from the cache after lookupGeneration was read
+     * (via {@link #getGeneration()}) before the value was looked up.
+     */
+    public void put(AppIdentifier appIdentifier, K key, V value, long expiresAt, long lookupGeneration) {
+        if (maxSize <= 0 || expiresAt <= System.currentTimeMillis()) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            evict();
+        }
+        CacheKey<K> cacheKey = new CacheKey<>(appIdentifier, key);
+        CacheEntry<V> entry = new CacheEntry<>(value, expiresAt);
+        entries.put(cacheKey, entry);
+        if (generation.get() != lookupGeneration) {
+            // a removal raced with this lookup
+            entries.remove(cacheKey, entry);
+        }
+    }
+
+    public void remove(AppIdentifier appIdentifier, K key) {
+        generation.incrementAndGet();
+        entries.remove(new CacheKey<>(appIdentifier, key));
+    }
+
+    public void removeIf(AppIdentifier appIdentifier, Predicate<K> predicate) {
+        generation.incrementAndGet();
+        entries.keySet().removeIf(
+                cacheKey -> cacheKey.appIdentifier.equals(appIdentifier) && predicate.test(cacheKey.key));
+    }
+
+    public void invalidate(AppIdentifier appIdentifier) {
+        removeIf(appIdentifier, key -> true);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void evict() {
+        long now = System.currentTimeMillis();
+        if (now - lastExpiredEntriesCleanupTime > EXPIRED_ENTRIES_CLEANUP_INTERVAL_MS) {
+            lastExpiredEntriesCleanupTime = now;
+            entries.values().removeIf(entry -> entry.expiresAt <= now);
+        }
+        // if there were not enough expired entries, we remove arbitrary ones. Entries that are still in use will be
+        // added back on their next lookup.
+        Iterator<CacheKey<K>> iterator = entries.keySet().iterator();
+        while (entries.size() >= maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static class CacheEntry<V> {
+        final V value;
+        final long expiresAt;
+
+        CacheEntry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static class CacheKey<K> {
+        final AppIdentifier appIdentifier;
+        final K key;
+
+        CacheKey(AppIdentifier appIdentifier, K key) {
+            this.appIdentifier = appIdentifier;
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey<?> other = (CacheKey<?>) o;
+            return key.equals(other.key) && appIdentifier.equals(other.appIdentifier);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(appIdentifier, key);
+        }
+    }
+}
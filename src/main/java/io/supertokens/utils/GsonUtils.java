@@ -0,0 +1,73 @@
+/*
+ *    Copyright (c) 2026, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+
+package io.supertokens.utils;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.Strictness;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Shared Gson instances for the core. Gson instances are thread safe and cache the type adapters they create, while
+ * creating a new instance is expensive, so these should be used instead of calling new Gson() on every call.
+ * <p>
+ * Classes that are serialised on every request (for example {@link io.supertokens.session.info.SessionInfo} and
+ * {@link io.supertokens.session.info.TokenInfo}) declare their own type adapter with
+ * {@link com.google.gson.annotations.JsonAdapter}, so that they are not serialised via reflection by any Gson instance.
+ */
+public final class GsonUtils {
+
+    public static final Gson GSON = new Gson();
+
+    public static final Gson GSON_WITH_NULLS = new GsonBuilder().serializeNulls().create();
+
+    public static final TypeAdapter<JsonElement> JSON_ELEMENT_ADAPTER = GSON.getAdapter(JsonElement.class);
+
+    private GsonUtils() {
+    }
+
+    /**
+     * Writes the JSON to the writer token by token, without serialising it into a String first. The output is the
+     * same as that of {@link JsonElement#toString()}.
+     */
+    public static void write(JsonElement json, Writer writer) throws IOException {
+        JsonWriter jsonWriter = new JsonWriter(writer);
+        // same settings as JsonElement.toString()
+        jsonWriter.setStrictness(Strictness.LENIENT);
+        JSON_ELEMENT_ADAPTER.write(jsonWriter, json);
+        jsonWriter.flush();
+    }
+
+    /**
+     * For use in type adapters: reads a string that may be null.
+     */
+    public static String readNullableString(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextString();
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ *    Copyright (c) 2025, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+package io.supertokens.utils;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.UUID;
+
+/**
+ * The source of randomness for everything the core generates that must not be guessable: tokens, salts, nonces,
+ * challenges, session handles, and so on.
+ * <p>
+ * Creating a new SecureRandom per token is slow, and the default (NativePRNG) instances, as well as the one shared by
+ * UUID.randomUUID(), all synchronise on a single global lock. Instead, we keep a fixed set of independently seeded
+ * DRBG instances and pick one based on the calling thread. This works the same for platform and virtual threads (a
+ * ThreadLocal would create and seed a new generator for every virtual thread), and threads only wait on each other
+ * when they happen to map to the same instance.
+ */
+public final class SecureRandomUtils {
+
+    // the smallest power of two that is at least 4 times the number of cores, so that we can pick one with a mask
+    private static final SecureRandom[] GENERATORS = createGenerators(
+            Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 4 - 1) << 1);
+
+    private SecureRandomUtils() {
+    }
+
+    private static SecureRandom[] createGenerators(int count) {
+        SecureRandom[] generators = new SecureRandom[count];
+        for (int i = 0; i < count; i++) {
+            try {
+                generators[i] = SecureRandom.getInstance("DRBG");
+            } catch (NoSuchAlgorithmException e) {
+                // DRBG is available in all JVMs since Java 9, but the default is just as secure, only slower
+                generators[i] = new SecureRandom();
+            }
+        }
+        return generators;
+    }
+
+    /**
+     * Returns the generator for the current thread. It is shared with other threads, so it must not be reseeded or
+     * otherwise reconfigured.
+     */
+    public static SecureRandom get() {
+        return GENERATORS[(int) (Thread.currentThread().threadId() & (GENERATORS.length - 1))];
+    }
+
+    public static byte[] nextBytes(int numberOfBytes) {
+        byte[] bytes = new byte[numberOfBytes];
+        get().nextBytes(bytes);
+        return bytes;
+    }
+
+    public static void nextBytes(byte[] bytes) {
+        get().nextBytes(bytes);
+    }
+
+    public static int nextInt(int bound) {
+        return get().nextInt(bound);
+    }
+
+    /**
+     * Same as UUID.randomUUID().toString(), a version 4 UUID with 122 random bits.
+     */
+    public static String randomUUID() {
+        byte[] bytes = nextBytes(16);
+        bytes[6] &= 0x0f; // clear the version
+        bytes[6] |= 0x40; // set it to version 4
+        bytes[8] &= 0x3f; // clear the variant
+        bytes[8] |= (byte) 0x80; // set it to IETF
+        long mostSignificantBits = 0;
+        long leastSignificantBits = 0;
+        for (int i = 0; i < 8; i++) {
+            mostSignificantBits = (mostSignificantBits << 8) | (bytes[i] & 0xff);
+        }
+        for (int i = 8; i < 16; i++) {
+            leastSignificantBits = (leastSignificantBits << 8) | (bytes[i] & 0xff);
+        }
+        return new UUID(mostSignificantBits, leastSignificantBits).toString();
+    }
+}
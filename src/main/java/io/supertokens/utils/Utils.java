@@ -16,7 +16,6 @@
 
 package io.supertokens.utils;
 
-import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
@@ -54,12 +53,16 @@ import java.security.spec.InvalidKeySpecException;
 import java.security.spec.KeySpec;
 import java.security.spec.PKCS8EncodedKeySpec;
 import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Base64;
 import java.util.Base64.Decoder;
 import java.util.Base64.Encoder;
 import java.util.List;
-import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.regex.Pattern;
 
 public class Utils {
@@ -170,8 +173,8 @@ public class Utils {
         byte[] random = new byte[64];
         byte[] salt = new byte[64];
 
-        new SecureRandom().nextBytes(random);
-        new SecureRandom().nextBytes(salt);
+        SecureRandomUtils.nextBytes(random);
+        SecureRandomUtils.nextBytes(salt);
 
         int iterations = 1000;
         return iterations + ":" + toHex(salt) + ":"
@@ -205,12 +208,8 @@ public class Utils {
             throws NoSuchAlgorithmException, InvalidKeySpecException, NoSuchPaddingException, InvalidKeyException,
             InvalidAlgorithmParameterException, IllegalBlockSizeException, BadPaddingException {
 
-        // Prepare the nonce
-        SecureRandom secureRandom = new SecureRandom();
-
-        // Nonce should be 12 bytes
-        byte[] iv = new byte[12];
-        secureRandom.nextBytes(iv);
+        // Prepare the nonce. Nonce should be 12 bytes
+        byte[] iv = SecureRandomUtils.nextBytes(12);
 
         // Prepare your key/password
         byte[] key = pbkdf2(masterKey.toCharArray(), iv, 100, 32 * 8);
@@ -298,7 +297,13 @@ public class Utils {
         KeyFactory kf = KeyFactory.getInstance("RSA");
         PrivateKey pvt = kf.generatePrivate(ks);
 
-        sign.initSign(pvt);
+        return signWithPrivateKey(content, pvt, urlEncode);
+    }
+
+    public static String signWithPrivateKey(String content, PrivateKey privateKey, boolean urlEncode)
+            throws NoSuchAlgorithmException, InvalidKeyException, SignatureException {
+        Signature sign = Signature.getInstance("SHA256withRSA");
+        sign.initSign(privateKey);
         sign.update(stringToBytes(content));
         Base64.Encoder encoder = urlEncode ? Base64.getUrlEncoder() : Base64.getEncoder();
         return encoder.encodeToString(sign.sign());
@@ -306,14 +311,20 @@ public class Utils {
 
     public static boolean verifyWithPublicKey(String content, String signature, String publicKey, boolean urlEncoded)
             throws NoSuchAlgorithmException, InvalidKeySpecException, InvalidKeyException, SignatureException {
-        Signature sign = Signature.getInstance("SHA256withRSA");
         Base64.Decoder keyDecoder = Base64.getDecoder();
         X509EncodedKeySpec ks = new X509EncodedKeySpec(keyDecoder.decode(publicKey));
         KeyFactory kf = KeyFactory.getInstance("RSA");
         PublicKey pub = kf.generatePublic(ks);
 
+        return verifyWithPublicKey(content, signature, pub, urlEncoded);
+    }
+
+    public static boolean verifyWithPublicKey(String content, String signature, PublicKey publicKey,
+                                              boolean urlEncoded)
+            throws NoSuchAlgorithmException, InvalidKeyException, SignatureException {
+        Signature sign = Signature.getInstance("SHA256withRSA");
         Base64.Decoder decoder = urlEncoded ? Base64.getUrlDecoder() : Base64.getDecoder();
-        sign.initVerify(pub);
+        sign.initVerify(publicKey);
         sign.update(stringToBytes(content));
         return sign.verify(decoder.decode(signature));
     }
@@ -374,7 +385,7 @@ public class Utils {
     }
 
     public static String getUUID() {
-        return UUID.randomUUID().toString();
+        return SecureRandomUtils.randomUUID();
     }
 
     public static String exceptionStacktraceToString(Exception e) {
@@ -431,7 +442,7 @@ public class Utils {
     }
 
     public static JsonElement toJsonTreeWithNulls(Object src) {
-        return new GsonBuilder().serializeNulls().create().toJsonTree(src);
+        return GsonUtils.GSON_WITH_NULLS.toJsonTree(src);
     }
 
 
@@ -476,4 +487,52 @@ public class Utils {
         return toCamelCase;
     }
 
+    public interface ParallelFunction<I, O, E extends Exception> {
+        O apply(I input) throws E;
+    }
+
+    /**
+     * Calls function on each of the inputs, spread over up to maxParallelism threads, and returns the results in the
+     * same order as the inputs once all of the calls are done. If any of the calls throws, the first of those
+     * exceptions (in the order of the inputs) is rethrown.
+     */
+    @SuppressWarnings("unchecked")
+    public static <I, O, E extends Exception> List<O> mapInParallel(List<I> inputs, int maxParallelism,
+                                                                     ParallelFunction<I, O, E> function) throws E {
+        List<O> results = new ArrayList<>();
+        int parallelism = Math.min(inputs.size(), maxParallelism);
+        if (parallelism <= 1) {
+            for (I input : inputs) {
+                results.add(function.apply(input));
+            }
+            return results;
+        }
+
+        List<Future<O>> futures = new ArrayList<>();
+        try (ExecutorService service = Executors.newFixedThreadPool(parallelism)) {
+            for (I input : inputs) {
+                futures.add(service.submit(() -> function.apply(input)));
+            }
+        }
+        // close() above waits for all the tasks to finish, so none of these calls block
+        for (Future<O> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                // function can only throw checked exceptions of type E
+                throw (E) e.getCause();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+        return results;
+    }
+
 }
@@ -16,7 +16,6 @@
 
 package io.supertokens.webauthn;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
@@ -52,6 +51,8 @@ import io.supertokens.pluginInterface.webauthn.WebAuthNStoredCredential;
 import io.supertokens.pluginInterface.webauthn.exceptions.*;
 import io.supertokens.pluginInterface.webauthn.slqStorage.WebAuthNSQLStorage;
 import io.supertokens.useridmapping.UserIdMapping;
+import io.supertokens.utils.GsonUtils;
+import io.supertokens.utils.SecureRandomUtils;
 import io.supertokens.utils.Utils;
 import io.supertokens.webauthn.data.WebAuthNSignInUpResult;
 import io.supertokens.webauthn.data.WebauthNCredentialRecord;
@@ -65,7 +66,6 @@ import org.jetbrains.annotations.TestOnly;
 
 import java.nio.charset.StandardCharsets;
 import java.security.NoSuchAlgorithmException;
-import java.security.SecureRandom;
 import java.security.spec.InvalidKeySpecException;
 import java.util.ArrayList;
 import java.util.Base64;
@@ -170,7 +170,7 @@ public class WebAuthN {
             private final byte[] challengeRaw = new byte[32];
 
             { //initializer block
-                new SecureRandom().nextBytes(challengeRaw);
+                SecureRandomUtils.nextBytes(challengeRaw);
             }
 
             @NotNull
@@ -229,7 +229,7 @@ public class WebAuthN {
         WebAuthnManager nonStrictWebAuthnManager = WebAuthnManager.createNonStrictWebAuthnManager();
         try {
             RegistrationData registrationData = nonStrictWebAuthnManager.parseRegistrationResponseJSON(
-                    new Gson().toJson(registrationResponseJson));
+                    GsonUtils.GSON.toJson(registrationResponseJson));
             RegistrationParameters registrationParameters = getRegistrationParameters(generatedOptions);
             return nonStrictWebAuthnManager.verify(registrationData,
                     registrationParameters);
@@ -252,7 +252,7 @@ public class WebAuthN {
 
         WebAuthnManager nonStrictWebAuthnManager = WebAuthnManager.createNonStrictWebAuthnManager();
         try {
-            AuthenticationData authenticationData = nonStrictWebAuthnManager.parseAuthenticationResponseJSON(new Gson().toJson(authenticationResponse));
+            AuthenticationData authenticationData = nonStrictWebAuthnManager.parseAuthenticationResponseJSON(GsonUtils.GSON.toJson(authenticationResponse));
 
             List<byte[]> allowCredentials = null;
             boolean userVerificationRequired = generatedOptions.userVerification.equalsIgnoreCase("required");
@@ -526,7 +526,7 @@ public class WebAuthN {
         while (true) {
             // we first generate a password reset token
             byte[] random = new byte[32];
-            new SecureRandom().nextBytes(random);
+            SecureRandomUtils.nextBytes(random);
             String token = Base64.getUrlEncoder().withoutPadding().encodeToString(random);
             String hashedToken = Utils.hashSHA256(token);
 
@@ -18,30 +18,59 @@ package io.supertokens.webserver;
 
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonIOException;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 
-import java.io.BufferedReader;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 
 public class InputParser {
+    // The largest legitimate bodies are bulk import requests (BulkImport.MAX_USERS_TO_ADD users per request), which
+    // stay well below this limit.
+    public static final long MAX_JSON_BODY_SIZE_BYTES = 100L * 1024 * 1024;
+
     public static JsonObject parseJsonObjectOrThrowError(HttpServletRequest request)
             throws ServletException, IOException {
-        StringBuilder sb = new StringBuilder();
-        try (BufferedReader reader = request.getReader()) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                sb.append(line).append('\n');
-            }
+        return parseJsonObjectOrThrowError(request, MAX_JSON_BODY_SIZE_BYTES);
+    }
+
+    public static JsonObject parseJsonObjectOrThrowError(HttpServletRequest request, long maxBodySizeBytes)
+            throws ServletException, IOException {
+        if (request.getContentLengthLong() > maxBodySizeBytes) {
+            throw new ServletException(new WebserverAPI.BadRequestException(
+                    "Request body exceeds the maximum allowed size of " + maxBodySizeBytes + " bytes"));
         }
-        try {
-            return new JsonParser().parse(sb.toString()).getAsJsonObject();
-        } catch (Exception e) {
-            throw new ServletException(new WebserverAPI.BadRequestException("Invalid Json Input"));
+
+        // We parse straight from the request body instead of first copying it into a String. The size is also enforced
+        // on the raw bytes while reading since chunked requests do not declare a content length upfront.
+        String encoding = request.getCharacterEncoding();
+        Charset charset = encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+        try (Reader reader = new InputStreamReader(
+                new SizeLimitedInputStream(request.getInputStream(), maxBodySizeBytes), charset)) {
+            try {
+                return JsonParser.parseReader(reader).getAsJsonObject();
+            } catch (JsonIOException e) {
+                if (e.getCause() instanceof BodyTooLargeException) {
+                    throw new ServletException(new WebserverAPI.BadRequestException(
+                            "Request body exceeds the maximum allowed size of " + maxBodySizeBytes + " bytes"));
+                }
+                if (e.getCause() instanceof IOException) {
+                    throw (IOException) e.getCause();
+                }
+                throw new ServletException(new WebserverAPI.BadRequestException("Invalid Json Input"));
+            } catch (Exception e) {
+                throw new ServletException(new WebserverAPI.BadRequestException("Invalid Json Input"));
+            }
         }
     }
 
@@ -236,4 +265,43 @@ public class InputParser {
 
     }
 
+
+    private static class BodyTooLargeException extends IOException {
+        private static final long serialVersionUID = -2361549226740524731L;
+    }
+
+    private static class SizeLimitedInputStream extends FilterInputStream {
+        private final long maxBytes;
+        private long bytesRead = 0;
+
+        SizeLimitedInputStream(InputStream in, long maxBytes) {
+            super(in);
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                countAndCheck(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                countAndCheck(n);
+            }
+            return n;
+        }
+
+        private void countAndCheck(int n) throws BodyTooLargeException {
+            bytesRead += n;
+            if (bytesRead > maxBytes) {
+                throw new BodyTooLargeException();
+            }
+        }
+    }
 }
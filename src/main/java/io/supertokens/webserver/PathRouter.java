@@ -52,12 +52,20 @@ public class PathRouter extends WebserverAPI {
 
     @Override
     protected boolean versionNeeded(HttpServletRequest req) {
-        return getAPIThatMatchesPath(req).versionNeeded(req);
+        return getMatchedAPI(req).versionNeeded(req);
     }
 
     @Override
     protected boolean checkAPIKey(HttpServletRequest req) {
-        return getAPIThatMatchesPath(req).checkAPIKey(req);
+        return getMatchedAPI(req).checkAPIKey(req);
+    }
+
+    private WebserverAPI getMatchedAPI(HttpServletRequest req) {
+        Object context = req.getAttribute(RequestContext.ATTRIBUTE_NAME);
+        if (context instanceof RequestContext) {
+            return ((RequestContext) context).api;
+        }
+        return getAPIThatMatchesPath(req);
     }
 
     private WebserverAPI getAPIThatMatchesPath(HttpServletRequest req) {
@@ -111,6 +119,9 @@ public class PathRouter extends WebserverAPI {
 
     @Override
     protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
-        getAPIThatMatchesPath(req).service(req, resp);
+        // the path is matched once per request, and everything derived from it is kept in the request context
+        WebserverAPI api = getAPIThatMatchesPath(req);
+        api.createRequestContext(req);
+        api.service(req, resp);
     }
 }
@@ -0,0 +1,65 @@
+/*
+ *    Copyright (c) 2025, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+package io.supertokens.webserver;
+
+import io.supertokens.config.CoreConfig;
+import io.supertokens.pluginInterface.Storage;
+import io.supertokens.pluginInterface.multitenancy.AppIdentifier;
+import io.supertokens.pluginInterface.multitenancy.TenantIdentifier;
+import io.supertokens.utils.SemVer;
+
+/**
+ * Everything the core derives from a request's path, host and headers: the API it was routed to, the app and tenant
+ * it is for, their config and storage, and the CDI version. It is created when the request is routed (see
+ * {@link PathRouter}) and stored as a request attribute, so that each of these is computed at most once per request
+ * no matter how many times the API and its helpers in {@link WebserverAPI} ask for them.
+ * <p>
+ * A value is only kept once it has been computed without an exception. Lookups that fail (for example, because the
+ * tenant does not exist) are repeated if they are asked for again, so that they throw again. A request is handled by
+ * one thread at a time, so none of this is synchronised.
+ */
+final class RequestContext {
+
+    static final String ATTRIBUTE_NAME = "io.supertokens.webserver.RequestContext";
+
+    final WebserverAPI api;
+
+    // parsed from the path, these are null for the default app and tenant
+    final String appId;
+    final String tenantId;
+
+    boolean connectionUriDomainResolved = false;
+    String connectionUriDomain;
+
+    TenantIdentifier tenantIdentifier;
+    AppIdentifier appIdentifier;
+
+    CoreConfig tenantConfig;
+    // the config of the app's public tenant, which is where app level settings (api keys, CDI versions) come from
+    CoreConfig appConfig;
+
+    Storage tenantStorage;
+    Storage publicTenantStorage;
+
+    SemVer version;
+
+    RequestContext(WebserverAPI api, String appId, String tenantId) {
+        this.api = api;
+        this.appId = appId;
+        this.tenantId = tenantId;
+    }
+}
@@ -17,7 +17,6 @@
 package io.supertokens.webserver;
 
 import java.io.File;
-import java.util.UUID;
 import java.util.logging.Handler;
 import java.util.logging.Logger;
 
@@ -38,12 +37,16 @@ import io.supertokens.exceptions.QuitProgramException;
 import io.supertokens.output.Logging;
 import io.supertokens.pluginInterface.multitenancy.TenantIdentifier;
 import io.supertokens.pluginInterface.multitenancy.exceptions.TenantOrAppNotFoundException;
+import io.supertokens.storageLayer.StorageCallLimiter;
+import io.supertokens.utils.Utils;
 import io.supertokens.webserver.api.accountlinking.CanCreatePrimaryUserAPI;
 import io.supertokens.webserver.api.accountlinking.CanLinkAccountsAPI;
 import io.supertokens.webserver.api.accountlinking.CreatePrimaryUserAPI;
 import io.supertokens.webserver.api.accountlinking.LinkAccountsAPI;
 import io.supertokens.webserver.api.accountlinking.UnlinkAccountAPI;
 import io.supertokens.webserver.api.bulkimport.BulkImportAPI;
+import io.supertokens.webserver.api.bulkimport.BulkImportProgressAPI;
+import io.supertokens.webserver.api.bulkimport.BulkImportStreamAPI;
 import io.supertokens.webserver.api.migration.MigrationBackfillProgressAPI;
 import io.supertokens.webserver.api.migration.MigrationModeAPI;
 import io.supertokens.webserver.api.bulkimport.CountBulkImportUsersAPI;
@@ -59,11 +62,13 @@ import io.supertokens.webserver.api.core.HelloAPI;
 import io.supertokens.webserver.api.core.JWKSPublicAPI;
 import io.supertokens.webserver.api.core.LicenseKeyAPI;
 import io.supertokens.webserver.api.core.ListUsersByAccountInfoAPI;
+import io.supertokens.webserver.api.core.MetricsAPI;
 import io.supertokens.webserver.api.core.NotFoundOrHelloAPI;
 import io.supertokens.webserver.api.core.RequestStatsAPI;
 import io.supertokens.webserver.api.core.SearchTagsAPI;
 import io.supertokens.webserver.api.core.TelemetryAPI;
 import io.supertokens.webserver.api.core.UsersAPI;
+import io.supertokens.webserver.api.core.UsersExportAPI;
 import io.supertokens.webserver.api.core.UsersCountAPI;
 import io.supertokens.webserver.api.dashboard.DashboardSignInAPI;
 import io.supertokens.webserver.api.dashboard.DashboardUserAPI;
@@ -195,8 +200,8 @@ public class Webserver extends ResourceDistributor.SingletonResource {
     // to run (on different ports) and their tomcat servers should not affect each
     // other.
     private final String TEMP_FOLDER = OperatingSystem.getOS() == OperatingSystem.OS.WINDOWS
-            ? "webserver-temp\\" + UUID.randomUUID().toString() + "\\"
-            : "webserver-temp/" + UUID.randomUUID().toString() + "/";
+            ? "webserver-temp\\" + Utils.getUUID() + "\\"
+            : "webserver-temp/" + Utils.getUUID() + "/";
     // contextPath is the prefix to all paths for all URLs. So it's "" for us.
     private String CONTEXT_PATH = "";
     private final Main main;
@@ -248,7 +253,13 @@ public class Webserver extends ResourceDistributor.SingletonResource {
 
         // set thread pool size and port
         Connector connector = new Connector();
-        connector.setProperty("maxThreads", Config.getBaseConfig(main).getMaxThreadPoolSize() + "");
+        if (Config.getBaseConfig(main).getWebserverUseVirtualThreads()) {
+            // tomcat ignores maxThreads in this mode, so we limit access to the database instead
+            connector.setProperty("useVirtualThreads", "true");
+            StorageCallLimiter.setEnabled(true);
+        } else {
+            connector.setProperty("maxThreads", Config.getBaseConfig(main).getMaxThreadPoolSize() + "");
+        }
         connector.setPort(Config.getBaseConfig(main).getPort(main));
         connector.setProperty("address", Config.getBaseConfig(main).getHost(main));
 
@@ -329,6 +340,7 @@ public class Webserver extends ResourceDistributor.SingletonResource {
         addAPI(new UsersCountAPI(main));
         addAPI(new ActiveUsersCountAPI(main));
         addAPI(new UsersAPI(main));
+        addAPI(new UsersExportAPI(main));
         addAPI(new DeleteUserAPI(main));
         addAPI(new RevokeAllTokensForUserAPI(main));
         addAPI(new UnverifyEmailAPI(main));
@@ -403,12 +415,15 @@ public class Webserver extends ResourceDistributor.SingletonResource {
         addAPI(new ConsumeResetPasswordAPI(main));
 
         addAPI(new RequestStatsAPI(main));
+        addAPI(new MetricsAPI(main));
         addAPI(new GetTenantCoreConfigForDashboardAPI(main));
 
         addAPI(new BulkImportAPI(main));
         addAPI(new DeleteBulkImportUserAPI(main));
         addAPI(new ImportUserAPI(main));
         addAPI(new CountBulkImportUsersAPI(main));
+        addAPI(new BulkImportProgressAPI(main));
+        addAPI(new BulkImportStreamAPI(main));
 
         addAPI(new OAuthAuthAPI(main));
         addAPI(new OAuthTokenAPI(main));
@@ -497,6 +512,9 @@ public class Webserver extends ResourceDistributor.SingletonResource {
                     Logging.error(main, TenantIdentifier.BASE_TENANT, "Destroy tomcat error.", false, e);
                 }
             }
+            if (Config.getBaseConfig(main).getWebserverUseVirtualThreads()) {
+                StorageCallLimiter.setEnabled(false);
+            }
         }
 
         // delete BASEDIR folder created by tomcat
@@ -33,8 +33,11 @@ import io.supertokens.pluginInterface.multitenancy.AppIdentifier;
 import io.supertokens.pluginInterface.multitenancy.TenantIdentifier;
 import io.supertokens.pluginInterface.multitenancy.exceptions.TenantOrAppNotFoundException;
 import io.supertokens.pluginInterface.opentelemetry.WithinOtelSpan;
+import io.supertokens.storageLayer.StorageCallLimiter;
 import io.supertokens.storageLayer.StorageLayer;
+import io.supertokens.telemetry.CoreMetrics;
 import io.supertokens.useridmapping.UserIdType;
+import io.supertokens.utils.GsonUtils;
 import io.supertokens.utils.SemVer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -46,6 +49,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.apache.catalina.filters.RemoteAddrFilter;
 
 import java.io.IOException;
+import java.io.PrintWriter;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.regex.Matcher;
@@ -95,8 +99,7 @@ public abstract class WebserverAPI extends HttpServlet {
         SemVer maxCDIVersion = getLatestCDIVersion();
         String maxCDIVersionStr = null;
         try {
-            maxCDIVersionStr = Config.getConfig(
-                    getAppIdentifierWithoutVerifying(req).getAsPublicTenantIdentifier(), main).getMaxCDIVersion();
+            maxCDIVersionStr = getAppConfig(req).getMaxCDIVersion();
         } catch (TenantOrAppNotFoundException e) {
             // ignore missing app
         }
@@ -130,10 +133,16 @@ public abstract class WebserverAPI extends HttpServlet {
         resp.getWriter().println(message);
     }
 
+    /**
+     * The JSON is written token by token to the servlet writer instead of being serialised into an intermediate String
+     * first, so large responses (user lists, bulk import results) do not need a second copy in memory.
+     */
     protected void sendJsonResponse(int statusCode, JsonElement json, HttpServletResponse resp) throws IOException {
         resp.setStatus(statusCode);
         resp.setHeader("Content-Type", "application/json; charset=UTF-8");
-        resp.getWriter().println(json.toString());
+        PrintWriter writer = resp.getWriter();
+        GsonUtils.write(json, writer);
+        writer.println();
     }
 
     @Override
@@ -212,9 +221,7 @@ public abstract class WebserverAPI extends HttpServlet {
             // segment (e.g. /ghosttenant/...) under a real app — which previously threw
             // TenantOrAppNotFoundException and caused this check to be skipped entirely,
             // letting an unauthenticated caller through.
-            String[] keys = Config.getConfig(
-                    new TenantIdentifier(getConnectionUriDomain(req), getAppId(req), null),
-                    this.main).getAPIKeys();
+            String[] keys = getAppConfig(req).getAPIKeys();
             if (keys != null) {
                 if (apiKey == null) {
                     throw new ServletException(new APIKeyUnauthorisedException());
@@ -275,7 +282,26 @@ public abstract class WebserverAPI extends HttpServlet {
         return true;
     }
 
+    RequestContext getRequestContext(HttpServletRequest req) {
+        Object context = req.getAttribute(RequestContext.ATTRIBUTE_NAME);
+        if (context instanceof RequestContext && ((RequestContext) context).api == this) {
+            return (RequestContext) context;
+        }
+        // the request was not routed to this API by the PathRouter
+        return createRequestContext(req);
+    }
+
+    RequestContext createRequestContext(HttpServletRequest req) {
+        RequestContext context = new RequestContext(this, parseAppId(req), parseTenantId(req));
+        req.setAttribute(RequestContext.ATTRIBUTE_NAME, context);
+        return context;
+    }
+
     private String getTenantId(HttpServletRequest req) {
+        return getRequestContext(req).tenantId;
+    }
+
+    private String parseTenantId(HttpServletRequest req) {
         String path = req.getServletPath().toLowerCase();
         String apiPath = getPath().toLowerCase();
         if (!apiPath.startsWith("/")) {
@@ -318,7 +344,7 @@ public abstract class WebserverAPI extends HttpServlet {
         }
     }
 
-    private String getAppId(HttpServletRequest req) {
+    private String parseAppId(HttpServletRequest req) {
         String path = req.getServletPath().toLowerCase();
         String apiPath = getPath().toLowerCase();
         if (!apiPath.startsWith("/")) {
@@ -344,6 +370,15 @@ public abstract class WebserverAPI extends HttpServlet {
     }
 
     private String getConnectionUriDomain(HttpServletRequest req) throws ServletException {
+        RequestContext context = getRequestContext(req);
+        if (!context.connectionUriDomainResolved) {
+            context.connectionUriDomain = resolveConnectionUriDomain(req);
+            context.connectionUriDomainResolved = true;
+        }
+        return context.connectionUriDomain;
+    }
+
+    private String resolveConnectionUriDomain(HttpServletRequest req) throws ServletException {
         String connectionUriDomain = req.getServerName();
         connectionUriDomain = Utils.normalizeAndValidateConnectionUriDomain(connectionUriDomain, false);
 
@@ -362,25 +397,61 @@ public abstract class WebserverAPI extends HttpServlet {
     }
 
     private TenantIdentifier getTenantIdentifierWithoutVerifying(HttpServletRequest req) throws ServletException {
-        return new TenantIdentifier(this.getConnectionUriDomain(req), this.getAppId(req), this.getTenantId(req));
+        RequestContext context = getRequestContext(req);
+        if (context.tenantIdentifier == null) {
+            context.tenantIdentifier = new TenantIdentifier(this.getConnectionUriDomain(req), context.appId,
+                    context.tenantId);
+        }
+        return context.tenantIdentifier;
     }
 
     protected TenantIdentifier getTenantIdentifier(HttpServletRequest req)
             throws ServletException, TenantOrAppNotFoundException {
         getTenantStorage(req); // ensure the tenant exists
-        return new TenantIdentifier(this.getConnectionUriDomain(req), this.getAppId(req), this.getTenantId(req));
+        return getTenantIdentifierWithoutVerifying(req);
     }
 
     private AppIdentifier getAppIdentifierWithoutVerifying(HttpServletRequest req) throws ServletException {
-        return new AppIdentifier(this.getConnectionUriDomain(req), this.getAppId(req));
+        RequestContext context = getRequestContext(req);
+        if (context.appIdentifier == null) {
+            context.appIdentifier = new AppIdentifier(this.getConnectionUriDomain(req), context.appId);
+        }
+        return context.appIdentifier;
     }
 
     @WithinOtelSpan
     protected AppIdentifier getAppIdentifier(HttpServletRequest req)
             throws ServletException, TenantOrAppNotFoundException {
-        AppIdentifier appIdentifier = getAppIdentifierWithoutVerifying(req);
-        StorageLayer.getStorage(appIdentifier.getAsPublicTenantIdentifier(), main); // ensure the app exists
-        return appIdentifier;
+        getPublicTenantStorage(req); // ensure the app exists
+        return getAppIdentifierWithoutVerifying(req);
+    }
+
+    private CoreConfig getTenantConfig(HttpServletRequest req)
+            throws ServletException, TenantOrAppNotFoundException {
+        RequestContext context = getRequestContext(req);
+        if (context.tenantConfig == null) {
+            context.tenantConfig = Config.getConfig(getTenantIdentifierWithoutVerifying(req), main);
+        }
+        return context.tenantConfig;
+    }
+
+    private CoreConfig getAppConfig(HttpServletRequest req) throws ServletException, TenantOrAppNotFoundException {
+        RequestContext context = getRequestContext(req);
+        if (context.appConfig == null) {
+            context.appConfig = Config.getConfig(
+                    getAppIdentifierWithoutVerifying(req).getAsPublicTenantIdentifier(), main);
+        }
+        return context.appConfig;
+    }
+
+    private Storage getPublicTenantStorage(HttpServletRequest req)
+            throws ServletException, TenantOrAppNotFoundException {
+        RequestContext context = getRequestContext(req);
+        if (context.publicTenantStorage == null) {
+            context.publicTenantStorage = StorageLayer.getStorage(
+                    getAppIdentifierWithoutVerifying(req).getAsPublicTenantIdentifier(), main);
+        }
+        return context.publicTenantStorage;
     }
 
     /**
@@ -396,9 +467,11 @@ public abstract class WebserverAPI extends HttpServlet {
 
     protected Storage getTenantStorage(HttpServletRequest req)
             throws TenantOrAppNotFoundException, ServletException {
-        TenantIdentifier tenantIdentifier = new TenantIdentifier(this.getConnectionUriDomain(req), this.getAppId(req),
-                this.getTenantId(req));
-        return StorageLayer.getStorage(tenantIdentifier, main);
+        RequestContext context = getRequestContext(req);
+        if (context.tenantStorage == null) {
+            context.tenantStorage = StorageLayer.getStorage(getTenantIdentifierWithoutVerifying(req), main);
+        }
+        return context.tenantStorage;
     }
 
     protected Storage[] enforcePublicTenantAndGetAllStoragesForApp(HttpServletRequest req)
@@ -423,16 +496,13 @@ public abstract class WebserverAPI extends HttpServlet {
             }
         }
 
-        AppIdentifier appIdentifier = getAppIdentifier(req);
-        return StorageLayer.getStorage(appIdentifier.getAsPublicTenantIdentifier(), main);
+        return getPublicTenantStorage(req);
     }
 
     protected StorageAndUserIdMapping getStorageAndUserIdMappingForTenantSpecificApi(
             HttpServletRequest req, String userId, UserIdType userIdType)
             throws StorageQueryException, TenantOrAppNotFoundException, UnknownUserIdException, ServletException {
-        TenantIdentifier tenantIdentifier = new TenantIdentifier(this.getConnectionUriDomain(req), this.getAppId(req),
-                this.getTenantId(req));
-        return StorageLayer.findStorageAndUserIdMappingForUser(main, tenantIdentifier, userId,
+        return StorageLayer.findStorageAndUserIdMappingForUser(main, getTenantIdentifierWithoutVerifying(req), userId,
                 userIdType);
     }
 
@@ -458,13 +528,13 @@ public abstract class WebserverAPI extends HttpServlet {
             throws ServletException, IOException {
         CoreConfig config = null;
         try {
-            config = Config.getConfig(getTenantIdentifierWithoutVerifying(req), main);
+            config = getTenantConfig(req);
         } catch (TenantOrAppNotFoundException e) {
             // Unknown tenant: fall back to the app's public-tenant IP rules rather than
             // skipping IP access control (which would let an unknown tenant path segment
             // bypass an IP allow/deny configured on the app).
             try {
-                config = Config.getConfig(getAppIdentifierWithoutVerifying(req).getAsPublicTenantIdentifier(), main);
+                config = getAppConfig(req);
             } catch (TenantOrAppNotFoundException e2) {
                 return true; // no app either, so no IP access control to apply
             }
@@ -506,9 +576,13 @@ public abstract class WebserverAPI extends HttpServlet {
 
     @Override
     protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
-
+        CoreMetrics metrics = CoreMetrics.getInstance();
+        long startTime = System.nanoTime();
+        metrics.httpRequestStarted(getPath());
 
         TenantIdentifier tenantIdentifier = null;
+        // storage calls made while handling a request are limited per database, see StorageCallLimiter
+        StorageCallLimiter.setHandlingRequest(true);
         try {
             tenantIdentifier = getTenantIdentifierWithoutVerifying(req);
 
@@ -533,11 +607,11 @@ public abstract class WebserverAPI extends HttpServlet {
             if (this.versionNeeded(req)) {
                 assertThatVersionIsCompatible(version);
                 Logging.info(main, tenantIdentifier,
-                        "API called: " + req.getRequestURI() + ". Method: " + req.getMethod() + ". Version: " + version,
-                        false);
+                        () -> "API called: " + req.getRequestURI() + ". Method: " + req.getMethod() + ". Version: " +
+                                version, false);
             } else {
                 Logging.info(main, tenantIdentifier,
-                        "API called: " + req.getRequestURI() + ". Method: " + req.getMethod(), false);
+                        () -> "API called: " + req.getRequestURI() + ". Method: " + req.getMethod(), false);
             }
             super.service(req, resp);
 
@@ -581,8 +655,14 @@ public abstract class WebserverAPI extends HttpServlet {
                 msg = maskDBPassword(msg);
                 sendTextResponse(500, msg, resp);
             }
+        } finally {
+            StorageCallLimiter.setHandlingRequest(false);
+            // this is in a finally block so that requests which return early (for example, due to IP access
+            // being denied) are also counted
+            metrics.httpRequestFinished(getPath(), req.getMethod(), resp.getStatus(), tenantIdentifier,
+                    System.nanoTime() - startTime);
         }
-        Logging.info(main, tenantIdentifier, "API ended: " + req.getRequestURI() + ". Method: " + req.getMethod(),
+        Logging.info(main, tenantIdentifier, () -> "API ended: " + req.getRequestURI() + ". Method: " + req.getMethod(),
                 false);
 
         if (tenantIdentifier != null) {
@@ -616,8 +696,7 @@ public abstract class WebserverAPI extends HttpServlet {
     public SemVer getMinCDIVersionForRequest(HttpServletRequest req) throws ServletException {
         String minCDIVersionStr = null;
         try {
-            minCDIVersionStr = Config.getConfig(
-                    getAppIdentifierWithoutVerifying(req).getAsPublicTenantIdentifier(), main).getMinCDIVersion();
+            minCDIVersionStr = getAppConfig(req).getMinCDIVersion();
         } catch (TenantOrAppNotFoundException e) {
             // ignore missing app; there is no configured minimum to enforce
         }
@@ -628,6 +707,14 @@ public abstract class WebserverAPI extends HttpServlet {
     }
 
     protected SemVer getVersionFromRequest(HttpServletRequest req) throws ServletException {
+        RequestContext context = getRequestContext(req);
+        if (context.version == null) {
+            context.version = parseVersionFromRequest(req);
+        }
+        return context.version;
+    }
+
+    private SemVer parseVersionFromRequest(HttpServletRequest req) throws ServletException {
         SemVer maxCDIVersion = getLatestCDIVersionForRequest(req);
         String version = req.getHeader("cdi-version");
 
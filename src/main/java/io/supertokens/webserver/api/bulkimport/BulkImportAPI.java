@@ -113,7 +113,7 @@ public class BulkImportAPI extends WebserverAPI {
             }
             super.sendJsonResponse(200, result, resp);
         } catch (BulkImportUserPaginationToken.InvalidTokenException e) {
-            Logging.debug(main, null, Utils.exceptionStacktraceToString(e));
+            Logging.debug(main, null, () -> Utils.exceptionStacktraceToString(e));
             throw new ServletException(new BadRequestException("invalid pagination token"));
         } catch (StorageQueryException e) {
             throw new ServletException(e);
@@ -0,0 +1,97 @@
+/*
+ *    Copyright (c) 2025, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+package io.supertokens.webserver.api.bulkimport;
+
+import com.google.gson.JsonObject;
+import io.supertokens.Main;
+import io.supertokens.bulkimport.BulkImport;
+import io.supertokens.bulkimport.BulkImportProgress;
+import io.supertokens.multitenancy.exception.BadPermissionException;
+import io.supertokens.pluginInterface.Storage;
+import io.supertokens.pluginInterface.bulkimport.BulkImportStorage.BULK_IMPORT_USER_STATUS;
+import io.supertokens.pluginInterface.exceptions.StorageQueryException;
+import io.supertokens.pluginInterface.multitenancy.AppIdentifier;
+import io.supertokens.pluginInterface.multitenancy.exceptions.TenantOrAppNotFoundException;
+import io.supertokens.storageLayer.StorageLayer;
+import io.supertokens.webserver.WebserverAPI;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+
+public class BulkImportProgressAPI extends WebserverAPI {
+
+    public BulkImportProgressAPI(Main main) {
+        super(main, "bulkimport");
+    }
+
+    @Override
+    public String getPath() {
+        return "/bulk-import/users/progress";
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+        // API is app specific
+
+        if (StorageLayer.isInMemDb(main)) {
+            throw new ServletException(new BadRequestException("This API is not supported in the in-memory database."));
+        }
+
+        try {
+            AppIdentifier appIdentifier = getAppIdentifier(req);
+            Storage storage = enforcePublicTenantAndGetPublicTenantStorage(req);
+
+            long pendingUsers = BulkImport.getBulkImportUsersCount(appIdentifier, storage,
+                    BULK_IMPORT_USER_STATUS.NEW)
+                    + BulkImport.getBulkImportUsersCount(appIdentifier, storage, BULK_IMPORT_USER_STATUS.PROCESSING);
+            long failedUsers = BulkImport.getBulkImportUsersCount(appIdentifier, storage,
+                    BULK_IMPORT_USER_STATUS.FAILED);
+
+            JsonObject result = new JsonObject();
+            result.addProperty("status", "OK");
+            result.addProperty("pendingUsers", pendingUsers);
+            result.addProperty("failedUsers", failedUsers);
+
+            BulkImportProgress.Run run = BulkImportProgress.getInstance(main).getLatestRun(appIdentifier);
+            result.addProperty("isRunning", run != null && run.isRunning());
+            if (run != null) {
+                double usersPerSecond = run.getUsersPerSecond();
+
+                JsonObject latestRun = new JsonObject();
+                latestRun.addProperty("startedAt", run.startTime);
+                if (!run.isRunning()) {
+                    latestRun.addProperty("finishedAt", run.getEndTime());
+                }
+                latestRun.addProperty("usersProcessed", run.getUsersProcessed());
+                latestRun.addProperty("usersPerSecond", usersPerSecond);
+                latestRun.addProperty("numberOfWorkers", run.numberOfWorkers);
+                latestRun.addProperty("chunkSize", run.getBatchSize());
+                result.add("latestRun", latestRun);
+
+                if (run.isRunning() && usersPerSecond > 0) {
+                    result.addProperty("estimatedSecondsRemaining", (long) Math.ceil(pendingUsers / usersPerSecond));
+                }
+            }
+            super.sendJsonResponse(200, result, resp);
+
+        } catch (TenantOrAppNotFoundException | BadPermissionException | StorageQueryException e) {
+            throw new ServletException(e);
+        }
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ *    Copyright (c) 2025, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+package io.supertokens.webserver.api.bulkimport;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import io.supertokens.Main;
+import io.supertokens.bulkimport.BulkImport;
+import io.supertokens.bulkimport.BulkImportUserUtils;
+import io.supertokens.bulkimport.exceptions.InvalidBulkImportDataException;
+import io.supertokens.multitenancy.exception.BadPermissionException;
+import io.supertokens.output.Logging;
+import io.supertokens.pluginInterface.Storage;
+import io.supertokens.pluginInterface.StorageUtils;
+import io.supertokens.pluginInterface.bulkimport.BulkImportUser;
+import io.supertokens.pluginInterface.exceptions.StorageQueryException;
+import io.supertokens.pluginInterface.multitenancy.AppIdentifier;
+import io.supertokens.pluginInterface.multitenancy.exceptions.TenantOrAppNotFoundException;
+import io.supertokens.storageLayer.StorageLayer;
+import io.supertokens.webserver.WebserverAPI;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Adds users to the bulk import queue from a newline delimited JSON body (one user object per line, in the same
+ * format as the users of POST /bulk-import/users). Unlike POST /bulk-import/users, there is no limit on the number of
+ * users: the body is read and validated one line at a time, and valid users are added to the queue every
+ * INSERT_BATCH_SIZE users. While a batch is being inserted we stop reading, so a fast client is slowed down to the
+ * speed of the database instead of the body piling up in memory.
+ * <p>
+ * Invalid lines are skipped and reported in the response (up to MAX_ERRORS_IN_RESPONSE of them) while the valid ones
+ * are still added. If the request fails midway, the users of the batches that were already inserted stay in the queue,
+ * and the response has the number of the last line that was inserted, so that the client can resume after it.
+ * The uniqueness of externalUserId is only checked within a batch - duplicates across batches fail when the users are
+ * processed.
+ */
+public class BulkImportStreamAPI extends WebserverAPI {
+
+    static final int INSERT_BATCH_SIZE = 1000;
+    static final int MAX_ERRORS_IN_RESPONSE = 1000;
+    static final int MAX_LINE_LENGTH = 1024 * 1024;
+
+    public BulkImportStreamAPI(Main main) {
+        super(main, "bulkimport");
+    }
+
+    @Override
+    public String getPath() {
+        return "/bulk-import/users/stream";
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+        // API is app specific
+
+        if (StorageLayer.isInMemDb(main)) {
+            throw new ServletException(new BadRequestException("This API is not supported in the in-memory database."));
+        }
+
+        AppIdentifier appIdentifier;
+        Storage storage;
+        String[] allUserRoles;
+        try {
+            appIdentifier = getAppIdentifier(req);
+            storage = enforcePublicTenantAndGetPublicTenantStorage(req);
+            allUserRoles = StorageUtils.getUserRolesStorage(storage).getRoles(appIdentifier);
+        } catch (TenantOrAppNotFoundException | BadPermissionException | StorageQueryException e) {
+            throw new ServletException(e);
+        }
+
+        long usersAdded = 0;
+        long lastCommittedLine = 0;
+        long invalidLines = 0;
+        JsonArray errorsJson = new JsonArray();
+        List<BulkImportUser> batch = new ArrayList<>();
+        BulkImportUserUtils bulkImportUserUtils = new BulkImportUserUtils(allUserRoles);
+
+        try {
+            LineReader reader = new LineReader(req.getReader());
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+
+                List<String> errors = null;
+                if (reader.wasLineTooLong()) {
+                    errors = List.of("Line is longer than the maximum allowed length of " + MAX_LINE_LENGTH
+                            + " characters");
+                } else if (line.isBlank()) {
+                    continue;
+                } else {
+                    JsonObject userJson = null;
+                    try {
+                        userJson = parseUser(line);
+                    } catch (IllegalArgumentException e) {
+                        errors = List.of("Invalid Json Input");
+                    }
+                    if (userJson != null) {
+                        try {
+                            batch.add(bulkImportUserUtils.createBulkImportUserFromJSON(main, appIdentifier,
+                                    userJson, BulkImportUserUtils.IDMode.GENERATE));
+                        } catch (InvalidBulkImportDataException e) {
+                            errors = e.errors;
+                        }
+                    }
+                }
+
+                if (errors != null) {
+                    invalidLines++;
+                    if (errorsJson.size() < MAX_ERRORS_IN_RESPONSE) {
+                        JsonObject errorObj = new JsonObject();
+                        errorObj.addProperty("line", lineNumber);
+                        errorObj.add("errors", errors.stream()
+                                .map(JsonPrimitive::new)
+                                .collect(JsonArray::new, JsonArray::add, JsonArray::addAll));
+                        errorsJson.add(errorObj);
+                    }
+                }
+
+                if (batch.size() >= INSERT_BATCH_SIZE) {
+                    BulkImport.addUsers(appIdentifier, storage, batch);
+                    usersAdded += batch.size();
+                    lastCommittedLine = lineNumber;
+                    batch = new ArrayList<>();
+                    // externalUserIds are only checked for uniqueness within a batch, since keeping all of them
+                    // would grow with the size of the body
+                    bulkImportUserUtils = new BulkImportUserUtils(allUserRoles);
+                }
+            }
+
+            if (!batch.isEmpty()) {
+                BulkImport.addUsers(appIdentifier, storage, batch);
+                usersAdded += batch.size();
+                lastCommittedLine = lineNumber;
+            }
+        } catch (TenantOrAppNotFoundException | StorageQueryException e) {
+            if (usersAdded == 0) {
+                throw new ServletException(e);
+            }
+            // some batches are already in the queue, so the client needs to know where to resume from to not add
+            // those users again
+            Logging.error(main, appIdentifier.getAsPublicTenantIdentifier(),
+                    "Bulk import stream failed after adding " + usersAdded + " users", Main.isTesting, e);
+            JsonObject result = new JsonObject();
+            result.addProperty("status", "PARTIALLY_ADDED_ERROR");
+            result.addProperty("usersAdded", usersAdded);
+            result.addProperty("lastCommittedLine", lastCommittedLine);
+            result.addProperty("invalidLines", invalidLines);
+            result.add("errors", errorsJson);
+            super.sendJsonResponse(500, result, resp);
+            return;
+        }
+
+        JsonObject result = new JsonObject();
+        result.addProperty("status", "OK");
+        result.addProperty("usersAdded", usersAdded);
+        result.addProperty("invalidLines", invalidLines);
+        result.add("errors", errorsJson);
+        super.sendJsonResponse(200, result, resp);
+    }
+
+    private static JsonObject parseUser(String line) {
+        try {
+            JsonElement element = JsonParser.parseString(line);
+            if (!element.isJsonObject()) {
+                throw new IllegalArgumentException("Each line must be a JSON object");
+            }
+            return element.getAsJsonObject();
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    /**
+     * Reads the body one line at a time. A line that is longer than MAX_LINE_LENGTH is skipped (and reported via
+     * wasLineTooLong), so that a body without newlines cannot make us buffer all of it.
+     */
+    private static class LineReader {
+        private final Reader reader;
+        private final char[] buffer = new char[8192];
+        private int position = 0;
+        private int limit = 0;
+        private final StringBuilder line = new StringBuilder();
+        private boolean lineTooLong = false;
+
+        LineReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        /**
+         * @return the next line without its line terminator, or null at the end of the body. This is an empty string
+         * for a line that was too long.
+         */
+        String readLine() throws IOException {
+            line.setLength(0);
+            lineTooLong = false;
+            boolean readAnything = false;
+            while (true) {
+                if (position == limit) {
+                    int read = reader.read(buffer, 0, buffer.length);
+                    if (read == -1) {
+                        if (!readAnything) {
+                            return null;
+                        }
+                        break;
+                    }
+                    position = 0;
+                    limit = read;
+                }
+                readAnything = true;
+
+                int start = position;
+                while (position < limit && buffer[position] != '\n') {
+                    position++;
+                }
+                if (!lineTooLong) {
+                    if (line.length() + (position - start) > MAX_LINE_LENGTH) {
+                        lineTooLong = true;
+                        line.setLength(0);
+                    } else {
+                        line.append(buffer, start, position - start);
+                    }
+                }
+                if (position < limit) {
+                    // skip the '\n'
+                    position++;
+                    break;
+                }
+            }
+            if (lineTooLong) {
+                return "";
+            }
+            if (!line.isEmpty() && line.charAt(line.length() - 1) == '\r') {
+                line.setLength(line.length() - 1);
+            }
+            return line.toString();
+        }
+
+        boolean wasLineTooLong() {
+            return lineTooLong;
+        }
+    }
+}
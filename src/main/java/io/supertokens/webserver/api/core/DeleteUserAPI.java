@@ -25,6 +25,7 @@ import io.supertokens.pluginInterface.authRecipe.exceptions.UnknownUserIdExcepti
 import io.supertokens.pluginInterface.exceptions.StorageQueryException;
 import io.supertokens.pluginInterface.exceptions.StorageTransactionLogicException;
 import io.supertokens.pluginInterface.multitenancy.exceptions.TenantOrAppNotFoundException;
+import io.supertokens.session.SessionInfoCache;
 import io.supertokens.useridmapping.UserIdType;
 import io.supertokens.webserver.InputParser;
 import io.supertokens.webserver.WebserverAPI;
@@ -66,6 +67,8 @@ public class DeleteUserAPI extends WebserverAPI {
             AuthRecipe.deleteUser(getAppIdentifier(req), storageAndUserIdMapping.storage, userId,
                     removeAllLinkedAccounts,
                     storageAndUserIdMapping.userIdMapping);
+            // the sessions of the user were deleted as well
+            SessionInfoCache.getInstance(main).invalidate(getAppIdentifier(req));
         } catch (StorageQueryException | TenantOrAppNotFoundException | StorageTransactionLogicException |
                  BadPermissionException e) {
             throw new ServletException(e);
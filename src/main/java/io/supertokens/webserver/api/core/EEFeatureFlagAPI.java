@@ -54,7 +54,7 @@ public class EEFeatureFlagAPI extends WebserverAPI {
             EE_FEATURES[] features = FeatureFlag.getInstance(main, appIdentifier)
                     .getEnabledFeatures();
             JsonObject stats = FeatureFlag.getInstance(main, appIdentifier)
-                    .getPaidFeatureStats();
+                    .getCachedPaidFeatureStats();
             JsonObject result = new JsonObject();
             JsonArray featuresJson = new JsonArray();
             Arrays.stream(features).forEach(ee_features -> {
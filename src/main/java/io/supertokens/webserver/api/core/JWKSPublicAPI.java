@@ -16,10 +16,8 @@
 
 package io.supertokens.webserver.api.core;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
 import io.supertokens.Main;
 import io.supertokens.jwt.exceptions.UnsupportedJWTSigningAlgorithmException;
 import io.supertokens.pluginInterface.exceptions.StorageQueryException;
@@ -64,7 +62,8 @@ public class JWKSPublicAPI extends WebserverAPI {
             SigningKeys signingKeys = SigningKeys.getInstance(this.getAppIdentifier(req), main);
             List<JsonObject> jwks = signingKeys.getJWKS();
             JsonObject reply = new JsonObject();
-            JsonArray jwksJsonArray = new JsonParser().parse(new Gson().toJson(jwks)).getAsJsonArray();
+            JsonArray jwksJsonArray = new JsonArray(jwks.size());
+            jwks.forEach(jwksJsonArray::add);
             reply.add("keys", jwksJsonArray);
             resp.setHeader("Cache-Control", "max-age=" + signingKeys.getCacheDurationInSeconds() + ", must-revalidate");
             super.sendJsonResponse(200, reply, resp);
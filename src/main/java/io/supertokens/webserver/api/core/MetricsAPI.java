@@ -0,0 +1,71 @@
+/*
+ *    Copyright (c) 2025, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+package io.supertokens.webserver.api.core;
+
+import io.supertokens.Main;
+import io.supertokens.multitenancy.exception.BadPermissionException;
+import io.supertokens.pluginInterface.multitenancy.AppIdentifier;
+import io.supertokens.pluginInterface.multitenancy.exceptions.TenantOrAppNotFoundException;
+import io.supertokens.telemetry.CoreMetrics;
+import io.supertokens.webserver.WebserverAPI;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+
+/**
+ * Serves the core's metrics in the Prometheus text format so that they can be scraped directly, without an
+ * OpenTelemetry collector in between.
+ */
+public class MetricsAPI extends WebserverAPI {
+    private static final long serialVersionUID = 2286640395463137893L;
+
+    public MetricsAPI(Main main) {
+        super(main, "");
+    }
+
+    @Override
+    public String getPath() {
+        return "/metrics";
+    }
+
+    @Override
+    protected boolean versionNeeded(HttpServletRequest req) {
+        // scrapers like prometheus do not send the cdi-version header
+        return false;
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException, ServletException {
+        // the metrics are for the whole core process, so we only allow them to be queried via the base app
+        try {
+            AppIdentifier appIdentifier = getAppIdentifier(req);
+            enforcePublicTenantAndGetPublicTenantStorage(req); // enforce public tenant
+            if (!isRootCUD(appIdentifier)) {
+                throw new BadPermissionException("Metrics can only be queried via the base connection uri domain " +
+                        "and the public app");
+            }
+        } catch (TenantOrAppNotFoundException | BadPermissionException e) {
+            throw new ServletException(e);
+        }
+
+        resp.setStatus(200);
+        resp.setHeader("Content-Type", "text/plain; version=0.0.4; charset=UTF-8");
+        resp.getWriter().print(CoreMetrics.getInstance().scrapePrometheus());
+    }
+}
@@ -201,7 +201,7 @@ public class UsersAPI extends WebserverAPI {
             }
             super.sendJsonResponse(200, result, resp);
         } catch (UserPaginationToken.InvalidTokenException e) {
-            Logging.debug(main, tenantIdentifier, Utils.exceptionStacktraceToString(e));
+            Logging.debug(main, tenantIdentifier, () -> Utils.exceptionStacktraceToString(e));
             throw new ServletException(new BadRequestException("invalid pagination token"));
         } catch (StorageQueryException | TenantOrAppNotFoundException e) {
             throw new ServletException(e);
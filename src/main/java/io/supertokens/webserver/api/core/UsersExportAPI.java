@@ -0,0 +1,155 @@
+/*
+ *    Copyright (c) 2026, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+
+package io.supertokens.webserver.api.core;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import io.supertokens.Main;
+import io.supertokens.authRecipe.UserExport;
+import io.supertokens.authRecipe.UserPaginationToken;
+import io.supertokens.config.Config;
+import io.supertokens.output.Logging;
+import io.supertokens.pluginInterface.Storage;
+import io.supertokens.pluginInterface.exceptions.StorageQueryException;
+import io.supertokens.pluginInterface.multitenancy.TenantIdentifier;
+import io.supertokens.pluginInterface.multitenancy.exceptions.TenantOrAppNotFoundException;
+import io.supertokens.utils.GsonUtils;
+import io.supertokens.utils.SemVer;
+import io.supertokens.utils.Utils;
+import io.supertokens.webserver.InputParser;
+import io.supertokens.webserver.WebserverAPI;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Streams all the users of a tenant as newline delimited JSON, one user per line. Every line has a cursor which can
+ * be passed back as the cursor query param to continue the export right after that user. The last line is
+ * {"status":"OK","usersExported":N} - if it is missing, or is {"status":"ERROR"} instead, the export did not finish
+ * and should be resumed from the cursor of the last user that was received.
+ */
+public class UsersExportAPI extends WebserverAPI {
+
+    private static final long serialVersionUID = -8243215377457611034L;
+
+    public UsersExportAPI(Main main) {
+        super(main, "");
+    }
+
+    @Override
+    public String getPath() {
+        return "/users/export";
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException, ServletException {
+        // API is tenant specific
+        String cursor = InputParser.getQueryParamOrThrowError(req, "cursor", true);
+        boolean includeMetadata = !"false".equalsIgnoreCase(
+                InputParser.getQueryParamOrThrowError(req, "includeMetadata", true));
+        boolean includeRoles = !"false".equalsIgnoreCase(
+                InputParser.getQueryParamOrThrowError(req, "includeRoles", true));
+        Integer maxUsersPerSecond = InputParser.getIntQueryParamOrThrowError(req, "maxUsersPerSecond", true);
+
+        if (maxUsersPerSecond != null && maxUsersPerSecond <= 0) {
+            throw new ServletException(new BadRequestException("maxUsersPerSecond must be a positive integer"));
+        }
+
+        TenantIdentifier tenantIdentifier = null;
+        // once the 200 status has been sent, errors can only be reported as the last line of the export
+        boolean streamingStarted = false;
+        try {
+            tenantIdentifier = getTenantIdentifier(req);
+            Storage storage = getTenantStorage(req);
+
+            if (cursor != null) {
+                // we check the cursor before streaming starts so that an invalid one can still get a 400
+                UserPaginationToken.extractTokenInfo(cursor);
+            }
+
+            long rateLimit = Config.getBaseConfig(main).getUserExportMaxUsersPerSecond();
+            if (maxUsersPerSecond != null && (rateLimit == 0 || maxUsersPerSecond < rateLimit)) {
+                rateLimit = maxUsersPerSecond;
+            }
+
+            boolean v5_3 = getVersionFromRequest(req).greaterThanOrEqualTo(SemVer.v5_3);
+
+            resp.setStatus(200);
+            resp.setHeader("Content-Type", "application/x-ndjson; charset=UTF-8");
+            PrintWriter writer = resp.getWriter();
+            streamingStarted = true;
+
+            long usersExported = UserExport.exportUsers(tenantIdentifier, storage, cursor, includeMetadata,
+                    includeRoles, rateLimit, batch -> {
+                        for (UserExport.ExportedUser exportedUser : batch) {
+                            JsonObject line = new JsonObject();
+                            line.addProperty("cursor", exportedUser.cursor);
+                            line.add("user", exportedUser.user.toJson(v5_3));
+                            if (exportedUser.metadata != null) {
+                                line.add("metadata", exportedUser.metadata);
+                            }
+                            if (exportedUser.roles != null) {
+                                JsonArray roles = new JsonArray();
+                                for (String role : exportedUser.roles) {
+                                    roles.add(role);
+                                }
+                                line.add("roles", roles);
+                            }
+                            GsonUtils.write(line, writer);
+                            writer.write('\n');
+                        }
+                        // so that the client receives the users of a batch before the next batch is fetched
+                        writer.flush();
+                    });
+
+            JsonObject result = new JsonObject();
+            result.addProperty("status", "OK");
+            result.addProperty("usersExported", usersExported);
+            GsonUtils.write(result, writer);
+            writer.write('\n');
+        } catch (UserPaginationToken.InvalidTokenException e) {
+            Logging.debug(main, tenantIdentifier, () -> Utils.exceptionStacktraceToString(e));
+            throw new ServletException(new BadRequestException("invalid cursor"));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (!streamingStarted) {
+                throw new ServletException(e);
+            }
+            endExportWithError(tenantIdentifier, resp.getWriter(), e);
+        } catch (StorageQueryException | TenantOrAppNotFoundException e) {
+            if (!streamingStarted) {
+                throw new ServletException(e);
+            }
+            endExportWithError(tenantIdentifier, resp.getWriter(), e);
+        }
+    }
+
+    private void endExportWithError(TenantIdentifier tenantIdentifier, PrintWriter writer, Exception e)
+            throws IOException {
+        // the response is already committed as NDJSON, so instead of an error response we end the stream with an
+        // error line. The client can resume from the cursor of the last user it received.
+        Logging.error(main, tenantIdentifier, "User export failed after it had started", false, e);
+        JsonObject result = new JsonObject();
+        result.addProperty("status", "ERROR");
+        GsonUtils.write(result, writer);
+        writer.write('\n');
+    }
+}
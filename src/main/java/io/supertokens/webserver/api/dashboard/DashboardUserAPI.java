@@ -16,9 +16,7 @@
 
 package io.supertokens.webserver.api.dashboard;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
 import io.supertokens.Main;
 import io.supertokens.dashboard.Dashboard;
 import io.supertokens.featureflag.exceptions.FeatureNotEnabledException;
@@ -32,6 +30,7 @@ import io.supertokens.pluginInterface.exceptions.StorageQueryException;
 import io.supertokens.pluginInterface.exceptions.StorageTransactionLogicException;
 import io.supertokens.pluginInterface.multitenancy.AppIdentifier;
 import io.supertokens.pluginInterface.multitenancy.exceptions.TenantOrAppNotFoundException;
+import io.supertokens.utils.GsonUtils;
 import io.supertokens.webserver.InputParser;
 import io.supertokens.webserver.Utils;
 import io.supertokens.webserver.WebserverAPI;
@@ -95,7 +94,7 @@ public class DashboardUserAPI extends WebserverAPI {
                     getAppIdentifier(req),
                     enforcePublicTenantAndGetPublicTenantStorage(req),
                     main, email, password);
-            JsonObject userAsJsonObject = new JsonParser().parse(new Gson().toJson(user)).getAsJsonObject();
+            JsonObject userAsJsonObject = GsonUtils.GSON.toJsonTree(user).getAsJsonObject();
 
             JsonObject response = new JsonObject();
             response.addProperty("status", "OK");
@@ -158,8 +157,7 @@ public class DashboardUserAPI extends WebserverAPI {
                 // retrieve updated user details
                 DashboardUser user = Dashboard.updateUsersCredentialsWithUserId(appIdentifier, storage,
                         main, userId, newEmail, newPassword);
-                JsonObject userJsonObject = new JsonParser().parse(new Gson().toJson(user))
-                        .getAsJsonObject();
+                JsonObject userJsonObject = GsonUtils.GSON.toJsonTree(user).getAsJsonObject();
                 JsonObject response = new JsonObject();
                 response.addProperty("status", "OK");
                 response.add("user", userJsonObject);
@@ -182,7 +180,7 @@ public class DashboardUserAPI extends WebserverAPI {
                 // retrieve updated user details
                 DashboardUser updatedUser = Dashboard.updateUsersCredentialsWithUserId(appIdentifier,
                         storage, main, user.userId, newEmail, newPassword);
-                JsonObject userJsonObject = new JsonParser().parse(new Gson().toJson(updatedUser)).getAsJsonObject();
+                JsonObject userJsonObject = GsonUtils.GSON.toJsonTree(updatedUser).getAsJsonObject();
                 JsonObject response = new JsonObject();
                 response.addProperty("status", "OK");
                 response.add("user", userJsonObject);
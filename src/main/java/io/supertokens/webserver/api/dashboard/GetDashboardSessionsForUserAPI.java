@@ -16,7 +16,6 @@
 
 package io.supertokens.webserver.api.dashboard;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import io.supertokens.Main;
@@ -25,6 +24,7 @@ import io.supertokens.multitenancy.exception.BadPermissionException;
 import io.supertokens.pluginInterface.RECIPE_ID;
 import io.supertokens.pluginInterface.exceptions.StorageQueryException;
 import io.supertokens.pluginInterface.multitenancy.exceptions.TenantOrAppNotFoundException;
+import io.supertokens.utils.GsonUtils;
 import io.supertokens.webserver.InputParser;
 import io.supertokens.webserver.Utils;
 import io.supertokens.webserver.WebserverAPI;
@@ -54,11 +54,11 @@ public class GetDashboardSessionsForUserAPI extends WebserverAPI {
 
         try {
 
-            JsonArray arr = new com.google.gson.JsonParser().parse(new Gson().toJson(
+            JsonArray arr = GsonUtils.GSON.toJsonTree(
                     Dashboard.getAllDashboardSessionsForUser(
                             getAppIdentifier(req),
                             enforcePublicTenantAndGetPublicTenantStorage(req),
-                            userId))).getAsJsonArray();
+                            userId)).getAsJsonArray();
             JsonObject response = new JsonObject();
             response.addProperty("status", "OK");
             response.add("sessions", arr);
@@ -15,7 +15,6 @@
  */
 package io.supertokens.webserver.api.dashboard;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import io.supertokens.Main;
@@ -24,6 +23,7 @@ import io.supertokens.multitenancy.exception.BadPermissionException;
 import io.supertokens.pluginInterface.RECIPE_ID;
 import io.supertokens.pluginInterface.exceptions.StorageQueryException;
 import io.supertokens.pluginInterface.multitenancy.exceptions.TenantOrAppNotFoundException;
+import io.supertokens.utils.GsonUtils;
 import io.supertokens.webserver.WebserverAPI;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -49,10 +49,10 @@ public class GetDashboardUsersAPI extends WebserverAPI {
         // API is app specific
         try {
 
-            JsonArray arr = new com.google.gson.JsonParser().parse(new Gson().toJson(
+            JsonArray arr = GsonUtils.GSON.toJsonTree(
                             Dashboard.getAllDashboardUsers(
                                     getAppIdentifier(req),
-                                    enforcePublicTenantAndGetPublicTenantStorage(req), main)))
+                                    enforcePublicTenantAndGetPublicTenantStorage(req), main))
                     .getAsJsonArray();
             JsonObject response = new JsonObject();
             response.addProperty("status", "OK");
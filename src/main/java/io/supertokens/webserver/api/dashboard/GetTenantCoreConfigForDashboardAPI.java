@@ -16,7 +16,6 @@
 
 package io.supertokens.webserver.api.dashboard;
 
-import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
@@ -26,6 +25,7 @@ import io.supertokens.pluginInterface.ConfigFieldInfo;
 import io.supertokens.pluginInterface.RECIPE_ID;
 import io.supertokens.pluginInterface.StorageUtils;
 import io.supertokens.pluginInterface.multitenancy.exceptions.TenantOrAppNotFoundException;
+import io.supertokens.utils.GsonUtils;
 import io.supertokens.webserver.WebserverAPI;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -64,7 +64,7 @@ public class GetTenantCoreConfigForDashboardAPI extends WebserverAPI {
 
             JsonArray configJson = new JsonArray();
             for (ConfigFieldInfo field : config) {
-                JsonObject fieldJson = new GsonBuilder().serializeNulls().create().toJsonTree(field).getAsJsonObject();
+                JsonObject fieldJson = GsonUtils.GSON_WITH_NULLS.toJsonTree(field).getAsJsonObject();
                 configJson.add(fieldJson);
             }
 
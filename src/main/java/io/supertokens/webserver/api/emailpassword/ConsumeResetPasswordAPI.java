@@ -87,7 +87,7 @@ public class ConsumeResetPasswordAPI extends WebserverAPI {
             super.sendJsonResponse(200, resultJson, resp);
 
         } catch (ResetPasswordInvalidTokenException e) {
-            Logging.debug(main, tenantIdentifier, Utils.exceptionStacktraceToString(e));
+            Logging.debug(main, tenantIdentifier, () -> Utils.exceptionStacktraceToString(e));
             JsonObject result = new JsonObject();
             result.addProperty("status", "RESET_PASSWORD_INVALID_TOKEN_ERROR");
             super.sendJsonResponse(200, result, resp);
@@ -94,7 +94,7 @@ public class GeneratePasswordResetTokenAPI extends WebserverAPI {
             super.sendJsonResponse(200, result, resp);
 
         } catch (UnknownUserIdException e) {
-            Logging.debug(main, tenantIdentifier, Utils.exceptionStacktraceToString(e));
+            Logging.debug(main, tenantIdentifier, () -> Utils.exceptionStacktraceToString(e));
             JsonObject result = new JsonObject();
             result.addProperty("status", "UNKNOWN_USER_ID_ERROR");
             super.sendJsonResponse(200, result, resp);
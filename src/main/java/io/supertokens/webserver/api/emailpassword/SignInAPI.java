@@ -108,7 +108,7 @@ public class SignInAPI extends WebserverAPI {
             super.sendJsonResponse(200, result, resp);
 
         } catch (WrongCredentialsException e) {
-            Logging.debug(main, tenantIdentifier, Utils.exceptionStacktraceToString(e));
+            Logging.debug(main, tenantIdentifier, () -> Utils.exceptionStacktraceToString(e));
             JsonObject result = new JsonObject();
             result.addProperty("status", "WRONG_CREDENTIALS_ERROR");
             super.sendJsonResponse(200, result, resp);
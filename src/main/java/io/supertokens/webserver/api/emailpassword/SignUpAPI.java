@@ -106,7 +106,7 @@ public class SignUpAPI extends WebserverAPI {
 
             super.sendJsonResponse(200, result, resp);
         } catch (DuplicateEmailException e) {
-            Logging.debug(main, tenantIdentifier, Utils.exceptionStacktraceToString(e));
+            Logging.debug(main, tenantIdentifier, () -> Utils.exceptionStacktraceToString(e));
             JsonObject result = new JsonObject();
             result.addProperty("status", "EMAIL_ALREADY_EXISTS_ERROR");
             super.sendJsonResponse(200, result, resp);
@@ -195,18 +195,21 @@ public class UserAPI extends WebserverAPI {
             throw new ServletException(e);
 
         } catch (UnknownUserIdException e) {
-            Logging.debug(main, appIdentifier.getAsPublicTenantIdentifier(), Utils.exceptionStacktraceToString(e));
+            Logging.debug(main, appIdentifier.getAsPublicTenantIdentifier(),
+                    () -> Utils.exceptionStacktraceToString(e));
             JsonObject result = new JsonObject();
             result.addProperty("status", "UNKNOWN_USER_ID_ERROR");
             super.sendJsonResponse(200, result, resp);
 
         } catch (DuplicateEmailException e) {
-            Logging.debug(main, appIdentifier.getAsPublicTenantIdentifier(), Utils.exceptionStacktraceToString(e));
+            Logging.debug(main, appIdentifier.getAsPublicTenantIdentifier(),
+                    () -> Utils.exceptionStacktraceToString(e));
             JsonObject result = new JsonObject();
             result.addProperty("status", "EMAIL_ALREADY_EXISTS_ERROR");
             super.sendJsonResponse(200, result, resp);
         } catch (EmailChangeNotAllowedException e) {
-            Logging.debug(main, appIdentifier.getAsPublicTenantIdentifier(), Utils.exceptionStacktraceToString(e));
+            Logging.debug(main, appIdentifier.getAsPublicTenantIdentifier(),
+                    () -> Utils.exceptionStacktraceToString(e));
             JsonObject result = new JsonObject();
             result.addProperty("status", "EMAIL_CHANGE_NOT_ALLOWED_ERROR");
             result.addProperty("reason", "New email is associated with another primary user ID");
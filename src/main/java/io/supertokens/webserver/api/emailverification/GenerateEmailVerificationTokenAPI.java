@@ -81,7 +81,7 @@ public class GenerateEmailVerificationTokenAPI extends WebserverAPI {
             result.addProperty("token", token);
             super.sendJsonResponse(200, result, resp);
         } catch (EmailAlreadyVerifiedException e) {
-            Logging.debug(main, tenantIdentifier, Utils.exceptionStacktraceToString(e));
+            Logging.debug(main, tenantIdentifier, () -> Utils.exceptionStacktraceToString(e));
             JsonObject result = new JsonObject();
             result.addProperty("status", "EMAIL_ALREADY_VERIFIED_ERROR");
             super.sendJsonResponse(200, result, resp);
@@ -16,10 +16,8 @@
 
 package io.supertokens.webserver.api.jwt;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
 import io.supertokens.Main;
 import io.supertokens.jwt.exceptions.UnsupportedJWTSigningAlgorithmException;
 import io.supertokens.multitenancy.exception.BadPermissionException;
@@ -58,7 +56,8 @@ public class JWKSAPI extends WebserverAPI {
             enforcePublicTenantAndGetPublicTenantStorage(req);
             List<JsonObject> jwks = SigningKeys.getInstance(getAppIdentifier(req), main).getJWKS();
             JsonObject reply = new JsonObject();
-            JsonArray jwksJsonArray = new JsonParser().parse(new Gson().toJson(jwks)).getAsJsonArray();
+            JsonArray jwksJsonArray = new JsonArray(jwks.size());
+            jwks.forEach(jwksJsonArray::add);
             reply.add("keys", jwksJsonArray);
             reply.addProperty("status", "OK");
             super.sendJsonResponse(200, reply, resp);
@@ -19,6 +19,7 @@ package io.supertokens.webserver.api.migration;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import io.supertokens.Main;
+import io.supertokens.migration.BackfillProgress;
 import io.supertokens.pluginInterface.MigrationMode;
 import io.supertokens.pluginInterface.Storage;
 import io.supertokens.pluginInterface.exceptions.StorageQueryException;
@@ -115,7 +116,8 @@ public class MigrationBackfillProgressAPI extends WebserverAPI {
     }
 
     /**
-     * Populates {@code mode}, {@code pendingUsers}, and (when verify=true)
+     * Populates {@code mode}, {@code pendingUsers}, {@code latestRun} (if this core has run the backfill for the app
+     * since it started), and (when verify=true)
      * either {@code inconsistentUsersCount} or {@code verifySkipped} on the given entry.
      */
     private void fillProgressFields(JsonObject entry, MigrationBackfillStorage mbs,
@@ -128,6 +130,23 @@ public class MigrationBackfillProgressAPI extends WebserverAPI {
         int pending = mode.readsFromOldTables() ? mbs.getBackfillPendingUsersCount(app) : 0;
         entry.addProperty("pendingUsers", pending);
 
+        BackfillProgress.Run run = BackfillProgress.getInstance(main).getLatestRun(app);
+        if (run != null) {
+            JsonObject latestRun = new JsonObject();
+            latestRun.addProperty("startedAt", run.startTime);
+            if (!run.isRunning()) {
+                latestRun.addProperty("finishedAt", run.getEndTime());
+            }
+            latestRun.addProperty("isRunning", run.isRunning());
+            latestRun.addProperty("usersProcessed", run.getUsersProcessed());
+            latestRun.addProperty("usersPerSecond", run.getUsersPerSecond());
+            latestRun.addProperty("batchSize", run.getBatchSize());
+            if (run.getInconsistentUsers() != null) {
+                latestRun.addProperty("inconsistentUsersCount", run.getInconsistentUsers());
+            }
+            entry.add("latestRun", latestRun);
+        }
+
         if (!verify) {
             return;
         }
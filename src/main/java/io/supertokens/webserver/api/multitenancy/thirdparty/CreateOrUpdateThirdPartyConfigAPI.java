@@ -16,7 +16,6 @@
 
 package io.supertokens.webserver.api.multitenancy.thirdparty;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 import io.supertokens.Main;
 import io.supertokens.featureflag.EE_FEATURES;
@@ -31,6 +30,7 @@ import io.supertokens.pluginInterface.exceptions.StorageQueryException;
 import io.supertokens.pluginInterface.multitenancy.*;
 import io.supertokens.pluginInterface.multitenancy.exceptions.TenantOrAppNotFoundException;
 import io.supertokens.thirdparty.InvalidProviderConfigException;
+import io.supertokens.utils.GsonUtils;
 import io.supertokens.webserver.InputParser;
 import io.supertokens.webserver.WebserverAPI;
 import jakarta.servlet.ServletException;
@@ -99,7 +99,7 @@ public class CreateOrUpdateThirdPartyConfigAPI extends WebserverAPI {
                         // if the thirdPartyId is the same as the one we are trying to update, add the one from json
                         // input
                         // to the new list
-                        ThirdPartyConfig.Provider newProvider = new Gson().fromJson(config,
+                        ThirdPartyConfig.Provider newProvider = GsonUtils.GSON.fromJson(config,
                                 ThirdPartyConfig.Provider.class);
                         newProviders.add(normalize(newProvider));
                         found = true;
@@ -108,7 +108,7 @@ public class CreateOrUpdateThirdPartyConfigAPI extends WebserverAPI {
             }
             if (!found) {
                 // if the thirdPartyId is not found in the db, add the one from json input to the new list
-                ThirdPartyConfig.Provider newProvider = new Gson().fromJson(config, ThirdPartyConfig.Provider.class);
+                ThirdPartyConfig.Provider newProvider = GsonUtils.GSON.fromJson(config, ThirdPartyConfig.Provider.class);
                 newProviders.add(normalize(newProvider));
             }
             TenantConfig updatedConfig = new TenantConfig(
@@ -23,7 +23,6 @@ import java.security.NoSuchAlgorithmException;
 import java.security.spec.InvalidKeySpecException;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.UUID;
 
 import javax.crypto.BadPaddingException;
 import javax.crypto.IllegalBlockSizeException;
@@ -48,6 +47,7 @@ import io.supertokens.pluginInterface.multitenancy.AppIdentifier;
 import io.supertokens.pluginInterface.multitenancy.exceptions.TenantOrAppNotFoundException;
 import io.supertokens.pluginInterface.oauth.OAuthClient;
 import io.supertokens.pluginInterface.oauth.exception.OAuthClientNotFoundException;
+import io.supertokens.utils.Utils;
 import io.supertokens.webserver.InputParser;
 import io.supertokens.webserver.WebserverAPI;
 import jakarta.servlet.ServletException;
@@ -112,7 +112,7 @@ public class CreateUpdateOrGetOAuthClientAPI extends WebserverAPI {
         input.addProperty("subjectType", "public");
 
         if (!input.has("clientId")) {
-            input.addProperty("clientId", "stcl_" + UUID.randomUUID());
+            input.addProperty("clientId", "stcl_" + Utils.getUUID());
         }
 
         boolean enableRefreshTokenRotation = false;
@@ -2,7 +2,6 @@ package io.supertokens.webserver.api.oauth;
 
 import java.io.IOException;
 import java.util.HashMap;
-import java.util.UUID;
 
 import com.google.gson.JsonObject;
 
@@ -11,6 +10,7 @@ import io.supertokens.multitenancy.exception.BadPermissionException;
 import io.supertokens.oauth.HttpRequestForOAuthProvider;
 import io.supertokens.pluginInterface.RECIPE_ID;
 import io.supertokens.pluginInterface.multitenancy.exceptions.TenantOrAppNotFoundException;
+import io.supertokens.utils.Utils;
 import io.supertokens.webserver.InputParser;
 import io.supertokens.webserver.WebserverAPI;
 import jakarta.servlet.ServletException;
@@ -43,7 +43,7 @@ public class OAuthAcceptAuthConsentRequestAPI extends WebserverAPI {
         accessToken.addProperty("tId", tId);
         accessToken.addProperty("rsub", rsub);
         accessToken.addProperty("sessionHandle", sessionHandle);
-        accessToken.addProperty("gid", UUID.randomUUID().toString());
+        accessToken.addProperty("gid", Utils.getUUID());
         accessToken.add("initialPayload", initialAccessTokenPayload);
 
         JsonObject idToken = new JsonObject();
@@ -48,7 +48,7 @@ public class RemoveSamlClientAPI extends WebserverAPI {
         String clientId = InputParser.parseStringOrThrowError(input, "clientId", false);
 
         try {
-            boolean didExist = SAML.removeSAMLClient(getTenantIdentifier(req), getTenantStorage(req), clientId);
+            boolean didExist = SAML.removeSAMLClient(main, getTenantIdentifier(req), getTenantStorage(req), clientId);
             JsonObject res = new JsonObject();
             res.addProperty("status", "OK");
             res.addProperty("didExist", didExist);
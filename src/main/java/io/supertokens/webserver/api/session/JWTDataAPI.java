@@ -78,10 +78,10 @@ public class JWTDataAPI extends WebserverAPI {
         try {
             if (getVersionFromRequest(req).greaterThanOrEqualTo(SemVer.v2_21)) {
                 AccessToken.VERSION version = AccessToken.getAccessTokenVersionForCDI(getVersionFromRequest(req));
-                Session.updateSession(tenantIdentifier, storage, sessionHandle, null,
+                Session.updateSession(main, tenantIdentifier, storage, sessionHandle, null,
                         userDataInJWT, version);
             } else {
-                Session.updateSessionBeforeCDI2_21(tenantIdentifier, storage, sessionHandle,
+                Session.updateSessionBeforeCDI2_21(main, tenantIdentifier, storage, sessionHandle,
                         null, userDataInJWT);
             }
 
@@ -95,7 +95,7 @@ public class JWTDataAPI extends WebserverAPI {
         } catch (AccessTokenPayloadError e) {
             throw new ServletException(new BadRequestException(e.getMessage()));
         } catch (UnauthorisedException e) {
-            Logging.debug(main, tenantIdentifier, Utils.exceptionStacktraceToString(e));
+            Logging.debug(main, tenantIdentifier, () -> Utils.exceptionStacktraceToString(e));
             JsonObject reply = new JsonObject();
             reply.addProperty("status", "UNAUTHORISED");
             reply.addProperty("message", e.getMessage());
@@ -133,7 +133,7 @@ public class JWTDataAPI extends WebserverAPI {
         } catch (StorageQueryException e) {
             throw new ServletException(e);
         } catch (UnauthorisedException e) {
-            Logging.debug(main, tenantIdentifier, Utils.exceptionStacktraceToString(e));
+            Logging.debug(main, tenantIdentifier, () -> Utils.exceptionStacktraceToString(e));
             JsonObject reply = new JsonObject();
             reply.addProperty("status", "UNAUTHORISED");
             reply.addProperty("message", e.getMessage());
@@ -81,7 +81,7 @@ public class SessionDataAPI extends WebserverAPI {
         } catch (StorageQueryException e) {
             throw new ServletException(e);
         } catch (UnauthorisedException e) {
-            Logging.debug(main, tenantIdentifier, Utils.exceptionStacktraceToString(e));
+            Logging.debug(main, tenantIdentifier, () -> Utils.exceptionStacktraceToString(e));
             JsonObject reply = new JsonObject();
             reply.addProperty("status", "UNAUTHORISED");
             reply.addProperty("message", e.getMessage());
@@ -114,10 +114,10 @@ public class SessionDataAPI extends WebserverAPI {
             // which is always null here
             if (getVersionFromRequest(req).greaterThanOrEqualTo(SemVer.v2_21)) {
                 AccessToken.VERSION version = AccessToken.getAccessTokenVersionForCDI(getVersionFromRequest(req));
-                Session.updateSession(tenantIdentifier, storage, sessionHandle,
+                Session.updateSession(main, tenantIdentifier, storage, sessionHandle,
                         userDataInDatabase, null, version);
             } else {
-                Session.updateSessionBeforeCDI2_21(tenantIdentifier, storage, sessionHandle,
+                Session.updateSessionBeforeCDI2_21(main, tenantIdentifier, storage, sessionHandle,
                         userDataInDatabase, null);
             }
 
@@ -130,7 +130,7 @@ public class SessionDataAPI extends WebserverAPI {
         } catch (AccessTokenPayloadError e) {
             throw new ServletException(new BadRequestException(e.getMessage()));
         } catch (UnauthorisedException e) {
-            Logging.debug(main, tenantIdentifier, Utils.exceptionStacktraceToString(e));
+            Logging.debug(main, tenantIdentifier, () -> Utils.exceptionStacktraceToString(e));
             JsonObject reply = new JsonObject();
             reply.addProperty("status", "UNAUTHORISED");
             reply.addProperty("message", e.getMessage());
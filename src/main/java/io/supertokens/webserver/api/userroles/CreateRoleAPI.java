@@ -86,7 +86,7 @@ public class CreateRoleAPI extends WebserverAPI {
             AppIdentifier appIdentifier = getAppIdentifier(req);
             Storage storage = enforcePublicTenantAndGetPublicTenantStorage(req);
             boolean createdNewRole = UserRoles.createNewRoleOrModifyItsPermissions(
-                    appIdentifier, storage, role, permissions);
+                    main, appIdentifier, storage, role, permissions);
 
             JsonObject response = new JsonObject();
             response.addProperty("status", "OK");
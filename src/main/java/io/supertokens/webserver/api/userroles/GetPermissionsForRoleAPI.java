@@ -65,7 +65,7 @@ public class GetPermissionsForRoleAPI extends WebserverAPI {
             AppIdentifier appIdentifier = getAppIdentifier(req);
             Storage storage = enforcePublicTenantAndGetPublicTenantStorage(req);
 
-            String[] permissions = UserRoles.getPermissionsForRole(appIdentifier, storage, role);
+            String[] permissions = UserRoles.getPermissionsForRole(main, appIdentifier, storage, role);
             JsonArray arr = new JsonArray();
             for (String permission : permissions) {
                 arr.add(new JsonPrimitive(permission));
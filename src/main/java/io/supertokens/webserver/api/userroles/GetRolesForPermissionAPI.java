@@ -65,7 +65,7 @@ public class GetRolesForPermissionAPI extends WebserverAPI {
             AppIdentifier appIdentifier = getAppIdentifier(req);
             Storage storage = enforcePublicTenantAndGetPublicTenantStorage(req);
 
-            String[] roles = UserRoles.getRolesThatHavePermission(appIdentifier, storage, permission);
+            String[] roles = UserRoles.getRolesThatHavePermission(main, appIdentifier, storage, permission);
             JsonArray arr = new JsonArray();
 
             for (String s : roles) {
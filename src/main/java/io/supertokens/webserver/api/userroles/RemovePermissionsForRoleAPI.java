@@ -86,7 +86,7 @@ public class RemovePermissionsForRoleAPI extends WebserverAPI {
             AppIdentifier appIdentifier = getAppIdentifier(req);
             Storage storage = enforcePublicTenantAndGetPublicTenantStorage(req);
 
-            UserRoles.deletePermissionsFromRole(appIdentifier, storage, role, permissions);
+            UserRoles.deletePermissionsFromRole(main, appIdentifier, storage, role, permissions);
             JsonObject response = new JsonObject();
             response.addProperty("status", "OK");
             super.sendJsonResponse(200, response, resp);
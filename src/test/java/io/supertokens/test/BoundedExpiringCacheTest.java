@@ -0,0 +1,134 @@
+/*
+ *    Copyright (c) 2026, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+
+package io.supertokens.test;
+
+import io.supertokens.pluginInterface.multitenancy.AppIdentifier;
+import io.supertokens.utils.BoundedExpiringCache;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import static org.junit.Assert.*;
+
+public class BoundedExpiringCacheTest {
+    @Rule
+    public TestRule watchman = Utils.getOnFailure();
+
+    @Rule
+    public TestRule retryFlaky = Utils.retryFlakyTest();
+
+    @AfterClass
+    public static void afterTesting() {
+        Utils.afterTesting();
+    }
+
+    @Before
+    public void beforeEach() {
+        Utils.reset();
+    }
+
+    private static final AppIdentifier APP1 = new AppIdentifier(null, "a1");
+    private static final AppIdentifier APP2 = new AppIdentifier(null, "a2");
+
+    @Test
+    public void entriesAreReturnedUntilTheyExpire() throws Exception {
+        BoundedExpiringCache<String, String> cache = new BoundedExpiringCache<>(10);
+
+        cache.put(APP1, "key", "value", System.currentTimeMillis() + 500, cache.getGeneration());
+        assertEquals("value", cache.get(APP1, "key"));
+        assertNull(cache.get(APP2, "key"));
+
+        Thread.sleep(700);
+        assertNull(cache.get(APP1, "key"));
+        assertEquals(0, cache.size());
+
+        // entries that have already expired are not added
+        cache.put(APP1, "key", "value", System.currentTimeMillis() - 1, cache.getGeneration());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void valuesLookedUpBeforeARemovalAreNotAdded() {
+        BoundedExpiringCache<String, String> cache = new BoundedExpiringCache<>(10);
+        long expiresAt = System.currentTimeMillis() + 60000;
+
+        long lookupGeneration = cache.getGeneration();
+        cache.remove(APP1, "other");
+        cache.put(APP1, "key", "value", expiresAt, lookupGeneration);
+        assertNull(cache.get(APP1, "key"));
+
+        lookupGeneration = cache.getGeneration();
+        cache.invalidate(APP2);
+        cache.put(APP1, "key", "value", expiresAt, lookupGeneration);
+        assertNull(cache.get(APP1, "key"));
+
+        cache.put(APP1, "key", "value", expiresAt, cache.getGeneration());
+        assertEquals("value", cache.get(APP1, "key"));
+    }
+
+    @Test
+    public void removalsOnlyAffectTheGivenApp() {
+        BoundedExpiringCache<String, String> cache = new BoundedExpiringCache<>(10);
+        long expiresAt = System.currentTimeMillis() + 60000;
+        for (AppIdentifier app : new AppIdentifier[]{APP1, APP2}) {
+            cache.put(app, "a", "value", expiresAt, cache.getGeneration());
+            cache.put(app, "b", "value", expiresAt, cache.getGeneration());
+            cache.put(app, "c", "value", expiresAt, cache.getGeneration());
+        }
+
+        cache.remove(APP1, "a");
+        assertNull(cache.get(APP1, "a"));
+        assertEquals("value", cache.get(APP2, "a"));
+
+        cache.removeIf(APP1, key -> key.equals("b"));
+        assertNull(cache.get(APP1, "b"));
+        assertEquals("value", cache.get(APP1, "c"));
+        assertEquals("value", cache.get(APP2, "b"));
+
+        cache.invalidate(APP1);
+        assertNull(cache.get(APP1, "c"));
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    public void cacheDoesNotGrowBeyondItsMaxSize() throws Exception {
+        BoundedExpiringCache<String, String> cache = new BoundedExpiringCache<>(5);
+
+        for (int i = 0; i < 5; i++) {
+            cache.put(APP1, "expiring" + i, "value", System.currentTimeMillis() + 200, cache.getGeneration());
+        }
+        Thread.sleep(400);
+
+        // expired entries make room for new ones first
+        long expiresAt = System.currentTimeMillis() + 60000;
+        cache.put(APP1, "key0", "value", expiresAt, cache.getGeneration());
+        assertEquals(1, cache.size());
+
+        for (int i = 1; i < 20; i++) {
+            cache.put(APP1, "key" + i, "value", expiresAt, cache.getGeneration());
+            assertTrue(cache.size() <= 5);
+        }
+        assertEquals("value", cache.get(APP1, "key19"));
+
+        BoundedExpiringCache<String, String> disabledCache = new BoundedExpiringCache<>(0);
+        disabledCache.put(APP1, "key", "value", expiresAt, disabledCache.getGeneration());
+        assertEquals(0, disabledCache.size());
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ *    Copyright (c) 2026, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+
+package io.supertokens.test;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import io.supertokens.session.info.SessionInfo;
+import io.supertokens.session.info.SessionInformationHolder;
+import io.supertokens.session.info.TokenInfo;
+import io.supertokens.utils.GsonUtils;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import java.io.StringWriter;
+
+import static org.junit.Assert.assertEquals;
+
+public class GsonUtilsTest {
+    @Rule
+    public TestRule watchman = Utils.getOnFailure();
+
+    @Rule
+    public TestRule retryFlaky = Utils.retryFlakyTest();
+
+    @AfterClass
+    public static void afterTesting() {
+        Utils.afterTesting();
+    }
+
+    @Before
+    public void beforeEach() {
+        Utils.reset();
+    }
+
+    // mirror the fields of the classes that have their own type adapter, so that we can compare against what
+    // reflection based serialisation produced before those adapters were added
+    private static class ReflectedTokenInfo {
+        String token;
+        long expiry;
+        long createdTime;
+    }
+
+    private static class ReflectedSessionInfo {
+        String handle;
+        String userId;
+        String recipeUserId;
+        JsonObject userDataInJWT;
+        String tenantId;
+    }
+
+    @Test
+    public void typeAdaptersProduceTheSameJsonAsReflection() {
+        Gson gson = new Gson();
+        Gson gsonWithNulls = new GsonBuilder().serializeNulls().create();
+
+        JsonObject userData = new JsonObject();
+        userData.addProperty("key", "value");
+        userData.add("nullValue", JsonNull.INSTANCE);
+
+        ReflectedSessionInfo reflectedSession = new ReflectedSessionInfo();
+        reflectedSession.handle = "handle";
+        reflectedSession.userId = "userId";
+        reflectedSession.recipeUserId = "recipeUserId";
+        reflectedSession.userDataInJWT = userData;
+        reflectedSession.tenantId = "public";
+        SessionInfo session = new SessionInfo("handle", "userId", "recipeUserId", userData, "public");
+        assertEquals(gson.toJson(reflectedSession), GsonUtils.GSON.toJson(session));
+        assertEquals(gsonWithNulls.toJson(reflectedSession), GsonUtils.GSON_WITH_NULLS.toJson(session));
+
+        ReflectedSessionInfo reflectedWithNulls = new ReflectedSessionInfo();
+        reflectedWithNulls.handle = "handle";
+        SessionInfo sessionWithNulls = new SessionInfo("handle", null, null, null, null);
+        assertEquals(gson.toJson(reflectedWithNulls), GsonUtils.GSON.toJson(sessionWithNulls));
+        assertEquals(gsonWithNulls.toJson(reflectedWithNulls), GsonUtils.GSON_WITH_NULLS.toJson(sessionWithNulls));
+
+        ReflectedTokenInfo reflectedToken = new ReflectedTokenInfo();
+        reflectedToken.token = "token";
+        reflectedToken.expiry = 10;
+        reflectedToken.createdTime = 5;
+        assertEquals(gson.toJson(reflectedToken), GsonUtils.GSON.toJson(new TokenInfo("token", 10, 5)));
+        reflectedToken.token = null;
+        assertEquals(gsonWithNulls.toJson(reflectedToken),
+                GsonUtils.GSON_WITH_NULLS.toJson(new TokenInfo(null, 10, 5)));
+    }
+
+    @Test
+    public void typeAdaptersCanReadWhatTheyWrite() {
+        JsonObject userData = new JsonObject();
+        userData.addProperty("key", 1);
+        SessionInfo session = GsonUtils.GSON.fromJson(
+                GsonUtils.GSON.toJson(new SessionInfo("handle", "userId", "recipeUserId", userData, "t1")),
+                SessionInfo.class);
+        assertEquals("handle", session.handle);
+        assertEquals("userId", session.userId);
+        assertEquals("recipeUserId", session.recipeUserId);
+        assertEquals(userData, session.userDataInJWT);
+        assertEquals("t1", session.tenantId);
+
+        TokenInfo token = GsonUtils.GSON.fromJson(GsonUtils.GSON.toJson(new TokenInfo("token", 10, 5)),
+                TokenInfo.class);
+        assertEquals("token", token.token);
+        assertEquals(10, token.expiry);
+        assertEquals(5, token.createdTime);
+    }
+
+    @Test
+    public void sessionInformationHolderJson() {
+        JsonObject userData = new JsonObject();
+        userData.addProperty("key", "value");
+        SessionInformationHolder holder = new SessionInformationHolder(
+                new SessionInfo("handle", "userId", "recipeUserId", userData, "public"),
+                new TokenInfo("accessToken", 10, 5), new TokenInfo("refreshToken", 20, 5), null, null);
+
+        assertEquals("{\"session\":{\"handle\":\"handle\",\"userId\":\"userId\",\"recipeUserId\":\"recipeUserId\"," +
+                        "\"userDataInJWT\":{\"key\":\"value\"},\"tenantId\":\"public\"}," +
+                        "\"accessToken\":{\"token\":\"accessToken\",\"expiry\":10,\"createdTime\":5}," +
+                        "\"refreshToken\":{\"token\":\"refreshToken\",\"expiry\":20,\"createdTime\":5}}",
+                holder.toJsonObject().toString());
+    }
+
+    @Test
+    public void writeProducesTheSameOutputAsToString() throws Exception {
+        JsonObject json = new JsonObject();
+        json.addProperty("string", "with \"quotes\", <html> & unicode ł");
+        json.addProperty("number", 1.5);
+        json.add("null", JsonNull.INSTANCE);
+        JsonObject nested = new JsonObject();
+        nested.addProperty("bool", true);
+        json.add("nested", nested);
+
+        StringWriter writer = new StringWriter();
+        GsonUtils.write(json, writer);
+        assertEquals(json.toString(), writer.toString());
+    }
+}
@@ -27,7 +27,14 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TestRule;
 
+import jakarta.servlet.ReadListener;
 import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import org.mockito.Mockito;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 
 import static org.junit.Assert.*;
 
@@ -107,4 +114,108 @@ public class InputParserTest {
         process.kill();
         assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STOPPED));
     }
+
+    private static HttpServletRequest mockRequestWithBody(String body, long contentLength) throws Exception {
+        HttpServletRequest request = Mockito.mock(HttpServletRequest.class);
+        Mockito.when(request.getContentLengthLong()).thenReturn(contentLength);
+        Mockito.when(request.getCharacterEncoding()).thenReturn("UTF-8");
+        ByteArrayInputStream bytes = new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+        Mockito.when(request.getInputStream()).thenReturn(new ServletInputStream() {
+            @Override
+            public int read() {
+                return bytes.read();
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                return bytes.read(b, off, len);
+            }
+
+            @Override
+            public boolean isFinished() {
+                return bytes.available() == 0;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+            }
+        });
+        return request;
+    }
+
+    @Test
+    public void testParseJsonObjectFromRequestBody() throws Exception {
+        {
+            String body = "{\"a\": \"b\",\n \"c\": [1, 2, {\"d\": null}]}";
+            JsonObject parsed = InputParser.parseJsonObjectOrThrowError(mockRequestWithBody(body, body.length()));
+            assertEquals("b", parsed.get("a").getAsString());
+            assertEquals(3, parsed.get("c").getAsJsonArray().size());
+            assertTrue(parsed.get("c").getAsJsonArray().get(2).getAsJsonObject().get("d").isJsonNull());
+        }
+
+        String[] invalidBodies = {"", "[1, 2]", "{\"a\": 1", "{\"a\": 1} {\"b\": 2}", "\"a\""};
+        for (String body : invalidBodies) {
+            try {
+                InputParser.parseJsonObjectOrThrowError(mockRequestWithBody(body, -1));
+                fail();
+            } catch (ServletException e) {
+                assertEquals("Invalid Json Input", e.getRootCause().getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void testParseJsonObjectEnforcesBodySizeLimit() throws Exception {
+        StringBuilder sb = new StringBuilder("{\"users\": [");
+        for (int i = 0; i < 1000; i++) {
+            sb.append(i == 0 ? "" : ",").append("\"user").append(i).append("\"");
+        }
+        sb.append("]}");
+        String body = sb.toString();
+
+        // fits within the limit
+        assertEquals(1000, InputParser.parseJsonObjectOrThrowError(mockRequestWithBody(body, body.length()),
+                body.length()).get("users").getAsJsonArray().size());
+
+        // declared content length is over the limit
+        try {
+            InputParser.parseJsonObjectOrThrowError(mockRequestWithBody(body, body.length()), 100);
+            fail();
+        } catch (ServletException e) {
+            assertEquals("Request body exceeds the maximum allowed size of 100 bytes",
+                    e.getRootCause().getMessage());
+        }
+
+        // chunked request (no content length) that goes over the limit while being read
+        try {
+            InputParser.parseJsonObjectOrThrowError(mockRequestWithBody(body, -1), 100);
+            fail();
+        } catch (ServletException e) {
+            assertEquals("Request body exceeds the maximum allowed size of 100 bytes",
+                    e.getRootCause().getMessage());
+        }
+    }
+
+    @Test
+    public void testParseJsonObjectBodySizeLimitCountsBytes() throws Exception {
+        // 40 characters, but each accented e takes two bytes in UTF-8, so the body is 60 bytes long
+        String body = "{\"name\": \"" + "\u00e9".repeat(20) + "\", \"x\": 1}";
+        assertTrue(body.length() < 50);
+
+        try {
+            InputParser.parseJsonObjectOrThrowError(mockRequestWithBody(body, -1), 50);
+            fail();
+        } catch (ServletException e) {
+            assertEquals("Request body exceeds the maximum allowed size of 50 bytes",
+                    e.getRootCause().getMessage());
+        }
+
+        JsonObject parsed = InputParser.parseJsonObjectOrThrowError(mockRequestWithBody(body, -1), 100);
+        assertEquals("\u00e9".repeat(20), parsed.get("name").getAsString());
+    }
 }
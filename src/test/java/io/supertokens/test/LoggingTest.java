@@ -392,6 +392,79 @@ public class LoggingTest {
 
     }
 
+    @Test
+    public void testBufferedInfoLogsAreWrittenBeforeShutdown() throws Exception {
+        // Skip this test if file logging is disabled (envvar set to null)
+        assumeTrue("File logging is disabled via environment variable", Utils.isFileLoggingEnabled());
+
+        try {
+            String[] args = {"../"};
+
+            Utils.setValueInConfig("info_log_path", "\"tempLogging/info.log\"");
+            Utils.setValueInConfig("error_log_path", "\"tempLogging/error.log\"");
+            Utils.setValueInConfig("log_buffer_size", "1000");
+
+            TestingProcess process = TestingProcessManager.startIsolatedProcess(args);
+            assertNotNull(process.checkOrWaitForEvent(PROCESS_STATE.STARTED));
+
+            File infoLog = new File(Config.getConfig(process.getProcess()).getInfoLogPath(process.getProcess()));
+
+            for (int i = 0; i < 500; i++) {
+                Logging.info(process.getProcess(), TenantIdentifier.BASE_TENANT, "buffered-log-" + i + "-end", false);
+            }
+
+            // stopping the process must write out everything that is still in the buffer
+            process.kill();
+            assertNotNull(process.checkOrWaitForEvent(PROCESS_STATE.STOPPED));
+
+            boolean[] found = new boolean[500];
+            try (Scanner scanner = new Scanner(infoLog, StandardCharsets.UTF_8)) {
+                while (scanner.hasNextLine()) {
+                    String line = scanner.nextLine();
+                    if (line.contains(process.getProcess().getProcessId()) && line.contains("buffered-log-")) {
+                        assertTrue(line.contains("Tenant(, public, public)"));
+                        String index = line.substring(line.indexOf("buffered-log-") + "buffered-log-".length(),
+                                line.indexOf("-end"));
+                        found[Integer.parseInt(index)] = true;
+                    }
+                }
+            }
+            for (boolean f : found) {
+                assertTrue(f);
+            }
+        } finally {
+            FileUtils.deleteDirectory(new File("tempLogging"));
+        }
+    }
+
+    @Test
+    public void testLogMessageSupplierIsOnlyCalledIfLevelIsEnabled() throws Exception {
+        String[] args = {"../"};
+
+        Utils.setValueInConfig("log_level", "INFO");
+
+        TestingProcess process = TestingProcessManager.startIsolatedProcess(args);
+        assertNotNull(process.checkOrWaitForEvent(PROCESS_STATE.STARTED));
+
+        boolean[] debugMessageCreated = {false};
+        boolean[] infoMessageCreated = {false};
+
+        Logging.debug(process.getProcess(), TenantIdentifier.BASE_TENANT, () -> {
+            debugMessageCreated[0] = true;
+            return "debug message";
+        });
+        Logging.info(process.getProcess(), TenantIdentifier.BASE_TENANT, () -> {
+            infoMessageCreated[0] = true;
+            return "info message";
+        }, false);
+
+        assertFalse(debugMessageCreated[0]);
+        assertTrue(infoMessageCreated[0]);
+
+        process.kill();
+        assertNotNull(process.checkOrWaitForEvent(PROCESS_STATE.STOPPED));
+    }
+
     @Test
     public void testDefaultLoggingFilePath() throws Exception {
         // Skip this test if file logging is disabled (envvar set to null)
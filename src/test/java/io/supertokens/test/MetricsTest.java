@@ -0,0 +1,104 @@
+/*
+ *    Copyright (c) 2025, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+package io.supertokens.test;
+
+import io.supertokens.ProcessState;
+import io.supertokens.emailpassword.EmailPassword;
+import io.supertokens.pluginInterface.STORAGE_TYPE;
+import io.supertokens.storageLayer.StorageLayer;
+import io.supertokens.test.httpRequest.HttpRequestForTesting;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class MetricsTest {
+    @Rule
+    public TestRule watchman = Utils.getOnFailure();
+
+    @Rule
+    public TestRule retryFlaky = Utils.retryFlakyTest();
+
+    @AfterClass
+    public static void afterTesting() {
+        Utils.afterTesting();
+    }
+
+    @Before
+    public void beforeEach() {
+        Utils.reset();
+    }
+
+    @Test
+    public void testRequestLatencyIsExposedInPrometheusFormat() throws Exception {
+        String[] args = {"../"};
+
+        TestingProcessManager.TestingProcess process = TestingProcessManager.startIsolatedProcess(args);
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STARTED));
+
+        for (int i = 0; i < 5; i++) {
+            HttpRequestForTesting.sendGETRequest(process.getProcess(), "", "http://localhost:3567/hello", null, 1000,
+                    1000, null, Utils.getCdiVersionStringLatestForTests(), "");
+        }
+
+        String metrics = HttpRequestForTesting.sendGETRequest(process.getProcess(), "",
+                "http://localhost:3567/metrics", null, 1000, 1000, null, null, "");
+
+        assertTrue(metrics.contains("# TYPE supertokens_http_server_request_duration_seconds histogram"));
+        assertTrue(metrics.contains("supertokens_http_server_request_duration_seconds_bucket{"));
+        assertTrue(metrics.contains("http_route=\"/hello\""));
+        assertTrue(metrics.contains("http_response_status_code=\"200\""));
+        assertTrue(metrics.contains("le=\"+Inf\""));
+        assertTrue(metrics.contains("# TYPE supertokens_http_server_active_requests gauge"));
+
+        process.kill();
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STOPPED));
+    }
+
+    @Test
+    public void testStorageCallsAndPasswordHashingQueueWaitAreRecorded() throws Exception {
+        String[] args = {"../"};
+
+        Utils.setValueInConfig("password_hashing_alg", "ARGON2");
+
+        TestingProcessManager.TestingProcess process = TestingProcessManager.startIsolatedProcess(args);
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STARTED));
+
+        if (StorageLayer.getStorage(process.getProcess()).getType() != STORAGE_TYPE.SQL) {
+            return;
+        }
+
+        EmailPassword.signUp(process.getProcess(), "test@example.com", "somePassword");
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.PASSWORD_HASH_ARGON));
+
+        String metrics = HttpRequestForTesting.sendGETRequest(process.getProcess(), "",
+                "http://localhost:3567/metrics", null, 1000, 1000, null, null, "");
+
+        assertTrue(metrics.contains("# TYPE supertokens_storage_call_duration_seconds histogram"));
+        assertTrue(metrics.contains("storage_method=\"signUp\""));
+        assertTrue(metrics.contains("outcome=\"success\""));
+        assertTrue(metrics.contains("supertokens_password_hashing_queue_wait_seconds_count{" +
+                "hashing_algorithm=\"argon2\"}"));
+
+        process.kill();
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STOPPED));
+    }
+}
@@ -27,6 +27,7 @@ import io.supertokens.multitenancy.Multitenancy;
 import io.supertokens.multitenancy.exception.BadPermissionException;
 import io.supertokens.multitenancy.exception.CannotModifyBaseConfigException;
 import io.supertokens.pluginInterface.STORAGE_TYPE;
+import io.supertokens.pluginInterface.Storage;
 import io.supertokens.pluginInterface.exceptions.InvalidConfigException;
 import io.supertokens.pluginInterface.exceptions.StorageQueryException;
 import io.supertokens.pluginInterface.multitenancy.*;
@@ -36,6 +37,7 @@ import io.supertokens.test.TestingProcessManager.TestingProcess;
 import io.supertokens.test.httpRequest.HttpRequestForTesting;
 import io.supertokens.test.httpRequest.HttpResponseException;
 import io.supertokens.thirdparty.InvalidProviderConfigException;
+import io.supertokens.utils.SemVer;
 import io.supertokens.webserver.RecipeRouter;
 import io.supertokens.webserver.Webserver;
 import io.supertokens.webserver.WebserverAPI;
@@ -72,6 +74,64 @@ public class PathRouterTest extends Mockito {
         Utils.reset();
     }
 
+    @Test
+    public void requestDetailsAreResolvedOncePerRequest() throws Exception {
+        String[] args = {"../"};
+        TestingProcess process = TestingProcessManager.startIsolatedProcess(args);
+        assertNotNull(process.checkOrWaitForEvent(PROCESS_STATE.STARTED));
+
+        Webserver.getInstance(process.getProcess()).addAPI(new WebserverAPI(process.getProcess(), "") {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public String getPath() {
+                return "/test/request-context";
+            }
+
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp)
+                    throws IOException, ServletException {
+                try {
+                    TenantIdentifier tenantIdentifier = getTenantIdentifier(req);
+                    AppIdentifier appIdentifier = getAppIdentifier(req);
+                    Storage storage = getTenantStorage(req);
+                    SemVer version = getVersionFromRequest(req);
+
+                    JsonObject result = new JsonObject();
+                    result.addProperty("sameTenantIdentifier", tenantIdentifier == getTenantIdentifier(req));
+                    result.addProperty("sameAppIdentifier", appIdentifier == getAppIdentifier(req));
+                    result.addProperty("sameStorage", storage == getTenantStorage(req));
+                    result.addProperty("sameVersion", version == getVersionFromRequest(req));
+                    result.addProperty("tenantId", tenantIdentifier.getTenantId());
+                    result.addProperty("version", version.toString());
+                    sendJsonResponse(200, result, resp);
+                } catch (TenantOrAppNotFoundException e) {
+                    throw new ServletException(e);
+                }
+            }
+        });
+
+        JsonObject response = HttpRequestForTesting.sendGETRequest(process.getProcess(), "",
+                "http://localhost:3567/test/request-context", new HashMap<>(), 1000, 1000, null,
+                SemVer.v5_0.toString(), "");
+        assertTrue(response.get("sameTenantIdentifier").getAsBoolean());
+        assertTrue(response.get("sameAppIdentifier").getAsBoolean());
+        assertTrue(response.get("sameStorage").getAsBoolean());
+        assertTrue(response.get("sameVersion").getAsBoolean());
+        assertEquals(TenantIdentifier.DEFAULT_TENANT_ID, response.get("tenantId").getAsString());
+        assertEquals(SemVer.v5_0.toString(), response.get("version").getAsString());
+
+        // a second request gets its own context
+        response = HttpRequestForTesting.sendGETRequest(process.getProcess(), "",
+                "http://localhost:3567/test/request-context", new HashMap<>(), 1000, 1000, null,
+                SemVer.v5_1.toString(), "");
+        assertEquals(SemVer.v5_1.toString(), response.get("version").getAsString());
+
+        process.kill();
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STOPPED));
+    }
+
     @Test
     public void test500ErrorMessage() throws Exception {
         String[] args = {"../"};
@@ -23,6 +23,9 @@ import org.junit.Test;
 import org.junit.rules.TestRule;
 
 import java.net.MalformedURLException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
 
 import static org.junit.Assert.*;
 
@@ -50,6 +53,20 @@ public class UtilsTest {
                 .equals("łukasz 馬 / 马"));
     }
 
+    @Test
+    public void randomUUIDIsAVersion4UUID() {
+        Set<String> generated = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            String uuid = io.supertokens.utils.SecureRandomUtils.randomUUID();
+            UUID parsed = UUID.fromString(uuid);
+            assertEquals(uuid, parsed.toString());
+            assertEquals(4, parsed.version());
+            assertEquals(2, parsed.variant());
+            generated.add(uuid);
+        }
+        assertEquals(1000, generated.size());
+    }
+
     @Test
     public void pubPriKeyShouldHandleSemicolonSeparator() {
         io.supertokens.utils.Utils.PubPriKey parsed = new io.supertokens.utils.Utils.PubPriKey("pub;pri");
@@ -24,9 +24,12 @@ import io.supertokens.config.Config;
 import io.supertokens.exceptions.QuitProgramException;
 import io.supertokens.httpRequest.HttpRequest;
 import io.supertokens.httpRequest.HttpResponseException;
+import io.supertokens.pluginInterface.exceptions.StorageQueryException;
+import io.supertokens.storageLayer.StorageCallLimiter;
 import io.supertokens.storageLayer.StorageLayer;
 import io.supertokens.test.TestingProcessManager.TestingProcess;
 import io.supertokens.test.httpRequest.HttpRequestForTesting;
+import io.supertokens.usermetadata.UserMetadata;
 import io.supertokens.utils.SemVer;
 import io.supertokens.webserver.InputParser;
 import io.supertokens.webserver.RecipeRouter;
@@ -47,7 +50,14 @@ import java.io.IOException;
 import java.net.ConnectException;
 import java.net.InetAddress;
 import java.net.SocketTimeoutException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.*;
 
@@ -803,6 +813,124 @@ public class WebserverTest extends Mockito {
 
     }
 
+    @Test
+    public void virtualThreadsHandleManySlowRequestsAtOnce() throws Exception {
+        Utils.setValueInConfig("max_server_pool_size", "1");
+        Utils.setValueInConfig("webserver_use_virtual_threads", "true");
+        Utils.setValueInConfig("max_concurrent_storage_calls", "1");
+
+        String[] args = {"../"};
+        TestingProcess process = TestingProcessManager.startIsolatedProcess(args);
+        assertNotNull(process.checkOrWaitForEvent(PROCESS_STATE.STARTED));
+
+        String connectionPoolId = StorageLayer.getBaseStorage(process.getProcess()).getConnectionPoolId();
+        assertEquals(1, StorageCallLimiter.getAvailablePermits(connectionPoolId));
+
+        int numberOfRequests = 300;
+        CountDownLatch allRequestsStarted = new CountDownLatch(numberOfRequests);
+
+        Webserver.getInstance(process.getProcess()).addAPI(new WebserverAPI(process.getProcess(), "") {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public String getPath() {
+                return "/testforvirtualthreads";
+            }
+
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException,
+                    ServletException {
+                try {
+                    UserMetadata.getUserMetadata(main, "userId");
+                } catch (StorageQueryException e) {
+                    throw new ServletException(e);
+                }
+                // every request waits here until all of them have reached this point, which can only happen if
+                // none of them is waiting for a thread
+                allRequestsStarted.countDown();
+                boolean allStarted = false;
+                try {
+                    allStarted = allRequestsStarted.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException ignored) {
+                }
+                super.sendTextResponse(allStarted ? 200 : 500, allStarted ? "success" : "timed out", resp);
+            }
+        });
+
+        List<Future<String>> responses = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < numberOfRequests; i++) {
+                responses.add(executor.submit(() -> HttpRequest.sendGETRequest(process.getProcess(), "",
+                        "http://localhost:3567/testforvirtualthreads", null, 5000, 15000, null)));
+            }
+            for (Future<String> response : responses) {
+                assertEquals("success", response.get());
+            }
+        }
+
+        process.kill();
+        assertNotNull(process.checkOrWaitForEvent(PROCESS_STATE.STOPPED));
+
+        assertEquals(-1, StorageCallLimiter.getAvailablePermits(connectionPoolId));
+    }
+
+    @Test
+    public void slowStorageCallsOnOneDatabaseDoNotBlockRequestsToAnother() throws Exception {
+        Utils.setValueInConfig("webserver_use_virtual_threads", "true");
+
+        String[] args = {"../"};
+        TestingProcess process = TestingProcessManager.startIsolatedProcess(args);
+        assertNotNull(process.checkOrWaitForEvent(PROCESS_STATE.STARTED));
+
+        StorageCallLimiter.setMaxConcurrentCalls("slow-pool", 1);
+        StorageCallLimiter.setMaxConcurrentCalls("other-pool", 1);
+
+        CountDownLatch slowCallStarted = new CountDownLatch(1);
+        CountDownLatch finishSlowCall = new CountDownLatch(1);
+        Thread slowRequest = new Thread(() -> runStorageCallAsRequest("slow-pool", () -> {
+            slowCallStarted.countDown();
+            return finishSlowCall.await(10, TimeUnit.SECONDS);
+        }));
+        slowRequest.start();
+        assertTrue(slowCallStarted.await(5, TimeUnit.SECONDS));
+        assertEquals(0, StorageCallLimiter.getAvailablePermits("slow-pool"));
+
+        // another request to the same database has to wait for the slow call to finish
+        CountDownLatch secondSlowPoolCallDone = new CountDownLatch(1);
+        Thread secondRequest = new Thread(() -> runStorageCallAsRequest("slow-pool", () -> {
+            secondSlowPoolCallDone.countDown();
+            return true;
+        }));
+        secondRequest.start();
+        assertFalse(secondSlowPoolCallDone.await(500, TimeUnit.MILLISECONDS));
+
+        // but requests to another database, and background work on the same one, are not held up
+        assertTrue(runStorageCallAsRequest("other-pool", () -> true));
+        assertTrue(StorageCallLimiter.runStorageCall("slow-pool", () -> true));
+
+        finishSlowCall.countDown();
+        assertTrue(secondSlowPoolCallDone.await(5, TimeUnit.SECONDS));
+        slowRequest.join();
+        secondRequest.join();
+        assertEquals(1, StorageCallLimiter.getAvailablePermits("slow-pool"));
+
+        process.kill();
+        assertNotNull(process.checkOrWaitForEvent(PROCESS_STATE.STOPPED));
+    }
+
+    private static boolean runStorageCallAsRequest(String connectionPoolId,
+                                                   StorageCallLimiter.StorageCall<Boolean> call) {
+        StorageCallLimiter.setHandlingRequest(true);
+        try {
+            return StorageCallLimiter.runStorageCall(connectionPoolId, call);
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        } finally {
+            StorageCallLimiter.setHandlingRequest(false);
+        }
+    }
+
     @Test
     public void notFoundTest() throws InterruptedException, IOException {
         String[] args = {"../"};
@@ -208,7 +208,8 @@ public class MultitenantTest extends MultitenantTestBase {
         AuthRecipe.linkAccounts(process.getProcess(), t2.toAppIdentifier(), t2Storage, user2.getSupertokensUserId(),
                 user1.getSupertokensUserId());
 
-        UserRoles.createNewRoleOrModifyItsPermissions(t2.toAppIdentifier(), t2Storage, "admin", new String[]{"p1"});
+        UserRoles.createNewRoleOrModifyItsPermissions(process.getProcess(), t2.toAppIdentifier(), t2Storage, "admin",
+                new String[]{"p1"});
         UserRoles.addRoleToUser(process.getProcess(), t2, t2Storage, user1.getSupertokensUserId(), "admin");
 
         Multitenancy.deleteTenant(t2, process.getProcess());
@@ -0,0 +1,424 @@
+/*
+ *    Copyright (c) 2026, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+
+package io.supertokens.test.authRecipe;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import io.supertokens.Main;
+import io.supertokens.ProcessState;
+import io.supertokens.ResourceDistributor;
+import io.supertokens.pluginInterface.STORAGE_TYPE;
+import io.supertokens.pluginInterface.authRecipe.LoginMethod;
+import io.supertokens.pluginInterface.thirdparty.sqlStorage.ThirdPartySQLStorage;
+import io.supertokens.storageLayer.StorageLayer;
+import io.supertokens.test.TestingProcessManager;
+import io.supertokens.test.Utils;
+import io.supertokens.useridmapping.UserIdMapping;
+import io.supertokens.usermetadata.UserMetadata;
+import io.supertokens.userroles.UserRoles;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class UserExportTest {
+    @Rule
+    public TestRule watchman = Utils.getOnFailure();
+
+    @Rule
+    public TestRule retryFlaky = Utils.retryFlakyTest();
+
+    @AfterClass
+    public static void afterTesting() {
+        Utils.afterTesting();
+    }
+
+    @Before
+    public void beforeEach() {
+        Utils.reset();
+    }
+
+    @Test
+    public void largeExportStreamsAllUsersInOrderWithBoundedHeap() throws Exception {
+        String[] args = {"../"};
+
+        TestingProcessManager.TestingProcess process = TestingProcessManager.start(args);
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STARTED));
+        Main main = process.getProcess();
+
+        if (StorageLayer.getBaseStorage(main).getType() != STORAGE_TYPE.SQL) {
+            return;
+        }
+
+        UserRoles.createNewRoleOrModifyItsPermissions(main, "admin", null);
+
+        // about 2KB of metadata per user, so that the whole export is much larger than the allowed heap growth
+        JsonObject metadata = new JsonObject();
+        metadata.addProperty("data", "x".repeat(2000));
+
+        List<TestUser> users = createUsers(process, 10000);
+        for (int i = 0; i < users.size(); i++) {
+            UserMetadata.updateUserMetadata(main, users.get(i).userId, metadata);
+            if (i % 7 == 0) {
+                UserRoles.addRoleToUser(main, users.get(i).userId, "admin");
+            }
+        }
+
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long baselineHeap = runtime.totalMemory() - runtime.freeMemory();
+        long maxHeapGrowth = 0;
+
+        List<String> exportedUserIds = new ArrayList<>();
+        HttpURLConnection con = openExport("");
+        try {
+            assertEquals(200, con.getResponseCode());
+            assertTrue(con.getContentType().startsWith("application/x-ndjson"));
+            try (BufferedReader in = new BufferedReader(
+                    new InputStreamReader(con.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                JsonObject last = null;
+                while ((line = in.readLine()) != null) {
+                    JsonObject json = JsonParser.parseString(line).getAsJsonObject();
+                    if (json.has("status")) {
+                        last = json;
+                        continue;
+                    }
+                    String userId = json.getAsJsonObject("user").get("id").getAsString();
+                    exportedUserIds.add(userId);
+                    assertEquals(metadata, json.getAsJsonObject("metadata"));
+                    int index = Integer.parseInt(json.getAsJsonObject("user").getAsJsonArray("emails").get(0)
+                            .getAsString().split("@")[0].substring(4));
+                    assertEquals(index % 7 == 0 ? 1 : 0, json.getAsJsonArray("roles").size());
+
+                    if (exportedUserIds.size() % 1000 == 0) {
+                        System.gc();
+                        maxHeapGrowth = Math.max(maxHeapGrowth,
+                                runtime.totalMemory() - runtime.freeMemory() - baselineHeap);
+                    }
+                }
+                assertNotNull(last);
+                assertEquals("OK", last.get("status").getAsString());
+                assertEquals(10000, last.get("usersExported").getAsLong());
+            }
+        } finally {
+            con.disconnect();
+        }
+
+        List<String> expectedUserIds = new ArrayList<>();
+        for (TestUser user : sortedForExport(users)) {
+            expectedUserIds.add(user.userId);
+        }
+        assertEquals(expectedUserIds, exportedUserIds);
+
+        // only a batch at a time is held in memory, so the heap does not grow with the number of exported users
+        assertTrue("heap grew by " + maxHeapGrowth + " bytes", maxHeapGrowth < 16 * 1024 * 1024);
+
+        process.kill();
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STOPPED));
+    }
+
+    @Test
+    public void exportCanBeResumedFromTheCursorOfAnyUser() throws Exception {
+        String[] args = {"../"};
+
+        TestingProcessManager.TestingProcess process = TestingProcessManager.start(args);
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STARTED));
+        Main main = process.getProcess();
+
+        if (StorageLayer.getBaseStorage(main).getType() != STORAGE_TYPE.SQL) {
+            return;
+        }
+
+        List<TestUser> expected = sortedForExport(createUsers(process, 1200));
+
+        // read part of the export and then drop the connection, as if the client had failed
+        String cursor = null;
+        HttpURLConnection con = openExport("");
+        try (BufferedReader in = new BufferedReader(
+                new InputStreamReader(con.getInputStream(), StandardCharsets.UTF_8))) {
+            for (int i = 0; i < 700; i++) {
+                JsonObject json = JsonParser.parseString(in.readLine()).getAsJsonObject();
+                assertEquals(expected.get(i).userId, json.getAsJsonObject("user").get("id").getAsString());
+                cursor = json.get("cursor").getAsString();
+            }
+        } finally {
+            con.disconnect();
+        }
+
+        List<JsonObject> lines = readExport("?cursor=" + cursor);
+        assertEquals(501, lines.size());
+        for (int i = 0; i < 500; i++) {
+            assertEquals(expected.get(700 + i).userId,
+                    lines.get(i).getAsJsonObject("user").get("id").getAsString());
+        }
+        assertEquals(500, lines.get(500).get("usersExported").getAsLong());
+
+        // resuming from the last user exports nothing
+        lines = readExport("?cursor=" + lines.get(499).get("cursor").getAsString());
+        assertEquals(1, lines.size());
+        assertEquals(0, lines.get(0).get("usersExported").getAsLong());
+
+        HttpURLConnection invalidCursor = openExport("?cursor=invalid");
+        try {
+            assertEquals(400, invalidCursor.getResponseCode());
+        } finally {
+            invalidCursor.disconnect();
+        }
+
+        process.kill();
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STOPPED));
+    }
+
+    @Test
+    public void storageErrorDuringTheExportEndsItWithAnErrorLine() throws Exception {
+        String[] args = {"../"};
+
+        TestingProcessManager.TestingProcess process = TestingProcessManager.start(args);
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STARTED));
+        Main main = process.getProcess();
+
+        if (StorageLayer.getBaseStorage(main).getType() != STORAGE_TYPE.SQL) {
+            return;
+        }
+
+        List<TestUser> expected = sortedForExport(createUsers(process, 300));
+
+        // the rate limit makes the export wait a second after the first 100 users, during which storage goes down
+        String cursor = null;
+        List<JsonObject> remainingLines = new ArrayList<>();
+        HttpURLConnection con = openExport("?maxUsersPerSecond=100");
+        try {
+            assertEquals(200, con.getResponseCode());
+            try (BufferedReader in = new BufferedReader(
+                    new InputStreamReader(con.getInputStream(), StandardCharsets.UTF_8))) {
+                for (int i = 0; i < 100; i++) {
+                    JsonObject json = JsonParser.parseString(in.readLine()).getAsJsonObject();
+                    assertEquals(expected.get(i).userId, json.getAsJsonObject("user").get("id").getAsString());
+                    cursor = json.get("cursor").getAsString();
+                }
+                StorageLayer.getBaseStorage(main).setStorageLayerEnabled(false);
+
+                // every line is still JSON, and the last one tells the client that the export did not finish
+                String line;
+                while ((line = in.readLine()) != null) {
+                    remainingLines.add(JsonParser.parseString(line).getAsJsonObject());
+                }
+            }
+        } finally {
+            con.disconnect();
+            StorageLayer.getBaseStorage(main).setStorageLayerEnabled(true);
+        }
+        assertEquals(1, remainingLines.size());
+        assertEquals("ERROR", remainingLines.get(0).get("status").getAsString());
+
+        List<JsonObject> lines = readExport("?cursor=" + cursor);
+        assertEquals(201, lines.size());
+        assertEquals(expected.get(100).userId, lines.get(0).getAsJsonObject("user").get("id").getAsString());
+
+        process.kill();
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STOPPED));
+    }
+
+    @Test
+    public void metadataAndRolesCanBeLeftOut() throws Exception {
+        String[] args = {"../"};
+
+        TestingProcessManager.TestingProcess process = TestingProcessManager.start(args);
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STARTED));
+        Main main = process.getProcess();
+
+        if (StorageLayer.getBaseStorage(main).getType() != STORAGE_TYPE.SQL) {
+            return;
+        }
+
+        List<TestUser> users = sortedForExport(createUsers(process, 2));
+
+        // metadata and roles of a user with an external user id are stored against the external user id
+        UserIdMapping.createUserIdMapping(main, process.getAppForTesting().toAppIdentifier(),
+                StorageLayer.getBaseStorage(main), users.get(0).userId, "external-id", null, false);
+        JsonObject metadata = new JsonObject();
+        metadata.addProperty("key", "value");
+        UserMetadata.updateUserMetadata(main, "external-id", metadata);
+        UserRoles.createNewRoleOrModifyItsPermissions(main, "admin", null);
+        UserRoles.addRoleToUser(main, "external-id", "admin");
+
+        List<JsonObject> lines = readExport("");
+        assertEquals(3, lines.size());
+        assertEquals("external-id", lines.get(0).getAsJsonObject("user").get("id").getAsString());
+        assertEquals(metadata, lines.get(0).getAsJsonObject("metadata"));
+        assertEquals("admin", lines.get(0).getAsJsonArray("roles").get(0).getAsString());
+        assertEquals(new JsonObject(), lines.get(1).getAsJsonObject("metadata"));
+        assertEquals(0, lines.get(1).getAsJsonArray("roles").size());
+
+        lines = readExport("?includeMetadata=false&includeRoles=false");
+        assertEquals(3, lines.size());
+        for (int i = 0; i < 2; i++) {
+            assertFalse(lines.get(i).has("metadata"));
+            assertFalse(lines.get(i).has("roles"));
+            assertTrue(lines.get(i).has("user"));
+            assertTrue(lines.get(i).has("cursor"));
+        }
+
+        lines = readExport("?includeRoles=false");
+        assertTrue(lines.get(0).has("metadata"));
+        assertFalse(lines.get(0).has("roles"));
+
+        process.kill();
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STOPPED));
+    }
+
+    @Test
+    public void exportIsThrottledToTheRequestedRate() throws Exception {
+        String[] args = {"../"};
+
+        TestingProcessManager.TestingProcess process = TestingProcessManager.start(args);
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STARTED));
+        Main main = process.getProcess();
+
+        if (StorageLayer.getBaseStorage(main).getType() != STORAGE_TYPE.SQL) {
+            return;
+        }
+
+        createUsers(process, 300);
+
+        long start = System.currentTimeMillis();
+        List<JsonObject> lines = readExport("?maxUsersPerSecond=200");
+        assertEquals(301, lines.size());
+        // the first 200 users are sent right away, and the next 100 only after a second
+        assertTrue(System.currentTimeMillis() - start >= 1000);
+
+        lines = readExport("");
+        assertEquals(301, lines.size());
+
+        HttpURLConnection invalidRate = openExport("?maxUsersPerSecond=0");
+        try {
+            assertEquals(400, invalidRate.getResponseCode());
+        } finally {
+            invalidRate.disconnect();
+        }
+
+        process.kill();
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STOPPED));
+    }
+
+    @Test
+    public void configCapsTheRequestedRate() throws Exception {
+        String[] args = {"../"};
+
+        Utils.setValueInConfig("user_export_max_users_per_second", "100");
+        TestingProcessManager.TestingProcess process = TestingProcessManager.start(args);
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STARTED));
+        Main main = process.getProcess();
+
+        if (StorageLayer.getBaseStorage(main).getType() != STORAGE_TYPE.SQL) {
+            return;
+        }
+
+        createUsers(process, 200);
+
+        long start = System.currentTimeMillis();
+        List<JsonObject> lines = readExport("?maxUsersPerSecond=10000");
+        assertEquals(201, lines.size());
+        assertTrue(System.currentTimeMillis() - start >= 1000);
+
+        process.kill();
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STOPPED));
+    }
+
+    private static class TestUser {
+        final String userId;
+        final long timeJoined;
+
+        TestUser(String userId, long timeJoined) {
+            this.userId = userId;
+            this.timeJoined = timeJoined;
+        }
+    }
+
+    private static List<TestUser> createUsers(TestingProcessManager.TestingProcess process, int count)
+            throws Exception {
+        ThirdPartySQLStorage storage = (ThirdPartySQLStorage) StorageLayer.getBaseStorage(process.getProcess());
+        long now = System.currentTimeMillis();
+        List<TestUser> users = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String userId = io.supertokens.utils.Utils.getUUID();
+            // every three users share a time joined, so that the export also has to order by user id
+            long timeJoined = now + i / 3;
+            storage.signUp(process.getAppForTesting(), userId, "user" + i + "@example.com",
+                    new LoginMethod.ThirdParty("google", userId), timeJoined);
+            users.add(new TestUser(userId, timeJoined));
+        }
+        return users;
+    }
+
+    private static List<TestUser> sortedForExport(List<TestUser> users) {
+        List<TestUser> sorted = new ArrayList<>(users);
+        sorted.sort(Comparator.<TestUser>comparingLong(user -> user.timeJoined)
+                .thenComparing(user -> user.userId, Comparator.reverseOrder()));
+        return sorted;
+    }
+
+    private static HttpURLConnection openExport(String query) throws Exception {
+        URL url = new URL("http://localhost:3567/appid-" + ResourceDistributor.getAppForTesting().getAppId()
+                + "/users/export" + query);
+        HttpURLConnection con = (HttpURLConnection) url.openConnection();
+        con.setConnectTimeout(1000);
+        con.setReadTimeout(30000);
+        con.setRequestProperty("cdi-version", Utils.getCdiVersionStringLatestForTests());
+        return con;
+    }
+
+    private static List<JsonObject> readExport(String query) throws Exception {
+        HttpURLConnection con = openExport(query);
+        try {
+            assertEquals(200, con.getResponseCode());
+            List<JsonObject> lines = new ArrayList<>();
+            Set<String> cursors = new HashSet<>();
+            try (BufferedReader in = new BufferedReader(
+                    new InputStreamReader(con.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = in.readLine()) != null) {
+                    JsonObject json = JsonParser.parseString(line).getAsJsonObject();
+                    if (json.has("cursor")) {
+                        assertTrue(cursors.add(json.get("cursor").getAsString()));
+                    }
+                    lines.add(json);
+                }
+            }
+            assertEquals("OK", lines.get(lines.size() - 1).get("status").getAsString());
+            return lines;
+        } finally {
+            con.disconnect();
+        }
+    }
+}
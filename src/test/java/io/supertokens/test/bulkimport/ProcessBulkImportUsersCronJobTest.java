@@ -24,6 +24,7 @@ import io.supertokens.ProcessState;
 import io.supertokens.authRecipe.AuthRecipe;
 import io.supertokens.authRecipe.UserPaginationContainer;
 import io.supertokens.bulkimport.BulkImport;
+import io.supertokens.bulkimport.BulkImportProgress;
 import io.supertokens.cronjobs.CronTaskTest;
 import io.supertokens.cronjobs.Cronjobs;
 import io.supertokens.cronjobs.bulkimport.ProcessBulkImportUsers;
@@ -162,6 +163,45 @@ public class ProcessBulkImportUsersCronJobTest {
         assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STOPPED));
     }
 
+    @Test
+    public void shouldFailOnlyOneOfTwoBulkImportUsersWithTheSameExternalUserId() throws Exception {
+        TestingProcess process = startCronProcess();
+        if (process == null) {
+            return;
+        }
+
+        Main main = process.getProcess();
+        BulkImportSQLStorage storage = (BulkImportSQLStorage) StorageLayer.getStorage(main);
+        AppIdentifier appIdentifier = new AppIdentifier(null, null);
+
+        // both users are validated in parallel as part of the same chunk
+        String externalUserId = "duplicate-external-user-id";
+        List<BulkImportUser> users = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            String userId = io.supertokens.utils.Utils.getUUID();
+            BulkImportUser.LoginMethod loginMethod = new BulkImportUser.LoginMethod(List.of("public"),
+                    "thirdparty", true, true, System.currentTimeMillis(), "user" + i + "@example.com", null, null,
+                    null, "google", "third-party-user-id-" + i, null, userId);
+            users.add(new BulkImportUser(userId, externalUserId, null, null, null, List.of(loginMethod)));
+        }
+        BulkImport.addUsers(appIdentifier, storage, users);
+
+        waitForProcessingWithTimeout(appIdentifier, storage, 30);
+
+        List<BulkImportUser> usersAfterProcessing = storage.getBulkImportUsers(appIdentifier, 100, null,
+                null, null);
+        assertEquals(1, usersAfterProcessing.size());
+        assertEquals(BULK_IMPORT_USER_STATUS.FAILED, usersAfterProcessing.get(0).status);
+        assertEquals("[externalUserId " + externalUserId + " is not unique. It is already used by another user.]",
+                usersAfterProcessing.get(0).errorMessage);
+
+        UserPaginationContainer importedUsers = AuthRecipe.getUsers(main, 100, "ASC", null, null, null);
+        assertEquals(1, importedUsers.users.length);
+
+        process.kill();
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STOPPED));
+    }
+
     @Test
     public void shouldProcessBulkImportUsersInTheSameTenantWithoutExternalIdWithRoles() throws Exception {
         TestingProcess process = startCronProcess();
@@ -998,6 +1038,41 @@ public class ProcessBulkImportUsersCronJobTest {
         assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STOPPED));
     }
 
+    @Test
+    public void shouldReportProgressOfTheLatestRun() throws Exception {
+        TestingProcess process = startCronProcess();
+        if (process == null) {
+            return;
+        }
+
+        Main main = process.getProcess();
+
+        {
+            UserRoles.createNewRoleOrModifyItsPermissions(main, "role1", null);
+            UserRoles.createNewRoleOrModifyItsPermissions(main, "role2", null);
+        }
+
+        BulkImportTestUtils.createTenants(process);
+
+        BulkImportSQLStorage storage = (BulkImportSQLStorage) StorageLayer.getStorage(main);
+        AppIdentifier appIdentifier = new AppIdentifier(null, null);
+
+        int usersCount = 25;
+        BulkImport.addUsers(appIdentifier, storage, generateBulkImportUser(usersCount));
+
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.BULK_IMPORT_COMPLETE, 60000));
+
+        BulkImportProgress.Run run = BulkImportProgress.getInstance(main).getLatestRun(appIdentifier);
+        assertNotNull(run);
+        assertFalse(run.isRunning());
+        assertEquals(usersCount, run.getUsersProcessed());
+        assertTrue(run.getUsersPerSecond() > 0);
+        assertTrue(run.getBatchSize() >= 1);
+
+        process.kill();
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STOPPED));
+    }
+
     @Test
     public void shouldSkipProcessingWhenBulkImportQueueIsEmpty() throws Exception {
         TestingProcess process = startCronProcess();
@@ -0,0 +1,125 @@
+/*
+ *    Copyright (c) 2025, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+package io.supertokens.test.bulkimport.apis;
+
+import com.google.gson.JsonObject;
+import io.supertokens.Main;
+import io.supertokens.ProcessState;
+import io.supertokens.bulkimport.BulkImportProgress;
+import io.supertokens.pluginInterface.STORAGE_TYPE;
+import io.supertokens.pluginInterface.multitenancy.AppIdentifier;
+import io.supertokens.storageLayer.StorageLayer;
+import io.supertokens.test.TestingProcessManager;
+import io.supertokens.test.Utils;
+import io.supertokens.test.httpRequest.HttpRequestForTesting;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import java.util.HashMap;
+
+import static org.junit.Assert.*;
+
+public class BulkImportProgressTest {
+    @Rule
+    public TestRule watchman = Utils.getOnFailure();
+
+    @AfterClass
+    public static void afterTesting() {
+        Utils.afterTesting();
+    }
+
+    @Before
+    public void beforeEach() {
+        Utils.reset();
+    }
+
+    @Test
+    public void shouldReturnProgressWithoutARun() throws Exception {
+        String[] args = {"../"};
+
+        TestingProcessManager.TestingProcess process = TestingProcessManager.start(args);
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STARTED));
+        Main main = process.getProcess();
+
+        if (StorageLayer.getStorage(main).getType() != STORAGE_TYPE.SQL || StorageLayer.isInMemDb(main)) {
+            return;
+        }
+
+        JsonObject response = HttpRequestForTesting.sendGETRequest(main, "",
+                "http://localhost:3567/bulk-import/users/progress",
+                new HashMap<>(), 1000, 1000, null, Utils.getCdiVersionStringLatestForTests(), null);
+
+        assertEquals("OK", response.get("status").getAsString());
+        assertEquals(0, response.get("pendingUsers").getAsLong());
+        assertEquals(0, response.get("failedUsers").getAsLong());
+        assertFalse(response.get("isRunning").getAsBoolean());
+        assertFalse(response.has("estimatedSecondsRemaining"));
+
+        process.kill();
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STOPPED));
+    }
+
+    @Test
+    public void shouldReportThroughputAndEstimateOfARunningImport() throws Exception {
+        String[] args = {"../"};
+
+        TestingProcessManager.TestingProcess process = TestingProcessManager.start(args);
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STARTED));
+        Main main = process.getProcess();
+
+        if (StorageLayer.getStorage(main).getType() != STORAGE_TYPE.SQL || StorageLayer.isInMemDb(main)) {
+            return;
+        }
+
+        // simulate a run of the cronjob that has processed a couple of chunks so far
+        BulkImportProgress.Run run = BulkImportProgress.getInstance(main)
+                .startRun(new AppIdentifier(null, null), 4, 100);
+        run.batchProcessed(100, 125);
+        run.batchProcessed(100, 125);
+        Thread.sleep(100);
+
+        JsonObject response = HttpRequestForTesting.sendGETRequest(main, "",
+                "http://localhost:3567/bulk-import/users/progress",
+                new HashMap<>(), 1000, 1000, null, Utils.getCdiVersionStringLatestForTests(), null);
+
+        assertEquals("OK", response.get("status").getAsString());
+        assertTrue(response.get("isRunning").getAsBoolean());
+        JsonObject latestRun = response.getAsJsonObject("latestRun");
+        assertEquals(200, latestRun.get("usersProcessed").getAsLong());
+        assertEquals(4, latestRun.get("numberOfWorkers").getAsInt());
+        assertEquals(125, latestRun.get("chunkSize").getAsInt());
+        assertTrue(latestRun.get("usersPerSecond").getAsDouble() > 0);
+        assertFalse(latestRun.has("finishedAt"));
+        // the queue is empty, so we are done as soon as the run finishes
+        assertEquals(0, response.get("estimatedSecondsRemaining").getAsLong());
+
+        run.finish();
+
+        response = HttpRequestForTesting.sendGETRequest(main, "",
+                "http://localhost:3567/bulk-import/users/progress",
+                new HashMap<>(), 1000, 1000, null, Utils.getCdiVersionStringLatestForTests(), null);
+        assertFalse(response.get("isRunning").getAsBoolean());
+        assertTrue(response.getAsJsonObject("latestRun").has("finishedAt"));
+        assertFalse(response.has("estimatedSecondsRemaining"));
+
+        process.kill();
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STOPPED));
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ *    Copyright (c) 2025, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+package io.supertokens.test.bulkimport.apis;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import io.supertokens.Main;
+import io.supertokens.ProcessState;
+import io.supertokens.ResourceDistributor;
+import io.supertokens.featureflag.EE_FEATURES;
+import io.supertokens.featureflag.FeatureFlagTestContent;
+import io.supertokens.pluginInterface.STORAGE_TYPE;
+import io.supertokens.pluginInterface.bulkimport.BulkImportStorage.BULK_IMPORT_USER_STATUS;
+import io.supertokens.pluginInterface.bulkimport.sqlStorage.BulkImportSQLStorage;
+import io.supertokens.pluginInterface.multitenancy.AppIdentifier;
+import io.supertokens.storageLayer.StorageLayer;
+import io.supertokens.test.TestingProcessManager;
+import io.supertokens.test.Utils;
+import io.supertokens.userroles.UserRoles;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.io.OutputStreamWriter;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+public class BulkImportStreamTest {
+    @Rule
+    public TestRule watchman = Utils.getOnFailure();
+
+    @AfterClass
+    public static void afterTesting() {
+        Utils.afterTesting();
+    }
+
+    @Before
+    public void beforeEach() {
+        Utils.reset();
+    }
+
+    @Test
+    public void shouldAddValidUsersInBatchesAndReportInvalidLines() throws Exception {
+        String[] args = {"../"};
+
+        TestingProcessManager.TestingProcess process = TestingProcessManager.start(args);
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STARTED));
+        Main main = process.getProcess();
+
+        if (StorageLayer.getBaseStorage(main).getType() != STORAGE_TYPE.SQL || StorageLayer.isInMemDb(main)) {
+            return;
+        }
+
+        FeatureFlagTestContent.getInstance(main)
+                .setKeyValue(FeatureFlagTestContent.ENABLED_FEATURES, new EE_FEATURES[]{EE_FEATURES.MFA});
+        UserRoles.createNewRoleOrModifyItsPermissions(main, "role1", null);
+        UserRoles.createNewRoleOrModifyItsPermissions(main, "role2", null);
+
+        // more users than fit in one insert batch, with a few invalid lines in between
+        int numberOfUsers = 2500;
+        JsonArray users = AddBulkImportUsersTest.generateUsersJson(numberOfUsers).getAsJsonArray("users");
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < users.size(); i++) {
+            body.append(users.get(i).toString()).append(i % 2 == 0 ? "\n" : "\r\n");
+            if (i == 9) {
+                body.append("{\"externalUserId\": \"no-login-methods\"}\n"); // line 11
+            } else if (i == 1499) {
+                body.append("not json\n"); // line 1502
+                body.append("\n"); // blank lines are skipped
+                body.append("[1, 2]\n"); // line 1504
+            }
+        }
+
+        JsonObject response = sendNdjsonRequest(body.toString());
+        assertEquals("OK", response.get("status").getAsString());
+        assertEquals(numberOfUsers, response.get("usersAdded").getAsLong());
+        assertEquals(3, response.get("invalidLines").getAsLong());
+
+        JsonArray errors = response.getAsJsonArray("errors");
+        assertEquals(3, errors.size());
+        assertEquals(11, errors.get(0).getAsJsonObject().get("line").getAsLong());
+        assertEquals(1502, errors.get(1).getAsJsonObject().get("line").getAsLong());
+        assertEquals("Invalid Json Input",
+                errors.get(1).getAsJsonObject().getAsJsonArray("errors").get(0).getAsString());
+        assertEquals(1504, errors.get(2).getAsJsonObject().get("line").getAsLong());
+
+        BulkImportSQLStorage storage = (BulkImportSQLStorage) StorageLayer.getStorage(main);
+        assertEquals(numberOfUsers, storage.getBulkImportUsersCount(
+                new AppIdentifier(null, ResourceDistributor.getAppForTesting().getAppId()),
+                BULK_IMPORT_USER_STATUS.NEW));
+
+        process.kill();
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STOPPED));
+    }
+
+    @Test
+    public void shouldReportLinesThatAreTooLong() throws Exception {
+        String[] args = {"../"};
+
+        TestingProcessManager.TestingProcess process = TestingProcessManager.start(args);
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STARTED));
+        Main main = process.getProcess();
+
+        if (StorageLayer.getBaseStorage(main).getType() != STORAGE_TYPE.SQL || StorageLayer.isInMemDb(main)) {
+            return;
+        }
+
+        FeatureFlagTestContent.getInstance(main)
+                .setKeyValue(FeatureFlagTestContent.ENABLED_FEATURES, new EE_FEATURES[]{EE_FEATURES.MFA});
+        UserRoles.createNewRoleOrModifyItsPermissions(main, "role1", null);
+        UserRoles.createNewRoleOrModifyItsPermissions(main, "role2", null);
+
+        JsonArray users = AddBulkImportUsersTest.generateUsersJson(1).getAsJsonArray("users");
+        String body = "{\"externalUserId\": \"" + "a".repeat(2 * 1024 * 1024) + "\"}\n" + users.get(0).toString();
+
+        JsonObject response = sendNdjsonRequest(body);
+        assertEquals("OK", response.get("status").getAsString());
+        assertEquals(1, response.get("usersAdded").getAsLong());
+        assertEquals(1, response.get("invalidLines").getAsLong());
+        JsonObject error = response.getAsJsonArray("errors").get(0).getAsJsonObject();
+        assertEquals(1, error.get("line").getAsLong());
+        assertTrue(error.getAsJsonArray("errors").get(0).getAsString().startsWith("Line is longer than"));
+
+        process.kill();
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STOPPED));
+    }
+
+    private static JsonObject sendNdjsonRequest(String body) throws Exception {
+        URL url = new URL("http://localhost:3567/appid-" + ResourceDistributor.getAppForTesting().getAppId()
+                + "/bulk-import/users/stream");
+        HttpURLConnection con = (HttpURLConnection) url.openConnection();
+        try {
+            con.setRequestMethod("POST");
+            con.setConnectTimeout(1000);
+            con.setReadTimeout(30000);
+            con.setRequestProperty("Content-Type", "application/x-ndjson; charset=UTF-8");
+            con.setRequestProperty("cdi-version", Utils.getCdiVersionStringLatestForTests());
+            con.setDoOutput(true);
+            // the body is sent without a content length, like a client that streams users from a file would
+            con.setChunkedStreamingMode(8192);
+            try (OutputStream os = con.getOutputStream();
+                 Writer writer = new OutputStreamWriter(os, StandardCharsets.UTF_8)) {
+                writer.write(body);
+            }
+
+            assertEquals(200, con.getResponseCode());
+            StringBuilder response = new StringBuilder();
+            try (InputStream inputStream = con.getInputStream();
+                 BufferedReader in = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = in.readLine()) != null) {
+                    response.append(line);
+                }
+            }
+            JsonElement json = JsonParser.parseString(response.toString());
+            return json.getAsJsonObject();
+        } finally {
+            con.disconnect();
+        }
+    }
+}
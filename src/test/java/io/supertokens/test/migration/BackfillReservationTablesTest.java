@@ -0,0 +1,141 @@
+/*
+ *    Copyright (c) 2025, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+package io.supertokens.test.migration;
+
+import com.google.gson.JsonObject;
+import io.supertokens.Main;
+import io.supertokens.ProcessState;
+import io.supertokens.ResourceDistributor;
+import io.supertokens.cronjobs.CronTaskTest;
+import io.supertokens.cronjobs.backfill.BackfillReservationTables;
+import io.supertokens.migration.BackfillProgress;
+import io.supertokens.pluginInterface.MigrationMode;
+import io.supertokens.pluginInterface.Storage;
+import io.supertokens.pluginInterface.exceptions.StorageQueryException;
+import io.supertokens.pluginInterface.migration.MigrationBackfillStorage;
+import io.supertokens.pluginInterface.multitenancy.AppIdentifier;
+import io.supertokens.pluginInterface.multitenancy.TenantIdentifier;
+import io.supertokens.pluginInterface.sqlStorage.SQLStorage;
+import io.supertokens.storageLayer.StorageLayer;
+import io.supertokens.test.TestingProcessManager;
+import io.supertokens.test.Utils;
+import io.supertokens.test.httpRequest.HttpRequestForTesting;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+
+import static org.junit.Assert.*;
+
+public class BackfillReservationTablesTest {
+
+    @Rule
+    public TestRule watchman = Utils.getOnFailure();
+
+    @AfterClass
+    public static void afterTesting() {
+        Utils.afterTesting();
+    }
+
+    @Before
+    public void beforeEach() {
+        Utils.reset();
+    }
+
+    @Test
+    public void backfillRunIsReportedByTheProgressAPI() throws Exception {
+        String[] args = {"../"};
+        TestingProcessManager.TestingProcess process = TestingProcessManager.start(args, false);
+        Main main = process.getProcess();
+        // the cronjob is run manually below, once the pending users are staged
+        CronTaskTest.getInstance(main).setInitialWaitTimeInSeconds(BackfillReservationTables.RESOURCE_KEY, 3600);
+        process.startProcess();
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STARTED));
+
+        Storage storage = StorageLayer.getStorage(main);
+        if (!(storage instanceof MigrationBackfillStorage) || !(storage instanceof SQLStorage)) {
+            return;
+        }
+        MigrationBackfillStorage backfillStorage = (MigrationBackfillStorage) storage;
+        if (backfillStorage.getMigrationMode() == MigrationMode.LEGACY) {
+            return;
+        }
+
+        AppIdentifier app = ResourceDistributor.getAppForTesting().toAppIdentifier();
+        int usersCount = 3;
+        for (int i = 0; i < usersCount; i++) {
+            // time_joined = 0 is the backfill sentinel, see MigrationModeTransitionTest
+            insertAppIdToUserIdRow(storage, app, "20000000-0000-4000-8000-00000000000" + i, 0);
+        }
+        assertEquals(usersCount, backfillStorage.getBackfillPendingUsersCount(app));
+
+        BackfillReservationTables task = (BackfillReservationTables) main.getResourceDistributor()
+                .getResource(new TenantIdentifier(null, null, null), BackfillReservationTables.RESOURCE_KEY);
+        task.run();
+
+        BackfillProgress.Run run = BackfillProgress.getInstance(main).getLatestRun(app);
+        assertNotNull(run);
+        assertFalse(run.isRunning());
+        assertEquals(usersCount, run.pendingUsersAtStart);
+        assertTrue(run.getBatchSize() >= 1);
+        // the in memory db has no legacy rows to repair, so its backfill is a no-op
+        int pendingAfterRun = backfillStorage.getBackfillPendingUsersCount(app);
+        assertEquals(usersCount, run.getUsersProcessed() + pendingAfterRun);
+
+        JsonObject response = HttpRequestForTesting.sendGETRequest(main, "",
+                "http://localhost:3567/migration/backfill/progress",
+                new HashMap<>(), 1000, 1000, null, Utils.getCdiVersionStringLatestForTests(), null);
+        assertEquals("OK", response.get("status").getAsString());
+        JsonObject latestRun = response.getAsJsonObject("latestRun");
+        assertNotNull(latestRun);
+        assertFalse(latestRun.get("isRunning").getAsBoolean());
+        assertEquals(run.getUsersProcessed(), latestRun.get("usersProcessed").getAsLong());
+        assertEquals(run.getEndTime(), latestRun.get("finishedAt").getAsLong());
+        assertTrue(latestRun.has("usersPerSecond"));
+
+        process.kill();
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STOPPED));
+    }
+
+    // Default table name, shared by the in-memory schema and the plugin defaults used in CI
+    private static final String APP_ID_TO_USER_ID_TABLE = "app_id_to_user_id";
+
+    private static void insertAppIdToUserIdRow(Storage storage, AppIdentifier app, String userId, long timeJoined)
+            throws Exception {
+        String sql = "INSERT INTO " + APP_ID_TO_USER_ID_TABLE
+                + " (app_id, user_id, recipe_id, primary_or_recipe_user_id,"
+                + "  time_joined, primary_or_recipe_user_time_joined)"
+                + " VALUES ('" + app.getAppId() + "', '" + userId + "', 'emailpassword', '" + userId + "', "
+                + timeJoined + ", " + timeJoined + ")";
+        ((SQLStorage) storage).startTransaction(con -> {
+            Connection sqlCon = (Connection) con.getConnection();
+            try (Statement stmt = sqlCon.createStatement()) {
+                int rows = stmt.executeUpdate(sql);
+                sqlCon.commit();
+                return rows;
+            } catch (SQLException e) {
+                throw new StorageQueryException(e);
+            }
+        });
+    }
+}
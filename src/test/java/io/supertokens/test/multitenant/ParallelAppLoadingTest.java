@@ -0,0 +1,229 @@
+/*
+ *    Copyright (c) 2025, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+
+package io.supertokens.test.multitenant;
+
+import com.google.gson.JsonObject;
+import io.supertokens.ProcessState;
+import io.supertokens.featureflag.EE_FEATURES;
+import io.supertokens.featureflag.FeatureFlagTestContent;
+import io.supertokens.multitenancy.Multitenancy;
+import io.supertokens.multitenancy.MultitenancyHelper;
+import io.supertokens.pluginInterface.STORAGE_TYPE;
+import io.supertokens.pluginInterface.multitenancy.*;
+import io.supertokens.signingkeys.AccessTokenSigningKey;
+import io.supertokens.signingkeys.SigningKeys;
+import io.supertokens.storageLayer.StorageLayer;
+import io.supertokens.telemetry.CoreMetrics;
+import io.supertokens.test.TestingProcessManager;
+import io.supertokens.test.Utils;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class ParallelAppLoadingTest {
+    @Rule
+    public TestRule watchman = Utils.getOnFailure();
+
+    @Rule
+    public TestRule retryFlaky = Utils.retryFlakyTest();
+
+    @AfterClass
+    public static void afterTesting() {
+        Utils.afterTesting();
+    }
+
+    @Before
+    public void beforeEach() {
+        Utils.reset();
+    }
+
+    @Test
+    public void startupPhaseDurationsAreRecorded() throws Exception {
+        String[] args = {"../"};
+
+        TestingProcessManager.TestingProcess process = TestingProcessManager.startIsolatedProcess(args);
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STARTED));
+
+        Map<String, Long> durations = process.getProcess().getStartupPhaseDurationsMs();
+        for (String phase : new String[]{"config", "primary storage", "base storage", "tenants", "feature flags",
+                "signing keys", "cronjobs", "webserver"}) {
+            assertTrue(phase, durations.containsKey(phase));
+            assertTrue(phase, durations.get(phase) >= 0);
+        }
+        assertTrue(CoreMetrics.getInstance().scrapePrometheus()
+                .contains("supertokens_startup_phase_duration_seconds_count{startup_phase=\"signing keys\"}"));
+
+        process.kill();
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STOPPED));
+    }
+
+    @Test
+    public void startingACoreWithManyAppsScalesSubLinearly() throws Exception {
+        String[] args = {"../"};
+
+        TestingProcessManager.TestingProcess process = TestingProcessManager.startIsolatedProcess(args, false);
+        FeatureFlagTestContent.getInstance(process.getProcess())
+                .setKeyValue(FeatureFlagTestContent.ENABLED_FEATURES, new EE_FEATURES[]{EE_FEATURES.MULTI_TENANCY});
+        process.startProcess();
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STARTED));
+
+        // the apps have to outlive the process
+        if (StorageLayer.getStorage(process.getProcess()).getType() != STORAGE_TYPE.SQL
+                || StorageLayer.isInMemDb(process.getProcess())) {
+            process.kill();
+            return;
+        }
+
+        int numberOfApps = 50;
+        for (int i = 0; i < numberOfApps; i++) {
+            Multitenancy.addNewOrUpdateAppOrTenant(process.getProcess(), new TenantConfig(
+                    new TenantIdentifier(null, "a" + i, null),
+                    new EmailPasswordConfig(true),
+                    new ThirdPartyConfig(true, null),
+                    new PasswordlessConfig(true),
+                    null, null, new JsonObject()
+            ), false);
+        }
+        process.kill(false);
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STOPPED));
+
+        long sequentialLoadingTime = getAppLoadingTimeOnStartup(args, 1, false);
+        long parallelLoadingTime = getAppLoadingTimeOnStartup(args, 8, true);
+
+        assertTrue("sequential: " + sequentialLoadingTime + "ms, parallel: " + parallelLoadingTime + "ms",
+                parallelLoadingTime < sequentialLoadingTime);
+    }
+
+    /**
+     * Restarts the core with the given app_loading_parallelism, and returns how long it took to load the feature flags
+     * and signing keys of all apps. Those two phases run at the same time, so the longer of them is returned.
+     */
+    private static long getAppLoadingTimeOnStartup(String[] args, int appLoadingParallelism, boolean removeData)
+            throws Exception {
+        Utils.setValueInConfig("app_loading_parallelism", String.valueOf(appLoadingParallelism));
+        TestingProcessManager.TestingProcess process = TestingProcessManager.startIsolatedProcess(args, false);
+        FeatureFlagTestContent.getInstance(process.getProcess())
+                .setKeyValue(FeatureFlagTestContent.ENABLED_FEATURES, new EE_FEATURES[]{EE_FEATURES.MULTI_TENANCY});
+        process.startProcess();
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STARTED));
+
+        Map<String, Long> durations = process.getProcess().getStartupPhaseDurationsMs();
+        long loadingTime = Math.max(durations.get("feature flags"), durations.get("signing keys"));
+
+        process.kill(removeData);
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STOPPED));
+        return loadingTime;
+    }
+
+    @Test
+    public void forEachAppRunsUpToAppLoadingParallelismAppsAtOnce() throws Exception {
+        Utils.setValueInConfig("app_loading_parallelism", "8");
+        String[] args = {"../"};
+
+        TestingProcessManager.TestingProcess process = TestingProcessManager.startIsolatedProcess(args);
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STARTED));
+
+        int numberOfApps = 40;
+        long timePerAppMs = 100;
+        List<AppIdentifier> apps = new ArrayList<>();
+        for (int i = 0; i < numberOfApps; i++) {
+            apps.add(new AppIdentifier(null, "a" + i));
+        }
+
+        Set<AppIdentifier> loadedApps = ConcurrentHashMap.newKeySet();
+        AtomicInteger running = new AtomicInteger(0);
+        AtomicInteger maxRunning = new AtomicInteger(0);
+        long startTime = System.currentTimeMillis();
+        process.getProcess().getResourceDistributor().forEachApp(apps, app -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                // simulates the time spent waiting for the database while loading the app's resources
+                Thread.sleep(timePerAppMs);
+            } catch (InterruptedException ignored) {
+            }
+            running.decrementAndGet();
+            loadedApps.add(app);
+        });
+        long timeTaken = System.currentTimeMillis() - startTime;
+
+        assertEquals(numberOfApps, loadedApps.size());
+        assertTrue(maxRunning.get() > 1);
+        assertTrue(maxRunning.get() <= 8);
+        // loading the apps one after the other would take 4 seconds
+        assertTrue("took " + timeTaken + "ms", timeTaken < numberOfApps * timePerAppMs / 2);
+
+        process.kill();
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STOPPED));
+    }
+
+    @Test
+    public void reloadingSigningKeysOfAllAppsReplacesTheirKeys() throws Exception {
+        Utils.setValueInConfig("app_loading_parallelism", "8");
+        String[] args = {"../"};
+
+        TestingProcessManager.TestingProcess process = TestingProcessManager.startIsolatedProcess(args);
+        FeatureFlagTestContent.getInstance(process.getProcess())
+                .setKeyValue(FeatureFlagTestContent.ENABLED_FEATURES, new EE_FEATURES[]{EE_FEATURES.MULTI_TENANCY});
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STARTED));
+
+        List<TenantIdentifier> appTenants = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            TenantIdentifier app = new TenantIdentifier(null, "a" + i, null);
+            Multitenancy.addNewOrUpdateAppOrTenant(process.getProcess(), new TenantConfig(
+                    app,
+                    new EmailPasswordConfig(true),
+                    new ThirdPartyConfig(true, null),
+                    new PasswordlessConfig(true),
+                    null, null, new JsonObject()
+            ), false);
+            appTenants.add(app);
+        }
+
+        Map<TenantIdentifier, AccessTokenSigningKey> keysBeforeReload = new HashMap<>();
+        for (TenantIdentifier app : appTenants) {
+            keysBeforeReload.put(app, AccessTokenSigningKey.getInstance(app.toAppIdentifier(), process.getProcess()));
+        }
+
+        // reloads the signing keys of all the apps, same as what happens when the core starts
+        MultitenancyHelper.getInstance(process.getProcess()).loadSigningKeys(appTenants);
+
+        int numberOfKeysOfBaseApp = SigningKeys.getInstance(new AppIdentifier(null, null), process.getProcess())
+                .getAllKeys().size();
+        for (TenantIdentifier app : appTenants) {
+            assertNotSame(keysBeforeReload.get(app),
+                    AccessTokenSigningKey.getInstance(app.toAppIdentifier(), process.getProcess()));
+            assertEquals(numberOfKeysOfBaseApp,
+                    SigningKeys.getInstance(app.toAppIdentifier(), process.getProcess()).getAllKeys().size());
+        }
+
+        process.kill();
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STOPPED));
+    }
+}
@@ -193,8 +193,8 @@ public class TestAppData {
         Session.createNewSession(app, appStorage, process.getProcess(), epUser.getSupertokensUserId(),
                 new JsonObject(), new JsonObject());
 
-        UserRoles.createNewRoleOrModifyItsPermissions(app.toAppIdentifier(), appStorage, "role",
-                new String[]{"permission1", "permission2"});
+        UserRoles.createNewRoleOrModifyItsPermissions(process.getProcess(), app.toAppIdentifier(), appStorage,
+                "role", new String[]{"permission1", "permission2"});
         UserRoles.addRoleToUser(process.getProcess(), app, appStorage, epUser.getSupertokensUserId(), "role");
 
         TOTPDevice totpDevice = Totp.registerDevice(app.toAppIdentifier(), appStorage, process.getProcess(),
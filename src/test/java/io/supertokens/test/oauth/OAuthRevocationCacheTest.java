@@ -0,0 +1,196 @@
+/*
+ *    Copyright (c) 2026, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+
+package io.supertokens.test.oauth;
+
+import com.google.gson.JsonObject;
+import io.supertokens.Main;
+import io.supertokens.ProcessState;
+import io.supertokens.jwt.JWTSigningFunctions;
+import io.supertokens.oauth.OAuth;
+import io.supertokens.oauth.OAuthRevocationCache;
+import io.supertokens.oauth.OAuthToken;
+import io.supertokens.pluginInterface.STORAGE_TYPE;
+import io.supertokens.pluginInterface.multitenancy.AppIdentifier;
+import io.supertokens.pluginInterface.oauth.OAuthStorage;
+import io.supertokens.storageLayer.StorageLayer;
+import io.supertokens.test.TestingProcessManager;
+import io.supertokens.test.Utils;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import static org.junit.Assert.*;
+
+public class OAuthRevocationCacheTest {
+    @Rule
+    public TestRule watchman = Utils.getOnFailure();
+
+    @Rule
+    public TestRule retryFlaky = Utils.retryFlakyTest();
+
+    @AfterClass
+    public static void afterTesting() {
+        Utils.afterTesting();
+    }
+
+    @Before
+    public void beforeEach() {
+        Utils.reset();
+    }
+
+    @Test
+    public void testLocalRevocationIsSeenImmediately() throws Exception {
+        Utils.setValueInConfig("oauth_revocation_check_interval", "60000");
+
+        String[] args = {"../"};
+        TestingProcessManager.TestingProcess process = TestingProcessManager.startIsolatedProcess(args);
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STARTED));
+
+        if (StorageLayer.getStorage(process.getProcess()).getType() != STORAGE_TYPE.SQL) {
+            return;
+        }
+
+        Main main = process.getProcess();
+        AppIdentifier appIdentifier = process.getAppForTesting().toAppIdentifier();
+        OAuthStorage storage = (OAuthStorage) StorageLayer.getStorage(main);
+        storage.addOrUpdateOauthClient(appIdentifier, "clientid", "secret", false, false);
+
+        String token1 = createAccessToken(main, appIdentifier, storage, "gid1", "jti1");
+        String token2 = createAccessToken(main, appIdentifier, storage, "gid1", "jti2");
+        String token3 = createAccessToken(main, appIdentifier, storage, "gid2", "jti3");
+
+        OAuthRevocationCache cache = OAuthRevocationCache.getInstance(main);
+        assertTrue(introspect(main, appIdentifier, token1));
+        assertTrue(introspect(main, appIdentifier, token2));
+        assertTrue(introspect(main, appIdentifier, token3));
+        assertEquals(3, cache.size());
+
+        // revoking a jti only drops that token
+        OAuth.revokeAccessToken(main, appIdentifier, storage, token1);
+        assertEquals(2, cache.size());
+        assertFalse(introspect(main, appIdentifier, token1));
+        assertTrue(introspect(main, appIdentifier, token2));
+
+        // revoking a gid drops all its tokens
+        OAuth.revokeRefreshToken(main, appIdentifier, storage, "gid1");
+        assertEquals(1, cache.size());
+        assertFalse(introspect(main, appIdentifier, token2));
+        assertTrue(introspect(main, appIdentifier, token3));
+
+        // revoking by session handle drops everything of the app
+        OAuth.revokeSessionHandle(main, appIdentifier, storage, "sessionHandle");
+        assertEquals(0, cache.size());
+        assertFalse(introspect(main, appIdentifier, token3));
+
+        process.kill();
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STOPPED));
+    }
+
+    @Test
+    public void testRevocationOnAnotherCoreIsSeenAfterTheCheckInterval() throws Exception {
+        Utils.setValueInConfig("oauth_revocation_check_interval", "2000");
+
+        String[] args = {"../"};
+        TestingProcessManager.TestingProcess process1 = TestingProcessManager.startIsolatedProcess(args);
+        assertNotNull(process1.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STARTED));
+
+        if (StorageLayer.getStorage(process1.getProcess()).getType() != STORAGE_TYPE.SQL
+                || StorageLayer.isInMemDb(process1.getProcess())) {
+            // both cores need to use the same database
+            process1.kill();
+            assertNotNull(process1.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STOPPED));
+            return;
+        }
+
+        TestingProcessManager.TestingProcess process2 = TestingProcessManager.startIsolatedProcess(args);
+        assertNotNull(process2.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STARTED));
+
+        Main main1 = process1.getProcess();
+        Main main2 = process2.getProcess();
+        AppIdentifier appIdentifier = process1.getAppForTesting().toAppIdentifier();
+        OAuthStorage storage1 = (OAuthStorage) StorageLayer.getStorage(main1);
+        storage1.addOrUpdateOauthClient(appIdentifier, "clientid", "secret", false, false);
+
+        String token = createAccessToken(main1, appIdentifier, storage1, "gid", "jti");
+
+        assertTrue(introspect(main2, appIdentifier, token));
+        assertEquals(1, OAuthRevocationCache.getInstance(main2).size());
+
+        OAuth.revokeAccessToken(main1, appIdentifier, storage1, token);
+        assertFalse(introspect(main1, appIdentifier, token));
+
+        // the second core has not checked the database again yet
+        assertTrue(introspect(main2, appIdentifier, token));
+
+        Thread.sleep(2500);
+        assertFalse(introspect(main2, appIdentifier, token));
+        assertEquals(0, OAuthRevocationCache.getInstance(main2).size());
+
+        process2.kill(false);
+        assertNotNull(process2.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STOPPED));
+        process1.kill();
+        assertNotNull(process1.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STOPPED));
+    }
+
+    @Test
+    public void testRevocationsAreCheckedOnEveryIntrospectionByDefault() throws Exception {
+        String[] args = {"../"};
+        TestingProcessManager.TestingProcess process = TestingProcessManager.startIsolatedProcess(args);
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STARTED));
+
+        if (StorageLayer.getStorage(process.getProcess()).getType() != STORAGE_TYPE.SQL) {
+            return;
+        }
+
+        Main main = process.getProcess();
+        AppIdentifier appIdentifier = process.getAppForTesting().toAppIdentifier();
+        OAuthStorage storage = (OAuthStorage) StorageLayer.getStorage(main);
+        storage.addOrUpdateOauthClient(appIdentifier, "clientid", "secret", false, false);
+
+        String token = createAccessToken(main, appIdentifier, storage, "gid", "jti");
+        assertTrue(introspect(main, appIdentifier, token));
+        assertEquals(0, OAuthRevocationCache.getInstance(main).size());
+
+        // revoking directly in the database (like another core would) is seen right away
+        storage.revokeOAuthTokenByJTI(appIdentifier, "gid", "jti");
+        assertFalse(introspect(main, appIdentifier, token));
+
+        process.kill();
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STOPPED));
+    }
+
+    private static String createAccessToken(Main main, AppIdentifier appIdentifier, OAuthStorage storage, String gid,
+                                            String jti) throws Exception {
+        storage.createOrUpdateOAuthSession(appIdentifier, gid, "clientid", null, null, "sessionHandle", jti,
+                System.currentTimeMillis() / 1000 + 3600);
+
+        JsonObject payload = new JsonObject();
+        payload.addProperty("stt", OAuthToken.TokenType.ACCESS_TOKEN.getValue());
+        payload.addProperty("gid", gid);
+        payload.addProperty("jti", jti);
+        payload.addProperty("client_id", "clientid");
+        return JWTSigningFunctions.createJWTToken(appIdentifier, main, "RS256", payload, null, 3600, false);
+    }
+
+    private static boolean introspect(Main main, AppIdentifier appIdentifier, String token) throws Exception {
+        return OAuth.introspectAccessToken(main, appIdentifier, StorageLayer.getStorage(main), token)
+                .get("active").getAsBoolean();
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ *    Copyright (c) 2026, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+
+package io.supertokens.test.saml;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import io.supertokens.ProcessState;
+import io.supertokens.featureflag.EE_FEATURES;
+import io.supertokens.featureflag.FeatureFlagTestContent;
+import io.supertokens.pluginInterface.multitenancy.TenantIdentifier;
+import io.supertokens.pluginInterface.saml.SAMLClient;
+import io.supertokens.saml.SAML;
+import io.supertokens.saml.SAMLIdPCredentialCache;
+import io.supertokens.storageLayer.StorageLayer;
+import io.supertokens.test.TestingProcessManager;
+import io.supertokens.test.Utils;
+import io.supertokens.test.httpRequest.HttpRequestForTesting;
+import io.supertokens.utils.SemVer;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.opensaml.security.credential.Credential;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.Assert.*;
+
+public class SAMLIdPCredentialCacheTest {
+
+    private static final String DEFAULT_REDIRECT_URI = "http://localhost:3000/auth/callback/saml-mock";
+    private static final String ACS_URL = "http://localhost:3000/acs";
+    private static final String IDP_ENTITY_ID = "https://saml.example.com/entityid";
+    private static final String IDP_SSO_URL = "https://mocksaml.com/api/saml/sso";
+
+    @Rule
+    public TestRule watchman = Utils.getOnFailure();
+
+    @Rule
+    public TestRule retryFlaky = Utils.retryFlakyTest();
+
+    @AfterClass
+    public static void afterTesting() {
+        Utils.afterTesting();
+    }
+
+    @Before
+    public void beforeEach() {
+        Utils.reset();
+    }
+
+    @Test
+    public void credentialIsReusedUntilTheClientIsUpdated() throws Exception {
+        String[] args = {"../"};
+        TestingProcessManager.TestingProcess process = TestingProcessManager.start(args);
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STARTED));
+
+        FeatureFlagTestContent.getInstance(process.getProcess())
+                .setKeyValue(FeatureFlagTestContent.ENABLED_FEATURES, new EE_FEATURES[]{EE_FEATURES.SAML});
+
+        SAMLIdPCredentialCache cache = SAMLIdPCredentialCache.getInstance(process.getProcess());
+        TenantIdentifier tenant = TenantIdentifier.BASE_TENANT;
+
+        SAMLTestUtils.CreatedClientInfo clientInfo = SAMLTestUtils.createClientWithGeneratedMetadata(
+                process, DEFAULT_REDIRECT_URI, ACS_URL, IDP_ENTITY_ID, IDP_SSO_URL, true);
+        assertFalse(cache.contains(tenant, clientInfo.clientId));
+
+        assertEquals("OK", sendCallback(process, clientInfo.keyMaterial).get("status").getAsString());
+        assertTrue(cache.contains(tenant, clientInfo.clientId));
+
+        SAMLClient client = SAML.getClient(tenant, StorageLayer.getStorage(process.getProcess()),
+                clientInfo.clientId);
+        Credential credential = cache.getCredential(tenant, client);
+        assertSame(credential, cache.getCredential(tenant, client));
+        assertEquals("OK", sendCallback(process, clientInfo.keyMaterial).get("status").getAsString());
+        assertSame(credential, cache.getCredential(tenant, client));
+
+        // updating the client with a new IdP certificate drops the cached credential
+        MockSAML.KeyMaterial newKeyMaterial = MockSAML.generateSelfSignedKeyMaterial();
+        updateClient(process, clientInfo.clientId, newKeyMaterial);
+        assertFalse(cache.contains(tenant, clientInfo.clientId));
+
+        assertEquals("SAML_RESPONSE_VERIFICATION_FAILED_ERROR",
+                sendCallback(process, clientInfo.keyMaterial).get("status").getAsString());
+        assertEquals("OK", sendCallback(process, newKeyMaterial).get("status").getAsString());
+        assertNotSame(credential, cache.getCredential(tenant, SAML.getClient(tenant,
+                StorageLayer.getStorage(process.getProcess()), clientInfo.clientId)));
+
+        // and so does removing it
+        JsonObject removeBody = new JsonObject();
+        removeBody.addProperty("clientId", clientInfo.clientId);
+        HttpRequestForTesting.sendJsonPOSTRequest(process.getProcess(), "",
+                "http://localhost:3567/recipe/saml/clients/remove", removeBody, 1000, 1000, null,
+                SemVer.v5_4.get(), "saml");
+        assertFalse(cache.contains(tenant, clientInfo.clientId));
+
+        process.kill();
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STOPPED));
+    }
+
+    @Test
+    public void staleCredentialIsNotUsedIfTheCertificateChangedElsewhere() throws Exception {
+        String[] args = {"../"};
+        TestingProcessManager.TestingProcess process = TestingProcessManager.start(args);
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STARTED));
+
+        FeatureFlagTestContent.getInstance(process.getProcess())
+                .setKeyValue(FeatureFlagTestContent.ENABLED_FEATURES, new EE_FEATURES[]{EE_FEATURES.SAML});
+
+        SAMLIdPCredentialCache cache = SAMLIdPCredentialCache.getInstance(process.getProcess());
+        TenantIdentifier tenant = TenantIdentifier.BASE_TENANT;
+
+        SAMLTestUtils.CreatedClientInfo clientInfo = SAMLTestUtils.createClientWithGeneratedMetadata(
+                process, DEFAULT_REDIRECT_URI, ACS_URL, IDP_ENTITY_ID, IDP_SSO_URL, true);
+        SAMLClient client = SAML.getClient(tenant, StorageLayer.getStorage(process.getProcess()),
+                clientInfo.clientId);
+        Credential credential = cache.getCredential(tenant, client);
+
+        // simulates a client that was updated by another core, which does not evict this core's cache entry
+        MockSAML.KeyMaterial newKeyMaterial = MockSAML.generateSelfSignedKeyMaterial();
+        SAMLClient updatedClient = new SAMLClient(client.clientId, client.clientSecret, client.ssoLoginURL,
+                client.redirectURIs, client.defaultRedirectURI, client.idpEntityId,
+                newKeyMaterial.getCertificateBase64Der(), client.allowIDPInitiatedLogin, client.enableRequestSigning);
+
+        Credential updatedCredential = cache.getCredential(tenant, updatedClient);
+        assertNotSame(credential, updatedCredential);
+        assertEquals(newKeyMaterial.certificate.getPublicKey(), updatedCredential.getPublicKey());
+
+        process.kill();
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STOPPED));
+    }
+
+    private static JsonObject sendCallback(TestingProcessManager.TestingProcess process,
+                                           MockSAML.KeyMaterial keyMaterial) throws Exception {
+        String samlResponseBase64 = MockSAML.generateSignedSAMLResponseBase64(IDP_ENTITY_ID,
+                "https://saml.supertokens.com", ACS_URL, "user@example.com", null, null, keyMaterial, 300);
+
+        JsonObject body = new JsonObject();
+        body.addProperty("samlResponse", samlResponseBase64);
+        return HttpRequestForTesting.sendJsonPOSTRequest(process.getProcess(), "",
+                "http://localhost:3567/recipe/saml/callback", body, 1000, 1000, null, SemVer.v5_4.get(), "saml");
+    }
+
+    private static void updateClient(TestingProcessManager.TestingProcess process, String clientId,
+                                     MockSAML.KeyMaterial keyMaterial) throws Exception {
+        String metadataXML = MockSAML.generateIdpMetadataXML(IDP_ENTITY_ID, IDP_SSO_URL, keyMaterial.certificate);
+
+        JsonObject input = new JsonObject();
+        input.addProperty("clientId", clientId);
+        input.addProperty("clientSecret", "secret");
+        input.addProperty("defaultRedirectURI", DEFAULT_REDIRECT_URI);
+        JsonArray redirectURIs = new JsonArray();
+        redirectURIs.add(DEFAULT_REDIRECT_URI);
+        input.add("redirectURIs", redirectURIs);
+        input.addProperty("metadataXML",
+                Base64.getEncoder().encodeToString(metadataXML.getBytes(StandardCharsets.UTF_8)));
+        input.addProperty("allowIDPInitiatedLogin", true);
+
+        JsonObject resp = HttpRequestForTesting.sendJsonPUTRequest(process.getProcess(), "",
+                "http://localhost:3567/recipe/saml/clients", input, 1000, 1000, null, SemVer.v5_4.get(), "saml");
+        assertEquals("OK", resp.get("status").getAsString());
+    }
+}
@@ -16,8 +16,10 @@
 
 package io.supertokens.test.session;
 
+import com.google.gson.JsonObject;
 import io.supertokens.ProcessState.EventAndException;
 import io.supertokens.ProcessState.PROCESS_STATE;
+import io.supertokens.jwt.JWTSigningFunctions;
 import io.supertokens.jwt.exceptions.UnsupportedJWTSigningAlgorithmException;
 import io.supertokens.pluginInterface.KeyValueInfo;
 import io.supertokens.pluginInterface.STORAGE_TYPE;
@@ -29,6 +31,7 @@ import io.supertokens.pluginInterface.multitenancy.TenantIdentifier;
 import io.supertokens.pluginInterface.multitenancy.exceptions.TenantOrAppNotFoundException;
 import io.supertokens.pluginInterface.session.SessionStorage;
 import io.supertokens.signingkeys.AccessTokenSigningKey;
+import io.supertokens.signingkeys.JWTSigningKey;
 import io.supertokens.signingkeys.SigningKeys;
 import io.supertokens.signingkeys.SigningKeys.KeyInfo;
 import io.supertokens.storageLayer.StorageLayer;
@@ -213,4 +216,51 @@ public class AccessTokenSigningKeyTest {
         process.kill();
         assertNotNull(process.checkOrWaitForEvent(PROCESS_STATE.STOPPED));
     }
+
+    @Test
+    public void parsedKeysAreReusedUntilTheKeysAreRefreshed() throws Exception {
+        String[] args = {"../"};
+        TestingProcess process = TestingProcessManager.startIsolatedProcess(args);
+
+        EventAndException e = process.checkOrWaitForEvent(PROCESS_STATE.STARTED);
+        assertNotNull(e);
+
+        SigningKeys signingKeys = SigningKeys.getInstance(process.getProcess());
+        JWTSigningKeyInfo oldKey = io.supertokens.utils.Utils.getJWTSigningKeyInfoFromKeyInfo(
+                signingKeys.getLatestIssuedDynamicKey());
+        SigningKeys.ParsedKey oldParsedKey = signingKeys.getParsedKey(oldKey);
+        assertEquals(oldKey.keyId, oldParsedKey.keyId);
+        assertSame(oldParsedKey, signingKeys.getParsedKey(io.supertokens.utils.Utils.getJWTSigningKeyInfoFromKeyInfo(
+                signingKeys.getLatestIssuedDynamicKey())));
+
+        String jwt = JWTSigningFunctions.createJWTToken(process.getProcess(), "RS256", new JsonObject(), null, 3600,
+                true);
+        com.auth0.jwt.JWT.require(oldParsedKey.auth0Algorithm).build().verify(jwt);
+
+        // the static key gets its own entry
+        JWTSigningKeyInfo staticKey = signingKeys.getStaticKeyForAlgorithm(JWTSigningKey.SupportedAlgorithms.RS256);
+        SigningKeys.ParsedKey staticParsedKey = signingKeys.getParsedKey(staticKey);
+        assertEquals(staticKey.keyId, staticParsedKey.keyId);
+        jwt = JWTSigningFunctions.createJWTToken(process.getProcess(), "RS256", new JsonObject(), null, 3600, false);
+        com.auth0.jwt.JWT.require(staticParsedKey.auth0Algorithm).build().verify(jwt);
+
+        // removing the dynamic keys and refreshing the cache replaces the dynamic key
+        SessionStorage sessionStorage = (SessionStorage) StorageLayer.getStorage(process.getProcess());
+        sessionStorage.removeAccessTokenSigningKeysBefore(process.getAppForTesting().toAppIdentifier(),
+                System.currentTimeMillis() + 1000);
+        signingKeys.updateKeyCacheIfNotChanged(signingKeys.getAllKeys());
+
+        JWTSigningKeyInfo newKey = io.supertokens.utils.Utils.getJWTSigningKeyInfoFromKeyInfo(
+                signingKeys.getLatestIssuedDynamicKey());
+        assertNotEquals(oldKey.keyId, newKey.keyId);
+        SigningKeys.ParsedKey newParsedKey = signingKeys.getParsedKey(newKey);
+        assertEquals(newKey.keyId, newParsedKey.keyId);
+
+        // the entry of the removed key was dropped, while the static key's entry is kept
+        assertNotSame(oldParsedKey, signingKeys.getParsedKey(oldKey));
+        assertSame(staticParsedKey, signingKeys.getParsedKey(staticKey));
+
+        process.kill();
+        assertNotNull(process.checkOrWaitForEvent(PROCESS_STATE.STOPPED));
+    }
 }
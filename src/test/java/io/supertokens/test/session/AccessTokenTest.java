@@ -461,6 +461,38 @@ public class AccessTokenTest {
         fail();
     }
 
+    @Test
+    public void expiredAndInvalidAccessTokenExceptionsHaveNoStackTrace() throws Exception {
+        String[] args = {"../"};
+        TestingProcess process = TestingProcessManager.startIsolatedProcess(args);
+        assertNotNull(process.checkOrWaitForEvent(PROCESS_STATE.STARTED));
+
+        TokenInfo tokenInfo = AccessToken.createNewAccessToken(process.getProcess(), "sessionHandle", "userId",
+                "refreshTokenHash1", null, new JsonObject(), null, System.currentTimeMillis() - 1000,
+                AccessToken.getLatestVersion(), false);
+
+        try {
+            AccessToken.getInfoFromAccessToken(process.getProcess(), tokenInfo.token, true);
+            fail();
+        } catch (TryRefreshTokenException e) {
+            assertEquals("Access token expired", e.getMessage());
+            assertEquals(0, e.getStackTrace().length);
+        }
+
+        try {
+            AccessToken.getInfoFromAccessToken(process.getProcess(), "invalidToken", true);
+            fail();
+        } catch (TryRefreshTokenException e) {
+            assertEquals(0, e.getStackTrace().length);
+            assertNotNull(e.getCause());
+            assertEquals(0, e.getCause().getStackTrace().length);
+            assertEquals(e.getCause().toString(), e.getMessage());
+        }
+
+        process.kill();
+        assertNotNull(process.checkOrWaitForEvent(PROCESS_STATE.STOPPED));
+    }
+
     @Test
     public void verifyRandomAccessTokenFailure()
             throws InterruptedException, StorageQueryException, StorageTransactionLogicException,
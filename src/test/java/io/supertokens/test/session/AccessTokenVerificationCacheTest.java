@@ -0,0 +1,174 @@
+/*
+ *    Copyright (c) 2025, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+package io.supertokens.test.session;
+
+import com.google.gson.JsonObject;
+import io.supertokens.ProcessState;
+import io.supertokens.exceptions.TryRefreshTokenException;
+import io.supertokens.exceptions.UnauthorisedException;
+import io.supertokens.pluginInterface.multitenancy.AppIdentifier;
+import io.supertokens.pluginInterface.session.SessionStorage;
+import io.supertokens.session.Session;
+import io.supertokens.session.accessToken.AccessToken;
+import io.supertokens.session.accessToken.AccessToken.AccessTokenInfo;
+import io.supertokens.session.accessToken.AccessTokenVerificationCache;
+import io.supertokens.session.info.SessionInformationHolder;
+import io.supertokens.signingkeys.SigningKeys;
+import io.supertokens.storageLayer.StorageLayer;
+import io.supertokens.test.TestingProcessManager;
+import io.supertokens.test.Utils;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import static org.junit.Assert.*;
+
+public class AccessTokenVerificationCacheTest {
+    @Rule
+    public TestRule watchman = Utils.getOnFailure();
+
+    @Rule
+    public TestRule retryFlaky = Utils.retryFlakyTest();
+
+    @AfterClass
+    public static void afterTesting() {
+        Utils.afterTesting();
+    }
+
+    @Before
+    public void beforeEach() {
+        Utils.reset();
+    }
+
+    private static SessionInformationHolder createSession(TestingProcessManager.TestingProcess process)
+            throws Exception {
+        JsonObject userDataInJWT = new JsonObject();
+        userDataInJWT.addProperty("key", "value");
+        return Session.createNewSession(process.getProcess(), "userId", userDataInJWT, new JsonObject());
+    }
+
+    @Test
+    public void testCacheIsDisabledByDefault() throws Exception {
+        String[] args = {"../"};
+        TestingProcessManager.TestingProcess process = TestingProcessManager.startIsolatedProcess(args);
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STARTED));
+
+        SessionInformationHolder sessionInfo = createSession(process);
+        assert sessionInfo.accessToken != null;
+
+        Session.getSession(process.getProcess(), sessionInfo.accessToken.token, null, false, false, false);
+        Session.getSession(process.getProcess(), sessionInfo.accessToken.token, null, false, false, false);
+
+        AccessTokenVerificationCache cache = AccessTokenVerificationCache.getInstance(process.getProcess());
+        assertFalse(cache.isEnabled());
+        assertEquals(0, cache.size());
+
+        process.kill();
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STOPPED));
+    }
+
+    @Test
+    public void testRepeatedVerificationIsServedFromCache() throws Exception {
+        Utils.setValueInConfig("access_token_verification_cache_size", "100");
+
+        String[] args = {"../"};
+        TestingProcessManager.TestingProcess process = TestingProcessManager.startIsolatedProcess(args);
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STARTED));
+
+        SessionInformationHolder sessionInfo = createSession(process);
+        assert sessionInfo.accessToken != null;
+        AppIdentifier app = process.getAppForTesting().toAppIdentifier();
+
+        AccessTokenInfo first = AccessToken.getInfoFromAccessToken(app, process.getProcess(),
+                sessionInfo.accessToken.token, false, true);
+        AccessTokenInfo second = AccessToken.getInfoFromAccessToken(app, process.getProcess(),
+                sessionInfo.accessToken.token, false, true);
+        assertSame(first, second);
+        assertEquals(1, AccessTokenVerificationCache.getInstance(process.getProcess()).size());
+
+        SessionInformationHolder verifiedSession = Session.getSession(process.getProcess(),
+                sessionInfo.accessToken.token, null, false, false, false);
+        assertEquals(sessionInfo.session.handle, verifiedSession.session.handle);
+        assertEquals(sessionInfo.session.userDataInJWT, verifiedSession.session.userDataInJWT);
+
+        process.kill();
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STOPPED));
+    }
+
+    @Test
+    public void testCacheIsBypassedWhenCheckingDatabase() throws Exception {
+        Utils.setValueInConfig("access_token_verification_cache_size", "100");
+
+        String[] args = {"../"};
+        TestingProcessManager.TestingProcess process = TestingProcessManager.startIsolatedProcess(args);
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STARTED));
+
+        SessionInformationHolder sessionInfo = createSession(process);
+        assert sessionInfo.accessToken != null;
+
+        Session.getSession(process.getProcess(), sessionInfo.accessToken.token, null, false, false, true);
+        assertEquals(0, AccessTokenVerificationCache.getInstance(process.getProcess()).size());
+
+        Session.getSession(process.getProcess(), sessionInfo.accessToken.token, null, false, false, false);
+        assertEquals(1, AccessTokenVerificationCache.getInstance(process.getProcess()).size());
+
+        // revoking the session must still be noticed by verifications that check the database
+        Session.revokeSessionUsingSessionHandles(process.getProcess(), new String[]{sessionInfo.session.handle});
+        try {
+            Session.getSession(process.getProcess(), sessionInfo.accessToken.token, null, false, false, true);
+            fail();
+        } catch (UnauthorisedException ignored) {
+        }
+
+        process.kill();
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STOPPED));
+    }
+
+    @Test
+    public void testCacheIsInvalidatedWhenSigningKeyIsRemoved() throws Exception {
+        Utils.setValueInConfig("access_token_verification_cache_size", "100");
+
+        String[] args = {"../"};
+        TestingProcessManager.TestingProcess process = TestingProcessManager.startIsolatedProcess(args);
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STARTED));
+
+        SessionInformationHolder sessionInfo = createSession(process);
+        assert sessionInfo.accessToken != null;
+        AppIdentifier app = process.getAppForTesting().toAppIdentifier();
+
+        AccessToken.getInfoFromAccessToken(app, process.getProcess(), sessionInfo.accessToken.token, false, true);
+        assertEquals(1, AccessTokenVerificationCache.getInstance(process.getProcess()).size());
+
+        // remove the key that signed the token, and refresh the in memory key cache
+        SessionStorage sessionStorage = (SessionStorage) StorageLayer.getStorage(process.getProcess());
+        sessionStorage.removeAccessTokenSigningKeysBefore(app, System.currentTimeMillis() + 1000);
+        SigningKeys signingKeys = SigningKeys.getInstance(process.getProcess());
+        signingKeys.updateKeyCacheIfNotChanged(signingKeys.getAllKeys());
+
+        assertEquals(0, AccessTokenVerificationCache.getInstance(process.getProcess()).size());
+        try {
+            AccessToken.getInfoFromAccessToken(app, process.getProcess(), sessionInfo.accessToken.token, false, true);
+            fail();
+        } catch (TryRefreshTokenException ignored) {
+        }
+
+        process.kill();
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STOPPED));
+    }
+}
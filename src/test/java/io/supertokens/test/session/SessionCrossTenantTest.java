@@ -0,0 +1,222 @@
+/*
+ *    Copyright (c) 2026, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+
+package io.supertokens.test.session;
+
+import com.google.gson.JsonObject;
+import io.supertokens.ProcessState;
+import io.supertokens.featureflag.EE_FEATURES;
+import io.supertokens.featureflag.FeatureFlagTestContent;
+import io.supertokens.multitenancy.Multitenancy;
+import io.supertokens.pluginInterface.STORAGE_TYPE;
+import io.supertokens.pluginInterface.Storage;
+import io.supertokens.pluginInterface.multitenancy.*;
+import io.supertokens.session.Session;
+import io.supertokens.storageLayer.StorageLayer;
+import io.supertokens.test.TestingProcessManager;
+import io.supertokens.test.Utils;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class SessionCrossTenantTest {
+    @Rule
+    public TestRule watchman = Utils.getOnFailure();
+
+    @Rule
+    public TestRule retryFlaky = Utils.retryFlakyTest();
+
+    private static final int NUMBER_OF_TENANTS = 12;
+
+    TestingProcessManager.TestingProcess process;
+    AppIdentifier app = new AppIdentifier(null, "a1");
+    List<TenantIdentifier> tenants = new ArrayList<>();
+
+    @AfterClass
+    public static void afterTesting() {
+        Utils.afterTesting();
+    }
+
+    @After
+    public void afterEach() throws InterruptedException {
+        process.kill();
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STOPPED));
+    }
+
+    @Before
+    public void beforeEach() throws Exception {
+        Utils.reset();
+
+        String[] args = {"../"};
+
+        this.process = TestingProcessManager.start(args);
+        FeatureFlagTestContent.getInstance(process.getProcess())
+                .setKeyValue(FeatureFlagTestContent.ENABLED_FEATURES, new EE_FEATURES[]{EE_FEATURES.MULTI_TENANCY});
+        process.startProcess();
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STARTED));
+
+        if (StorageLayer.getStorage(process.getProcess()).getType() != STORAGE_TYPE.SQL) {
+            return;
+        }
+
+        createTenants();
+    }
+
+    private void createTenants() throws Exception {
+        // User pool 1 - (null, a1, null)
+        // User pools 2 and 3 - the other tenants of a1, alternately
+        // with the in memory db, all of them share the one user pool
+        tenants.add(new TenantIdentifier(null, "a1", null));
+        addTenant(new TenantIdentifier(null, null, null), tenants.get(0), 1);
+
+        for (int i = 0; i < NUMBER_OF_TENANTS; i++) {
+            TenantIdentifier tenantIdentifier = new TenantIdentifier(null, "a1", "t" + i);
+            addTenant(tenants.get(0), tenantIdentifier, 2 + (i % 2));
+            tenants.add(tenantIdentifier);
+        }
+    }
+
+    private void addTenant(TenantIdentifier sourceTenant, TenantIdentifier tenantIdentifier, int userPool)
+            throws Exception {
+        JsonObject config = new JsonObject();
+        StorageLayer.getStorage(new TenantIdentifier(null, null, null), process.getProcess())
+                .modifyConfigToAddANewUserPoolForTesting(config, userPool);
+
+        Multitenancy.addNewOrUpdateAppOrTenant(
+                process.getProcess(),
+                sourceTenant,
+                new TenantConfig(
+                        tenantIdentifier,
+                        new EmailPasswordConfig(true),
+                        new ThirdPartyConfig(true, null),
+                        new PasswordlessConfig(true),
+                        null, null,
+                        config
+                )
+        );
+    }
+
+    private String createSession(TenantIdentifier tenantIdentifier, String userId) throws Exception {
+        Storage storage = StorageLayer.getStorage(tenantIdentifier, process.getProcess());
+        return Session.createNewSession(tenantIdentifier, storage, process.getProcess(), userId, new JsonObject(),
+                new JsonObject()).session.handle;
+    }
+
+    private Set<String> getSessionHandlesOfUser(String userId) throws Exception {
+        Storage storage = StorageLayer.getStorage(app.getAsPublicTenantIdentifier(), process.getProcess());
+        String[] sessionHandles = Session.getAllNonExpiredSessionHandlesForUser(process.getProcess(), app, storage,
+                userId, false);
+        Set<String> result = new HashSet<>(List.of(sessionHandles));
+        assertEquals(sessionHandles.length, result.size());
+        return result;
+    }
+
+    @Test
+    public void testGettingSessionHandlesAcrossAllTenantsAndUserPools() throws Exception {
+        if (StorageLayer.getStorage(process.getProcess()).getType() != STORAGE_TYPE.SQL) {
+            return;
+        }
+
+        Set<String> user1Sessions = new HashSet<>();
+        Set<String> user2Sessions = new HashSet<>();
+        for (TenantIdentifier tenantIdentifier : tenants) {
+            user1Sessions.add(createSession(tenantIdentifier, "user1"));
+            user1Sessions.add(createSession(tenantIdentifier, "user1"));
+            user2Sessions.add(createSession(tenantIdentifier, "user2"));
+        }
+
+        assertEquals(user1Sessions, getSessionHandlesOfUser("user1"));
+        assertEquals(user2Sessions, getSessionHandlesOfUser("user2"));
+        assertEquals(new HashSet<>(), getSessionHandlesOfUser("user3"));
+
+        // the tenant specific lookup only finds the sessions of that tenant
+        TenantIdentifier tenantIdentifier = tenants.get(3);
+        String[] sessionHandles = Session.getAllNonExpiredSessionHandlesForUser(tenantIdentifier,
+                StorageLayer.getStorage(tenantIdentifier, process.getProcess()), "user1", false);
+        assertEquals(2, sessionHandles.length);
+        for (String sessionHandle : sessionHandles) {
+            assertEquals(tenantIdentifier.getTenantId(), Session.getTenantIdFromSessionHandle(sessionHandle));
+        }
+    }
+
+    @Test
+    public void testRevokingAllSessionsOfUserAcrossAllTenantsAndUserPools() throws Exception {
+        if (StorageLayer.getStorage(process.getProcess()).getType() != STORAGE_TYPE.SQL) {
+            return;
+        }
+
+        Set<String> user1Sessions = new HashSet<>();
+        Set<String> user2Sessions = new HashSet<>();
+        for (TenantIdentifier tenantIdentifier : tenants) {
+            user1Sessions.add(createSession(tenantIdentifier, "user1"));
+            user1Sessions.add(createSession(tenantIdentifier, "user1"));
+            user2Sessions.add(createSession(tenantIdentifier, "user2"));
+        }
+
+        Storage storage = StorageLayer.getStorage(app.getAsPublicTenantIdentifier(), process.getProcess());
+        String[] revokedSessionHandles = Session.revokeAllSessionsForUser(process.getProcess(), app, storage,
+                "user1", false);
+        assertEquals(user1Sessions.size(), revokedSessionHandles.length);
+        assertEquals(user1Sessions, new HashSet<>(List.of(revokedSessionHandles)));
+
+        assertEquals(new HashSet<>(), getSessionHandlesOfUser("user1"));
+        assertEquals(user2Sessions, getSessionHandlesOfUser("user2"));
+
+        // revoking again finds nothing to revoke
+        assertEquals(0, Session.revokeAllSessionsForUser(process.getProcess(), app, storage, "user1",
+                false).length);
+    }
+
+    @Test
+    public void testRevokingSessionHandlesOfManyTenantsOnlyReturnsTheOnesThatExisted() throws Exception {
+        if (StorageLayer.getStorage(process.getProcess()).getType() != STORAGE_TYPE.SQL) {
+            return;
+        }
+
+        List<String> sessionHandles = new ArrayList<>();
+        Set<String> existingSessionHandles = new HashSet<>();
+        for (TenantIdentifier tenantIdentifier : tenants) {
+            String sessionHandle = createSession(tenantIdentifier, "user1");
+            sessionHandles.add(sessionHandle);
+            existingSessionHandles.add(sessionHandle);
+        }
+
+        // a session that was already revoked, and a session of a tenant that does not exist
+        String revokedSessionHandle = createSession(tenants.get(5), "user1");
+        Storage storage = StorageLayer.getStorage(app.getAsPublicTenantIdentifier(), process.getProcess());
+        assertEquals(1, Session.revokeSessionUsingSessionHandles(process.getProcess(), app, storage,
+                new String[]{revokedSessionHandle}).length);
+        sessionHandles.add(revokedSessionHandle);
+        sessionHandles.add(sessionHandles.get(2).split("_")[0] + "_unknowntenant");
+
+        String[] revokedSessionHandles = Session.revokeSessionUsingSessionHandles(process.getProcess(), app,
+                storage, sessionHandles.toArray(new String[0]));
+        assertEquals(existingSessionHandles, new HashSet<>(List.of(revokedSessionHandles)));
+        assertEquals(existingSessionHandles.size(), revokedSessionHandles.length);
+        assertEquals(new HashSet<>(), getSessionHandlesOfUser("user1"));
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ *    Copyright (c) 2026, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+
+package io.supertokens.test.session;
+
+import com.google.gson.JsonObject;
+import io.supertokens.Main;
+import io.supertokens.ProcessState;
+import io.supertokens.exceptions.UnauthorisedException;
+import io.supertokens.pluginInterface.session.SessionStorage;
+import io.supertokens.session.Session;
+import io.supertokens.session.SessionInfoCache;
+import io.supertokens.session.accessToken.AccessToken;
+import io.supertokens.session.info.SessionInformationHolder;
+import io.supertokens.storageLayer.StorageLayer;
+import io.supertokens.test.TestingProcessManager;
+import io.supertokens.test.Utils;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import static org.junit.Assert.*;
+
+public class SessionInfoCacheTest {
+    @Rule
+    public TestRule watchman = Utils.getOnFailure();
+
+    @Rule
+    public TestRule retryFlaky = Utils.retryFlakyTest();
+
+    @AfterClass
+    public static void afterTesting() {
+        Utils.afterTesting();
+    }
+
+    @Before
+    public void beforeEach() {
+        Utils.reset();
+    }
+
+    private static SessionInformationHolder createSession(Main main) throws Exception {
+        JsonObject userDataInJWT = new JsonObject();
+        userDataInJWT.addProperty("key", "value");
+        return Session.createNewSession(main, "userId", userDataInJWT, new JsonObject());
+    }
+
+    private static SessionInformationHolder verify(Main main, String accessToken) throws Exception {
+        return Session.getSession(main, accessToken, null, false, false, true);
+    }
+
+    private static void deleteSessionFromDb(TestingProcessManager.TestingProcess process, String sessionHandle)
+            throws Exception {
+        // this is what a revocation via another core looks like to this core
+        ((SessionStorage) StorageLayer.getStorage(process.getProcess()))
+                .deleteSession(process.getAppForTesting(), new String[]{sessionHandle});
+    }
+
+    @Test
+    public void testCacheIsDisabledByDefault() throws Exception {
+        String[] args = {"../"};
+        TestingProcessManager.TestingProcess process = TestingProcessManager.startIsolatedProcess(args);
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STARTED));
+
+        SessionInformationHolder sessionInfo = createSession(process.getProcess());
+        assert sessionInfo.accessToken != null;
+
+        verify(process.getProcess(), sessionInfo.accessToken.token);
+        SessionInfoCache cache = SessionInfoCache.getInstance(process.getProcess());
+        assertFalse(cache.isEnabled());
+        assertEquals(0, cache.size());
+
+        deleteSessionFromDb(process, sessionInfo.session.handle);
+        try {
+            verify(process.getProcess(), sessionInfo.accessToken.token);
+            fail();
+        } catch (UnauthorisedException ignored) {
+        }
+
+        process.kill();
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STOPPED));
+    }
+
+    @Test
+    public void testRepeatedVerificationIsServedFromCacheUntilTheTTL() throws Exception {
+        Utils.setValueInConfig("session_info_cache_ttl", "2000");
+
+        String[] args = {"../"};
+        TestingProcessManager.TestingProcess process = TestingProcessManager.startIsolatedProcess(args);
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STARTED));
+
+        SessionInformationHolder sessionInfo = createSession(process.getProcess());
+        assert sessionInfo.accessToken != null;
+
+        verify(process.getProcess(), sessionInfo.accessToken.token);
+        assertEquals(1, SessionInfoCache.getInstance(process.getProcess()).size());
+
+        deleteSessionFromDb(process, sessionInfo.session.handle);
+
+        // the session is not read again within the TTL
+        SessionInformationHolder verifiedSession = verify(process.getProcess(), sessionInfo.accessToken.token);
+        assertEquals(sessionInfo.session.handle, verifiedSession.session.handle);
+
+        Thread.sleep(2500);
+        try {
+            verify(process.getProcess(), sessionInfo.accessToken.token);
+            fail();
+        } catch (UnauthorisedException ignored) {
+        }
+        assertEquals(0, SessionInfoCache.getInstance(process.getProcess()).size());
+
+        process.kill();
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STOPPED));
+    }
+
+    @Test
+    public void testLocalRevocationIsSeenImmediately() throws Exception {
+        Utils.setValueInConfig("session_info_cache_ttl", "60000");
+
+        String[] args = {"../"};
+        TestingProcessManager.TestingProcess process = TestingProcessManager.startIsolatedProcess(args);
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STARTED));
+
+        SessionInformationHolder sessionInfo = createSession(process.getProcess());
+        SessionInformationHolder otherSessionInfo = createSession(process.getProcess());
+        assert sessionInfo.accessToken != null;
+        assert otherSessionInfo.accessToken != null;
+
+        verify(process.getProcess(), sessionInfo.accessToken.token);
+        verify(process.getProcess(), otherSessionInfo.accessToken.token);
+        SessionInfoCache cache = SessionInfoCache.getInstance(process.getProcess());
+        assertEquals(2, cache.size());
+
+        Session.revokeSessionUsingSessionHandles(process.getProcess(), new String[]{sessionInfo.session.handle});
+        assertEquals(1, cache.size());
+        try {
+            verify(process.getProcess(), sessionInfo.accessToken.token);
+            fail();
+        } catch (UnauthorisedException ignored) {
+        }
+        verify(process.getProcess(), otherSessionInfo.accessToken.token);
+
+        process.kill();
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STOPPED));
+    }
+
+    @Test
+    public void testLocalRefreshAndUpdateAreSeenImmediately() throws Exception {
+        Utils.setValueInConfig("session_info_cache_ttl", "60000");
+
+        String[] args = {"../"};
+        TestingProcessManager.TestingProcess process = TestingProcessManager.startIsolatedProcess(args);
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STARTED));
+
+        Main main = process.getProcess();
+        SessionInformationHolder sessionInfo = createSession(main);
+        assert sessionInfo.accessToken != null;
+        assert sessionInfo.refreshToken != null;
+
+        SessionInfoCache cache = SessionInfoCache.getInstance(main);
+        assertNull(verify(main, sessionInfo.accessToken.token).accessToken);
+        assertEquals(1, cache.size());
+
+        SessionInformationHolder refreshedSession = Session.refreshSession(main, sessionInfo.refreshToken.token,
+                null, false, AccessToken.getLatestVersion());
+        assert refreshedSession.accessToken != null;
+        assert refreshedSession.refreshToken != null;
+
+        // the first use of the new access token promotes its refresh token, which must not be skipped because of
+        // the cached session
+        assertNotNull(verify(main, refreshedSession.accessToken.token).accessToken);
+        assertEquals(0, cache.size());
+
+        assertNotNull(verify(main, refreshedSession.accessToken.token).accessToken);
+        assertEquals(1, cache.size());
+
+        JsonObject newUserDataInJWT = new JsonObject();
+        newUserDataInJWT.addProperty("key", "newValue");
+        Session.updateSession(main, sessionInfo.session.handle, null, newUserDataInJWT,
+                AccessToken.getLatestVersion());
+        assertEquals(0, cache.size());
+
+        SessionInformationHolder verifiedSession = verify(main, refreshedSession.accessToken.token);
+        assertNotNull(verifiedSession.accessToken);
+        assertEquals(newUserDataInJWT, verifiedSession.session.userDataInJWT);
+
+        process.kill();
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STOPPED));
+    }
+}
@@ -31,6 +31,8 @@ import io.supertokens.test.Utils;
 import org.junit.*;
 import org.junit.rules.TestRule;
 
+import java.util.Arrays;
+
 import static junit.framework.TestCase.*;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.fail;
@@ -121,6 +123,43 @@ public class SessionTest4 {
 
     }
 
+    @Test
+    public void revokingAMixOfValidAndInvalidSessionHandlesOnlyReturnsTheRevokedOnes() throws Exception {
+
+        String[] args = {"../"};
+        TestingProcessManager.TestingProcess process = TestingProcessManager.startIsolatedProcess(args);
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STARTED));
+
+        JsonObject userDataInJWT = new JsonObject();
+        userDataInJWT.addProperty("key", "value");
+        JsonObject userDataInDatabase = new JsonObject();
+        userDataInDatabase.addProperty("key", "value");
+
+        SessionInformationHolder sessionInfo1 = Session.createNewSession(process.getProcess(), "userId",
+                userDataInJWT, userDataInDatabase);
+        SessionInformationHolder sessionInfo2 = Session.createNewSession(process.getProcess(), "userId",
+                userDataInJWT, userDataInDatabase);
+        SessionInformationHolder sessionInfo3 = Session.createNewSession(process.getProcess(), "userId",
+                userDataInJWT, userDataInDatabase);
+
+        assertEquals(Session.revokeSessionUsingSessionHandles(process.getProcess(),
+                new String[]{sessionInfo3.session.handle}).length, 1);
+
+        String[] handles = {sessionInfo1.session.handle, "invalidHandle", sessionInfo2.session.handle,
+                sessionInfo3.session.handle, "invalidHandle_nonExistentTenant"};
+        String[] actuallyRevoked = Session.revokeSessionUsingSessionHandles(process.getProcess(), handles);
+        Arrays.sort(actuallyRevoked);
+        String[] expected = {sessionInfo1.session.handle, sessionInfo2.session.handle};
+        Arrays.sort(expected);
+        assertTrue(Arrays.equals(expected, actuallyRevoked));
+
+        assertEquals(((SessionStorage) StorageLayer.getStorage(process.getProcess()))
+                .getNumberOfSessions(process.getAppForTesting()), 0);
+
+        process.kill();
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STOPPED));
+    }
+
     @Test
     public void gettingAndUpdatingSessionDataForNonExistantSession() throws Exception {
 
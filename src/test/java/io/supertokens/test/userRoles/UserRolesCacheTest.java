@@ -0,0 +1,227 @@
+/*
+ *    Copyright (c) 2025, VRAI Labs and/or its affiliates. All rights reserved.
+ *
+ *    This software is licensed under the Apache License, Version 2.0 (the
+ *    "License") as published by the Apache Software Foundation.
+ *
+ *    You may not use this file except in compliance with the License. You may
+ *    obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *    WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *    License for the specific language governing permissions and limitations
+ *    under the License.
+ */
+
+
+package io.supertokens.test.userRoles;
+
+import io.supertokens.ProcessState;
+import io.supertokens.pluginInterface.KeyValueInfo;
+import io.supertokens.pluginInterface.STORAGE_TYPE;
+import io.supertokens.pluginInterface.Storage;
+import io.supertokens.pluginInterface.multitenancy.AppIdentifier;
+import io.supertokens.pluginInterface.userroles.exception.UnknownRoleException;
+import io.supertokens.pluginInterface.userroles.sqlStorage.UserRolesSQLStorage;
+import io.supertokens.storageLayer.StorageLayer;
+import io.supertokens.test.TestingProcessManager;
+import io.supertokens.test.Utils;
+import io.supertokens.userroles.UserRoles;
+import io.supertokens.userroles.UserRolesCache;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import static org.junit.Assert.*;
+
+public class UserRolesCacheTest {
+    @Rule
+    public TestRule watchman = Utils.getOnFailure();
+
+    @Rule
+    public TestRule retryFlaky = Utils.retryFlakyTest();
+
+    @AfterClass
+    public static void afterTesting() {
+        Utils.afterTesting();
+    }
+
+    @Before
+    public void beforeEach() {
+        Utils.reset();
+    }
+
+    @Test
+    public void testCacheIsInvalidatedByChangesOnTheSameCore() throws Exception {
+        Utils.setValueInConfig("user_roles_cache_version_check_interval", "3600000");
+        String[] args = {"../"};
+
+        TestingProcessManager.TestingProcess process = TestingProcessManager.start(args);
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STARTED));
+
+        if (StorageLayer.getStorage(process.getProcess()).getType() != STORAGE_TYPE.SQL) {
+            return;
+        }
+
+        assertTrue(UserRolesCache.getInstance(process.getProcess()).isEnabled());
+
+        UserRoles.createNewRoleOrModifyItsPermissions(process.getProcess(), "role", new String[]{"p1"});
+        assertArrayEquals(new String[]{"p1"}, UserRoles.getPermissionsForRole(process.getProcess(), "role"));
+        assertArrayEquals(new String[]{"role"}, UserRoles.getRolesThatHavePermission(process.getProcess(), "p1"));
+
+        UserRoles.createNewRoleOrModifyItsPermissions(process.getProcess(), "role", new String[]{"p2"});
+        Utils.checkThatArraysAreEqual(new String[]{"p1", "p2"},
+                UserRoles.getPermissionsForRole(process.getProcess(), "role"));
+        assertArrayEquals(new String[]{"role"}, UserRoles.getRolesThatHavePermission(process.getProcess(), "p2"));
+
+        UserRoles.deletePermissionsFromRole(process.getProcess(), "role", new String[]{"p1"});
+        assertArrayEquals(new String[]{"p2"}, UserRoles.getPermissionsForRole(process.getProcess(), "role"));
+        assertArrayEquals(new String[]{}, UserRoles.getRolesThatHavePermission(process.getProcess(), "p1"));
+
+        UserRoles.deleteRole(process.getProcess(), "role");
+        try {
+            UserRoles.getPermissionsForRole(process.getProcess(), "role");
+            fail();
+        } catch (UnknownRoleException ignored) {
+        }
+        try {
+            UserRoles.addRoleToUser(process.getProcess(), "userId", "role");
+            fail();
+        } catch (UnknownRoleException ignored) {
+        }
+
+        // roles that did not exist are seen once they are created
+        UserRoles.createNewRoleOrModifyItsPermissions(process.getProcess(), "role", null);
+        assertArrayEquals(new String[]{}, UserRoles.getPermissionsForRole(process.getProcess(), "role"));
+        assertTrue(UserRoles.addRoleToUser(process.getProcess(), "userId", "role"));
+
+        process.kill();
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STOPPED));
+    }
+
+    @Test
+    public void testLookupsOfRolesAndPermissionsThatDoNotExistAreNotCached() throws Exception {
+        Utils.setValueInConfig("user_roles_cache_version_check_interval", "3600000");
+        String[] args = {"../"};
+
+        TestingProcessManager.TestingProcess process = TestingProcessManager.start(args);
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STARTED));
+
+        if (StorageLayer.getStorage(process.getProcess()).getType() != STORAGE_TYPE.SQL) {
+            return;
+        }
+
+        AppIdentifier appIdentifier = process.getAppForTesting().toAppIdentifier();
+        UserRolesCache cache = UserRolesCache.getInstance(process.getProcess());
+
+        UserRoles.createNewRoleOrModifyItsPermissions(process.getProcess(), "role", new String[]{"p1"});
+        assertArrayEquals(new String[]{"p1"}, UserRoles.getPermissionsForRole(process.getProcess(), "role"));
+        assertArrayEquals(new String[]{"role"}, UserRoles.getRolesThatHavePermission(process.getProcess(), "p1"));
+        assertEquals(2, cache.size(appIdentifier));
+
+        for (int i = 0; i < 100; i++) {
+            try {
+                UserRoles.getPermissionsForRole(process.getProcess(), "unknown-role-" + i);
+                fail();
+            } catch (UnknownRoleException ignored) {
+            }
+            assertArrayEquals(new String[]{},
+                    UserRoles.getRolesThatHavePermission(process.getProcess(), "unknown-permission-" + i));
+        }
+        assertEquals(2, cache.size(appIdentifier));
+
+        process.kill();
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STOPPED));
+    }
+
+    @Test
+    public void testChangesFromOtherCoresAreSeenAfterTheVersionChanges() throws Exception {
+        Utils.setValueInConfig("user_roles_cache_version_check_interval", "500");
+        String[] args = {"../"};
+
+        TestingProcessManager.TestingProcess process = TestingProcessManager.start(args);
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STARTED));
+
+        if (StorageLayer.getStorage(process.getProcess()).getType() != STORAGE_TYPE.SQL) {
+            return;
+        }
+
+        AppIdentifier appIdentifier = process.getAppForTesting().toAppIdentifier();
+        Storage storage = StorageLayer.getStorage(process.getProcess());
+
+        UserRoles.createNewRoleOrModifyItsPermissions(process.getProcess(), "role", new String[]{"p1"});
+        assertArrayEquals(new String[]{"p1"}, UserRoles.getPermissionsForRole(process.getProcess(), "role"));
+
+        // another core deletes the role. Without a new version, this core keeps using what it has cached
+        ((UserRolesSQLStorage) storage).deleteRole(appIdentifier, "role");
+        Thread.sleep(600);
+        assertArrayEquals(new String[]{"p1"}, UserRoles.getPermissionsForRole(process.getProcess(), "role"));
+
+        // the other core writes a new version along with its change
+        storage.setKeyValue(appIdentifier.getAsPublicTenantIdentifier(), UserRolesCache.VERSION_KEY,
+                new KeyValueInfo("new-version", System.currentTimeMillis()));
+
+        // the version is not checked again until the interval passes
+        assertArrayEquals(new String[]{"p1"}, UserRoles.getPermissionsForRole(process.getProcess(), "role"));
+
+        Thread.sleep(600);
+        try {
+            UserRoles.getPermissionsForRole(process.getProcess(), "role");
+            fail();
+        } catch (UnknownRoleException ignored) {
+        }
+
+        process.kill();
+        assertNotNull(process.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STOPPED));
+    }
+
+    @Test
+    public void testChangesFromACoreWithTheCacheDisabledAreSeenByCoresWithItEnabled() throws Exception {
+        Utils.setValueInConfig("user_roles_cache_version_check_interval", "500");
+        String[] args = {"../"};
+
+        TestingProcessManager.TestingProcess process1 = TestingProcessManager.startIsolatedProcess(args);
+        assertNotNull(process1.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STARTED));
+
+        if (StorageLayer.getStorage(process1.getProcess()).getType() != STORAGE_TYPE.SQL
+                || StorageLayer.isInMemDb(process1.getProcess())) {
+            // both cores need to use the same database
+            process1.kill();
+            assertNotNull(process1.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STOPPED));
+            return;
+        }
+
+        // the second core has the cache disabled, like a core that has not been rolled out with the new config yet
+        Utils.setValueInConfig("user_roles_cache_version_check_interval", "0");
+        TestingProcessManager.TestingProcess process2 = TestingProcessManager.startIsolatedProcess(args);
+        assertNotNull(process2.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STARTED));
+
+        assertTrue(UserRolesCache.getInstance(process1.getProcess()).isEnabled());
+        assertFalse(UserRolesCache.getInstance(process2.getProcess()).isEnabled());
+
+        UserRoles.createNewRoleOrModifyItsPermissions(process1.getProcess(), "role", new String[]{"p1"});
+        assertArrayEquals(new String[]{"p1"}, UserRoles.getPermissionsForRole(process1.getProcess(), "role"));
+
+        UserRoles.createNewRoleOrModifyItsPermissions(process2.getProcess(), "role", new String[]{"p2"});
+        assertEquals(2, UserRoles.getPermissionsForRole(process2.getProcess(), "role").length);
+
+        Thread.sleep(600);
+        assertEquals(2, UserRoles.getPermissionsForRole(process1.getProcess(), "role").length);
+
+        UserRoles.deleteRole(process2.getProcess(), "role");
+        Thread.sleep(600);
+        try {
+            UserRoles.getPermissionsForRole(process1.getProcess(), "role");
+            fail();
+        } catch (UnknownRoleException ignored) {
+        }
+
+        process2.kill(false);
+        assertNotNull(process2.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STOPPED));
+        process1.kill();
+        assertNotNull(process1.checkOrWaitForEvent(ProcessState.PROCESS_STATE.STOPPED));
+    }
+}